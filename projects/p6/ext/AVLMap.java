@@ -1,12 +1,17 @@
 /*
  * file name: AVLMap.java
  * author: Jack Dai
- * last modified: 11/02/2025
+ * last modified: 10/17/2026
  * purpose: Implements a Map using an AVL self-balancing binary search tree
  */
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 /**
  * AVLMap is a MapSet implementation backed by an AVL (self-balancing)
@@ -35,6 +40,9 @@ public class AVLMap<K, V> implements MapSet<K, V> {
     private int size;
     private Comparator<K> comparator;
 
+    // null unless statistics are being collected
+    private MapStats stats;
+
     /**
      * Construct an AVLMap that uses the provided comparator to order keys.
      * If {@code comparator} is {@code null} this implementation will assume
@@ -107,6 +115,8 @@ public class AVLMap<K, V> implements MapSet<K, V> {
      * @return new root of the rotated subtree
      */
     private Node<K, V> rotateRight(Node<K, V> y) {
+        if (stats != null)
+            stats.rotations++;
         Node<K, V> x = y.left;
         Node<K, V> T2 = x.right;
 
@@ -129,6 +139,8 @@ public class AVLMap<K, V> implements MapSet<K, V> {
      * @return new root of the rotated subtree
      */
     private Node<K, V> rotateLeft(Node<K, V> x) {
+        if (stats != null)
+            stats.rotations++;
         Node<K, V> y = x.right;
         Node<K, V> T2 = y.left;
 
@@ -192,10 +204,11 @@ public class AVLMap<K, V> implements MapSet<K, V> {
     public V put(K key, V value) {
         if (value == null)
             return null;
+        countOperation();
         Holder<V> holder = new Holder<>();
         root = put(root, key, value, holder);
         if (holder.isNew)
-            size++;
+            inserted();
         return holder.old;
     }
 
@@ -216,7 +229,7 @@ public class AVLMap<K, V> implements MapSet<K, V> {
             holder.isNew = true;
             return new Node<>(key, value);
         }
-        int cmp = comparator.compare(key, node.getKey());
+        int cmp = compare(key, node.getKey());
         if (cmp < 0) {
             node.left = put(node.left, key, value, holder);
         } else if (cmp > 0) {
@@ -232,6 +245,119 @@ public class AVLMap<K, V> implements MapSet<K, V> {
         return rebalance(node);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * The tree is descended once. Ancestors are only rebalanced when a new
+     * node was inserted; an in-place update leaves the shape untouched. If the
+     * remapping function returns {@code null} the node is removed with
+     * {@link #remove(Object)}.
+     *
+     * @throws NullPointerException if {@code key} is {@code null}
+     */
+    @Override
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        if (key == null)
+            throw new NullPointerException("AVLMap does not support null keys");
+        if (value == null || remappingFunction == null)
+            throw new NullPointerException();
+        countOperation();
+        Holder<V> holder = new Holder<>();
+        root = merge(root, key, value, remappingFunction, holder);
+        if (holder.isNew) {
+            inserted();
+            return value;
+        }
+        if (holder.old == null)
+            remove(key);
+        return holder.old;
+    }
+
+    /**
+     * Recursive helper for {@link #merge}. Either remaps the value of the
+     * existing node for {@code key} or inserts a new node.
+     *
+     * @param node              current subtree root (may be {@code null})
+     * @param key               key to merge
+     * @param value             value to insert or merge
+     * @param remappingFunction function combining the old and given values
+     * @param holder            receives the new value in {@code old} when the
+     *                          key existed, and {@code isNew} when inserted
+     * @return root of the subtree after the merge
+     */
+    private Node<K, V> merge(Node<K, V> node, K key, V value,
+            BiFunction<? super V, ? super V, ? extends V> remappingFunction, Holder<V> holder) {
+        if (node == null) {
+            holder.isNew = true;
+            return new Node<>(key, value);
+        }
+        int cmp = compare(key, node.getKey());
+        if (cmp < 0) {
+            node.left = merge(node.left, key, value, remappingFunction, holder);
+        } else if (cmp > 0) {
+            node.right = merge(node.right, key, value, remappingFunction, holder);
+        } else {
+            V newValue = remappingFunction.apply(node.getValue(), value);
+            if (newValue != null)
+                node.setValue(newValue);
+            holder.old = newValue;
+            return node;
+        }
+        return holder.isNew ? rebalance(node) : node;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws NullPointerException if {@code key} is {@code null}
+     */
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        if (key == null)
+            throw new NullPointerException("AVLMap does not support null keys");
+        if (mappingFunction == null)
+            throw new NullPointerException();
+        countOperation();
+        Holder<V> holder = new Holder<>();
+        root = computeIfAbsent(root, key, mappingFunction, holder);
+        if (holder.isNew)
+            inserted();
+        return holder.old;
+    }
+
+    /**
+     * Recursive helper for {@link #computeIfAbsent}. Returns the existing
+     * value through {@code holder.old}, or computes and inserts a new node.
+     *
+     * @param node            current subtree root (may be {@code null})
+     * @param key             key to look up
+     * @param mappingFunction function computing a value for an absent key
+     * @param holder          receives the current value in {@code old} and
+     *                        {@code isNew} when a node was inserted
+     * @return root of the subtree after any insertion
+     */
+    private Node<K, V> computeIfAbsent(Node<K, V> node, K key,
+            Function<? super K, ? extends V> mappingFunction, Holder<V> holder) {
+        if (node == null) {
+            V value = mappingFunction.apply(key);
+            holder.old = value;
+            if (value == null)
+                return null;
+            holder.isNew = true;
+            return new Node<>(key, value);
+        }
+        int cmp = compare(key, node.getKey());
+        if (cmp < 0) {
+            node.left = computeIfAbsent(node.left, key, mappingFunction, holder);
+        } else if (cmp > 0) {
+            node.right = computeIfAbsent(node.right, key, mappingFunction, holder);
+        } else {
+            holder.old = node.getValue();
+            return node;
+        }
+        return holder.isNew ? rebalance(node) : node;
+    }
+
     /**
      * Small helper used to pass information out of recursive insert/remove
      * helpers: whether a node was newly created and the old value when a
@@ -268,9 +394,10 @@ public class AVLMap<K, V> implements MapSet<K, V> {
     public V get(K key) {
         if (key == null)
             throw new NullPointerException("AVLMap does not support null keys");
+        countOperation();
         Node<K, V> cur = root;
         while (cur != null) {
-            int cmp = comparator.compare(key, cur.getKey());
+            int cmp = compare(key, cur.getKey());
             if (cmp < 0)
                 cur = cur.left;
             else if (cmp > 0)
@@ -293,6 +420,7 @@ public class AVLMap<K, V> implements MapSet<K, V> {
     public V remove(K key) {
         if (key == null)
             throw new NullPointerException("AVLMap does not support null keys");
+        countOperation();
         Holder<V> holder = new Holder<>();
         root = remove(root, key, holder);
         if (holder.old != null)
@@ -313,7 +441,7 @@ public class AVLMap<K, V> implements MapSet<K, V> {
     private Node<K, V> remove(Node<K, V> node, K key, Holder<V> holder) {
         if (node == null)
             return null;
-        int cmp = comparator.compare(key, node.getKey());
+        int cmp = compare(key, node.getKey());
         if (cmp < 0) {
             node.left = remove(node.left, key, holder);
         } else if (cmp > 0) {
@@ -363,25 +491,12 @@ public class AVLMap<K, V> implements MapSet<K, V> {
      */
     @Override
     public ArrayList<K> keySet() {
-        ArrayList<K> out = new ArrayList<>();
-        inorderKeys(root, out);
+        ArrayList<K> out = new ArrayList<>(size);
+        for (MapSet.KeyValuePair<K, V> kv : entries())
+            out.add(kv.getKey());
         return out;
     }
 
-    /**
-     * In-order traversal helper that appends each key to {@code out}.
-     *
-     * @param cur current node (may be {@code null})
-     * @param out output list to append keys to
-     */
-    private void inorderKeys(Node<K, V> cur, ArrayList<K> out) {
-        if (cur == null)
-            return;
-        inorderKeys(cur.left, out);
-        out.add(cur.getKey());
-        inorderKeys(cur.right, out);
-    }
-
     /**
      * Return an ArrayList containing every value in the map. The order of
      * values corresponds to the order of {@link #keySet()} (in-order of keys).
@@ -390,25 +505,12 @@ public class AVLMap<K, V> implements MapSet<K, V> {
      */
     @Override
     public ArrayList<V> values() {
-        ArrayList<V> out = new ArrayList<>();
-        inorderValues(root, out);
+        ArrayList<V> out = new ArrayList<>(size);
+        for (MapSet.KeyValuePair<K, V> kv : entries())
+            out.add(kv.getValue());
         return out;
     }
 
-    /**
-     * In-order traversal helper that appends each node's value to {@code out}.
-     *
-     * @param cur current node (may be {@code null})
-     * @param out output list to append values to
-     */
-    private void inorderValues(Node<K, V> cur, ArrayList<V> out) {
-        if (cur == null)
-            return;
-        inorderValues(cur.left, out);
-        out.add(cur.getValue());
-        inorderValues(cur.right, out);
-    }
-
     /**
      * Return an ArrayList of KeyValuePair objects representing the key/value
      * mappings in this map. The order corresponds to {@link #keySet()}.
@@ -417,24 +519,137 @@ public class AVLMap<K, V> implements MapSet<K, V> {
      */
     @Override
     public ArrayList<MapSet.KeyValuePair<K, V>> entrySet() {
-        ArrayList<MapSet.KeyValuePair<K, V>> out = new ArrayList<>();
-        inorderEntries(root, out);
+        ArrayList<MapSet.KeyValuePair<K, V>> out = new ArrayList<>(size);
+        for (MapSet.KeyValuePair<K, V> kv : entries())
+            out.add(kv);
         return out;
     }
 
     /**
-     * In-order traversal helper that appends each node (as a KeyValuePair)
-     * to {@code out}.
+     * {@inheritDoc}
      *
-     * @param cur current node (may be {@code null})
-     * @param out output list to append entries to
+     * The iterator performs an in-order traversal with an explicit stack of
+     * at most {@link #maxDepth()} nodes, so deep trees cannot overflow the
+     * call stack and the nodes themselves are returned without copying.
      */
-    private void inorderEntries(Node<K, V> cur, ArrayList<MapSet.KeyValuePair<K, V>> out) {
-        if (cur == null)
-            return;
-        inorderEntries(cur.left, out);
-        out.add(cur);
-        inorderEntries(cur.right, out);
+    @Override
+    public Iterable<MapSet.KeyValuePair<K, V>> entries() {
+        return EntryIterator::new;
+    }
+
+    /**
+     * In-order iterator over the nodes of the tree. The stack holds the
+     * nodes whose left subtrees are being visited, i.e. the path of pending
+     * ancestors of the next node.
+     */
+    private class EntryIterator implements Iterator<MapSet.KeyValuePair<K, V>> {
+        private final ArrayDeque<Node<K, V>> stack = new ArrayDeque<>();
+
+        EntryIterator() {
+            pushLeft(root);
+        }
+
+        /**
+         * Push {@code cur} and its chain of left descendants.
+         */
+        private void pushLeft(Node<K, V> cur) {
+            while (cur != null) {
+                stack.push(cur);
+                cur = cur.left;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !stack.isEmpty();
+        }
+
+        @Override
+        public MapSet.KeyValuePair<K, V> next() {
+            if (stack.isEmpty())
+                throw new NoSuchElementException();
+            Node<K, V> cur = stack.pop();
+            pushLeft(cur.right);
+            return cur;
+        }
+    }
+
+    // Bulk loading and merging
+
+    /**
+     * Build an AVLMap from entries in strictly ascending key order. The
+     * entries are buffered and the tree is linked middle-first, so it is
+     * perfectly balanced and built in O(n) time without any comparisons
+     * beyond checking the order.
+     *
+     * @param sorted     entries in strictly ascending key order
+     * @param comparator comparator used to compare keys, or {@code null}
+     * @return a new balanced map holding the entries
+     * @throws IllegalArgumentException if the keys are not strictly ascending
+     */
+    public static <K, V> AVLMap<K, V> fromSorted(Iterator<? extends MapSet.KeyValuePair<K, V>> sorted,
+            Comparator<K> comparator) {
+        AVLMap<K, V> map = new AVLMap<>(comparator);
+        ArrayList<MapSet.KeyValuePair<K, V>> nodes = SortedEntries.collect(sorted, map.comparator, Node::new);
+        map.root = map.build(nodes, 0, nodes.size());
+        map.size = nodes.size();
+        return map;
+    }
+
+    /**
+     * Build an AVLMap whose keys use their natural ordering from entries in
+     * strictly ascending key order, in O(n) time.
+     *
+     * @param sorted entries in strictly ascending key order
+     * @return a new balanced map holding the entries
+     * @throws IllegalArgumentException if the keys are not strictly ascending
+     */
+    public static <K, V> AVLMap<K, V> fromSorted(Iterator<? extends MapSet.KeyValuePair<K, V>> sorted) {
+        return fromSorted(sorted, null);
+    }
+
+    /**
+     * Add every entry of {@code other} to this map, combining the values of
+     * keys present in both with {@code remappingFunction} (a {@code null}
+     * result removes the key). Both maps are walked in key order and the tree
+     * is relinked balanced from the merged sequence, so merging maps of n and
+     * m entries costs O(n + m) when {@code other} iterates in this map's
+     * order, as the tree maps do; other maps are sorted first.
+     *
+     * @param other             the entries to add
+     * @param remappingFunction combines this map's value with {@code other}'s
+     */
+    public void putAll(MapSet<K, V> other, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        // existing nodes are reused; the iterator is done with a node once it has returned it
+        ArrayList<MapSet.KeyValuePair<K, V>> merged = SortedEntries.merge(entries().iterator(), size, other,
+                comparator, remappingFunction, Node::new);
+        root = build(merged, 0, merged.size());
+        size = merged.size();
+    }
+
+    /**
+     * Add every entry of {@code other} to this map in O(n + m), replacing
+     * the values of keys present in both.
+     *
+     * @param other the entries to add
+     */
+    public void putAll(MapSet<K, V> other) {
+        putAll(other, (mine, theirs) -> theirs);
+    }
+
+    /**
+     * Link {@code nodes[lo, hi)}, which are in key order, into a balanced
+     * subtree and return its root.
+     */
+    private Node<K, V> build(ArrayList<MapSet.KeyValuePair<K, V>> nodes, int lo, int hi) {
+        if (lo >= hi)
+            return null;
+        int mid = (lo + hi) >>> 1;
+        Node<K, V> n = (Node<K, V>) nodes.get(mid);
+        n.left = build(nodes, lo, mid);
+        n.right = build(nodes, mid + 1, hi);
+        updateHeight(n);
+        return n;
     }
 
     /**
@@ -447,6 +662,60 @@ public class AVLMap<K, V> implements MapSet<K, V> {
         return this.size;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * This map counts key comparisons, inserts and rotations.
+     */
+    @Override
+    public MapStats enableStats() {
+        stats = new MapStats(false, true);
+        return stats;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void disableStats() {
+        stats = null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public MapStats stats() {
+        return stats;
+    }
+
+    /**
+     * Compare two keys with the map's comparator, counting the comparison
+     * when statistics are being collected.
+     */
+    private int compare(K a, K b) {
+        if (stats != null)
+            stats.comparisons++;
+        return comparator.compare(a, b);
+    }
+
+    /**
+     * Count one operation when statistics are being collected.
+     */
+    private void countOperation() {
+        if (stats != null)
+            stats.operations++;
+    }
+
+    /**
+     * Record that a new node was inserted.
+     */
+    private void inserted() {
+        size++;
+        if (stats != null)
+            stats.inserts++;
+    }
+
     /**
      * Remove all mappings from the map. After this call {@link #size()}
      * will return 0 and the tree will be empty.
@@ -1,7 +1,7 @@
 /*
  * file name: AVLMapTester.java
  * author: Jack Dai
- * last modified: 11/02/2025
+ * last modified: 10/17/2026
  * purpose of the class: tester for AVLMap.java
  */
 
@@ -34,8 +34,50 @@ public class AVLMapTester {
         System.out.println("-".repeat(30));
     }
 
+    public static void testMerge() {
+        System.out.println("-".repeat(30) + "\nAVL Merge/Increment Test:");
+        AVLMap<Integer, Integer> m = new AVLMap<>();
+        for (int i = 1; i <= 7; i++) {
+            m.increment(i, 1);
+        }
+        m.increment(4, 2);
+        m.merge(5, 10, (a, b) -> null);
+        m.computeIfAbsent(8, k -> k * 10);
+        System.out.println("Tree structure (should be balanced):\n" + m);
+        System.out.println("get(4): " + m.get(4) + " expected: 3");
+        System.out.println("get(5): " + m.get(5) + " expected: null");
+        System.out.println("get(8): " + m.get(8) + " expected: 80");
+        System.out.println("size: " + m.size() + " expected: 7");
+        System.out.println("maxDepth (height): " + m.maxDepth() + " expected: <= 4");
+        System.out.println("-".repeat(30));
+    }
+
+    public static void testBulkLoad() {
+        System.out.println("-".repeat(30) + "\nAVL fromSorted/putAll Test:");
+        java.util.ArrayList<MapSet.KeyValuePair<Integer, Integer>> sorted = new java.util.ArrayList<>();
+        for (int i = 0; i < 1000; i += 2) {
+            sorted.add(new MapSet.KeyValuePair<>(i, 1));
+        }
+        AVLMap<Integer, Integer> m = AVLMap.fromSorted(sorted.iterator());
+        System.out.println("size: " + m.size() + " expected: 500");
+        System.out.println("maxDepth (height): " + m.maxDepth() + " expected: 9");
+
+        AVLMap<Integer, Integer> other = new AVLMap<>();
+        for (int i = 0; i < 1000; i += 3) {
+            other.put(i, 1);
+        }
+        m.putAll(other, Integer::sum);
+        System.out.println("size after putAll: " + m.size() + " expected: 667");
+        System.out.println("get(6): " + m.get(6) + " expected: 2");
+        System.out.println("get(3): " + m.get(3) + " expected: 1");
+        System.out.println("maxDepth (height): " + m.maxDepth() + " expected: 10");
+        System.out.println("-".repeat(30));
+    }
+
     public static void main(String[] args) {
         testInsertBalance();
         testRemove();
+        testMerge();
+        testBulkLoad();
     }
 }
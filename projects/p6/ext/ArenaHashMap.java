@@ -0,0 +1,449 @@
+/*
+ * file name: ArenaHashMap.java
+ * author: Jack Dai
+ * last modified: 10/17/2026
+ * purpose of the class: Implements a word-counting Map whose keys live as
+ *                     UTF-8 bytes in an off-heap ByteArena, with open
+ *                     addressing over primitive arrays.
+ */
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * ArenaHashMap counts words without keeping a {@code String} per word. A key
+ * is stored once, as UTF-8 bytes in a {@link ByteArena}, and the table holds
+ * only three {@code int}s per slot: the key's arena offset, its hash and its
+ * count. Lookups hash and compare bytes in the arena directly, so the heap
+ * holds no per-word objects at all.
+ *
+ * Words read from a file can be counted straight from the tokenizer's byte
+ * buffer with {@link #increment(byte[], int, int)}; the {@code String}
+ * methods of {@link MapSet} encode the key first. Collisions are resolved
+ * with linear probing and backward-shift deletion like {@link OpenHashMap}.
+ * The arena bytes of removed keys are reclaimed only by {@link #clear()}.
+ *
+ * Keys are decoded on demand, so the keys and pairs returned by the bulk
+ * views and iterators are new objects; calling {@code setValue} on a pair
+ * does not modify the map.
+ */
+public class ArenaHashMap implements MapSet<String, Integer> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final double DEFAULT_LOAD_FACTOR = 0.5;
+
+    private final ByteArena arena = new ByteArena();
+    private int[] refs; // arena offset + 1, or 0 for an empty slot
+    private int[] hashes;
+    private int[] vals;
+    private int size;
+    private int threshold;
+
+    /**
+     * Construct an ArenaHashMap with the default initial capacity.
+     */
+    public ArenaHashMap() {
+        allocate(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Replace the slot arrays with empty arrays of the given length.
+     *
+     * @param capacity new number of slots (must be a power of two)
+     */
+    private void allocate(int capacity) {
+        refs = new int[capacity];
+        hashes = new int[capacity];
+        vals = new int[capacity];
+        threshold = (int) (capacity * DEFAULT_LOAD_FACTOR);
+        size = 0;
+    }
+
+    /**
+     * Returns the arena holding the keys.
+     *
+     * @return the key arena
+     */
+    public ByteArena arena() {
+        return arena;
+    }
+
+    /**
+     * Returns the bytes used by the slot arrays, which together with
+     * {@link ByteArena#capacity()} is the whole footprint of the map.
+     *
+     * @return bytes of the three {@code int} arrays
+     */
+    public long tableBytes() {
+        return 3L * (16 + 4L * refs.length);
+    }
+
+    /**
+     * Probe for bytes {@code [off, off + len)} of {@code key}.
+     *
+     * @return the slot holding the key, or {@code -(empty slot) - 1}
+     */
+    private int probe(byte[] key, int off, int len, int h) {
+        int mask = refs.length - 1;
+        int i = h & mask;
+        int r;
+        while ((r = refs[i]) != 0) {
+            if (hashes[i] == h && arena.equals(r - 1, key, off, len))
+                return i;
+            i = (i + 1) & mask;
+        }
+        return -i - 1;
+    }
+
+    private static byte[] encode(String key) {
+        if (key == null)
+            throw new NullPointerException("ArenaHashMap does not support null keys");
+        return key.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Add one to the count of the word in bytes {@code [off, off + len)} of
+     * {@code word}. The bytes are copied into the arena only if the word is
+     * new.
+     *
+     * @param word buffer holding the word's UTF-8 bytes
+     * @param off  first byte of the word
+     * @param len  number of bytes
+     * @return the new count
+     */
+    public int increment(byte[] word, int off, int len) {
+        int h = ByteArena.hash(word, off, len);
+        int i = probe(word, off, len, h);
+        if (i >= 0)
+            return ++vals[i];
+        insertAt(-i - 1, arena.add(word, off, len), h, 1);
+        return 1;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * This implementation does a single probe sequence and never boxes.
+     */
+    @Override
+    public int increment(String key, int delta) {
+        byte[] b = encode(key);
+        int h = ByteArena.hash(b, 0, b.length);
+        int i = probe(b, 0, b.length, h);
+        if (i >= 0)
+            return vals[i] += delta;
+        insertAt(-i - 1, arena.add(b, 0, b.length), h, delta);
+        return delta;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Integer put(String key, Integer value) {
+        if (value == null)
+            return null;
+        byte[] b = encode(key);
+        int h = ByteArena.hash(b, 0, b.length);
+        int i = probe(b, 0, b.length, h);
+        if (i >= 0) {
+            int old = vals[i];
+            vals[i] = value;
+            return old;
+        }
+        insertAt(-i - 1, arena.add(b, 0, b.length), h, value);
+        return null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Integer merge(String key, Integer value,
+            BiFunction<? super Integer, ? super Integer, ? extends Integer> remappingFunction) {
+        if (value == null || remappingFunction == null)
+            throw new NullPointerException();
+        byte[] b = encode(key);
+        int h = ByteArena.hash(b, 0, b.length);
+        int i = probe(b, 0, b.length, h);
+        if (i >= 0) {
+            Integer newValue = remappingFunction.apply(vals[i], value);
+            if (newValue != null)
+                vals[i] = newValue;
+            else
+                removeAt(i);
+            return newValue;
+        }
+        insertAt(-i - 1, arena.add(b, 0, b.length), h, value);
+        return value;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Integer computeIfAbsent(String key, Function<? super String, ? extends Integer> mappingFunction) {
+        if (mappingFunction == null)
+            throw new NullPointerException();
+        byte[] b = encode(key);
+        int h = ByteArena.hash(b, 0, b.length);
+        int i = probe(b, 0, b.length, h);
+        if (i >= 0)
+            return vals[i];
+        Integer value = mappingFunction.apply(key);
+        if (value != null)
+            insertAt(-i - 1, arena.add(b, 0, b.length), h, value);
+        return value;
+    }
+
+    /**
+     * Store a new entry in the empty slot {@code i} and grow the table if the
+     * load factor has been exceeded.
+     */
+    private void insertAt(int i, int ref, int h, int value) {
+        refs[i] = ref + 1;
+        hashes[i] = h;
+        vals[i] = value;
+        size++;
+        if (size > threshold)
+            resize(refs.length * 2);
+    }
+
+    /**
+     * Rehash every entry into tables of {@code capacity} slots. Keys stay
+     * where they are in the arena; only their offsets move.
+     */
+    private void resize(int capacity) {
+        int[] oldRefs = refs;
+        int[] oldHashes = hashes;
+        int[] oldVals = vals;
+        int n = size;
+        allocate(capacity);
+        int mask = capacity - 1;
+        for (int j = 0; j < oldRefs.length; j++) {
+            if (oldRefs[j] == 0)
+                continue;
+            int i = oldHashes[j] & mask;
+            while (refs[i] != 0)
+                i = (i + 1) & mask;
+            refs[i] = oldRefs[j];
+            hashes[i] = oldHashes[j];
+            vals[i] = oldVals[j];
+        }
+        size = n;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Integer get(String key) {
+        byte[] b = encode(key);
+        int i = probe(b, 0, b.length, ByteArena.hash(b, 0, b.length));
+        return (i < 0) ? null : vals[i];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean containsKey(String key) {
+        byte[] b = encode(key);
+        return probe(b, 0, b.length, ByteArena.hash(b, 0, b.length)) >= 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Integer remove(String key) {
+        byte[] b = encode(key);
+        int i = probe(b, 0, b.length, ByteArena.hash(b, 0, b.length));
+        if (i < 0)
+            return null;
+        int old = vals[i];
+        removeAt(i);
+        return old;
+    }
+
+    /**
+     * Empty slot {@code i} and shift later entries of the same run backward
+     * so that no probe sequence is broken.
+     */
+    private void removeAt(int i) {
+        int mask = refs.length - 1;
+        int j = (i + 1) & mask;
+        while (refs[j] != 0) {
+            int home = hashes[j] & mask;
+            if (((j - home) & mask) >= ((j - i) & mask)) {
+                refs[i] = refs[j];
+                hashes[i] = hashes[j];
+                vals[i] = vals[j];
+                i = j;
+            }
+            j = (j + 1) & mask;
+        }
+        refs[i] = 0;
+        hashes[i] = 0;
+        vals[i] = 0;
+        size--;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * This implementation resets the table to the default capacity and
+     * empties the arena, keeping its buffer.
+     */
+    @Override
+    public void clear() {
+        allocate(DEFAULT_CAPACITY);
+        arena.clear();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * This implementation empties the slots in place and empties the arena,
+     * keeping both.
+     */
+    @Override
+    public void clearKeepingCapacity() {
+        Arrays.fill(refs, 0);
+        size = 0;
+        arena.clear();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return an ArrayList of every key, decoded from the arena (slot order)
+     */
+    @Override
+    public ArrayList<String> keySet() {
+        ArrayList<String> out = new ArrayList<>(size);
+        forEachEntry((k, v) -> out.add(k));
+        return out;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The order corresponds to the order of {@link #keySet()}.
+     */
+    @Override
+    public ArrayList<Integer> values() {
+        ArrayList<Integer> out = new ArrayList<>(size);
+        for (int i = 0; i < refs.length; i++) {
+            if (refs[i] != 0)
+                out.add(vals[i]);
+        }
+        return out;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The order corresponds to the order of {@link #keySet()}; the pairs are
+     * copies.
+     */
+    @Override
+    public ArrayList<MapSet.KeyValuePair<String, Integer>> entrySet() {
+        ArrayList<MapSet.KeyValuePair<String, Integer>> out = new ArrayList<>(size);
+        forEachEntry((k, v) -> out.add(new KeyValuePair<>(k, v)));
+        return out;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Each pair returned by the iterator is a new copy with a decoded key.
+     */
+    @Override
+    public Iterable<MapSet.KeyValuePair<String, Integer>> entries() {
+        return () -> new Iterator<MapSet.KeyValuePair<String, Integer>>() {
+            private int slot = nextSlot(0);
+
+            /**
+             * Returns the first occupied slot at or after {@code i}.
+             */
+            private int nextSlot(int i) {
+                while (i < refs.length && refs[i] == 0)
+                    i++;
+                return i;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return slot < refs.length;
+            }
+
+            @Override
+            public MapSet.KeyValuePair<String, Integer> next() {
+                if (slot >= refs.length)
+                    throw new NoSuchElementException();
+                KeyValuePair<String, Integer> kv = new KeyValuePair<>(arena.string(refs[slot] - 1), vals[slot]);
+                slot = nextSlot(slot + 1);
+                return kv;
+            }
+        };
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Only the decoded keys are allocated.
+     */
+    @Override
+    public void forEachEntry(BiConsumer<? super String, ? super Integer> action) {
+        for (int i = 0; i < refs.length; i++) {
+            if (refs[i] != 0)
+                action.accept(arena.string(refs[i] - 1), vals[i]);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * This returns the length of the longest probe sequence.
+     */
+    @Override
+    public int maxDepth() {
+        int mask = refs.length - 1;
+        int max = 0;
+        for (int i = 0; i < refs.length; i++) {
+            if (refs[i] != 0)
+                max = Math.max(max, ((i - (hashes[i] & mask)) & mask) + 1);
+        }
+        return max;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        StringBuilder output = new StringBuilder();
+        for (int i = 0; i < refs.length; i++) {
+            if (refs[i] != 0) {
+                output.append("slot ").append(i).append(": <")
+                        .append(arena.string(refs[i] - 1)).append(" -> ").append(vals[i]).append(">\n");
+            }
+        }
+        return output.toString();
+    }
+}
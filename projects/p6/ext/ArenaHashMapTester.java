@@ -0,0 +1,140 @@
+/*
+ * file name: ArenaHashMapTester.java
+ * author: Jack Dai
+ * last modified: 10/17/2026
+ * purpose of the class: tester for ArenaHashMap.java and ByteArena.java
+ */
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Random;
+
+public class ArenaHashMapTester {
+
+    public static void testPutGetRemove() {
+        System.out.println("-".repeat(30) + "\nArenaHashMap Put/Get/Remove Test:");
+        ArenaHashMap m = new ArenaHashMap();
+        System.out.println("put(a, 1): " + m.put("a", 1) + " expected: null");
+        System.out.println("put(a, 2): " + m.put("a", 2) + " expected: 1");
+        System.out.println("put(b, null): " + m.put("b", null) + " expected: null");
+        System.out.println("get(a): " + m.get("a") + " expected: 2");
+        System.out.println("get(b): " + m.get("b") + " expected: null");
+        System.out.println("remove(a): " + m.remove("a") + " expected: 2");
+        System.out.println("remove(a) again: " + m.remove("a") + " expected: null");
+        System.out.println("size: " + m.size() + " expected: 0");
+
+        // random puts and removes on a small key range keep long runs of
+        // collisions, so removals have to shift later entries backward
+        Random rand = new Random(231);
+        ArenaHashMap a = new ArenaHashMap();
+        java.util.HashMap<String, Integer> ref = new java.util.HashMap<>();
+        boolean ok = true;
+        for (int op = 0; op < 50000; op++) {
+            String key = "k" + rand.nextInt(500);
+            switch (rand.nextInt(3)) {
+            case 0:
+                ok &= Objects.equals(a.remove(key), ref.remove(key));
+                break;
+            case 1:
+                ok &= Objects.equals(a.get(key), ref.get(key));
+                break;
+            default:
+                ok &= Objects.equals(a.put(key, op), ref.put(key, op));
+            }
+        }
+        ok &= a.size() == ref.size();
+        for (MapSet.KeyValuePair<String, Integer> kv : a.entries())
+            ok &= kv.getValue().equals(ref.get(kv.getKey()));
+        System.out.println("agrees with java.util.HashMap after 50000 operations: " + ok + " expected: true");
+        System.out.println("-".repeat(30));
+    }
+
+    public static void testMergeIncrement() {
+        System.out.println("-".repeat(30) + "\nArenaHashMap Merge/Increment Test:");
+        ArenaHashMap m = new ArenaHashMap();
+        System.out.println("merge(x, 5, sum): " + m.merge("x", 5, Integer::sum) + " expected: 5");
+        System.out.println("merge(x, 2, sum): " + m.merge("x", 2, Integer::sum) + " expected: 7");
+        System.out.println("merge(x, 1, null result): " + m.merge("x", 1, (p, q) -> null) + " expected: null");
+        System.out.println("containsKey(x): " + m.containsKey("x") + " expected: false");
+        System.out.println("increment(y, 3): " + m.increment("y", 3) + " expected: 3");
+        System.out.println("increment(y, 4): " + m.increment("y", 4) + " expected: 7");
+        byte[] text = "one two one".getBytes(StandardCharsets.UTF_8);
+        m.increment(text, 0, 3);
+        m.increment(text, 4, 3);
+        System.out.println("increment(bytes of one): " + m.increment(text, 8, 3) + " expected: 2");
+        System.out.println("get(one): " + m.get("one") + " expected: 2");
+        System.out.println("get(two): " + m.get("two") + " expected: 1");
+        System.out.println("size: " + m.size() + " expected: 3");
+        System.out.println("-".repeat(30));
+    }
+
+    public static void testArenaGrowth() {
+        System.out.println("-".repeat(30) + "\nArenaHashMap Arena Growth Test:");
+        ArenaHashMap m = new ArenaHashMap();
+        int initial = m.arena().capacity();
+        // about 200 KB of keys, three doublings past the initial 64 KB
+        for (int i = 0; i < 20000; i++)
+            m.put("growth-key-" + i, i);
+        boolean ok = true;
+        for (int i = 0; i < 20000; i++)
+            ok &= m.get("growth-key-" + i) == i;
+        System.out.println("initial capacity: " + initial + " expected: 65536");
+        System.out.println("capacity grew past used bytes: "
+                + (m.arena().capacity() >= m.arena().used() && m.arena().used() > initial) + " expected: true");
+        System.out.println("all 20000 lookups correct after growth: " + ok + " expected: true");
+        System.out.println("size: " + m.size() + " expected: 20000");
+        System.out.println("-".repeat(30));
+    }
+
+    public static void testUtf8Keys() {
+        System.out.println("-".repeat(30) + "\nArenaHashMap UTF-8 Key Test:");
+        ArenaHashMap m = new ArenaHashMap();
+        String[] words = { "caf\u00e9", "cafe", "\u65e5\u672c\u8a9e", "na\u00efve", "\ud83d\ude00", "" };
+        for (int i = 0; i < words.length; i++)
+            m.put(words[i], i);
+        boolean ok = true;
+        for (int i = 0; i < words.length; i++)
+            ok &= m.get(words[i]) == i;
+        System.out.println("all lookups correct: " + ok + " expected: true");
+        System.out.println("size: " + m.size() + " expected: 6");
+        byte[] utf8 = "\u65e5\u672c\u8a9e".getBytes(StandardCharsets.UTF_8);
+        System.out.println("increment(bytes of words[2]): " + m.increment(utf8, 0, utf8.length) + " expected: 3");
+        // every key comes back from the arena as one of the original words
+        HashSet<String> keys = new HashSet<>(m.keySet());
+        boolean decoded = keys.size() == words.length && keys.containsAll(Arrays.asList(words));
+        System.out.println("keys decode to the original strings: " + decoded + " expected: true");
+        System.out.println("-".repeat(30));
+    }
+
+    public static void testClearKeepingCapacity() {
+        System.out.println("-".repeat(30) + "\nArenaHashMap clearKeepingCapacity Test:");
+        ArenaHashMap m = new ArenaHashMap();
+        for (int i = 0; i < 10000; i++)
+            m.put("k" + i, i);
+        long tableBytes = m.tableBytes();
+        int arenaCapacity = m.arena().capacity();
+        m.clearKeepingCapacity();
+        System.out.println("size: " + m.size() + " expected: 0");
+        System.out.println("arena used: " + m.arena().used() + " expected: 0");
+        System.out.println("table kept: " + (m.tableBytes() == tableBytes) + " expected: true");
+        System.out.println("arena kept: " + (m.arena().capacity() == arenaCapacity) + " expected: true");
+        System.out.println("get(k7): " + m.get("k7") + " expected: null");
+        System.out.println("entries visited: " + m.entrySet().size() + " expected: 0");
+        m.put("k7", 3);
+        m.put("fresh", 4);
+        System.out.println("get(k7) after refill: " + m.get("k7") + " expected: 3");
+        System.out.println("get(fresh) after refill: " + m.get("fresh") + " expected: 4");
+        System.out.println("size after refill: " + m.size() + " expected: 2");
+        System.out.println("-".repeat(30));
+    }
+
+    public static void main(String[] args) {
+        testPutGetRemove();
+        testMergeIncrement();
+        testArenaGrowth();
+        testUtf8Keys();
+        testClearKeepingCapacity();
+    }
+}
@@ -1,13 +1,18 @@
 /*
  * file name: BSTMap.java
  * author: Jack Dai
- * last modified: 10/31/2025
+ * last modified: 10/17/2026
  * purpose of the class: Implements a Map using a binary search tree (BST)
  *                     to store key-value pairs.
  */
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 public class BSTMap<K, V> implements MapSet<K, V> {
     /**
@@ -30,6 +35,9 @@ public class BSTMap<K, V> implements MapSet<K, V> {
 
     private Comparator<K> comparator;
 
+    // null unless statistics are being collected
+    private MapStats stats;
+
     /**
      * Construct a BSTMap using the given comparator to order keys. If
      * {@code comparator} is {@code null} a default comparator that casts
@@ -63,29 +71,17 @@ public class BSTMap<K, V> implements MapSet<K, V> {
 
     /**
      * {@inheritDoc}
+     *
+     * Keys are in sorted order (least to greatest).
      */
     @Override
     public ArrayList<K> keySet() {
-        ArrayList<K> keys = new ArrayList<>();
-        keySet(root, keys);
+        ArrayList<K> keys = new ArrayList<>(size);
+        for (MapSet.KeyValuePair<K, V> kv : entries())
+            keys.add(kv.getKey());
         return keys;
     }
 
-    /**
-     * Helper for {@link #keySet()}. Performs an in-order traversal to
-     * collect keys in sorted order (least to greatest).
-     *
-     * @param cur    current subtree root (may be null)
-     * @param output list to append keys to
-     */
-    private void keySet(Node<K, V> cur, ArrayList<K> output) {
-        if (cur == null)
-            return;
-        keySet(cur.left, output);
-        output.add(cur.getKey());
-        keySet(cur.right, output);
-    }
-
     /**
      * {@inheritDoc}
      */
@@ -103,53 +99,72 @@ public class BSTMap<K, V> implements MapSet<K, V> {
      */
     @Override
     public ArrayList<MapSet.KeyValuePair<K, V>> entrySet() {
-        ArrayList<MapSet.KeyValuePair<K, V>> out = new ArrayList<>();
-        entrySet(root, out);
+        ArrayList<MapSet.KeyValuePair<K, V>> out = new ArrayList<>(size);
+        for (MapSet.KeyValuePair<K, V> kv : entries())
+            out.add(kv);
         return out;
     }
 
     /**
-     * Helper for {@link #entrySet()}. Performs an in-order traversal and
-     * appends each {@link MapSet.KeyValuePair} to {@code out} in the same
-     * order as {@link #keySet()}.
+     * {@inheritDoc}
      *
-     * @param cur current subtree root (may be null)
-     * @param out list to append entries to
+     * Returns an ArrayList of the values in the same order as {@link #keySet()}.
      */
-    private void entrySet(Node<K, V> cur, ArrayList<MapSet.KeyValuePair<K, V>> out) {
-        if (cur == null)
-            return;
-        entrySet(cur.left, out);
-        out.add(cur);
-        entrySet(cur.right, out);
+    @Override
+    public ArrayList<V> values() {
+        ArrayList<V> out = new ArrayList<>(size);
+        for (MapSet.KeyValuePair<K, V> kv : entries())
+            out.add(kv.getValue());
+        return out;
     }
 
     /**
      * {@inheritDoc}
      *
-     * Returns an ArrayList of the values in the same order as {@link #keySet()}.
+     * The iterator performs an in-order traversal with an explicit stack of
+     * at most {@link #maxDepth()} nodes, so deep trees cannot overflow the
+     * call stack and the nodes themselves are returned without copying.
      */
     @Override
-    public ArrayList<V> values() {
-        ArrayList<V> out = new ArrayList<>();
-        values(root, out);
-        return out;
+    public Iterable<MapSet.KeyValuePair<K, V>> entries() {
+        return EntryIterator::new;
     }
 
     /**
-     * Helper for {@link #values()}. Traverses the tree in-order and appends
-     * each node's value to {@code out} following the same order as
-     * {@link #keySet()}.
-     *
-     * @param cur current subtree root (may be null)
-     * @param out list to append values to
+     * In-order iterator over the nodes of the tree. The stack holds the
+     * nodes whose left subtrees are being visited, i.e. the path of pending
+     * ancestors of the next node.
      */
-    private void values(Node<K, V> cur, ArrayList<V> out) {
-        if (cur == null)
-            return;
-        values(cur.left, out);
-        out.add(cur.getValue());
-        values(cur.right, out);
+    private class EntryIterator implements Iterator<MapSet.KeyValuePair<K, V>> {
+        private final ArrayDeque<Node<K, V>> stack = new ArrayDeque<>();
+
+        EntryIterator() {
+            pushLeft(root);
+        }
+
+        /**
+         * Push {@code cur} and its chain of left descendants.
+         */
+        private void pushLeft(Node<K, V> cur) {
+            while (cur != null) {
+                stack.push(cur);
+                cur = cur.left;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !stack.isEmpty();
+        }
+
+        @Override
+        public MapSet.KeyValuePair<K, V> next() {
+            if (stack.isEmpty())
+                throw new NoSuchElementException();
+            Node<K, V> cur = stack.pop();
+            pushLeft(cur.right);
+            return cur;
+        }
     }
 
     /**
@@ -157,6 +172,7 @@ public class BSTMap<K, V> implements MapSet<K, V> {
      */
     @Override
     public V get(K key) {
+        countOperation();
         return get(key, root);
     }
 
@@ -183,7 +199,7 @@ public class BSTMap<K, V> implements MapSet<K, V> {
             return null;
         }
 
-        int cmp = comparator.compare(key, cur.getKey());
+        int cmp = compare(key, cur.getKey());
         if (cmp < 0) {
             return get(key, cur.left);
         } else if (cmp > 0) {
@@ -203,6 +219,7 @@ public class BSTMap<K, V> implements MapSet<K, V> {
             // can also just return false
             throw new NullPointerException("BSTMap does not support null keys");
         }
+        countOperation();
         return containsKey(key, root);
     }
 
@@ -224,7 +241,7 @@ public class BSTMap<K, V> implements MapSet<K, V> {
         if (cur == null) {
             return false;
         }
-        int cmp = comparator.compare(key, cur.getKey());
+        int cmp = compare(key, cur.getKey());
         if (cmp < 0) {
             return containsKey(key, cur.left);
         } else if (cmp > 0) {
@@ -268,9 +285,9 @@ public class BSTMap<K, V> implements MapSet<K, V> {
             return null;
         }
 
+        countOperation();
         if (root == null) {
-            root = new Node<K, V>(key, value);
-            size = 1;
+            attach(null, 0, new Node<K, V>(key, value));
             return null;
         }
 
@@ -296,15 +313,14 @@ public class BSTMap<K, V> implements MapSet<K, V> {
      * @return previous value if key existed, otherwise {@code null}
      */
     private V put(K key, V value, Node<K, V> cur) {
-        int cmp = comparator.compare(key, cur.getKey());
+        int cmp = compare(key, cur.getKey());
         if (cmp < 0) {
             if (cur.left != null) {
                 // return the recursive call's result to the left
                 return put(key, value, cur.left);
             } else {
                 // insert a new Node with the given KeyValuePair to the left of cur
-                cur.left = new Node<>(key, value);
-                size++;
+                attach(cur, cmp, new Node<>(key, value));
                 return null;
             }
         } else if (cmp > 0) {
@@ -313,8 +329,7 @@ public class BSTMap<K, V> implements MapSet<K, V> {
                 return put(key, value, cur.right);
             } else {
                 // insert a new Node with the given KeyValuePair to the right of cur
-                cur.right = new Node<>(key, value);
-                size++;
+                attach(cur, cmp, new Node<>(key, value));
                 return null;
             }
         } else { // in this case, cur.getKey() == key
@@ -326,6 +341,105 @@ public class BSTMap<K, V> implements MapSet<K, V> {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * The tree is descended once; the new value is stored in place or a new
+     * leaf is attached where the search ended. If the remapping function
+     * returns {@code null} the node is removed with {@link #remove(Object)}.
+     *
+     * @throws NullPointerException if {@code key} is {@code null}
+     */
+    @Override
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        if (key == null)
+            throw new NullPointerException("BSTMap does not support null keys");
+        if (value == null || remappingFunction == null)
+            throw new NullPointerException();
+        countOperation();
+
+        Node<K, V> parent = null;
+        Node<K, V> cur = root;
+        int cmp = 0;
+        while (cur != null) {
+            cmp = compare(key, cur.getKey());
+            if (cmp < 0) {
+                parent = cur;
+                cur = cur.left;
+            } else if (cmp > 0) {
+                parent = cur;
+                cur = cur.right;
+            } else {
+                V newValue = remappingFunction.apply(cur.getValue(), value);
+                if (newValue != null) {
+                    cur.setValue(newValue);
+                } else {
+                    remove(key);
+                }
+                return newValue;
+            }
+        }
+
+        attach(parent, cmp, new Node<>(key, value));
+        return value;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws NullPointerException if {@code key} is {@code null}
+     */
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        if (key == null)
+            throw new NullPointerException("BSTMap does not support null keys");
+        if (mappingFunction == null)
+            throw new NullPointerException();
+        countOperation();
+
+        Node<K, V> parent = null;
+        Node<K, V> cur = root;
+        int cmp = 0;
+        while (cur != null) {
+            cmp = compare(key, cur.getKey());
+            if (cmp < 0) {
+                parent = cur;
+                cur = cur.left;
+            } else if (cmp > 0) {
+                parent = cur;
+                cur = cur.right;
+            } else {
+                return cur.getValue();
+            }
+        }
+
+        V value = mappingFunction.apply(key);
+        if (value != null)
+            attach(parent, cmp, new Node<>(key, value));
+        return value;
+    }
+
+    /**
+     * Attach a new leaf where a failed search ended.
+     *
+     * @param parent the last node visited by the search, or {@code null} if
+     *               the tree is empty
+     * @param cmp    the result of comparing the new key to {@code parent}'s key
+     * @param leaf   the new node
+     */
+    private void attach(Node<K, V> parent, int cmp, Node<K, V> leaf) {
+        if (parent == null) {
+            root = leaf;
+        } else if (cmp < 0) {
+            parent.left = leaf;
+        } else {
+            parent.right = leaf;
+        }
+        size++;
+        if (stats != null)
+            stats.inserts++;
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -339,6 +453,7 @@ public class BSTMap<K, V> implements MapSet<K, V> {
     public V remove(K key) {
         if (key == null)
             throw new NullPointerException("BSTMap does not support null keys");
+        countOperation();
         if (root == null)
             return null;
 
@@ -346,7 +461,7 @@ public class BSTMap<K, V> implements MapSet<K, V> {
         Node<K, V> cur = root;
         int cmp = 0;
         while (cur != null) {
-            cmp = comparator.compare(key, cur.getKey());
+            cmp = compare(key, cur.getKey());
             if (cmp < 0) {
                 parent = cur;
                 cur = cur.left;
@@ -406,6 +521,128 @@ public class BSTMap<K, V> implements MapSet<K, V> {
         return oldValue;
     }
 
+    // Bulk loading and merging
+
+    /**
+     * Build a BSTMap from entries in strictly ascending key order. The
+     * entries are buffered and the tree is linked middle-first, so it is
+     * perfectly balanced and built in O(n) time without any comparisons
+     * beyond checking the order.
+     *
+     * @param sorted     entries in strictly ascending key order
+     * @param comparator comparator used to compare keys, or {@code null}
+     * @return a new balanced map holding the entries
+     * @throws IllegalArgumentException if the keys are not strictly ascending
+     */
+    public static <K, V> BSTMap<K, V> fromSorted(Iterator<? extends MapSet.KeyValuePair<K, V>> sorted,
+            Comparator<K> comparator) {
+        BSTMap<K, V> map = new BSTMap<>(comparator);
+        ArrayList<MapSet.KeyValuePair<K, V>> nodes = SortedEntries.collect(sorted, map.comparator, Node::new);
+        map.root = map.build(nodes, 0, nodes.size());
+        map.size = nodes.size();
+        return map;
+    }
+
+    /**
+     * Build a BSTMap whose keys use their natural ordering from entries in
+     * strictly ascending key order, in O(n) time.
+     *
+     * @param sorted entries in strictly ascending key order
+     * @return a new balanced map holding the entries
+     * @throws IllegalArgumentException if the keys are not strictly ascending
+     */
+    public static <K, V> BSTMap<K, V> fromSorted(Iterator<? extends MapSet.KeyValuePair<K, V>> sorted) {
+        return fromSorted(sorted, null);
+    }
+
+    /**
+     * Add every entry of {@code other} to this map, combining the values of
+     * keys present in both with {@code remappingFunction} (a {@code null}
+     * result removes the key). Both maps are walked in key order and the tree
+     * is relinked balanced from the merged sequence, so merging maps of n and
+     * m entries costs O(n + m) when {@code other} iterates in this map's
+     * order, as the tree maps do; other maps are sorted first.
+     *
+     * @param other             the entries to add
+     * @param remappingFunction combines this map's value with {@code other}'s
+     */
+    public void putAll(MapSet<K, V> other, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        // existing nodes are reused; the iterator is done with a node once it has returned it
+        ArrayList<MapSet.KeyValuePair<K, V>> merged = SortedEntries.merge(entries().iterator(), size, other,
+                comparator, remappingFunction, Node::new);
+        root = build(merged, 0, merged.size());
+        size = merged.size();
+    }
+
+    /**
+     * Add every entry of {@code other} to this map in O(n + m), replacing
+     * the values of keys present in both.
+     *
+     * @param other the entries to add
+     */
+    public void putAll(MapSet<K, V> other) {
+        putAll(other, (mine, theirs) -> theirs);
+    }
+
+    /**
+     * Link {@code nodes[lo, hi)}, which are in key order, into a balanced
+     * subtree and return its root.
+     */
+    private Node<K, V> build(ArrayList<MapSet.KeyValuePair<K, V>> nodes, int lo, int hi) {
+        if (lo >= hi)
+            return null;
+        int mid = (lo + hi) >>> 1;
+        Node<K, V> n = (Node<K, V>) nodes.get(mid);
+        n.left = build(nodes, lo, mid);
+        n.right = build(nodes, mid + 1, hi);
+        return n;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * This map counts key comparisons and inserts.
+     */
+    @Override
+    public MapStats enableStats() {
+        stats = new MapStats(false, false);
+        return stats;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void disableStats() {
+        stats = null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public MapStats stats() {
+        return stats;
+    }
+
+    /**
+     * Compare two keys with the map's comparator, counting the comparison
+     * when statistics are being collected.
+     */
+    private int compare(K a, K b) {
+        if (stats != null)
+            stats.comparisons++;
+        return comparator.compare(a, b);
+    }
+
+    /**
+     * Count one operation when statistics are being collected.
+     */
+    private void countOperation() {
+        if (stats != null)
+            stats.operations++;
+    }
+
     /**
      * {@inheritDoc}
      */
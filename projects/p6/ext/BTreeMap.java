@@ -0,0 +1,661 @@
+/*
+ * file name: BTreeMap.java
+ * author: Jack Dai
+ * last modified: 10/17/2026
+ * purpose of the class: Implements a sorted Map using a B-tree whose nodes
+ *                     keep their keys and values in arrays.
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * BTreeMap is a MapSet implementation backed by a B-tree. Every node holds up
+ * to {@code fanout - 1} keys in sorted arrays and, unless it is a leaf,
+ * {@code fanout} children. A lookup binary-searches one small contiguous key
+ * array per level instead of following one pointer per comparison, so a tree
+ * of a million keys with the default fanout is only four levels deep.
+ *
+ * Insertion splits full nodes on the way down and removal tops up minimal
+ * nodes on the way down, so both finish in a single root-to-leaf pass. All
+ * leaves are at the same depth and every node but the root is at least half
+ * full.
+ *
+ * Entries are not stored as objects, so the pairs returned by
+ * {@link #entrySet()} and {@link #entries()} are copies; calling
+ * {@code setValue} on them does not modify the map.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+public class BTreeMap<K, V> implements MapSet<K, V> {
+
+    private static final int DEFAULT_FANOUT = 64;
+
+    private static class Node {
+        private int n; // number of keys in use
+        private final Object[] keys;
+        private final Object[] vals;
+        private final Node[] children; // null for leaves
+
+        Node(int fanout, boolean leaf) {
+            keys = new Object[fanout - 1];
+            vals = new Object[fanout - 1];
+            children = leaf ? null : new Node[fanout];
+        }
+
+        boolean isLeaf() {
+            return children == null;
+        }
+    }
+
+    private Node root;
+    private int size;
+    private final int fanout;
+    private final int minKeys; // every node but the root keeps at least this many keys
+    private Comparator<K> comparator;
+
+    /**
+     * Construct a BTreeMap with the given maximum number of children per
+     * node. If {@code comparator} is {@code null} keys use their natural
+     * ordering (they must implement {@code Comparable}).
+     *
+     * @param fanout     maximum children per node; an even number, at least 4
+     * @param comparator comparator used to compare keys, or {@code null}
+     */
+    public BTreeMap(int fanout, Comparator<K> comparator) {
+        if (fanout < 4 || fanout % 2 != 0)
+            throw new IllegalArgumentException("fanout must be an even number of at least 4: " + fanout);
+        this.fanout = fanout;
+        this.minKeys = fanout / 2 - 1;
+        if (comparator != null) {
+            this.comparator = comparator;
+        } else {
+            this.comparator = new Comparator<K>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public int compare(K o1, K o2) {
+                    return ((Comparable<K>) o1).compareTo(o2);
+                }
+            };
+        }
+        this.root = new Node(fanout, true);
+    }
+
+    /**
+     * Construct a BTreeMap with the given fanout whose keys use their natural
+     * ordering.
+     *
+     * @param fanout maximum children per node; an even number, at least 4
+     */
+    public BTreeMap(int fanout) {
+        this(fanout, null);
+    }
+
+    /**
+     * Construct a BTreeMap with the default fanout whose keys use their
+     * natural ordering.
+     */
+    public BTreeMap() {
+        this(DEFAULT_FANOUT, null);
+    }
+
+    /**
+     * Returns the maximum number of children per node.
+     *
+     * @return the fanout
+     */
+    public int fanout() {
+        return fanout;
+    }
+
+    /**
+     * Binary search the keys of {@code x}.
+     *
+     * @return the index of {@code key}, or {@code -(insertion point) - 1}
+     */
+    @SuppressWarnings("unchecked")
+    private int search(Node x, K key) {
+        int lo = 0;
+        int hi = x.n - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int cmp = comparator.compare((K) x.keys[mid], key);
+            if (cmp < 0)
+                lo = mid + 1;
+            else if (cmp > 0)
+                hi = mid - 1;
+            else
+                return mid;
+        }
+        return -(lo + 1);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(K key) {
+        Node x = root;
+        while (true) {
+            int i = search(x, key);
+            if (i >= 0)
+                return (V) x.vals[i];
+            if (x.isLeaf())
+                return null;
+            x = x.children[-i - 1];
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean containsKey(K key) {
+        Node x = root;
+        while (true) {
+            int i = search(x, key);
+            if (i >= 0)
+                return true;
+            if (x.isLeaf())
+                return false;
+            x = x.children[-i - 1];
+        }
+    }
+
+    // Insertion
+
+    /** Node and index of the slot found or created by {@link #slot}. */
+    private Node slotNode;
+    private int slotIndex;
+
+    /**
+     * Find the slot of {@code key}, inserting it with a {@code null} value if
+     * it is absent. Full nodes on the path are split before descending into
+     * them, so there is always room in the leaf. On return the slot is
+     * {@code slotNode.vals[slotIndex]}.
+     *
+     * @param key the key to find or insert
+     * @return {@code true} if the key was inserted
+     */
+    private boolean slot(K key) {
+        if (root.n == fanout - 1) {
+            Node s = new Node(fanout, false);
+            s.children[0] = root;
+            root = s;
+            split(s, 0);
+        }
+        Node x = root;
+        while (true) {
+            int i = search(x, key);
+            if (i >= 0) {
+                slotNode = x;
+                slotIndex = i;
+                return false;
+            }
+            i = -i - 1;
+            if (x.isLeaf()) {
+                System.arraycopy(x.keys, i, x.keys, i + 1, x.n - i);
+                System.arraycopy(x.vals, i, x.vals, i + 1, x.n - i);
+                x.keys[i] = key;
+                x.vals[i] = null;
+                x.n++;
+                size++;
+                slotNode = x;
+                slotIndex = i;
+                return true;
+            }
+            if (x.children[i].n == fanout - 1) {
+                split(x, i);
+                // the median moved up to x.keys[i]
+                continue;
+            }
+            x = x.children[i];
+        }
+    }
+
+    /**
+     * Split the full child {@code i} of {@code x} around its median, which
+     * moves up into {@code x}. {@code x} must not be full.
+     */
+    private void split(Node x, int i) {
+        Node y = x.children[i];
+        Node z = new Node(fanout, y.isLeaf());
+        int t = fanout / 2; // y keeps t - 1 keys, z gets t - 1, one moves up
+        System.arraycopy(y.keys, t, z.keys, 0, t - 1);
+        System.arraycopy(y.vals, t, z.vals, 0, t - 1);
+        if (!y.isLeaf()) {
+            System.arraycopy(y.children, t, z.children, 0, t);
+            Arrays.fill(y.children, t, fanout, null);
+        }
+        z.n = t - 1;
+
+        System.arraycopy(x.keys, i, x.keys, i + 1, x.n - i);
+        System.arraycopy(x.vals, i, x.vals, i + 1, x.n - i);
+        System.arraycopy(x.children, i + 1, x.children, i + 2, x.n - i);
+        x.keys[i] = y.keys[t - 1];
+        x.vals[i] = y.vals[t - 1];
+        x.children[i + 1] = z;
+        x.n++;
+
+        Arrays.fill(y.keys, t - 1, fanout - 1, null);
+        Arrays.fill(y.vals, t - 1, fanout - 1, null);
+        y.n = t - 1;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws NullPointerException if {@code key} is {@code null}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public V put(K key, V value) {
+        if (value == null)
+            return null;
+        if (key == null)
+            throw new NullPointerException("BTreeMap does not support null keys");
+        slot(key);
+        V old = (V) slotNode.vals[slotIndex];
+        slotNode.vals[slotIndex] = value;
+        return old;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        if (key == null)
+            throw new NullPointerException("BTreeMap does not support null keys");
+        if (value == null || remappingFunction == null)
+            throw new NullPointerException();
+        if (slot(key)) {
+            slotNode.vals[slotIndex] = value;
+            return value;
+        }
+        V updated = remappingFunction.apply((V) slotNode.vals[slotIndex], value);
+        if (updated == null) {
+            remove(key);
+        } else {
+            slotNode.vals[slotIndex] = updated;
+        }
+        return updated;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The key is inserted before the function runs, so the function must not
+     * modify this map. If it returns {@code null} or throws, the key is
+     * removed again.
+     *
+     * @throws NullPointerException if {@code key} is {@code null}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        if (key == null)
+            throw new NullPointerException("BTreeMap does not support null keys");
+        if (mappingFunction == null)
+            throw new NullPointerException();
+        if (!slot(key))
+            return (V) slotNode.vals[slotIndex];
+        V value = null;
+        try {
+            value = mappingFunction.apply(key);
+        } finally {
+            if (value == null)
+                remove(key);
+        }
+        slotNode.vals[slotIndex] = value;
+        return value;
+    }
+
+    // Removal
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V remove(K key) {
+        if (!containsKey(key))
+            return null;
+        V old = remove(root, key);
+        size--;
+        if (root.n == 0 && !root.isLeaf())
+            root = root.children[0];
+        return old;
+    }
+
+    /**
+     * Remove {@code key}, which is present, from the subtree rooted at
+     * {@code x}. Every child descended into is first topped up to more than
+     * the minimum number of keys, so removing from it cannot underflow.
+     */
+    @SuppressWarnings("unchecked")
+    private V remove(Node x, K key) {
+        int i = search(x, key);
+        if (i >= 0) {
+            V old = (V) x.vals[i];
+            if (x.isLeaf()) {
+                deleteAt(x, i);
+                return old;
+            }
+            Node y = x.children[i];
+            Node z = x.children[i + 1];
+            if (y.n > minKeys) {
+                // replace with the predecessor and remove that from the left subtree
+                Node p = y;
+                while (!p.isLeaf())
+                    p = p.children[p.n];
+                K pred = (K) p.keys[p.n - 1];
+                x.keys[i] = pred;
+                x.vals[i] = p.vals[p.n - 1];
+                remove(y, pred);
+            } else if (z.n > minKeys) {
+                Node s = z;
+                while (!s.isLeaf())
+                    s = s.children[0];
+                K succ = (K) s.keys[0];
+                x.keys[i] = succ;
+                x.vals[i] = s.vals[0];
+                remove(z, succ);
+            } else {
+                mergeChildren(x, i);
+                remove(y, key);
+            }
+            return old;
+        }
+
+        i = -i - 1;
+        Node child = x.children[i];
+        if (child.n == minKeys) {
+            Node left = (i > 0) ? x.children[i - 1] : null;
+            Node right = (i < x.n) ? x.children[i + 1] : null;
+            if (left != null && left.n > minKeys) {
+                borrowFromLeft(x, i);
+            } else if (right != null && right.n > minKeys) {
+                borrowFromRight(x, i);
+            } else if (right != null) {
+                mergeChildren(x, i);
+            } else {
+                mergeChildren(x, i - 1);
+                child = left;
+            }
+        }
+        return remove(child, key);
+    }
+
+    /**
+     * Remove key {@code i} from the leaf {@code x}.
+     */
+    private void deleteAt(Node x, int i) {
+        System.arraycopy(x.keys, i + 1, x.keys, i, x.n - i - 1);
+        System.arraycopy(x.vals, i + 1, x.vals, i, x.n - i - 1);
+        x.n--;
+        x.keys[x.n] = null;
+        x.vals[x.n] = null;
+    }
+
+    /**
+     * Merge child {@code i + 1} of {@code x} and the key between them into
+     * child {@code i}.
+     */
+    private void mergeChildren(Node x, int i) {
+        Node y = x.children[i];
+        Node z = x.children[i + 1];
+        y.keys[y.n] = x.keys[i];
+        y.vals[y.n] = x.vals[i];
+        System.arraycopy(z.keys, 0, y.keys, y.n + 1, z.n);
+        System.arraycopy(z.vals, 0, y.vals, y.n + 1, z.n);
+        if (!y.isLeaf())
+            System.arraycopy(z.children, 0, y.children, y.n + 1, z.n + 1);
+        y.n += z.n + 1;
+
+        System.arraycopy(x.keys, i + 1, x.keys, i, x.n - i - 1);
+        System.arraycopy(x.vals, i + 1, x.vals, i, x.n - i - 1);
+        System.arraycopy(x.children, i + 2, x.children, i + 1, x.n - i - 1);
+        x.n--;
+        x.keys[x.n] = null;
+        x.vals[x.n] = null;
+        x.children[x.n + 1] = null;
+    }
+
+    /**
+     * Rotate the last key of child {@code i - 1} through {@code x} into the
+     * front of child {@code i}.
+     */
+    private void borrowFromLeft(Node x, int i) {
+        Node c = x.children[i];
+        Node l = x.children[i - 1];
+        System.arraycopy(c.keys, 0, c.keys, 1, c.n);
+        System.arraycopy(c.vals, 0, c.vals, 1, c.n);
+        if (!c.isLeaf()) {
+            System.arraycopy(c.children, 0, c.children, 1, c.n + 1);
+            c.children[0] = l.children[l.n];
+            l.children[l.n] = null;
+        }
+        c.keys[0] = x.keys[i - 1];
+        c.vals[0] = x.vals[i - 1];
+        c.n++;
+
+        l.n--;
+        x.keys[i - 1] = l.keys[l.n];
+        x.vals[i - 1] = l.vals[l.n];
+        l.keys[l.n] = null;
+        l.vals[l.n] = null;
+    }
+
+    /**
+     * Rotate the first key of child {@code i + 1} through {@code x} onto the
+     * end of child {@code i}.
+     */
+    private void borrowFromRight(Node x, int i) {
+        Node c = x.children[i];
+        Node r = x.children[i + 1];
+        c.keys[c.n] = x.keys[i];
+        c.vals[c.n] = x.vals[i];
+        if (!c.isLeaf())
+            c.children[c.n + 1] = r.children[0];
+        c.n++;
+
+        x.keys[i] = r.keys[0];
+        x.vals[i] = r.vals[0];
+        System.arraycopy(r.keys, 1, r.keys, 0, r.n - 1);
+        System.arraycopy(r.vals, 1, r.vals, 0, r.n - 1);
+        if (!r.isLeaf()) {
+            System.arraycopy(r.children, 1, r.children, 0, r.n);
+            r.children[r.n] = null;
+        }
+        r.n--;
+        r.keys[r.n] = null;
+        r.vals[r.n] = null;
+    }
+
+    // Bulk views and traversal
+
+    /**
+     * {@inheritDoc}
+     *
+     * Keys are returned in ascending order.
+     */
+    @Override
+    public ArrayList<K> keySet() {
+        ArrayList<K> out = new ArrayList<>(size);
+        forEachEntry((k, v) -> out.add(k));
+        return out;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Values are returned in ascending order of their keys.
+     */
+    @Override
+    public ArrayList<V> values() {
+        ArrayList<V> out = new ArrayList<>(size);
+        forEachEntry((k, v) -> out.add(v));
+        return out;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Entries are returned in ascending key order; they are copies.
+     */
+    @Override
+    public ArrayList<MapSet.KeyValuePair<K, V>> entrySet() {
+        ArrayList<MapSet.KeyValuePair<K, V>> out = new ArrayList<>(size);
+        forEachEntry((k, v) -> out.add(new KeyValuePair<>(k, v)));
+        return out;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Entries are visited in ascending key order; they are copies.
+     */
+    @Override
+    public Iterable<MapSet.KeyValuePair<K, V>> entries() {
+        return () -> new EntryIterator();
+    }
+
+    /**
+     * In-order iterator keeping one (node, next key index) frame per level.
+     */
+    private class EntryIterator implements Iterator<MapSet.KeyValuePair<K, V>> {
+        private final Node[] nodes = new Node[maxDepth() + 1];
+        private final int[] next = new int[nodes.length];
+        private int top = -1;
+
+        EntryIterator() {
+            descend(root);
+            settle();
+        }
+
+        /** Push {@code x} and the leftmost path below it. */
+        private void descend(Node x) {
+            while (true) {
+                nodes[++top] = x;
+                next[top] = 0;
+                if (x.isLeaf())
+                    return;
+                x = x.children[0];
+            }
+        }
+
+        /** Pop the frames whose keys have all been returned. */
+        private void settle() {
+            while (top >= 0 && next[top] >= nodes[top].n)
+                top--;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return top >= 0;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public MapSet.KeyValuePair<K, V> next() {
+            if (top < 0)
+                throw new NoSuchElementException();
+            Node x = nodes[top];
+            int i = next[top]++;
+            MapSet.KeyValuePair<K, V> kv = new KeyValuePair<>((K) x.keys[i], (V) x.vals[i]);
+            if (!x.isLeaf())
+                descend(x.children[i + 1]);
+            settle();
+            return kv;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Entries are visited in ascending key order without allocating pairs.
+     */
+    @Override
+    public void forEachEntry(BiConsumer<? super K, ? super V> action) {
+        forEachEntry(root, action);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void forEachEntry(Node x, BiConsumer<? super K, ? super V> action) {
+        for (int i = 0; i < x.n; i++) {
+            if (!x.isLeaf())
+                forEachEntry(x.children[i], action);
+            action.accept((K) x.keys[i], (V) x.vals[i]);
+        }
+        if (!x.isLeaf())
+            forEachEntry(x.children[x.n], action);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear() {
+        root = new Node(fanout, true);
+        size = 0;
+    }
+
+    /**
+     * Returns the number of node levels; every leaf is at this depth. An empty
+     * map has depth 0.
+     *
+     * @return levels of nodes from the root to the leaves
+     */
+    @Override
+    public int maxDepth() {
+        if (size == 0)
+            return 0;
+        int depth = 1;
+        for (Node x = root; !x.isLeaf(); x = x.children[0])
+            depth++;
+        return depth;
+    }
+
+    /**
+     * Helper for {@link #toString()}. Prints the keys of every node, indented
+     * by depth, with the largest keys at the top.
+     */
+    private void toString(Node x, int depth, StringBuilder sb) {
+        if (!x.isLeaf())
+            toString(x.children[x.n], depth + 1, sb);
+        for (int i = x.n - 1; i >= 0; i--) {
+            sb.append("\t".repeat(depth) + "<" + x.keys[i] + " -> " + x.vals[i] + ">\n");
+            if (!x.isLeaf())
+                toString(x.children[i], depth + 1, sb);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        if (size() == 0)
+            return "(empty B-tree)";
+        StringBuilder sb = new StringBuilder();
+        toString(root, 0, sb);
+        return sb.toString();
+    }
+}
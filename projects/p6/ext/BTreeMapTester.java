@@ -0,0 +1,129 @@
+/*
+ * file name: BTreeMapTester.java
+ * author: Jack Dai
+ * last modified: 10/17/2026
+ * purpose of the class: tester for BTreeMap.java
+ */
+
+import java.util.ArrayList;
+import java.util.Objects;
+
+public class BTreeMapTester {
+
+    public static void testPutGetOrder() {
+        System.out.println("-".repeat(30) + "\nBTreeMap Put/Get/Order Test:");
+        BTreeMap<Integer, Integer> m = new BTreeMap<>(4);
+        // descending inserts split on the left edge of the tree
+        for (int i = 999; i >= 0; i--) {
+            m.put(i, i * 2);
+        }
+        m.increment(7, 1);
+        ArrayList<Integer> keys = m.keySet();
+        boolean sorted = keys.size() == 1000;
+        for (int i = 0; i < keys.size(); i++) {
+            sorted &= keys.get(i) == i;
+        }
+        System.out.println("size: " + m.size() + " expected: 1000");
+        System.out.println("get(7): " + m.get(7) + " expected: 15");
+        System.out.println("get(1000): " + m.get(1000) + " expected: null");
+        System.out.println("keySet in order: " + sorted + " expected: true");
+        // a node of fanout 4 holds 1 to 3 keys, so 1000 keys need 5 to 9 levels
+        System.out.println("maxDepth in [5, 9]: " + (m.maxDepth() >= 5 && m.maxDepth() <= 9) + " expected: true");
+        System.out.println("-".repeat(30));
+    }
+
+    public static void testRemove() {
+        System.out.println("-".repeat(30) + "\nBTreeMap Remove Test:");
+        BTreeMap<Integer, Integer> m = new BTreeMap<>(6);
+        for (int i = 0; i < 500; i++) {
+            m.put(i, i);
+        }
+        boolean ok = true;
+        for (int i = 0; i < 500; i += 2) {
+            ok &= m.remove(i) == i;
+        }
+        ok &= m.remove(0) == null;
+        for (int i = 0; i < 500; i++) {
+            Integer v = m.get(i);
+            ok &= (i % 2 == 0) ? v == null : v == i;
+        }
+        System.out.println("size: " + m.size() + " expected: 250");
+        System.out.println("all lookups correct after removes: " + ok + " expected: true");
+        for (int i = 1; i < 500; i += 2) {
+            m.remove(i);
+        }
+        System.out.println("size after removing all: " + m.size() + " expected: 0");
+        System.out.println("maxDepth: " + m.maxDepth() + " expected: 0");
+        System.out.println("-".repeat(30));
+    }
+
+    public static void testComputeIfAbsent() {
+        System.out.println("-".repeat(30) + "\nBTreeMap computeIfAbsent Test:");
+        BTreeMap<Integer, Integer> m = new BTreeMap<>(4);
+        int[] calls = new int[1];
+        boolean ok = true;
+        // odd keys compute null, which must leave no key behind even after
+        // the insert split nodes on the way down
+        for (int i = 0; i < 300; i++) {
+            int key = i;
+            ok &= Objects.equals(m.computeIfAbsent(key, k -> {
+                calls[0]++;
+                return (k % 2 == 0) ? k * 3 : null;
+            }), (i % 2 == 0) ? i * 3 : null);
+        }
+        for (int i = 0; i < 300; i += 2) {
+            ok &= m.computeIfAbsent(i, k -> {
+                calls[0]++;
+                return -1;
+            }) == i * 3;
+        }
+        ArrayList<Integer> keys = m.keySet();
+        boolean evenOnly = keys.size() == 150;
+        for (int i = 0; i < keys.size(); i++) {
+            evenOnly &= keys.get(i) == 2 * i;
+        }
+        System.out.println("returned values correct: " + ok + " expected: true");
+        System.out.println("function calls: " + calls[0] + " expected: 300");
+        System.out.println("size: " + m.size() + " expected: 150");
+        System.out.println("keySet holds only the even keys, in order: " + evenOnly + " expected: true");
+        System.out.println("containsKey(7): " + m.containsKey(7) + " expected: false");
+        System.out.println("computeIfAbsent(null, f) throws: " + throwsNPE(() -> m.computeIfAbsent(null, k -> 1))
+                + " expected: true");
+        System.out.println("-".repeat(30));
+    }
+
+    public static void testNulls() {
+        System.out.println("-".repeat(30) + "\nBTreeMap Null Test:");
+        BTreeMap<String, Integer> m = new BTreeMap<>(4);
+        System.out.println("put(x, null): " + m.put("x", null) + " expected: null");
+        System.out.println("size: " + m.size() + " expected: 0");
+        System.out.println("containsKey(x): " + m.containsKey("x") + " expected: false");
+        System.out.println("put(null, 1) throws: " + throwsNPE(() -> m.put(null, 1)) + " expected: true");
+        System.out.println("merge(null, 1, sum) throws: " + throwsNPE(() -> m.merge(null, 1, Integer::sum))
+                + " expected: true");
+        System.out.println("merge(x, null, sum) throws: " + throwsNPE(() -> m.merge("x", null, Integer::sum))
+                + " expected: true");
+        System.out.println("merge(x, 1, null) throws: " + throwsNPE(() -> m.merge("x", 1, null)) + " expected: true");
+        System.out.println("size: " + m.size() + " expected: 0");
+        System.out.println("-".repeat(30));
+    }
+
+    /**
+     * Returns whether running {@code body} throws a NullPointerException.
+     */
+    private static boolean throwsNPE(Runnable body) {
+        try {
+            body.run();
+            return false;
+        } catch (NullPointerException e) {
+            return true;
+        }
+    }
+
+    public static void main(String[] args) {
+        testPutGetOrder();
+        testRemove();
+        testComputeIfAbsent();
+        testNulls();
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ * file name: BuildProfiler.java
+ * author: Jack Dai
+ * last modified: 10/17/2026
+ * purpose of the class: Profiles building a word frequency map: build time
+ *                     percentiles after warmup, per-increment latency, bytes
+ *                     allocated, GC activity and retained heap per entry.
+ */
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * BuildProfiler builds a map from a word list several times, each time into
+ * a fresh map from a factory, after a number of untimed warmup builds that
+ * let the JIT compile the map's code. For the measured builds it records
+ * each build's {@link System#nanoTime()} duration, the bytes the building
+ * thread allocated (from {@code com.sun.management.ThreadMXBean}, where the
+ * JVM supports it) and the collections and collection time reported by the
+ * {@link GarbageCollectorMXBean}s. One extra build times every increment
+ * separately, and a last one is measured with {@link HeapFootprint} for
+ * the heap the finished map retains.
+ */
+public class BuildProfiler {
+
+    /**
+     * The measurements of one implementation on one word list.
+     */
+    public static class Profile {
+        private final int warmup;
+        private final double[] buildMillis; // sorted
+        private final double allocatedBytes;
+        private final long gcCount;
+        private final long gcMillis;
+        private final LatencyHistogram latency;
+        private final double retainedBytesPerEntry;
+        private final int words;
+
+        Profile(int warmup, double[] buildMillis, double allocatedBytes, long gcCount, long gcMillis,
+                LatencyHistogram latency, double retainedBytesPerEntry, int words) {
+            this.warmup = warmup;
+            this.buildMillis = buildMillis;
+            this.allocatedBytes = allocatedBytes;
+            this.gcCount = gcCount;
+            this.gcMillis = gcMillis;
+            this.latency = latency;
+            this.retainedBytesPerEntry = retainedBytesPerEntry;
+            this.words = words;
+        }
+
+        /**
+         * Returns the mean build time.
+         *
+         * @return milliseconds per build
+         */
+        public double meanMillis() {
+            double sum = 0;
+            for (double ms : buildMillis)
+                sum += ms;
+            return sum / buildMillis.length;
+        }
+
+        /**
+         * Returns a build time percentile (nearest rank).
+         *
+         * @param p percentile in [0, 100]
+         * @return milliseconds
+         */
+        public double percentileMillis(double p) {
+            int rank = (int) Math.ceil(p / 100.0 * buildMillis.length);
+            return buildMillis[Math.max(0, Math.min(buildMillis.length - 1, rank - 1))];
+        }
+
+        /**
+         * Returns the mean bytes allocated by one build.
+         *
+         * @return bytes, or {@code NaN} if the JVM cannot measure allocation
+         */
+        public double allocatedBytesPerBuild() {
+            return allocatedBytes;
+        }
+
+        /**
+         * Returns the number of collections during the measured builds.
+         *
+         * @return collections, summed over all collectors
+         */
+        public long gcCount() {
+            return gcCount;
+        }
+
+        /**
+         * Returns the collection time during the measured builds.
+         *
+         * @return milliseconds, summed over all collectors
+         */
+        public long gcMillis() {
+            return gcMillis;
+        }
+
+        /**
+         * Returns the latency of every single increment of one build.
+         *
+         * @return the latency histogram
+         */
+        public LatencyHistogram incrementLatency() {
+            return latency;
+        }
+
+        /**
+         * Returns the heap retained by a finished map per entry, excluding
+         * the word strings, which the word list already keeps alive.
+         *
+         * @return bytes per entry, or {@code NaN} if there were no words
+         */
+        public double retainedBytesPerEntry() {
+            return retainedBytesPerEntry;
+        }
+
+        /**
+         * Returns the report lines for this profile, each indented by
+         * {@code indent}.
+         *
+         * @param indent prefix for every line
+         * @return a multi-line description
+         */
+        public String toString(String indent) {
+            StringBuilder sb = new StringBuilder();
+            sb.append(indent).append(String.format(
+                    "build time over %d runs (%d warmup): mean %.2f ms, p50 %.2f ms, p90 %.2f ms, max %.2f ms\n",
+                    buildMillis.length, warmup, meanMillis(), percentileMillis(50), percentileMillis(90),
+                    percentileMillis(100)));
+            sb.append(indent).append(String.format("increment latency: p50 %s, p99 %s, p99.9 %s, max %s\n",
+                    LatencyHistogram.formatNanos(latency.percentileNanos(50)),
+                    LatencyHistogram.formatNanos(latency.percentileNanos(99)),
+                    LatencyHistogram.formatNanos(latency.percentileNanos(99.9)),
+                    LatencyHistogram.formatNanos(latency.maxNanos())));
+            if (Double.isNaN(allocatedBytes)) {
+                sb.append(indent).append("allocated per build: not supported by this JVM\n");
+            } else {
+                sb.append(indent).append(String.format("allocated per build: %.1f MB (%.1f B/word)\n",
+                        allocatedBytes / 1e6, (words == 0) ? 0 : allocatedBytes / words));
+            }
+            sb.append(indent).append(String.format("GC during measured builds: %d collections, %d ms\n", gcCount,
+                    gcMillis));
+            sb.append(indent).append(String.format("retained heap (B/entry): %s\n",
+                    Experiments.formatBytes(retainedBytesPerEntry)));
+            return sb.toString();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String toString() {
+            return toString("");
+        }
+    }
+
+    private final int warmup;
+    private final int runs;
+    private final com.sun.management.ThreadMXBean threads;
+    private final List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+
+    /**
+     * Construct a profiler.
+     *
+     * @param warmup untimed builds before measuring
+     * @param runs   measured builds (at least 1)
+     */
+    public BuildProfiler(int warmup, int runs) {
+        if (runs < 1)
+            throw new IllegalArgumentException("runs must be at least 1: " + runs);
+        this.warmup = warmup;
+        this.runs = runs;
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean
+                && ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported()) {
+            this.threads = (com.sun.management.ThreadMXBean) bean;
+            this.threads.setThreadAllocatedMemoryEnabled(true);
+        } else {
+            this.threads = null;
+        }
+    }
+
+    /**
+     * Profile building maps from {@code factory} out of {@code words}.
+     *
+     * @param factory creates an empty map for every build
+     * @param words   list of tokens to insert
+     * @return the measurements
+     */
+    public Profile profile(Supplier<MapSet<String, Integer>> factory, ArrayList<String> words) {
+        for (int i = 0; i < warmup; i++)
+            Experiments.buildMap(factory.get(), words);
+
+        long gcCount = 0;
+        long gcMillis = 0;
+        for (GarbageCollectorMXBean gc : collectors) {
+            gcCount -= Math.max(0, gc.getCollectionCount());
+            gcMillis -= Math.max(0, gc.getCollectionTime());
+        }
+        double[] millis = new double[runs];
+        long allocated = 0;
+        long tid = Thread.currentThread().getId();
+        for (int i = 0; i < runs; i++) {
+            MapSet<String, Integer> map = factory.get();
+            long bytesBefore = (threads == null) ? 0 : threads.getThreadAllocatedBytes(tid);
+            millis[i] = Experiments.buildMap(map, words);
+            if (threads != null)
+                allocated += threads.getThreadAllocatedBytes(tid) - bytesBefore;
+        }
+        for (GarbageCollectorMXBean gc : collectors) {
+            gcCount += Math.max(0, gc.getCollectionCount());
+            gcMillis += Math.max(0, gc.getCollectionTime());
+        }
+        Arrays.sort(millis);
+
+        LatencyHistogram latency = Experiments.putLatency(factory.get(), words);
+
+        double retained = Experiments.bytesPerEntry(factory.get(), words);
+
+        double perBuild = (threads == null) ? Double.NaN : (double) allocated / runs;
+        return new Profile(warmup, millis, perBuild, gcCount, gcMillis, latency, retained, words.size());
+    }
+}
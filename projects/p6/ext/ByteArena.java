@@ -0,0 +1,210 @@
+/*
+ * file name: ByteArena.java
+ * author: Jack Dai
+ * last modified: 10/17/2026
+ * purpose of the class: Stores byte strings back to back in one off-heap
+ *                     buffer and hashes and compares them in place.
+ */
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * An append-only store of byte strings in a single direct {@link ByteBuffer}.
+ * Each string is written as its length (a varint: one byte below 128) followed
+ * by its bytes, and is referred to by the offset of that record. Compared with
+ * a {@code String} per word this saves the string and array object headers
+ * and keeps all words contiguous, outside the garbage-collected heap.
+ *
+ * The arena grows by doubling into a new buffer; offsets stay valid because
+ * they are relative to the start of the arena. Space is only reclaimed by
+ * {@link #clear()}.
+ */
+public class ByteArena {
+
+    private static final int DEFAULT_CAPACITY = 1 << 16;
+
+    private ByteBuffer buf;
+    private int used;
+
+    /**
+     * Construct an arena with the default initial capacity.
+     */
+    public ByteArena() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Construct an arena with the given initial capacity in bytes.
+     *
+     * @param capacity initial size of the buffer
+     */
+    public ByteArena(int capacity) {
+        buf = ByteBuffer.allocateDirect(Math.max(16, capacity));
+    }
+
+    /**
+     * Hash bytes {@code [off, off + len)} of {@code src}. Strings added to the
+     * arena hash to the same value through {@link #hash(int)}.
+     *
+     * @param src bytes to hash
+     * @param off first byte
+     * @param len number of bytes
+     * @return the hash code
+     */
+    public static int hash(byte[] src, int off, int len) {
+        int h = 0;
+        for (int i = 0; i < len; i++)
+            h = 31 * h + src[off + i];
+        return mix(h);
+    }
+
+    /**
+     * Scramble a polynomial hash so that similar words, which differ only in
+     * their low bits, do not land in neighbouring slots of a linear-probing
+     * table.
+     */
+    private static int mix(int h) {
+        h *= 0x9e3779b9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Append bytes {@code [off, off + len)} of {@code src} to the arena.
+     *
+     * @param src bytes to store
+     * @param off first byte
+     * @param len number of bytes
+     * @return the offset of the new record
+     */
+    public int add(byte[] src, int off, int len) {
+        int at = used;
+        ensure(5 + len);
+        int p = at;
+        int v = len;
+        while (v >= 0x80) {
+            buf.put(p++, (byte) (v | 0x80));
+            v >>>= 7;
+        }
+        buf.put(p++, (byte) v);
+        buf.put(p, src, off, len);
+        used = p + len;
+        return at;
+    }
+
+    /**
+     * Returns the number of bytes of the string at {@code ref}.
+     *
+     * @param ref offset of a record
+     * @return its length
+     */
+    public int length(int ref) {
+        int len = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buf.get(ref++);
+            len |= (b & 0x7f) << shift;
+            shift += 7;
+        } while (b < 0);
+        return len;
+    }
+
+    /**
+     * Returns the offset of the first byte of the string at {@code ref}.
+     */
+    private int start(int ref) {
+        while (buf.get(ref) < 0)
+            ref++;
+        return ref + 1;
+    }
+
+    /**
+     * Hash the string at {@code ref} like {@link #hash(byte[], int, int)}.
+     *
+     * @param ref offset of a record
+     * @return the hash code
+     */
+    public int hash(int ref) {
+        int len = length(ref);
+        int p = start(ref);
+        int h = 0;
+        for (int i = 0; i < len; i++)
+            h = 31 * h + buf.get(p + i);
+        return mix(h);
+    }
+
+    /**
+     * Returns whether the string at {@code ref} equals bytes
+     * {@code [off, off + len)} of {@code src}.
+     *
+     * @param ref offset of a record
+     * @param src bytes to compare with
+     * @param off first byte
+     * @param len number of bytes
+     * @return {@code true} if the bytes are equal
+     */
+    public boolean equals(int ref, byte[] src, int off, int len) {
+        if (length(ref) != len)
+            return false;
+        int p = start(ref);
+        for (int i = 0; i < len; i++) {
+            if (buf.get(p + i) != src[off + i])
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Decode the string at {@code ref} as UTF-8.
+     *
+     * @param ref offset of a record
+     * @return the string
+     */
+    public String string(int ref) {
+        byte[] bytes = new byte[length(ref)];
+        buf.get(start(ref), bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the number of bytes written to the arena.
+     *
+     * @return bytes in use
+     */
+    public int used() {
+        return used;
+    }
+
+    /**
+     * Returns the size of the off-heap buffer.
+     *
+     * @return bytes reserved
+     */
+    public int capacity() {
+        return buf.capacity();
+    }
+
+    /**
+     * Forget every string. Offsets handed out before become invalid.
+     */
+    public void clear() {
+        used = 0;
+    }
+
+    /**
+     * Make room for {@code extra} more bytes, doubling the buffer as needed.
+     */
+    private void ensure(int extra) {
+        if ((long) used + extra <= buf.capacity())
+            return;
+        long cap = buf.capacity();
+        while (cap < (long) used + extra)
+            cap *= 2;
+        if (cap > Integer.MAX_VALUE)
+            throw new IllegalStateException("Byte arena full");
+        ByteBuffer bigger = ByteBuffer.allocateDirect((int) cap);
+        bigger.put(0, buf, 0, used);
+        buf = bigger;
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * file name: CollisionBenchmark.java
+ * author: Jack Dai
+ * last modified: 10/17/2026
+ * purpose of the class: Measures worst-case lookup cost of the hash maps on
+ *                     keys chosen to collide: strings with equal hash codes
+ *                     and integers that one spreading function maps to a
+ *                     single bucket.
+ *
+ * How to run:     java CollisionBenchmark [max keys]
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+public class CollisionBenchmark {
+
+    private static volatile int sink;
+
+    /**
+     * Returns a string of {@code bits} two-character blocks, each "Aa" or
+     * "BB" according to the bits of {@code i}. "Aa" and "BB" have the same
+     * {@code hashCode}, so all {@code 2^bits} such strings do too.
+     *
+     * @param i    selects the blocks
+     * @param bits number of blocks
+     * @return a string whose hash code does not depend on {@code i}
+     */
+    public static String collidingString(int i, int bits) {
+        StringBuilder sb = new StringBuilder(2 * bits);
+        for (int b = 0; b < bits; b++)
+            sb.append(((i >>> b) & 1) == 0 ? "Aa" : "BB");
+        return sb.toString();
+    }
+
+    /**
+     * Returns a key whose low 16 bits repeat its high 16 bits, so that
+     * {@link HashSpreader#FOLD} cancels the low bits to zero and every such
+     * key lands in bucket 0 of a table of up to 65536 buckets.
+     *
+     * @param i a value below 65536
+     * @return the key
+     */
+    public static Integer foldCollidingInt(int i) {
+        return (i << 16) | i;
+    }
+
+    /**
+     * Insert {@code keys} into a fresh map and time lookups of all of them.
+     *
+     * @param factory creates the map
+     * @param keys    the keys
+     * @return { nanoseconds per lookup, maxDepth }
+     */
+    public static <K> double[] run(Supplier<MapSet<K, Integer>> factory, List<K> keys) {
+        MapSet<K, Integer> map = factory.get();
+        for (int i = 0; i < keys.size(); i++)
+            map.put(keys.get(i), i);
+        int rounds = Math.max(1, 50_000 / keys.size());
+        long best = Long.MAX_VALUE;
+        for (int r = 0; r < 3; r++) {
+            int hits = 0;
+            long start = System.nanoTime();
+            for (int j = 0; j < rounds; j++) {
+                for (K key : keys) {
+                    if (map.get(key) != null)
+                        hits++;
+                }
+            }
+            best = Math.min(best, System.nanoTime() - start);
+            sink = hits;
+        }
+        return new double[] { (double) best / ((long) rounds * keys.size()), map.maxDepth() };
+    }
+
+    private static <K> List<K> keys(IntFunction<K> key, int n) {
+        List<K> out = new ArrayList<>(n);
+        for (int i = 0; i < n; i++)
+            out.add(key.apply(i));
+        return out;
+    }
+
+    public static void main(String[] args) {
+        int maxKeys = (args.length > 0) ? Integer.parseInt(args[0]) : 8192;
+
+        System.out.println("Strings with equal hash codes (lookup ns, maxDepth)");
+        System.out.println(String.format("  %7s %22s %22s", "keys", "HashMap (tree bins)", "OpenHashMap"));
+        for (int bits = 8; (1 << bits) <= maxKeys; bits++) {
+            int b = bits;
+            List<String> keys = keys(i -> collidingString(i, b), 1 << bits);
+            double[] tree = run(HashMap::new, keys);
+            double[] open = run(OpenHashMap::new, keys);
+            System.out.println(String.format("  %7d %14.1f %7.0f %14.1f %7.0f", keys.size(), tree[0], tree[1],
+                    open[0], open[1]));
+        }
+
+        System.out.println();
+        System.out.println("Integers that FOLD maps to one bucket, HashMap by spreader (lookup ns, maxDepth)");
+        String[] names = { "IDENTITY", "FOLD", "MURMUR", "seeded" };
+        HashSpreader[] spreaders = { HashSpreader.IDENTITY, HashSpreader.FOLD, HashSpreader.MURMUR,
+                HashSpreader.seeded() };
+        StringBuilder header = new StringBuilder(String.format("  %7s", "keys"));
+        for (String name : names)
+            header.append(String.format(" %22s", name));
+        System.out.println(header);
+        for (int n = 256; n <= Math.min(maxKeys, 1 << 16); n *= 2) {
+            List<Integer> keys = keys(CollisionBenchmark::foldCollidingInt, n);
+            StringBuilder line = new StringBuilder(String.format("  %7d", n));
+            for (HashSpreader spreader : spreaders) {
+                double[] r = run(() -> new HashMap<Integer, Integer>(spreader), keys);
+                line.append(String.format(" %14.1f %7.0f", r[0], r[1]));
+            }
+            System.out.println(line);
+        }
+    }
+}
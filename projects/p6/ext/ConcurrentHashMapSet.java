@@ -0,0 +1,559 @@
+/*
+ * file name: ConcurrentHashMapSet.java
+ * author: Jack Dai
+ * last modified: 10/17/2026
+ * purpose of the class: Implements a thread-safe Map using a lock-striped
+ *                     hash table with lock-free reads
+ */
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * ConcurrentHashMapSet is a thread-safe MapSet. The table is split into a
+ * fixed number of segments, each an independent separate-chaining hash
+ * table guarded by its own lock, so writers to different segments never
+ * wait for each other. Reads take no lock at all: bucket heads and node
+ * links are read through volatile fields, and a segment that grows builds
+ * a copy of its table and publishes it in a single write, so readers always
+ * see a consistent chain. Resizing one segment never blocks the others.
+ *
+ * {@link #increment}, {@link #merge} and {@link #computeIfAbsent} are atomic.
+ * The bulk views ({@link #keySet()}, {@link #values()}, {@link #entrySet()})
+ * are weakly consistent: they reflect every update that finished before the
+ * call and may or may not reflect updates made concurrently with it.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+public class ConcurrentHashMapSet<K, V> implements MapSet<K, V> {
+
+    /**
+     * Node stored in each bucket. The key and hash never change; the value
+     * and link are volatile so unlocked readers see the latest writes.
+     */
+    private static class Node<K, V> {
+        private final int hash;
+        private final K key;
+        private volatile V value;
+        private volatile Node<K, V> next;
+
+        Node(int hash, K key, V value, Node<K, V> next) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+            this.next = next;
+        }
+    }
+
+    /**
+     * One lock stripe: a hash table whose writers synchronize on the segment.
+     */
+    private static class Segment<K, V> {
+        private volatile AtomicReferenceArray<Node<K, V>> table;
+        private volatile int count;
+
+        Segment(int capacity) {
+            table = new AtomicReferenceArray<>(capacity);
+        }
+    }
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int DEFAULT_CONCURRENCY = 16;
+    private static final double LOAD_FACTOR = 0.75;
+
+    private final Segment<K, V>[] segments;
+    private final int segmentShift;
+
+    /**
+     * Construct a ConcurrentHashMapSet with the default capacity and number of
+     * lock stripes.
+     */
+    public ConcurrentHashMapSet() {
+        this(DEFAULT_CAPACITY, DEFAULT_CONCURRENCY);
+    }
+
+    /**
+     * Construct a ConcurrentHashMapSet.
+     *
+     * @param capacity         initial total number of buckets
+     * @param concurrencyLevel number of lock stripes (rounded up to a power of
+     *                         two); roughly the number of writers that can
+     *                         proceed at once
+     */
+    @SuppressWarnings("unchecked")
+    public ConcurrentHashMapSet(int capacity, int concurrencyLevel) {
+        int nSegments = tableSizeFor(Math.max(1, concurrencyLevel));
+        this.segmentShift = 32 - Integer.numberOfTrailingZeros(nSegments);
+        this.segments = (Segment<K, V>[]) new Segment<?, ?>[nSegments];
+        int perSegment = tableSizeFor(Math.max(2, capacity / nSegments));
+        for (int i = 0; i < nSegments; i++)
+            segments[i] = new Segment<>(perSegment);
+    }
+
+    /**
+     * Returns the smallest power of two that is at least {@code capacity}.
+     *
+     * @param capacity requested capacity
+     * @return a power of two no smaller than {@code capacity}
+     */
+    private static int tableSizeFor(int capacity) {
+        int n = 1;
+        while (n < capacity)
+            n <<= 1;
+        return n;
+    }
+
+    /**
+     * Compute the spread hash for the given key.
+     *
+     * @param key the key to hash (must be non-null)
+     * @return the spread hash code
+     */
+    private static int hash(Object key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Returns the segment responsible for a hash. The bucket within a segment
+     * is chosen by the low bits of the hash, and many keys (small Integers,
+     * short Strings) have no high bits at all, so the segment is chosen by
+     * the high bits of the hash multiplied by the golden ratio, which depend
+     * on every bit of it.
+     *
+     * @param h a spread hash
+     * @return the segment for {@code h}
+     */
+    private Segment<K, V> segmentFor(int h) {
+        return (segmentShift == 32) ? segments[0] : segments[(h * 0x9E3779B9) >>> segmentShift];
+    }
+
+    /**
+     * Returns the number of entries in each segment, for checking how evenly
+     * keys are spread over the locks.
+     *
+     * @return the entry count of every segment, in segment order
+     */
+    int[] segmentSizes() {
+        int[] sizes = new int[segments.length];
+        for (int i = 0; i < segments.length; i++)
+            sizes[i] = segments[i].count;
+        return sizes;
+    }
+
+    /**
+     * Find the node for {@code key} in the given table without locking.
+     *
+     * @param tab a segment's table
+     * @param key the key to look for
+     * @param h   the spread hash of {@code key}
+     * @return the node, or {@code null} if absent
+     */
+    private static <K, V> Node<K, V> find(AtomicReferenceArray<Node<K, V>> tab, Object key, int h) {
+        Node<K, V> cur = tab.get(h & (tab.length() - 1));
+        while (cur != null) {
+            if (cur.hash == h && cur.key.equals(key))
+                return cur;
+            cur = cur.next;
+        }
+        return null;
+    }
+
+    /**
+     * Insert a new node at the head of its bucket. Must hold the segment lock.
+     *
+     * @param seg   the segment for {@code h}
+     * @param h     the spread hash of {@code key}
+     * @param key   the key (not already present)
+     * @param value the value
+     */
+    private static <K, V> void insert(Segment<K, V> seg, int h, K key, V value) {
+        AtomicReferenceArray<Node<K, V>> tab = seg.table;
+        int idx = h & (tab.length() - 1);
+        tab.set(idx, new Node<>(h, key, value, tab.get(idx)));
+        seg.count = seg.count + 1;
+        if (seg.count > LOAD_FACTOR * tab.length())
+            grow(seg);
+    }
+
+    /**
+     * Double a segment's table. The nodes are copied rather than relinked so
+     * that readers still walking the old table see intact chains; the new
+     * table becomes visible to readers with one volatile write. Must hold the
+     * segment lock.
+     *
+     * @param seg the segment to grow
+     */
+    private static <K, V> void grow(Segment<K, V> seg) {
+        AtomicReferenceArray<Node<K, V>> old = seg.table;
+        AtomicReferenceArray<Node<K, V>> tab = new AtomicReferenceArray<>(old.length() * 2);
+        int mask = tab.length() - 1;
+        for (int i = 0; i < old.length(); i++) {
+            for (Node<K, V> cur = old.get(i); cur != null; cur = cur.next) {
+                int idx = cur.hash & mask;
+                tab.set(idx, new Node<>(cur.hash, cur.key, cur.value, tab.get(idx)));
+            }
+        }
+        seg.table = tab;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws NullPointerException if {@code key} is {@code null}
+     */
+    @Override
+    public V put(K key, V value) {
+        if (value == null)
+            return null;
+        if (key == null)
+            throw new NullPointerException("ConcurrentHashMapSet does not support null keys");
+        int h = hash(key);
+        Segment<K, V> seg = segmentFor(h);
+        synchronized (seg) {
+            Node<K, V> cur = find(seg.table, key, h);
+            if (cur != null) {
+                V old = cur.value;
+                cur.value = value;
+                return old;
+            }
+            insert(seg, h, key, value);
+            return null;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * This implementation is atomic with respect to every other update of
+     * {@code key}.
+     *
+     * @throws NullPointerException if {@code key} is {@code null}
+     */
+    @Override
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        if (key == null)
+            throw new NullPointerException("ConcurrentHashMapSet does not support null keys");
+        if (value == null || remappingFunction == null)
+            throw new NullPointerException();
+        int h = hash(key);
+        Segment<K, V> seg = segmentFor(h);
+        synchronized (seg) {
+            Node<K, V> cur = find(seg.table, key, h);
+            if (cur == null) {
+                insert(seg, h, key, value);
+                return value;
+            }
+            V newValue = remappingFunction.apply(cur.value, value);
+            if (newValue != null) {
+                cur.value = newValue;
+            } else {
+                unlink(seg, key, h);
+            }
+            return newValue;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * This implementation is atomic: the mapping function is called at most
+     * once per absent key, while the key's segment is locked, so it must be
+     * short and must not update this map.
+     *
+     * @throws NullPointerException if {@code key} is {@code null}
+     */
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        if (key == null)
+            throw new NullPointerException("ConcurrentHashMapSet does not support null keys");
+        if (mappingFunction == null)
+            throw new NullPointerException();
+        int h = hash(key);
+        Segment<K, V> seg = segmentFor(h);
+        // lock-free fast path for keys that are already present
+        Node<K, V> cur = find(seg.table, key, h);
+        if (cur != null)
+            return cur.value;
+        synchronized (seg) {
+            cur = find(seg.table, key, h);
+            if (cur != null)
+                return cur.value;
+            V value = mappingFunction.apply(key);
+            if (value != null)
+                insert(seg, h, key, value);
+            return value;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * This implementation is atomic, so concurrent increments of the same key
+     * are never lost.
+     *
+     * @throws NullPointerException if {@code key} is {@code null}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public int increment(K key, int delta) {
+        if (key == null)
+            throw new NullPointerException("ConcurrentHashMapSet does not support null keys");
+        int h = hash(key);
+        Segment<K, V> seg = segmentFor(h);
+        synchronized (seg) {
+            Node<K, V> cur = find(seg.table, key, h);
+            if (cur == null) {
+                insert(seg, h, key, (V) Integer.valueOf(delta));
+                return delta;
+            }
+            int n = (Integer) cur.value + delta;
+            cur.value = (V) Integer.valueOf(n);
+            return n;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * This implementation does not lock.
+     *
+     * @throws NullPointerException if {@code key} is {@code null}
+     */
+    @Override
+    public V get(K key) {
+        if (key == null)
+            throw new NullPointerException("ConcurrentHashMapSet does not support null keys");
+        int h = hash(key);
+        Node<K, V> cur = find(segmentFor(h).table, key, h);
+        return (cur == null) ? null : cur.value;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * This implementation does not lock.
+     *
+     * @throws NullPointerException if {@code key} is {@code null}
+     */
+    @Override
+    public boolean containsKey(K key) {
+        return get(key) != null;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws NullPointerException if {@code key} is {@code null}
+     */
+    @Override
+    public V remove(K key) {
+        if (key == null)
+            throw new NullPointerException("ConcurrentHashMapSet does not support null keys");
+        int h = hash(key);
+        Segment<K, V> seg = segmentFor(h);
+        synchronized (seg) {
+            return unlink(seg, key, h);
+        }
+    }
+
+    /**
+     * Unlink the node for {@code key} from its bucket. A reader positioned on
+     * the removed node can still follow its {@code next} link. Must hold the
+     * segment lock.
+     *
+     * @param seg the segment for {@code h}
+     * @param key the key to remove
+     * @param h   the spread hash of {@code key}
+     * @return the removed value, or {@code null} if absent
+     */
+    private static <K, V> V unlink(Segment<K, V> seg, Object key, int h) {
+        AtomicReferenceArray<Node<K, V>> tab = seg.table;
+        int idx = h & (tab.length() - 1);
+        Node<K, V> prev = null;
+        for (Node<K, V> cur = tab.get(idx); cur != null; prev = cur, cur = cur.next) {
+            if (cur.hash == h && cur.key.equals(key)) {
+                if (prev == null)
+                    tab.set(idx, cur.next);
+                else
+                    prev.next = cur.next;
+                seg.count = seg.count - 1;
+                return cur.value;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Under concurrent updates the result is only an estimate.
+     */
+    @Override
+    public int size() {
+        int total = 0;
+        for (Segment<K, V> seg : segments)
+            total += seg.count;
+        return total;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Segments are cleared one at a time, so concurrent inserts into an
+     * already cleared segment survive.
+     */
+    @Override
+    public void clear() {
+        for (Segment<K, V> seg : segments) {
+            synchronized (seg) {
+                seg.table = new AtomicReferenceArray<>(seg.table.length());
+                seg.count = 0;
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ArrayList<K> keySet() {
+        ArrayList<K> out = new ArrayList<>();
+        for (MapSet.KeyValuePair<K, V> kv : entrySet())
+            out.add(kv.getKey());
+        return out;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The order corresponds to the order of {@link #keySet()} only while the
+     * map is not being modified.
+     */
+    @Override
+    public ArrayList<V> values() {
+        ArrayList<V> out = new ArrayList<>();
+        for (MapSet.KeyValuePair<K, V> kv : entrySet())
+            out.add(kv.getValue());
+        return out;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The returned pairs are snapshots; calling {@code setValue} on them does
+     * not modify the map.
+     */
+    @Override
+    public ArrayList<MapSet.KeyValuePair<K, V>> entrySet() {
+        ArrayList<MapSet.KeyValuePair<K, V>> out = new ArrayList<>();
+        for (MapSet.KeyValuePair<K, V> kv : entries())
+            out.add(kv);
+        return out;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Unlike the single-threaded maps, this view may be used while other
+     * threads modify the map. It is weakly consistent like {@link #entrySet()}
+     * and each returned pair is a snapshot.
+     */
+    @Override
+    public Iterable<MapSet.KeyValuePair<K, V>> entries() {
+        return () -> new Iterator<MapSet.KeyValuePair<K, V>>() {
+            private int segment = -1;
+            private AtomicReferenceArray<Node<K, V>> tab;
+            private int bucket;
+            private Node<K, V> next;
+
+            {
+                advance();
+            }
+
+            /**
+             * Move {@code next} to the head of the next non-empty bucket,
+             * moving on to the next segment's table as needed.
+             */
+            private void advance() {
+                while (next == null) {
+                    if (tab == null || ++bucket >= tab.length()) {
+                        if (++segment >= segments.length)
+                            return;
+                        tab = segments[segment].table;
+                        bucket = 0;
+                    }
+                    next = tab.get(bucket);
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public MapSet.KeyValuePair<K, V> next() {
+                if (next == null)
+                    throw new NoSuchElementException();
+                Node<K, V> cur = next;
+                next = cur.next;
+                advance();
+                return new KeyValuePair<>(cur.key, cur.value);
+            }
+        };
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Weakly consistent, like {@link #entries()}.
+     */
+    @Override
+    public void forEachEntry(BiConsumer<? super K, ? super V> action) {
+        for (Segment<K, V> seg : segments) {
+            AtomicReferenceArray<Node<K, V>> tab = seg.table;
+            for (int i = 0; i < tab.length(); i++) {
+                for (Node<K, V> cur = tab.get(i); cur != null; cur = cur.next)
+                    action.accept(cur.key, cur.value);
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * For a hash table this returns the size of the largest bucket across
+     * all segments.
+     */
+    @Override
+    public int maxDepth() {
+        int max = 0;
+        for (Segment<K, V> seg : segments) {
+            AtomicReferenceArray<Node<K, V>> tab = seg.table;
+            for (int i = 0; i < tab.length(); i++) {
+                int count = 0;
+                for (Node<K, V> cur = tab.get(i); cur != null; cur = cur.next)
+                    count++;
+                max = Math.max(max, count);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Returns the entries of the map in the form {@code [<k -> v>, ...]}.
+     *
+     * @return a string representation of this map
+     */
+    @Override
+    public String toString() {
+        return entrySet().toString();
+    }
+}
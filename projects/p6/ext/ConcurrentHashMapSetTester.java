@@ -0,0 +1,121 @@
+/*
+ * file name: ConcurrentHashMapSetTester.java
+ * author: Jack Dai
+ * last modified: 10/17/2026
+ * purpose of the class: multithreaded stress test for ConcurrentHashMapSet
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ConcurrentHashMapSetTester {
+
+    /**
+     * Run {@code threads} copies of {@code body} at once and wait for all of
+     * them.
+     */
+    private static void runThreads(int threads, Runnable body) throws InterruptedException {
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++)
+            workers.add(new Thread(body));
+        for (Thread w : workers)
+            w.start();
+        for (Thread w : workers)
+            w.join();
+    }
+
+    public static void testConcurrentIncrement() throws InterruptedException {
+        System.out.println("-".repeat(30) + "\nConcurrent Increment Test:");
+        // few stripes and a tiny table so segments grow while contended
+        ConcurrentHashMapSet<String, Integer> m = new ConcurrentHashMapSet<>(2, 4);
+        int threads = 8;
+        int keys = 5000;
+        int rounds = 20;
+        runThreads(threads, () -> {
+            for (int r = 0; r < rounds; r++)
+                for (int k = 0; k < keys; k++)
+                    m.increment("w" + k, 1);
+        });
+        boolean ok = true;
+        for (int k = 0; k < keys; k++)
+            ok &= m.get("w" + k) == threads * rounds;
+        System.out.println("size: " + m.size() + " expected: " + keys);
+        System.out.println("every count == " + (threads * rounds) + ": " + ok + " expected: true");
+        System.out.println("-".repeat(30));
+    }
+
+    public static void testConcurrentPutRemove() throws InterruptedException {
+        System.out.println("-".repeat(30) + "\nConcurrent Put/Remove/Get Test:");
+        ConcurrentHashMapSet<Integer, Integer> m = new ConcurrentHashMapSet<>();
+        int threads = 8;
+        int perThread = 20000;
+        // each thread owns a disjoint key range: put all, remove evens, and
+        // check that readers never see a wrong value for its own keys
+        boolean[] ok = { true };
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int base = t * perThread;
+            workers.add(new Thread(() -> {
+                boolean good = true;
+                for (int i = base; i < base + perThread; i++)
+                    m.put(i, i);
+                for (int i = base; i < base + perThread; i += 2)
+                    good &= m.remove(i) == i;
+                for (int i = base; i < base + perThread; i++) {
+                    Integer v = m.get(i);
+                    good &= (i % 2 == 0) ? v == null : v == i;
+                }
+                if (!good) {
+                    synchronized (ok) {
+                        ok[0] = false;
+                    }
+                }
+            }));
+        }
+        for (Thread w : workers)
+            w.start();
+        for (Thread w : workers)
+            w.join();
+        System.out.println("size: " + m.size() + " expected: " + (threads * perThread / 2));
+        System.out.println("all lookups correct: " + ok[0] + " expected: true");
+        System.out.println("keySet size: " + m.keySet().size() + " expected: " + (threads * perThread / 2));
+        System.out.println("-".repeat(30));
+    }
+
+    /**
+     * Returns the largest segment size divided by the mean segment size.
+     */
+    private static double imbalance(ConcurrentHashMapSet<?, ?> m) {
+        int[] sizes = m.segmentSizes();
+        int max = 0;
+        long total = 0;
+        for (int s : sizes) {
+            max = Math.max(max, s);
+            total += s;
+        }
+        return (double) max * sizes.length / total;
+    }
+
+    public static void testSegmentSpread() {
+        System.out.println("-".repeat(30) + "\nSegment Spread Test:");
+        // small Integers and short words have hash codes without high bits;
+        // they must still be spread over all the locks
+        ConcurrentHashMapSet<Integer, Integer> ints = new ConcurrentHashMapSet<>();
+        for (int i = 0; i < 160000; i++)
+            ints.put(i, i);
+        ConcurrentHashMapSet<String, Integer> words = new ConcurrentHashMapSet<>();
+        for (int i = 0; i < 20000; i++)
+            words.put(Integer.toString(i, 36), i);
+        boolean intsEven = imbalance(ints) < 1.1;
+        boolean wordsEven = imbalance(words) < 1.1;
+        System.out.println("Integer keys: max segment / mean < 1.1: " + intsEven + " expected: true");
+        System.out.println("String keys: max segment / mean < 1.1: " + wordsEven + " expected: true");
+        System.out.println("-".repeat(30));
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        testSegmentSpread();
+        testConcurrentIncrement();
+        testConcurrentPutRemove();
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * file name: ConcurrentMapBenchmark.java
+ * author: Jack Dai
+ * last modified: 10/17/2026
+ * purpose of the class: Compares the counting throughput of
+ *                     ConcurrentHashMapSet with a synchronized HashMap when
+ *                     several threads update one shared frequency table.
+ *
+ * How to run:     java ConcurrentMapBenchmark [words file]
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+public class ConcurrentMapBenchmark {
+
+    /**
+     * Have {@code threads} threads each count every word of {@code words} into
+     * one shared map, each starting at a different offset so they do not walk
+     * the same keys in lockstep.
+     *
+     * @param map     the shared map
+     * @param words   the words every thread counts
+     * @param threads number of threads
+     * @return elapsed time in nanoseconds
+     */
+    public static long run(MapSet<String, Integer> map, ArrayList<String> words, int threads)
+            throws InterruptedException {
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int offset = (int) ((long) words.size() * t / threads);
+            workers.add(new Thread(() -> {
+                int n = words.size();
+                for (int i = 0; i < n; i++)
+                    map.increment(words.get((i + offset) % n), 1);
+            }));
+        }
+        long start = System.nanoTime();
+        for (Thread w : workers)
+            w.start();
+        for (Thread w : workers)
+            w.join();
+        return System.nanoTime() - start;
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        String filename = (args.length > 0) ? args[0] : "CLEANED_shakespeare.txt";
+        ArrayList<String> words = Experiments.readWords(filename);
+        if (words.isEmpty()) {
+            System.out.println("No words read from " + filename);
+            return;
+        }
+
+        String[] names = { "ConcurrentHashMapSet", "synchronized HashMap" };
+        List<Supplier<MapSet<String, Integer>>> factories = List.of(
+                ConcurrentHashMapSet::new,
+                () -> new SynchronizedMapSet<>(new HashMap<String, Integer>()));
+
+        int maxThreads = Math.max(8, Runtime.getRuntime().availableProcessors());
+        System.out.println("Counting " + words.size() + " words per thread from " + filename + " ("
+                + Runtime.getRuntime().availableProcessors() + " processors)");
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            for (int i = 0; i < names.length; i++) {
+                // one warmup run, then the best of three
+                run(factories.get(i).get(), words, threads);
+                long best = Long.MAX_VALUE;
+                for (int r = 0; r < 3; r++)
+                    best = Math.min(best, run(factories.get(i).get(), words, threads));
+                double mops = (double) words.size() * threads / best * 1000.0;
+                System.out.println(String.format("  %2d threads  %-22s %8.2f M increments/s", threads, names[i], mops));
+            }
+        }
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * file name: CorpusBatch.java
+ * author: Jack Dai
+ * last modified: 10/17/2026
+ * purpose of the class: Counts the words of many corpora (for example one
+ *                     reddit dump per year) on a bounded pool of workers,
+ *                     streaming each file's results to a report and merging
+ *                     them into a combined cross-corpus top-N.
+ *
+ * How to run:     java CorpusBatch <directory | glob> [threads] [map] [n] [report file]
+ *                 e.g. java CorpusBatch 'data/CLEANED_reddit_comments_*.txt' 4 HashMap 10
+ */
+
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * CorpusBatch schedules one counting task per file on a fixed pool of
+ * {@code threads} workers. There are exactly {@code threads} maps: a worker
+ * takes a cleared map from the pool, counts its file into it with
+ * {@link MappedWordReader}, and hands it back with its results. The collecting
+ * thread writes the file's section of the report as soon as it finishes,
+ * folds its counts into the combined map, empties it with
+ * {@link MapSet#clearKeepingCapacity()}, and returns it to the pool. No more
+ * than {@code threads} per-file maps are ever alive, and a hash table grown
+ * for one file keeps its size for the next; trees have nothing to keep.
+ *
+ * Results are written in completion order, so a small file is reported
+ * without waiting for a large one queued ahead of it.
+ */
+public class CorpusBatch {
+
+    private final String dataStructure;
+    private final int threads;
+    private final int n;
+
+    /**
+     * Construct a CorpusBatch.
+     *
+     * @param dataStructure map to count with, any name accepted by
+     *                      {@link WordCounter#newMap(String)}
+     * @param threads       number of workers, and of maps (at least 1)
+     * @param n             number of words in each top-N list
+     */
+    public CorpusBatch(String dataStructure, int threads, int n) {
+        if (threads < 1)
+            throw new IllegalArgumentException("threads must be at least 1: " + threads);
+        this.dataStructure = dataStructure;
+        this.threads = threads;
+        this.n = n;
+    }
+
+    /**
+     * The outcome of counting one file. The map belongs to the pool and is
+     * only valid until the collector returns it.
+     */
+    private static class FileResult {
+        private final Path file;
+        private final MapSet<String, Integer> map;
+        private final long words;
+        private final int unique;
+        private final double millis;
+        private final ArrayList<MapSet.KeyValuePair<String, Integer>> top;
+
+        FileResult(Path file, MapSet<String, Integer> map, long words, double millis,
+                ArrayList<MapSet.KeyValuePair<String, Integer>> top) {
+            this.file = file;
+            this.map = map;
+            this.words = words;
+            this.unique = map.size();
+            this.millis = millis;
+            this.top = top;
+        }
+    }
+
+    /**
+     * Resolve a directory or a glob to the files it names, sorted by path. A
+     * directory stands for every {@code .txt} file directly inside it; a glob
+     * may only use wildcards in its last path component.
+     *
+     * @param spec a directory or a glob such as {@code data/reddit_*.txt}
+     * @return the matching regular files
+     * @throws IOException if the directory cannot be listed
+     */
+    public static List<Path> resolve(String spec) throws IOException {
+        Path path = Paths.get(spec);
+        Path dir;
+        String pattern;
+        if (Files.isDirectory(path)) {
+            dir = path;
+            pattern = "*.txt";
+        } else {
+            dir = (path.getParent() != null) ? path.getParent() : Paths.get(".");
+            pattern = path.getFileName().toString();
+        }
+        PathMatcher matcher = dir.getFileSystem().getPathMatcher("glob:" + pattern);
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(dir)) {
+            for (Path p : entries) {
+                if (Files.isRegularFile(p) && matcher.matches(p.getFileName()))
+                    files.add(p);
+            }
+        }
+        Collections.sort(files);
+        return files;
+    }
+
+    /**
+     * Count every file, writing each file's totals and top-N words to
+     * {@code report} as it completes, followed by a top-N over all files.
+     * A file that cannot be read is reported and skipped.
+     *
+     * @param files  the corpora to count
+     * @param report destination of the report, flushed after every file
+     * @return the combined counts of all files
+     * @throws IOException          if the report cannot be written
+     * @throws InterruptedException if interrupted while waiting for a worker
+     */
+    public MapSet<String, Integer> run(List<Path> files, BufferedWriter report)
+            throws IOException, InterruptedException {
+        BlockingQueue<MapSet<String, Integer>> maps = new ArrayBlockingQueue<>(threads);
+        for (int i = 0; i < threads; i++)
+            maps.add(WordCounter.newMap(dataStructure));
+        MapSet<String, Integer> combined = WordCounter.newMap(dataStructure);
+        long totalWords = 0;
+        int counted = 0;
+
+        report.write("Corpus batch: " + files.size() + " files, " + threads + " threads, "
+                + dataStructure + "\n\n");
+        report.flush();
+
+        long start = System.nanoTime();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            CompletionService<FileResult> done = new ExecutorCompletionService<>(pool);
+            for (Path file : files) {
+                done.submit(() -> {
+                    MapSet<String, Integer> map = maps.take();
+                    try {
+                        long t0 = System.nanoTime();
+                        long words = MappedWordReader.countInto(file.toString(), map);
+                        double millis = (System.nanoTime() - t0) / 1e6;
+                        return new FileResult(file, map, words, millis, TopK.topK(map, n));
+                    } catch (IOException | RuntimeException e) {
+                        map.clearKeepingCapacity();
+                        maps.put(map);
+                        throw e;
+                    }
+                });
+            }
+
+            for (int i = 0; i < files.size(); i++) {
+                Future<FileResult> f = done.take();
+                FileResult r;
+                try {
+                    r = f.get();
+                } catch (ExecutionException e) {
+                    report.write("Skipped: " + e.getCause() + "\n\n");
+                    report.flush();
+                    continue;
+                }
+                writeSection(report, r.file.toString(), r.words, r.unique, r.millis, r.top);
+                report.flush();
+                totalWords += r.words;
+                counted++;
+                ParallelWordCounter.mergeCounts(combined, r.map);
+                r.map.clearKeepingCapacity();
+                maps.put(r.map);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        double millis = (System.nanoTime() - start) / 1e6;
+
+        writeSection(report, "All " + counted + " files combined", totalWords, combined.size(), millis,
+                TopK.topK(combined, n));
+        report.flush();
+        return combined;
+    }
+
+    /**
+     * Write the report section for one file, or for the combined counts.
+     */
+    private void writeSection(BufferedWriter report, String title, long words, int unique, double millis,
+            ArrayList<MapSet.KeyValuePair<String, Integer>> top) throws IOException {
+        report.write(title + "\n");
+        report.write("  total words: " + words + "\n");
+        report.write("  unique words: " + unique + "\n");
+        report.write(String.format("  time: %.2f ms\n", millis));
+        report.write("  top " + n + " words:\n");
+        for (MapSet.KeyValuePair<String, Integer> kv : top)
+            report.write("    " + kv.getKey() + " - " + kv.getValue() + "\n");
+        report.write("\n");
+    }
+
+    /**
+     * Count a batch of corpora and write the results to a report.
+     *
+     * @param args a directory or glob, then optionally the number of threads,
+     *             the map name, the top-N size and the report file
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 1) {
+            System.out.println("Usage: java CorpusBatch <directory | glob> [threads] [map] [n] [report file]");
+            return;
+        }
+        int threads = (args.length > 1) ? Integer.parseInt(args[1])
+                : Math.min(4, Runtime.getRuntime().availableProcessors());
+        String ds = (args.length > 2) ? args[2] : "HashMap";
+        int n = (args.length > 3) ? Integer.parseInt(args[3]) : 10;
+        String reportFile = (args.length > 4) ? args[4] : "report.txt";
+
+        List<Path> files = resolve(args[0]);
+        if (files.isEmpty()) {
+            System.out.println("No files match " + args[0]);
+            return;
+        }
+        try (BufferedWriter report = new BufferedWriter(new FileWriter(reportFile))) {
+            new CorpusBatch(ds, threads, n).run(files, report);
+        }
+        System.out.println("Report written to " + reportFile);
+    }
+}
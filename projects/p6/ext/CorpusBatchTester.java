@@ -0,0 +1,110 @@
+/*
+ * file name: CorpusBatchTester.java
+ * author: Jack Dai
+ * last modified: 10/17/2026
+ * purpose of the class: tester for CorpusBatch.java and clearKeepingCapacity
+ */
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class CorpusBatchTester {
+
+    /**
+     * Write a few corpora of very different sizes and vocabularies, so that a
+     * map reused after a large file would show any word it kept.
+     */
+    private static List<Path> writeCorpora(Path dir) throws IOException {
+        Random rand = new Random(231);
+        List<Path> files = new ArrayList<>();
+        int[] sizes = { 50000, 40, 3000, 7, 20000, 1 };
+        for (int f = 0; f < sizes.length; f++) {
+            StringBuilder text = new StringBuilder();
+            int vocabulary = 1 + sizes[f] / 4;
+            for (int w = 0; w < sizes[f]; w++) {
+                text.append("f").append(f).append("w").append(rand.nextInt(vocabulary));
+                text.append((w % 12 == 11) ? '\n' : ' ');
+            }
+            Path file = dir.resolve("corpus" + f + ".txt");
+            Files.write(file, text.toString().getBytes());
+            files.add(file);
+        }
+        return files;
+    }
+
+    public static void testBatchMatchesFreshMaps() throws IOException, InterruptedException {
+        System.out.println("-".repeat(30) + "\nCorpusBatch vs Fresh Maps Test:");
+        Path dir = Files.createTempDirectory("corpusbatch");
+        List<Path> files = writeCorpora(dir);
+
+        // counts of every file, each into a map of its own
+        ArrayList<MapSet<String, Integer>> fresh = new ArrayList<>();
+        long[] words = new long[files.size()];
+        for (int f = 0; f < files.size(); f++) {
+            MapSet<String, Integer> m = new HashMap<>();
+            words[f] = MappedWordReader.countInto(files.get(f).toString(), m);
+            fresh.add(m);
+        }
+
+        for (String ds : new String[] { "HashMap", "OpenHash", "Arena", "BTree", "Radix", "AVL" }) {
+            StringWriter out = new StringWriter();
+            MapSet<String, Integer> combined;
+            // two workers and six files, so every map is reused at least twice
+            try (BufferedWriter report = new BufferedWriter(out)) {
+                combined = new CorpusBatch(ds, 2, 3).run(files, report);
+            }
+            String text = out.toString();
+            boolean ok = true;
+            int expectedSize = 0;
+            for (int f = 0; f < files.size(); f++) {
+                MapSet<String, Integer> m = fresh.get(f);
+                ok &= text.contains(files.get(f) + "\n  total words: " + words[f] + "\n  unique words: "
+                        + m.size() + "\n");
+                for (MapSet.KeyValuePair<String, Integer> kv : m.entrySet())
+                    ok &= kv.getValue().equals(combined.get(kv.getKey()));
+                expectedSize += m.size();
+            }
+            ok &= combined.size() == expectedSize;
+            System.out.println(ds + " per-file and combined counts match: " + ok + " expected: true");
+        }
+
+        for (Path file : files)
+            Files.delete(file);
+        Files.delete(dir);
+        System.out.println("-".repeat(30));
+    }
+
+    public static void testClearKeepingCapacity() {
+        System.out.println("-".repeat(30) + "\nclearKeepingCapacity Test:");
+        HashMap<String, Integer> hash = new HashMap<>();
+        OpenHashMap<String> open = new OpenHashMap<>();
+        for (int i = 0; i < 10000; i++) {
+            hash.put("k" + i, i);
+            open.put("k" + i, i);
+        }
+        int hashCapacity = hash.capacity();
+        int openCapacity = open.capacity();
+        hash.clearKeepingCapacity();
+        open.clearKeepingCapacity();
+        System.out.println("HashMap size: " + hash.size() + " expected: 0");
+        System.out.println("HashMap capacity kept: " + (hash.capacity() == hashCapacity) + " expected: true");
+        System.out.println("HashMap get(k7): " + hash.get("k7") + " expected: null");
+        System.out.println("OpenHashMap size: " + open.size() + " expected: 0");
+        System.out.println("OpenHashMap capacity kept: " + (open.capacity() == openCapacity) + " expected: true");
+        System.out.println("OpenHashMap get(k7): " + open.get("k7") + " expected: null");
+        open.put("k7", 3);
+        System.out.println("OpenHashMap get(k7) after refill: " + open.get("k7") + " expected: 3");
+        System.out.println("-".repeat(30));
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        testClearKeepingCapacity();
+        testBatchMatchesFreshMaps();
+    }
+}
@@ -2,14 +2,16 @@
 /**
  * file name: Experiments.java
  * author: Jack Dai
- * last modified: 11/02/2025
+ * last modified: 10/17/2026
  *
- * Purpose: Run a small set of experiments comparing two Map implementations
- * (BSTMap and HashMap) on two text datasets (reddit comments and
- * Shakespeare). For each combination the program computes:
+ * Purpose: Run a small set of experiments comparing the Map implementations
+ * (BSTMap, AVLMap, BTreeMap, HashMap and OpenHashMap) on two text datasets
+ * (reddit comments and Shakespeare). For each combination the program computes:
  *  - total and unique word counts
  *  - top-N most frequent words
- *  - average build time (ms) over several runs
+ *  - build time percentiles (ms) over several runs after warmup builds,
+ *    per-increment latency, bytes allocated and GC time per build, and
+ *    retained heap per entry
  *  - maxDepth of the underlying data structure after building
  *
  * Results are written to `report.txt` in the program working directory.
@@ -19,6 +21,9 @@ import java.io.*;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
 
 /**
  * Experiment runner utility.
@@ -30,6 +35,8 @@ import java.util.Comparator;
  */
 public class Experiments {
 
+    private static volatile long sink;
+
     /**
      * Read words from a text file. Splits on whitespace (space, tab, newline,
      * carriage return). Empty tokens are ignored.
@@ -66,49 +73,81 @@ public class Experiments {
      */
     // build map and return time in ms
     public static double buildMap(MapSet<String, Integer> map, ArrayList<String> words) {
-        long start = System.currentTimeMillis();
+        long start = System.nanoTime();
         for (String word : words) {
-            if (map.containsKey(word)) {
-                map.put(word, map.get(word) + 1);
-            } else {
-                map.put(word, 1);
-            }
+            // one lookup per word instead of containsKey, get and put
+            map.increment(word, 1);
         }
-        long elapsed = System.currentTimeMillis() - start;
-        return (double) elapsed;
+        return (System.nanoTime() - start) / 1e6;
     }
 
     /**
-     * Measure average build time by creating fresh instances of the provided
-     * map's implementation and timing builds for the provided number of runs.
+     * Build a frequency map like {@link #buildMap} but time every single
+     * {@code increment} with {@link System#nanoTime()}, so that operations
+     * which trigger a resize show up in the tail of the histogram.
      *
-     * @param mapPrototype prototype instance used only to detect implementation
-     * @param words        list of tokens to insert
-     * @param runs         number of repeated runs to average
+     * @param map   a fresh, empty MapSet to populate
+     * @param words list of tokens to insert
+     * @return histogram of per-operation latencies
+     */
+    public static LatencyHistogram putLatency(MapSet<String, Integer> map, ArrayList<String> words) {
+        LatencyHistogram hist = new LatencyHistogram();
+        for (String word : words) {
+            long start = System.nanoTime();
+            map.increment(word, 1);
+            hist.record(System.nanoTime() - start);
+        }
+        return hist;
+    }
+
+    /**
+     * Build a frequency map with statistics collection on, then look up every
+     * unique word once, and describe the structural work of each phase.
+     *
+     * @param map   a fresh, empty MapSet to populate
+     * @param words list of tokens to insert
+     * @return the statistics of the build and of the lookups, indented for
+     *         the report
+     */
+    public static String structureStats(MapSet<String, Integer> map, ArrayList<String> words) {
+        MapStats stats = map.enableStats();
+        if (stats == null)
+            return "  not instrumented\n";
+        StringBuilder sb = new StringBuilder();
+        buildMap(map, words);
+        sb.append("  build:\n").append(map.stats().toString("    "));
+        ArrayList<String> keys = map.keySet();
+        stats.reset();
+        for (String key : keys)
+            map.get(key);
+        sb.append("  lookup of every unique word:\n").append(map.stats().toString("    "));
+        map.disableStats();
+        return sb.toString();
+    }
+
+    /**
+     * Measure average build time by timing builds of fresh maps from
+     * {@code factory} for the provided number of runs. See
+     * {@link BuildProfiler} for warmup, percentiles, allocation and GC.
+     *
+     * @param factory creates an empty map for every run
+     * @param words   list of tokens to insert
+     * @param runs    number of repeated runs to average
      * @return average elapsed time in milliseconds
      */
     // average build time over runs
-    public static double averageBuildTime(MapSet<String, Integer> mapPrototype, ArrayList<String> words, int runs) {
+    public static double averageBuildTime(Supplier<MapSet<String, Integer>> factory, ArrayList<String> words,
+            int runs) {
         double total = 0.0;
-        for (int i = 0; i < runs; i++) {
-            // create a fresh instance of the same class as mapPrototype
-            MapSet<String, Integer> map;
-            if (mapPrototype instanceof BSTMap) {
-                map = new BSTMap<String, Integer>();
-            } else if (mapPrototype instanceof AVLMap) {
-                map = new AVLMap<String, Integer>();
-            } else {
-                map = new HashMap<String, Integer>();
-            }
-            double t = buildMap(map, words);
-            total += t;
-        }
+        for (int i = 0; i < runs; i++)
+            total += buildMap(factory.get(), words);
         return total / runs;
     }
 
     /**
      * Return the top-N most frequent words from a populated map as strings
-     * formatted "word - count" (sorted by count descending).
+     * formatted "word - count" (sorted by count descending). Uses a bounded
+     * heap over a single pass of the map (see {@link TopK}).
      *
      * @param map populated MapSet
      * @param n   number of top entries to return
@@ -116,6 +155,22 @@ public class Experiments {
      */
     // get top N words from the built map
     public static ArrayList<String> topN(MapSet<String, Integer> map, int n) {
+        ArrayList<String> out = new ArrayList<>();
+        for (MapSet.KeyValuePair<String, Integer> kv : TopK.topK(map, n)) {
+            out.add(kv.getKey() + " - " + kv.getValue());
+        }
+        return out;
+    }
+
+    /**
+     * Sort-based top-N: copies every entry and sorts by count descending.
+     * Kept as the baseline for {@link #topN}.
+     *
+     * @param map populated MapSet
+     * @param n   number of top entries to return
+     * @return list of formatted "word - count" strings
+     */
+    public static ArrayList<String> topNSorted(MapSet<String, Integer> map, int n) {
         ArrayList<MapSet.KeyValuePair<String, Integer>> entries = map.entrySet();
         Collections.sort(entries, new Comparator<MapSet.KeyValuePair<String, Integer>>() {
             @Override
@@ -133,15 +188,207 @@ public class Experiments {
     }
 
     /**
-     * Program entry point. Reads both datasets, runs experiments for BSTMap and
-     * HashMap, then writes results to `report.txt`.
+     * Time the sort-based and heap-based top-N on a populated map, plus the
+     * parallel heap variant over the map split into hash shards.
+     *
+     * @param map     populated MapSet
+     * @param n       number of top entries to extract
+     * @param reps    number of repetitions to average
+     * @param threads number of shards and workers for the parallel variant
+     * @return average times in microseconds: sorted, heap, parallel heap
+     */
+    public static double[] topNTimes(MapSet<String, Integer> map, int n, int reps, int threads) {
+        ArrayList<OpenHashMap<String>> shards = new ArrayList<>();
+        for (int t = 0; t < threads; t++)
+            shards.add(new OpenHashMap<String>());
+        map.forEachEntry((word, count) -> shards.get(Math.floorMod(word.hashCode(), threads)).put(word, count));
+
+        long sorted = 0, heap = 0, parallel = 0;
+        for (int r = 0; r < reps; r++) {
+            long start = System.nanoTime();
+            topNSorted(map, n);
+            sorted += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            topN(map, n);
+            heap += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            TopK.parallelTopK(shards, n, Comparator.<Integer>naturalOrder(), threads);
+            parallel += System.nanoTime() - start;
+        }
+        return new double[] { sorted / 1000.0 / reps, heap / 1000.0 / reps, parallel / 1000.0 / reps };
+    }
+
+    /**
+     * Time a {@code get} of every word in a populated map.
+     *
+     * @param map   populated MapSet
+     * @param words words to look up
+     * @return elapsed time in milliseconds
+     */
+    public static double lookupTime(MapSet<String, Integer> map, ArrayList<String> words) {
+        long start = System.nanoTime();
+        long sum = 0;
+        for (String word : words) {
+            Integer count = map.get(word);
+            if (count != null)
+                sum += count;
+        }
+        long elapsed = System.nanoTime() - start;
+        sink = sum;
+        return elapsed / 1e6;
+    }
+
+    /**
+     * Clear {@code map}, build it from {@code words} and return the heap the
+     * map retains per entry, estimated by {@link HeapFootprint} from its
+     * nodes, arrays and boxed counts. The words themselves are already live,
+     * so they are not counted. The map is left populated.
+     *
+     * @param map   the map to measure
+     * @param words list of tokens to insert
+     * @return retained bytes per entry, or {@code NaN} if there are no words
+     */
+    public static double bytesPerEntry(MapSet<String, Integer> map, ArrayList<String> words) {
+        map.clear();
+        buildMap(map, words);
+        if (map.size() == 0)
+            return Double.NaN;
+        return (double) HeapFootprint.retainedBytes(map, words) / map.size();
+    }
+
+    /**
+     * Format a bytes-per-entry figure for the report.
+     *
+     * @param bytes bytes per entry
+     * @return the figure with one decimal, or "n/a" if it is {@code NaN} or
+     *         negative
+     */
+    public static String formatBytes(double bytes) {
+        return (Double.isNaN(bytes) || bytes < 0) ? "n/a" : String.format("%.1f", bytes);
+    }
+
+    /**
+     * Count a file, save the counts both as a text word count file and as a
+     * {@link WordCountSnapshot}, and compare file size, write time, time to
+     * get the counts back (reparsing the text vs mapping the snapshot) and
+     * the time to look up every distinct word.
+     *
+     * @param filename text file to count
+     * @return report lines
+     * @throws IOException if a temporary file cannot be created or read
+     */
+    public static String snapshotComparison(String filename) throws IOException {
+        WordCounter wc = new WordCounter("HashMap");
+        if (wc.countFile(filename) < 0)
+            throw new IOException("cannot read " + filename);
+        File text = File.createTempFile("wordcount", ".txt");
+        File snap = File.createTempFile("wordcount", ".wcs");
+        try {
+            long start = System.nanoTime();
+            wc.writeWordCount(text.getPath());
+            double textWrite = (System.nanoTime() - start) / 1e6;
+            start = System.nanoTime();
+            wc.writeWordCountSnapshot(snap.getPath());
+            double snapWrite = (System.nanoTime() - start) / 1e6;
+
+            start = System.nanoTime();
+            WordCounter reloaded = new WordCounter("HashMap");
+            reloaded.readWordCount(text.getPath());
+            double textOpen = (System.nanoTime() - start) / 1e6;
+            start = System.nanoTime();
+            WordCountSnapshot snapshot = WordCountSnapshot.open(snap.getPath());
+            double snapOpen = (System.nanoTime() - start) / 1e6;
+
+            ArrayList<String> words = new ArrayList<>();
+            for (int i = 0; i < snapshot.size(); i++)
+                words.add(snapshot.word(i));
+            Collections.shuffle(words, new java.util.Random(1));
+            long sum = 0;
+            start = System.nanoTime();
+            for (String w : words)
+                sum += reloaded.getCount(w);
+            double textLookup = (System.nanoTime() - start) / 1e6;
+            start = System.nanoTime();
+            for (String w : words)
+                sum -= snapshot.getCount(w);
+            double snapLookup = (System.nanoTime() - start) / 1e6;
+
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format("  %-10s %12s %10s %10s %18s\n", "format", "file KB", "write ms", "open ms",
+                    "lookup all ms"));
+            sb.append(String.format("  %-10s %12d %10.1f %10.1f %18.1f\n", "text", text.length() / 1024, textWrite,
+                    textOpen, textLookup));
+            sb.append(String.format("  %-10s %12d %10.1f %10.1f %18.1f\n", "snapshot", snap.length() / 1024, snapWrite,
+                    snapOpen, snapLookup));
+            sb.append("  counts agree: " + (sum == 0) + "\n");
+            return sb.toString();
+        } finally {
+            text.delete();
+            snap.delete();
+        }
+    }
+
+    /**
+     * Describe how closely a sketch matches the exact counts: distinct-word
+     * estimate, recall of the exact top-k words among the sketch's top-k, and
+     * the count error over the exact top-k words.
      *
-     * @param args ignored
+     * @param exact      exact counts
+     * @param sketch     approximate counts of the same words
+     * @param exactTime  build time of the exact map in ms
+     * @param sketchTime build time of the sketch in ms
+     * @param k          number of top words compared
+     * @return report lines
+     */
+    public static String sketchAccuracy(MapSet<String, Integer> exact, HeavyHitterSketch<String> sketch,
+            double exactTime, double sketchTime, int k) {
+        ArrayList<MapSet.KeyValuePair<String, Integer>> exactTop = TopK.topK(exact, k);
+        ArrayList<MapSet.KeyValuePair<String, Integer>> sketchTop = TopK.topK(sketch, k);
+        HashMap<String, Integer> sketchTopSet = new HashMap<>();
+        for (MapSet.KeyValuePair<String, Integer> kv : sketchTop)
+            sketchTopSet.put(kv.getKey(), kv.getValue());
+
+        int hits = 0;
+        long sumErr = 0;
+        long maxErr = 0;
+        for (MapSet.KeyValuePair<String, Integer> kv : exactTop) {
+            if (sketchTopSet.containsKey(kv.getKey()))
+                hits++;
+            long err = sketch.get(kv.getKey()) - kv.getValue();
+            sumErr += err;
+            maxErr = Math.max(maxErr, err);
+        }
+
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("  build time: exact %.0f ms, sketch %.0f ms\n", exactTime, sketchTime));
+        sb.append(String.format("  sketch memory: %.1f MB (fixed), error bound %.0f\n",
+                sketch.footprintBytes() / 1e6, sketch.errorBound()));
+        sb.append("  unique words: exact " + exact.size() + ", estimated " + sketch.size() + "\n");
+        sb.append(String.format("  top %d recall: %.1f%%\n", k, 100.0 * hits / Math.max(1, exactTop.size())));
+        sb.append(String.format("  overcount on top %d: mean %.2f, max %d\n", k,
+                (double) sumErr / Math.max(1, exactTop.size()), maxErr));
+        return sb.toString();
+    }
+
+    /**
+     * Program entry point. Reads both datasets and profiles building BSTMap,
+     * AVLMap, HashMap and OpenHashMap from them. It then compares streaming
+     * and parallel counting, BTreeMap and RadixTreeMap against AVLMap, String
+     * keys against an ArenaHashMap, text word count files against a
+     * WordCountSnapshot, HeavyHitterSketch against exact counts, top-N
+     * extraction, resize latency and structure statistics, and writes the
+     * results to `report.txt`.
+     *
+     * @param args optional number of measured runs (default 5) and of warmup
+     *             builds (default 2)
      */
     public static void main(String[] args) {
         String reddit = "CLEANED_reddit_comments_2015.txt";
         String shakespeare = "CLEANED_shakespeare.txt";
-        int runs = 5;
+        int runs = (args.length > 0) ? Integer.parseInt(args[0]) : 5;
+        int warmup = (args.length > 1) ? Integer.parseInt(args[1]) : 2;
 
         ArrayList<String> redditWords = readWords(reddit);
         ArrayList<String> shakespeareWords = readWords(shakespeare);
@@ -151,108 +398,287 @@ public class Experiments {
         report.append("===========================\n\n");
 
         // For each data structure, run analyses on both datasets
-        for (String ds : new String[] { "BST", "AVL", "HashMap" }) {
-            report.append("Data structure: " + ds + "\n\n");
-
-            if (ds.equals("BST")) {
-                // Reddit
-                BSTMap<String, Integer> m = new BSTMap<>();
-                double avg = averageBuildTime(m, redditWords, runs);
+        LinkedHashMap<String, Supplier<MapSet<String, Integer>>> implementations = new LinkedHashMap<>();
+        implementations.put("BST", BSTMap::new);
+        implementations.put("AVL", AVLMap::new);
+        implementations.put("HashMap", HashMap::new);
+        implementations.put("OpenHash", OpenHashMap::new);
+        BuildProfiler profiler = new BuildProfiler(warmup, runs);
+        StringBuilder summary = new StringBuilder();
+        for (Map.Entry<String, Supplier<MapSet<String, Integer>>> impl : implementations.entrySet()) {
+            report.append("Data structure: " + impl.getKey() + "\n\n");
+            for (int d = 0; d < 2; d++) {
+                ArrayList<String> words = (d == 0) ? redditWords : shakespeareWords;
+                BuildProfiler.Profile profile = profiler.profile(impl.getValue(), words);
                 // build once to capture topN and stats
-                m.clear();
-                buildMap(m, redditWords);
+                MapSet<String, Integer> m = impl.getValue().get();
+                buildMap(m, words);
                 ArrayList<String> top10 = topN(m, 10);
-                report.append("Reddit (" + reddit + ")\n");
-                report.append("  total words: " + redditWords.size() + "\n");
+                report.append(((d == 0) ? "Reddit (" + reddit : "Shakespeare (" + shakespeare) + ")\n");
+                report.append("  total words: " + words.size() + "\n");
                 report.append("  unique words: " + m.size() + "\n");
-                report.append(String.format("  avg build time over %d runs: %.2f ms\n", runs, avg));
+                report.append(profile.toString("  "));
                 report.append("  maxDepth: " + m.maxDepth() + "\n");
                 report.append("  top 10 words:\n");
                 for (String s : top10)
                     report.append("    " + s + "\n");
                 report.append("\n");
+                summary.append(String.format("  %-10s %-12s %10.2f %10.2f %12.1f %8d %12s\n", impl.getKey(),
+                        (d == 0) ? "Reddit" : "Shakespeare", profile.percentileMillis(50),
+                        profile.percentileMillis(90), profile.allocatedBytesPerBuild() / 1e6, profile.gcMillis(),
+                        formatBytes(profile.retainedBytesPerEntry())));
+            }
+            report.append("-------------------------------\n\n");
+        }
 
-                // Shakespeare
-                m = new BSTMap<>();
-                avg = averageBuildTime(m, shakespeareWords, runs);
-                m.clear();
-                buildMap(m, shakespeareWords);
-                top10 = topN(m, 10);
-                report.append("Shakespeare (" + shakespeare + ")\n");
-                report.append("  total words: " + shakespeareWords.size() + "\n");
-                report.append("  unique words: " + m.size() + "\n");
-                report.append(String.format("  avg build time over %d runs: %.2f ms\n", runs, avg));
-                report.append("  maxDepth: " + m.maxDepth() + "\n");
-                report.append("  top 10 words:\n");
-                for (String s : top10)
-                    report.append("    " + s + "\n");
-                report.append("\n-------------------------------\n\n");
-
-            } else if (ds.equals("AVL")) {
-                // AVL
-                AVLMap<String, Integer> a = new AVLMap<>();
-                double avg = averageBuildTime(a, redditWords, runs);
-                a.clear();
-                buildMap(a, redditWords);
-                ArrayList<String> top10 = topN(a, 10);
-                report.append("Reddit (" + reddit + ")\n");
-                report.append("  total words: " + redditWords.size() + "\n");
-                report.append("  unique words: " + a.size() + "\n");
-                report.append(String.format("  avg build time over %d runs: %.2f ms\n", runs, avg));
-                report.append("  maxDepth: " + a.maxDepth() + "\n");
-                report.append("  top 10 words:\n");
-                for (String s : top10)
-                    report.append("    " + s + "\n");
+        report.append(String.format("Build profiles (%d warmup, %d measured runs)\n\n", warmup, runs));
+        report.append(String.format("  %-10s %-12s %10s %10s %12s %8s %12s\n", "map", "dataset", "p50 ms", "p90 ms",
+                "alloc MB", "GC ms", "retained B"));
+        report.append(summary);
+        report.append("\n-------------------------------\n\n");
+
+        // End-to-end ingestion: read-then-build vs streaming tokenizer
+        report.append("End-to-end counting (HashMap)\n\n");
+        for (String file : new String[] { reddit, shakespeare }) {
+            long start = System.currentTimeMillis();
+            HashMap<String, Integer> h = new HashMap<>();
+            ArrayList<String> words = readWords(file);
+            buildMap(h, words);
+            long listTime = System.currentTimeMillis() - start;
+            words = null;
+
+            start = System.currentTimeMillis();
+            HashMap<String, Integer> s = new HashMap<>();
+            long total;
+            try {
+                total = MappedWordReader.countInto(file, s);
+            } catch (IOException e) {
+                System.out.println("Unable to read file: " + file + " -> " + e.getMessage());
+                continue;
+            }
+            long streamTime = System.currentTimeMillis() - start;
+
+            report.append(file + "\n");
+            report.append("  total words: " + total + "\n");
+            report.append("  unique words: " + s.size() + " (list build: " + h.size() + ")\n");
+            report.append("  readWords + buildMap: " + listTime + " ms\n");
+            report.append("  streaming (memory-mapped): " + streamTime + " ms\n\n");
+        }
+        report.append("-------------------------------\n\n");
+
+        // Parallel counting: speedup vs thread count
+        int maxThreads = Runtime.getRuntime().availableProcessors();
+        report.append("Parallel counting (" + maxThreads + " processors available)\n\n");
+        for (String ds : new String[] { "HashMap", "AVL" }) {
+            for (String file : new String[] { reddit, shakespeare }) {
+                report.append(ds + ", " + file + "\n");
+                double base = 0;
+                for (int threads = 1; threads <= maxThreads; threads *= 2) {
+                    ParallelWordCounter pwc = new ParallelWordCounter(
+                            ds.equals("AVL") ? AVLMap::new : HashMap::new, threads);
+                    long start = System.currentTimeMillis();
+                    try {
+                        pwc.count(file);
+                    } catch (IOException e) {
+                        System.out.println("Unable to read file: " + file + " -> " + e.getMessage());
+                        break;
+                    }
+                    long elapsed = System.currentTimeMillis() - start;
+                    if (threads == 1)
+                        base = Math.max(1, elapsed);
+                    report.append(String.format("  %2d threads: %6d ms  speedup %.2fx\n", threads, elapsed,
+                            base / Math.max(1, elapsed)));
+                }
                 report.append("\n");
+            }
+        }
+        report.append("-------------------------------\n\n");
 
-                a = new AVLMap<>();
-                avg = averageBuildTime(a, shakespeareWords, runs);
-                a.clear();
-                buildMap(a, shakespeareWords);
-                top10 = topN(a, 10);
-                report.append("Shakespeare (" + shakespeare + ")\n");
-                report.append("  total words: " + shakespeareWords.size() + "\n");
-                report.append("  unique words: " + a.size() + "\n");
-                report.append(String.format("  avg build time over %d runs: %.2f ms\n", runs, avg));
-                report.append("  maxDepth: " + a.maxDepth() + "\n");
-                report.append("  top 10 words:\n");
-                for (String s : top10)
-                    report.append("    " + s + "\n");
-                report.append("\n-------------------------------\n\n");
-
-            } else {
-                // HashMap
-                HashMap<String, Integer> h = new HashMap<>();
-                double avg = averageBuildTime(h, redditWords, runs);
-                h.clear();
-                buildMap(h, redditWords);
-                ArrayList<String> top10 = topN(h, 10);
-                report.append("Reddit (" + reddit + ")\n");
-                report.append("  total words: " + redditWords.size() + "\n");
-                report.append("  unique words: " + h.size() + "\n");
-                report.append(String.format("  avg build time over %d runs: %.2f ms\n", runs, avg));
-                report.append("  maxDepth: " + h.maxDepth() + "\n");
-                report.append("  top 10 words:\n");
-                for (String s : top10)
-                    report.append("    " + s + "\n");
+        // Sorted maps: B-tree vs AVL tree
+        report.append("Sorted maps (BTreeMap vs AVLMap)\n\n");
+        for (int d = 0; d < 2; d++) {
+            ArrayList<String> words = (d == 0) ? redditWords : shakespeareWords;
+            report.append(((d == 0) ? reddit : shakespeare) + "\n");
+            if (words.isEmpty()) {
+                report.append("  unable to read " + ((d == 0) ? reddit : shakespeare) + "\n\n");
+                continue;
+            }
+            report.append(String.format("  %-16s %6s %12s %12s %12s\n", "map", "depth", "build ms", "lookup ms",
+                    "bytes/entry"));
+            LinkedHashMap<String, Supplier<MapSet<String, Integer>>> maps = new LinkedHashMap<>();
+            maps.put("AVL", AVLMap::new);
+            for (int fanout : new int[] { 16, 64, 256 })
+                maps.put("BTree(" + fanout + ")", () -> new BTreeMap<String, Integer>(fanout));
+            for (Map.Entry<String, Supplier<MapSet<String, Integer>>> e : maps.entrySet()) {
+                MapSet<String, Integer> m = e.getValue().get();
+                double avg = averageBuildTime(e.getValue(), words, runs);
+                double bytes = bytesPerEntry(m, words);
+                double lookup = lookupTime(m, words);
+                report.append(String.format("  %-16s %6d %12.2f %12.2f %12s\n", e.getKey(), m.maxDepth(), avg,
+                        lookup, formatBytes(bytes)));
+            }
+            report.append("\n");
+        }
+        report.append("-------------------------------\n\n");
+
+        // Tries: adaptive radix tree vs AVL tree
+        report.append("Radix tree (RadixTreeMap vs AVLMap)\n\n");
+        for (int d = 0; d < 2; d++) {
+            ArrayList<String> words = (d == 0) ? redditWords : shakespeareWords;
+            report.append(((d == 0) ? reddit : shakespeare) + "\n");
+            if (words.isEmpty()) {
+                report.append("  unable to read " + ((d == 0) ? reddit : shakespeare) + "\n\n");
+                continue;
+            }
+            report.append(String.format("  %-8s %6s %12s %12s %12s %14s\n", "map", "depth", "build ms", "lookup ms",
+                    "bytes/entry", "prefix \"th\" us"));
+            ArrayList<Supplier<MapSet<String, Integer>>> maps = new ArrayList<>();
+            maps.add(AVLMap::new);
+            maps.add(RadixTreeMap::new);
+            for (Supplier<MapSet<String, Integer>> factory : maps) {
+                MapSet<String, Integer> m = factory.get();
+                double avg = averageBuildTime(factory, words, runs);
+                double bytes = bytesPerEntry(m, words);
+                double lookup = lookupTime(m, words);
+                long start = System.nanoTime();
+                int matches;
+                if (m instanceof RadixTreeMap) {
+                    matches = ((RadixTreeMap<Integer>) m).prefixEntries("th").size();
+                } else {
+                    // a sorted map without a range API has to scan every key
+                    matches = 0;
+                    for (MapSet.KeyValuePair<String, Integer> kv : m.entries())
+                        if (kv.getKey().startsWith("th"))
+                            matches++;
+                }
+                double prefixMicros = (System.nanoTime() - start) / 1e3;
+                report.append(String.format("  %-8s %6d %12.2f %12.2f %12s %14.0f\n",
+                        (m instanceof RadixTreeMap) ? "Radix" : "AVL", m.maxDepth(), avg, lookup, formatBytes(bytes),
+                        prefixMicros));
+                if (m instanceof RadixTreeMap) {
+                    int[] nodes = ((RadixTreeMap<Integer>) m).nodeCounts();
+                    report.append(String.format("  radix nodes: %d leaves, %d Node4, %d Node16, %d Node48, %d Node256;"
+                            + " %d words start with \"th\"\n", nodes[0], nodes[1], nodes[2], nodes[3], nodes[4],
+                            matches));
+                }
+            }
+            report.append("  (AVL bytes/entry exclude the String keys shared with the word list;"
+                    + " the radix tree stores its own key bytes)\n\n");
+        }
+        report.append("-------------------------------\n\n");
+
+        // Key storage: String keys vs off-heap byte arena
+        report.append("Bytes per unique word (String keys vs byte arena)\n\n");
+        for (String file : new String[] { reddit, shakespeare }) {
+            report.append(file + "\n");
+            String[] names = { "HashMap", "OpenHash", "Arena" };
+            ArrayList<Supplier<MapSet<String, Integer>>> factories = new ArrayList<>();
+            factories.add(HashMap::new);
+            factories.add(OpenHashMap::new);
+            factories.add(ArenaHashMap::new);
+            StringBuilder rows = new StringBuilder();
+            try {
+                for (int i = 0; i < names.length; i++) {
+                    MapSet<String, Integer> m = factories.get(i).get();
+                    MappedWordReader.countInto(file, m);
+                    // the keys belong to the map here, so they are counted
+                    long heap = HeapFootprint.retainedBytes(m);
+                    long used = 0;
+                    long capacity = 0;
+                    if (m instanceof ArenaHashMap) {
+                        used = ((ArenaHashMap) m).arena().used();
+                        capacity = ((ArenaHashMap) m).arena().capacity();
+                    }
+                    double unique = (m.size() == 0) ? Double.NaN : m.size();
+                    rows.append(String.format("  %-10s %10d %12s %14d %14d %12s\n", names[i], m.size(),
+                            formatBytes(heap / unique), used, capacity, formatBytes((heap + capacity) / unique)));
+                }
+            } catch (IOException e) {
+                report.append("  unable to read " + file + "\n\n");
+                continue;
+            }
+            report.append(String.format("  %-10s %10s %12s %14s %14s %12s\n", "map", "unique", "heap B/word",
+                    "arena used B", "arena cap B", "total B/word"));
+            report.append(rows);
+            report.append("  (total counts the arena's whole capacity, which is what it reserves off-heap)\n\n");
+        }
+        report.append("-------------------------------\n\n");
+
+        // Word count files: text vs binary snapshot
+        report.append("Word count files (text vs binary snapshot)\n\n");
+        for (String file : new String[] { reddit, shakespeare }) {
+            report.append(file + "\n");
+            try {
+                report.append(snapshotComparison(file));
+            } catch (IOException e) {
+                report.append("  unable to compare: " + e.getMessage() + "\n");
+            }
+            report.append("\n");
+        }
+        report.append("-------------------------------\n\n");
+
+        // Approximate counting: sketch vs exact HashMap
+        report.append("Approximate counting (HeavyHitterSketch vs exact HashMap)\n\n");
+        for (int d = 0; d < 2; d++) {
+            ArrayList<String> words = (d == 0) ? redditWords : shakespeareWords;
+            HashMap<String, Integer> exact = new HashMap<>();
+            double exactTime = buildMap(exact, words);
+            HeavyHitterSketch<String> sketch = new HeavyHitterSketch<>();
+            double sketchTime = buildMap(sketch, words);
+            report.append(((d == 0) ? reddit : shakespeare) + "\n");
+            report.append(sketchAccuracy(exact, sketch, exactTime, sketchTime, 100));
+            report.append("\n");
+        }
+        report.append("-------------------------------\n\n");
+
+        // Top-N extraction: full sort vs bounded heap
+        report.append("Top-N extraction (HashMap, average of " + runs + " runs)\n\n");
+        for (int d = 0; d < 2; d++) {
+            ArrayList<String> words = (d == 0) ? redditWords : shakespeareWords;
+            HashMap<String, Integer> h = new HashMap<>();
+            buildMap(h, words);
+            report.append(((d == 0) ? reddit : shakespeare) + " (" + h.size() + " unique words)\n");
+            for (int n : new int[] { 10, 1000 }) {
+                double[] t = topNTimes(h, n, runs, maxThreads);
+                report.append(String.format("  top %d: sort %.0f us, heap %.0f us, parallel heap (%d shards) %.0f us\n",
+                        n, t[0], t[1], maxThreads, t[2]));
+            }
+            report.append("\n");
+        }
+        report.append("-------------------------------\n\n");
+
+        // Per-operation latency: stop-the-world vs incremental resizing
+        report.append("Put latency (HashMap resize modes)\n\n");
+        for (boolean incremental : new boolean[] { false, true }) {
+            String name = incremental ? "incremental resize" : "full resize";
+            for (int d = 0; d < 2; d++) {
+                ArrayList<String> words = (d == 0) ? redditWords : shakespeareWords;
+                if (words.isEmpty())
+                    continue;
+                LatencyHistogram hist = putLatency(new HashMap<String, Integer>(16, 0.75, incremental), words);
+                report.append("HashMap, " + name + ", " + ((d == 0) ? reddit : shakespeare) + "\n");
+                report.append(String.format("  mean: %.1f ns  p99.99: %s  max: %s\n", hist.meanNanos(),
+                        LatencyHistogram.formatNanos(hist.percentileNanos(99.99)),
+                        LatencyHistogram.formatNanos(hist.maxNanos())));
+                report.append(hist.toString("    "));
                 report.append("\n");
+            }
+        }
+        report.append("-------------------------------\n\n");
 
-                h = new HashMap<>();
-                avg = averageBuildTime(h, shakespeareWords, runs);
-                h.clear();
-                buildMap(h, shakespeareWords);
-                top10 = topN(h, 10);
-                report.append("Shakespeare (" + shakespeare + ")\n");
-                report.append("  total words: " + shakespeareWords.size() + "\n");
-                report.append("  unique words: " + h.size() + "\n");
-                report.append(String.format("  avg build time over %d runs: %.2f ms\n", runs, avg));
-                report.append("  maxDepth: " + h.maxDepth() + "\n");
-                report.append("  top 10 words:\n");
-                for (String s : top10)
-                    report.append("    " + s + "\n");
-                report.append("\n-------------------------------\n\n");
+        // Structure statistics: comparisons, probes, rotations and resizes
+        report.append("Structure statistics\n\n");
+        for (String ds : new String[] { "BST", "AVL", "HashMap" }) {
+            for (int d = 0; d < 2; d++) {
+                ArrayList<String> words = (d == 0) ? redditWords : shakespeareWords;
+                if (words.isEmpty())
+                    continue;
+                report.append(ds + ", " + ((d == 0) ? reddit : shakespeare) + "\n");
+                report.append(structureStats(WordCounter.newMap(ds), words));
+                report.append("\n");
             }
         }
+        report.append("-------------------------------\n\n");
 
         // write report
         try (FileWriter fw = new FileWriter("report.txt")) {
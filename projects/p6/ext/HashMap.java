@@ -1,83 +1,294 @@
 /*
  * file name: HashMap.java
  * author: Jack Dai
- * last modified: 10/31/2025
+ * last modified: 10/17/2026
  * purpose of the class: Implements a Map using a hash table with separate chaining
  */
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
+/**
+ * HashMap is a MapSet backed by a hash table with separate chaining. Each
+ * bucket starts as a linked list. A bucket whose chain grows past
+ * {@link #TREEIFY_THRESHOLD} entries is turned into an AVL tree ordered by
+ * hash and then, for keys of the same {@code Comparable} class, by
+ * {@code compareTo}. Adversarial or low-entropy keys therefore cost
+ * O(log n) per lookup instead of O(n); only keys that share a hash code and
+ * cannot be compared still need a linear search. A tree that shrinks to
+ * {@link #UNTREEIFY_THRESHOLD} entries goes back to being a list.
+ *
+ * Hash codes are scrambled by a pluggable {@link HashSpreader} before the
+ * bucket index is taken; {@link HashSpreader#seeded()} makes the layout
+ * unpredictable to whoever chooses the keys.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
 public class HashMap<K, V> implements MapSet<K, V> {
     /**
      * Node stored in each bucket. Acts as a singly-linked list node
-     * and extends KeyValuePair so it stores a key and a value.
+     * and extends KeyValuePair so it stores a key and a value. The
+     * spread hash of the key is cached so that rehashing never calls
+     * {@code hashCode} again and most mismatches skip {@code equals}.
      */
     private static class Node<K, V> extends KeyValuePair<K, V> {
-        private Node<K, V> next;
+        final int hash;
+        Node<K, V> next;
 
-        public Node(K key, V value) {
+        public Node(int hash, K key, V value) {
             super(key, value);
+            this.hash = hash;
+        }
+    }
+
+    /**
+     * Node of a treeified bucket. Tree nodes stay linked through
+     * {@code next} as well, in no particular order, so code that only walks
+     * a bucket's entries treats both kinds of bucket alike; {@code prev}
+     * makes unlinking O(1). A tree node moved into a list bucket by a resize
+     * is just a list node; its tree fields are reset when it joins a tree
+     * again.
+     */
+    private static final class TreeNode<K, V> extends Node<K, V> {
+        private TreeNode<K, V> left;
+        private TreeNode<K, V> right;
+        private TreeNode<K, V> prev;
+        private int height;
+
+        TreeNode(int hash, K key, V value) {
+            super(hash, key, value);
+        }
+    }
+
+    /**
+     * Head of a treeified bucket. It stands in the bucket array in place of
+     * the first entry and holds no entry itself: {@code root} is the AVL tree
+     * of the bucket's entries and {@code first} lists the same entries.
+     */
+    private static final class TreeBin<K, V> extends Node<K, V> {
+        private TreeNode<K, V> root;
+        private TreeNode<K, V> first;
+        private int count;
+
+        TreeBin() {
+            super(0, null, null);
+        }
+
+        /**
+         * Add {@code x} to the tree and the list.
+         */
+        void add(TreeNode<K, V> x) {
+            x.left = null;
+            x.right = null;
+            x.prev = null;
+            x.height = 1;
+            x.next = first;
+            if (first != null)
+                first.prev = x;
+            first = x;
+            root = insert(root, x);
+            count++;
+        }
+
+        /**
+         * Remove {@code x}, which is in this bin, from the tree and the list.
+         */
+        void unlink(TreeNode<K, V> x) {
+            root = delete(root, x);
+            TreeNode<K, V> next = (TreeNode<K, V>) x.next;
+            if (x.prev == null)
+                first = next;
+            else
+                x.prev.next = next;
+            if (next != null)
+                next.prev = x.prev;
+            count--;
         }
     }
 
     private static final int DEFAULT_CAPACITY = 16;
     private static final double DEFAULT_LOAD_FACTOR = 0.75;
 
+    /** A bucket whose chain grows longer than this becomes a tree. */
+    static final int TREEIFY_THRESHOLD = 8;
+
+    /** A tree bucket that shrinks to this many entries becomes a list. */
+    static final int UNTREEIFY_THRESHOLD = 6;
+
+    /**
+     * Minimal number of old buckets moved to the new table by each operation
+     * while an incremental resize is in progress; see {@link #stepFor}.
+     */
+    private static final int MIGRATE_STEP = 4;
+
     private Node<K, V>[] root;
     private int size;
 
     private double maxLoadFactor;
 
+    // incremental resizing: while oldRoot is non-null, its buckets at index
+    // migrateIdx and above have not yet been moved into root.
+    private final boolean incremental;
+    private final HashSpreader spreader;
+    private Node<K, V>[] oldRoot;
+    private int migrateIdx;
+    private int migrateStep;
+
+    // null unless statistics are being collected
+    private MapStats stats;
+
+    /**
+     * Construct a HashMap with the default initial capacity and load factor.
+     */
     public HashMap() {
         this(DEFAULT_CAPACITY);
     }
 
     /**
-     * Construct a HashMap with the default initial capacity and load factor.
+     * Construct a HashMap with a specific initial capacity and default load factor.
+     *
+     * @param capacity initial number of buckets (rounded up to a power of two)
      */
-
     public HashMap(int capacity) {
         this(capacity, DEFAULT_LOAD_FACTOR);
     }
 
     /**
-     * Construct a HashMap with a specific initial capacity and default load factor.
+     * Construct a HashMap with a specific initial capacity and load factor.
+     *
+     * @param capacity      initial number of buckets (rounded up to a power of two)
+     * @param maxLoadFactor maximal load factor before resizing
+     */
+    public HashMap(int capacity, double maxLoadFactor) {
+        this(capacity, maxLoadFactor, false);
+    }
+
+    /**
+     * Construct a HashMap with a specific initial capacity, load factor and
+     * resize mode. In incremental mode a resize allocates the new bucket array
+     * and then moves a bounded number of old buckets on every subsequent
+     * operation, so no single call pays for rehashing the whole table.
+     *
+     * @param capacity      initial number of buckets (rounded up to a power of two)
+     * @param maxLoadFactor maximal load factor before resizing
+     * @param incremental   {@code true} to spread resizes across operations
+     */
+    public HashMap(int capacity, double maxLoadFactor, boolean incremental) {
+        this(capacity, maxLoadFactor, incremental, HashSpreader.FOLD);
+    }
+
+    /**
+     * Construct a HashMap with the default capacity and load factor that
+     * spreads hash codes with the given function.
      *
-     * @param capacity initial number of buckets
+     * @param spreader scrambles each key's {@code hashCode}
      */
+    public HashMap(HashSpreader spreader) {
+        this(DEFAULT_CAPACITY, DEFAULT_LOAD_FACTOR, false, spreader);
+    }
 
+    /**
+     * Construct a HashMap with a specific initial capacity, load factor,
+     * resize mode and hash spreading function.
+     *
+     * @param capacity      initial number of buckets (rounded up to a power of two)
+     * @param maxLoadFactor maximal load factor before resizing
+     * @param incremental   {@code true} to spread resizes across operations
+     * @param spreader      scrambles each key's {@code hashCode}
+     */
     @SuppressWarnings("unchecked")
-    public HashMap(int capacity, double maxLoadFactor) {
+    public HashMap(int capacity, double maxLoadFactor, boolean incremental, HashSpreader spreader) {
+        if (spreader == null)
+            throw new NullPointerException("spreader");
         this.maxLoadFactor = maxLoadFactor;
+        this.incremental = incremental;
+        this.spreader = spreader;
+        this.migrateStep = stepFor(maxLoadFactor);
         this.size = 0;
         // create generic array
-        this.root = (Node<K, V>[]) new Node[capacity];
+        this.root = (Node<K, V>[]) new Node[tableSizeFor(capacity)];
     }
 
     /**
-     * Construct a HashMap with a specific initial capacity and load factor.
+     * Returns the number of old buckets to move per operation during an
+     * incremental resize. Growing from {@code c} to {@code 2c} buckets leaves
+     * at least {@code c * maxLoadFactor} inserts before the next growth, so
+     * moving {@code ceil(1 / maxLoadFactor)} buckets per operation empties the
+     * old table in time. After a shrink the next resize can come sooner; it
+     * then finishes the migration itself.
      *
-     * @param capacity      initial number of buckets
      * @param maxLoadFactor maximal load factor before resizing
+     * @return the number of buckets per step, at least {@link #MIGRATE_STEP}
+     */
+    private static int stepFor(double maxLoadFactor) {
+        return Math.max(MIGRATE_STEP, (int) Math.ceil(1 / maxLoadFactor));
+    }
+
+    /**
+     * Returns the smallest power of two that is at least {@code capacity}.
+     *
+     * @param capacity requested capacity
+     * @return a power of two no smaller than {@code capacity} (minimum 1)
      */
+    private static int tableSizeFor(int capacity) {
+        int n = 1;
+        while (n < capacity)
+            n <<= 1;
+        return n;
+    }
 
     /**
      * Returns the number of buckets (capacity) of the internal array.
      *
-     * @return the length of the bucket array, or 0 if uninitialized
+     * @return the length of the bucket array
      */
     public int capacity() {
-        return (root == null) ? 0 : root.length;
+        return root.length;
     }
 
     /**
-     * Compute the bucket index for the given key using its hashCode.
+     * Returns whether this map spreads resizes across operations.
+     *
+     * @return {@code true} if this map resizes incrementally
+     */
+    public boolean isIncremental() {
+        return incremental;
+    }
+
+    /**
+     * Returns whether an incremental resize is still moving buckets.
+     *
+     * @return {@code true} if two bucket arrays are currently live
+     */
+    public boolean isResizing() {
+        return oldRoot != null;
+    }
+
+    /**
+     * Returns the function that spreads hash codes.
+     *
+     * @return the hash spreader
+     */
+    public HashSpreader spreader() {
+        return spreader;
+    }
+
+    /**
+     * Compute the spread hash for the given key. The hash code goes through
+     * the spreader because the bucket index is taken by masking with
+     * {@code capacity() - 1}.
      *
      * @param key the key to hash (must be non-null)
-     * @return index in the bucket array
+     * @return the spread hash code
      */
-    private int hash(K key) {
-        return Math.abs(key.hashCode() % capacity());
+    private int hash(Object key) {
+        return spreader.spread(key.hashCode());
     }
 
     /**
@@ -98,9 +309,78 @@ public class HashMap<K, V> implements MapSet<K, V> {
     public void clear() {
         this.size = 0;
         this.maxLoadFactor = DEFAULT_LOAD_FACTOR;
+        this.migrateStep = stepFor(DEFAULT_LOAD_FACTOR);
         @SuppressWarnings("unchecked")
         Node<K, V>[] newRoot = (Node<K, V>[]) new Node[DEFAULT_CAPACITY];
         this.root = newRoot;
+        this.oldRoot = null;
+        this.migrateIdx = 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * This implementation empties the current table in place and keeps the
+     * load factor; an old table still being migrated is dropped.
+     */
+    @Override
+    public void clearKeepingCapacity() {
+        this.size = 0;
+        Arrays.fill(this.root, null);
+        this.oldRoot = null;
+        this.migrateIdx = 0;
+    }
+
+    /**
+     * Find the node holding {@code key}, looking in the not-yet-migrated part
+     * of the old table as well while an incremental resize is in progress.
+     *
+     * @param key the key to look for (non-null)
+     * @param h   the spread hash of {@code key}
+     * @return the node for {@code key}, or {@code null} if absent
+     */
+    private Node<K, V> findNode(K key, int h) {
+        MapStats s = stats;
+        if (s != null)
+            s.operations++;
+        Node<K, V> found = find(root[h & (root.length - 1)], key, h, s);
+        if (found == null && oldRoot != null) {
+            int j = h & (oldRoot.length - 1);
+            if (j >= migrateIdx)
+                found = find(oldRoot[j], key, h, s);
+        }
+        return found;
+    }
+
+    /**
+     * Find the node holding {@code key} in one bucket.
+     *
+     * @param head the bucket's first node or tree bin
+     * @param key  the key to look for (non-null)
+     * @param h    the spread hash of {@code key}
+     * @param s    statistics to update, or {@code null}
+     * @return the node for {@code key}, or {@code null} if absent
+     */
+    private static <K, V> Node<K, V> find(Node<K, V> head, Object key, int h, MapStats s) {
+        if (head instanceof TreeBin)
+            return find(((TreeBin<K, V>) head).root, key, h, s);
+        for (Node<K, V> cur = head; cur != null; cur = cur.next) {
+            if (s != null)
+                count(s, cur, h);
+            if (cur.hash == h && cur.getKey().equals(key))
+                return cur;
+        }
+        return null;
+    }
+
+    /**
+     * Record a probe of {@code node} for a key with spread hash {@code h},
+     * and a key comparison if the cached hashes match.
+     */
+    private static void count(MapStats s, Node<?, ?> node, int h) {
+        s.probes++;
+        if (node.hash == h)
+            s.comparisons++;
     }
 
     /**
@@ -121,37 +401,106 @@ public class HashMap<K, V> implements MapSet<K, V> {
             return null;
         if (key == null)
             throw new NullPointerException("HashMap does not support null keys");
+        migrateStep();
 
-        if (root == null) {
-            // initialize with default capacity
-            @SuppressWarnings("unchecked")
-            Node<K, V>[] newRoot = (Node<K, V>[]) new Node[DEFAULT_CAPACITY];
-            root = newRoot;
+        int h = hash(key);
+        Node<K, V> cur = findNode(key, h);
+        if (cur != null) {
+            V old = cur.getValue();
+            cur.setValue(value);
+            return old;
         }
 
-        int idx = hash(key);
-        Node<K, V> cur = root[idx];
-        while (cur != null) {
-            if (cur.getKey().equals(key)) {
-                V old = cur.getValue();
-                cur.setValue(value);
-                return old;
-            }
-            cur = cur.next;
-        }
+        addNode(h, key, value);
+        return null;
+    }
 
-        // insert at head
-        Node<K, V> newNode = new Node<>(key, value);
-        newNode.next = root[idx];
-        root[idx] = newNode;
+    /**
+     * Insert a new node at the head of its bucket in the current table and
+     * grow the table if the load factor has been exceeded.
+     *
+     * @param h     spread hash of {@code key}
+     * @param key   the key to insert (not already present)
+     * @param value the value to associate with the key
+     */
+    private void addNode(int h, K key, V value) {
+        int idx = h & (root.length - 1);
+        Node<K, V> head = root[idx];
+        if (head instanceof TreeBin) {
+            ((TreeBin<K, V>) head).add(new TreeNode<>(h, key, value));
+        } else {
+            // insert at head
+            Node<K, V> newNode = new Node<>(h, key, value);
+            newNode.next = head;
+            root[idx] = newNode;
+            if (head != null && longerThan(newNode, TREEIFY_THRESHOLD))
+                treeify(idx);
+        }
         size++;
+        if (stats != null)
+            stats.inserts++;
 
         // resize if needed
         if (size > maxLoadFactor * capacity()) {
             resize(capacity() * 2);
         }
+    }
 
-        return null;
+    /**
+     * {@inheritDoc}
+     *
+     * The key is located with a single lookup; the new value is stored in
+     * place, or the mapping is removed when the remapping function returns
+     * {@code null}.
+     *
+     * @throws NullPointerException if {@code key} is {@code null}
+     */
+    @Override
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        if (key == null)
+            throw new NullPointerException("HashMap does not support null keys");
+        if (value == null || remappingFunction == null)
+            throw new NullPointerException();
+        migrateStep();
+
+        int h = hash(key);
+        Node<K, V> cur = findNode(key, h);
+        if (cur != null) {
+            V newValue = remappingFunction.apply(cur.getValue(), value);
+            if (newValue != null) {
+                cur.setValue(newValue);
+            } else {
+                remove(key);
+            }
+            return newValue;
+        }
+
+        addNode(h, key, value);
+        return value;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws NullPointerException if {@code key} is {@code null}
+     */
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        if (key == null)
+            throw new NullPointerException("HashMap does not support null keys");
+        if (mappingFunction == null)
+            throw new NullPointerException();
+        migrateStep();
+
+        int h = hash(key);
+        Node<K, V> cur = findNode(key, h);
+        if (cur != null)
+            return cur.getValue();
+
+        V value = mappingFunction.apply(key);
+        if (value != null)
+            addNode(h, key, value);
+        return value;
     }
 
     /**
@@ -163,30 +512,24 @@ public class HashMap<K, V> implements MapSet<K, V> {
     public V get(K key) {
         if (key == null)
             throw new NullPointerException("HashMap does not support null keys");
-        if (root == null)
-            return null;
-        int idx = hash(key);
-        Node<K, V> cur = root[idx];
-        while (cur != null) {
-            if (cur.getKey().equals(key))
-                return cur.getValue();
-            cur = cur.next;
-        }
-        return null;
+        migrateStep();
+        Node<K, V> cur = findNode(key, hash(key));
+        return (cur == null) ? null : cur.getValue();
     }
 
     /**
      * {@inheritDoc}
      *
+     * Any incremental resize in progress is completed first.
+     *
      * @return an ArrayList containing every key in the table (no particular order)
      */
     @Override
     public ArrayList<K> keySet() {
+        finishMigration();
         ArrayList<K> out = new ArrayList<>();
-        if (root == null)
-            return out;
         for (int i = 0; i < capacity(); i++) {
-            Node<K, V> cur = root[i];
+            Node<K, V> cur = first(root[i]);
             while (cur != null) {
                 out.add(cur.getKey());
                 cur = cur.next;
@@ -202,11 +545,10 @@ public class HashMap<K, V> implements MapSet<K, V> {
      */
     @Override
     public ArrayList<V> values() {
+        finishMigration();
         ArrayList<V> out = new ArrayList<>();
-        if (root == null)
-            return out;
         for (int i = 0; i < capacity(); i++) {
-            Node<K, V> cur = root[i];
+            Node<K, V> cur = first(root[i]);
             while (cur != null) {
                 out.add(cur.getValue());
                 cur = cur.next;
@@ -222,11 +564,10 @@ public class HashMap<K, V> implements MapSet<K, V> {
      */
     @Override
     public ArrayList<MapSet.KeyValuePair<K, V>> entrySet() {
+        finishMigration();
         ArrayList<MapSet.KeyValuePair<K, V>> out = new ArrayList<>();
-        if (root == null)
-            return out;
         for (int i = 0; i < capacity(); i++) {
-            Node<K, V> cur = root[i];
+            Node<K, V> cur = first(root[i]);
             while (cur != null) {
                 out.add(cur);
                 cur = cur.next;
@@ -238,27 +579,123 @@ public class HashMap<K, V> implements MapSet<K, V> {
     /**
      * {@inheritDoc}
      *
-     * For a hash table this returns the size of the largest bucket
-     * (i.e. the maximum chain length).
+     * Any incremental resize in progress is completed first. The nodes
+     * themselves are returned, so no pair is allocated.
+     */
+    @Override
+    public Iterable<MapSet.KeyValuePair<K, V>> entries() {
+        return () -> {
+            finishMigration();
+            return new EntryIterator();
+        };
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Any incremental resize in progress is completed first.
+     */
+    @Override
+    public void forEachEntry(BiConsumer<? super K, ? super V> action) {
+        finishMigration();
+        for (int i = 0; i < capacity(); i++) {
+            for (Node<K, V> cur = first(root[i]); cur != null; cur = cur.next)
+                action.accept(cur.getKey(), cur.getValue());
+        }
+    }
+
+    /**
+     * Walks the buckets in index order and each chain from its head.
+     */
+    private class EntryIterator implements Iterator<MapSet.KeyValuePair<K, V>> {
+        private int bucket = -1;
+        Node<K, V> next;
+
+        EntryIterator() {
+            advance();
+        }
+
+        /**
+         * Move {@code next} to the head of the next non-empty bucket.
+         */
+        private void advance() {
+            while (next == null && ++bucket < root.length)
+                next = first(root[bucket]);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public MapSet.KeyValuePair<K, V> next() {
+            if (next == null)
+                throw new NoSuchElementException();
+            Node<K, V> cur = next;
+            next = cur.next;
+            advance();
+            return cur;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * For a hash table this returns the most nodes a lookup can visit in one
+     * bucket: the chain length of a list bucket, or the height of a tree
+     * bucket. Any incremental resize in progress is completed first.
      */
     @Override
     public int maxDepth() {
-        if (root == null)
-            return 0;
+        finishMigration();
         int max = 0;
         for (int i = 0; i < capacity(); i++) {
-            int count = 0;
-            Node<K, V> cur = root[i];
-            while (cur != null) {
-                count++;
-                cur = cur.next;
-            }
-            if (count > max)
-                max = count;
+            int depth = (root[i] instanceof TreeBin) ? height(((TreeBin<K, V>) root[i]).root)
+                    : chainLength(root[i]);
+            if (depth > max)
+                max = depth;
         }
         return max;
     }
 
+    /**
+     * Returns the number of entries in a bucket.
+     *
+     * @param head the bucket's first node or tree bin
+     * @return the number of entries
+     */
+    private static int chainLength(Node<?, ?> head) {
+        if (head instanceof TreeBin)
+            return ((TreeBin<?, ?>) head).count;
+        int count = 0;
+        for (Node<?, ?> cur = head; cur != null; cur = cur.next)
+            count++;
+        return count;
+    }
+
+    /**
+     * Returns whether the chain starting at {@code head} has more than
+     * {@code n} entries, walking at most {@code n + 1} of them.
+     */
+    private static boolean longerThan(Node<?, ?> head, int n) {
+        for (Node<?, ?> cur = head; cur != null; cur = cur.next) {
+            if (n-- == 0)
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the first entry of a bucket, looking through a tree bin.
+     *
+     * @param head the bucket's first node or tree bin
+     * @return the first entry, or {@code null} for an empty bucket
+     */
+    private static <K, V> Node<K, V> first(Node<K, V> head) {
+        return (head instanceof TreeBin) ? ((TreeBin<K, V>) head).first : head;
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -280,25 +717,63 @@ public class HashMap<K, V> implements MapSet<K, V> {
     public V remove(K key) {
         if (key == null)
             throw new NullPointerException("HashMap does not support null keys");
-        if (root == null)
+        migrateStep();
+        if (stats != null)
+            stats.operations++;
+
+        int h = hash(key);
+        V old = removeFrom(root, h & (root.length - 1), key, h);
+        if (old == null && oldRoot != null) {
+            int j = h & (oldRoot.length - 1);
+            if (j >= migrateIdx)
+                old = removeFrom(oldRoot, j, key, h);
+        }
+        if (old == null)
             return null;
-        int idx = hash(key);
-        Node<K, V> cur = root[idx];
+
+        size--;
+        // shrink if too sparse (never while a resize is still migrating)
+        if (oldRoot == null && capacity() > DEFAULT_CAPACITY
+                && size < (maxLoadFactor * capacity()) / 4) {
+            resize(Math.max(DEFAULT_CAPACITY, capacity() / 2));
+        }
+        return old;
+    }
+
+    /**
+     * Unlink the node for {@code key} from bucket {@code idx} of
+     * {@code table}, if present. Does not change {@code size}.
+     *
+     * @param table the bucket array to search
+     * @param idx   bucket index of {@code key} in {@code table}
+     * @param key   the key to remove
+     * @param h     the spread hash of {@code key}
+     * @return the removed node's value, or {@code null} if not found
+     */
+    private V removeFrom(Node<K, V>[] table, int idx, K key, int h) {
+        MapStats s = stats;
+        if (table[idx] instanceof TreeBin) {
+            TreeBin<K, V> bin = (TreeBin<K, V>) table[idx];
+            TreeNode<K, V> x = find(bin.root, key, h, s);
+            if (x == null)
+                return null;
+            bin.unlink(x);
+            if (bin.count <= UNTREEIFY_THRESHOLD)
+                table[idx] = bin.first;
+            return x.getValue();
+        }
+        Node<K, V> cur = table[idx];
         Node<K, V> prev = null;
         while (cur != null) {
-            if (cur.getKey().equals(key)) {
-                V old = cur.getValue();
+            if (s != null)
+                count(s, cur, h);
+            if (cur.hash == h && cur.getKey().equals(key)) {
                 if (prev == null) {
-                    root[idx] = cur.next;
+                    table[idx] = cur.next;
                 } else {
                     prev.next = cur.next;
                 }
-                size--;
-                // shrink if too sparse
-                if (capacity() > DEFAULT_CAPACITY && size < (maxLoadFactor * capacity()) / 4) {
-                    resize(Math.max(DEFAULT_CAPACITY, capacity() / 2));
-                }
-                return old;
+                return cur.getValue();
             }
             prev = cur;
             cur = cur.next;
@@ -306,6 +781,68 @@ public class HashMap<K, V> implements MapSet<K, V> {
         return null;
     }
 
+    /**
+     * Returns how many buckets hold each number of entries: entry {@code i}
+     * of the result is the number of buckets whose chain has length
+     * {@code i}. While an incremental resize is in progress, the nodes still
+     * in the old table are counted in the buckets they will move to, so the
+     * result is the same as after the resize; the table is not changed.
+     *
+     * A tree bucket counts all of its entries.
+     *
+     * @return the chain length histogram, up to the longest chain
+     */
+    public int[] chainLengthHistogram() {
+        int[] lengths = new int[capacity()];
+        for (int i = 0; i < lengths.length; i++)
+            lengths[i] = chainLength(root[i]);
+        if (oldRoot != null) {
+            int mask = lengths.length - 1;
+            for (int i = migrateIdx; i < oldRoot.length; i++)
+                for (Node<K, V> n = first(oldRoot[i]); n != null; n = n.next)
+                    lengths[n.hash & mask]++;
+        }
+        int max = 0;
+        for (int length : lengths)
+            max = Math.max(max, length);
+        int[] histogram = new int[max + 1];
+        for (int length : lengths)
+            histogram[length]++;
+        return histogram;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * This map counts probes, key comparisons, inserts and resizes.
+     */
+    @Override
+    public MapStats enableStats() {
+        stats = new MapStats(true, false);
+        return stats;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void disableStats() {
+        stats = null;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The chain length histogram is recomputed on every call; reading it
+     * does not change the table.
+     */
+    @Override
+    public MapStats stats() {
+        if (stats != null)
+            stats.setChainLengthHistogram(chainLengthHistogram());
+        return stats;
+    }
+
     /**
      * Returns a multi-line string representation of the hash table; each
      * line shows the contents of a bucket. Useful for debugging.
@@ -314,9 +851,10 @@ public class HashMap<K, V> implements MapSet<K, V> {
      */
     @Override
     public String toString() {
+        finishMigration();
         StringBuilder output = new StringBuilder();
         for (int i = 0; i < this.capacity(); i++) {
-            Node<K, V> node = this.root[i];
+            Node<K, V> node = first(this.root[i]);
             output.append("bin ").append(i).append(": ");
             while (node != null) {
                 output.append(node.toString()).append(" | ");
@@ -327,26 +865,296 @@ public class HashMap<K, V> implements MapSet<K, V> {
         return output.toString();
     }
 
-    @SuppressWarnings("unchecked")
     /**
-     * Resize the internal bucket array and rehash all entries into the
-     * new table. This is called automatically when growing or shrinking.
+     * Resize the internal bucket array. Nodes are relinked into the new table
+     * using their cached hashes, so no node is allocated and no key is
+     * rehashed. In incremental mode only the new array is allocated here and
+     * the nodes are moved by later calls to {@link #migrateStep()}.
      *
-     * @param newCapacity the new bucket array size
+     * @param newCapacity the new bucket array size (a power of two)
      */
+    @SuppressWarnings("unchecked")
     private void resize(int newCapacity) {
-        Node<K, V>[] old = root;
+        // a resize triggered mid-migration must finish the previous one first
+        finishMigration();
+        long start = (stats != null) ? System.nanoTime() : 0;
+        oldRoot = root;
+        migrateIdx = 0;
         root = (Node<K, V>[]) new Node[newCapacity];
-        size = 0;
-        if (old == null)
-            return;
-        for (int i = 0; i < old.length; i++) {
-            Node<K, V> cur = old[i];
+        if (stats != null) {
+            stats.resizes++;
+            stats.resizeNanos += System.nanoTime() - start;
+        }
+        if (!incremental)
+            finishMigration();
+    }
+
+    /**
+     * Move up to {@code migrateStep} buckets from the old table, if an
+     * incremental resize is in progress.
+     */
+    private void migrateStep() {
+        if (oldRoot != null)
+            migrate(migrateStep);
+    }
+
+    /**
+     * Move every remaining bucket from the old table, if any.
+     */
+    private void finishMigration() {
+        if (oldRoot != null)
+            migrate(oldRoot.length - migrateIdx);
+    }
+
+    /**
+     * Relink the nodes of the next {@code buckets} old buckets into the
+     * current table, and drop the old table once it is empty.
+     *
+     * @param buckets maximal number of old buckets to move
+     */
+    private void migrate(int buckets) {
+        long start = (stats != null) ? System.nanoTime() : 0;
+        int end = Math.min(oldRoot.length, migrateIdx + buckets);
+        for (; migrateIdx < end; migrateIdx++) {
+            Node<K, V> cur = first(oldRoot[migrateIdx]);
+            oldRoot[migrateIdx] = null;
             while (cur != null) {
-                put(cur.getKey(), cur.getValue());
-                cur = cur.next;
+                Node<K, V> next = cur.next;
+                relink(cur);
+                cur = next;
             }
         }
+        if (migrateIdx == oldRoot.length) {
+            oldRoot = null;
+            migrateIdx = 0;
+        }
+        if (stats != null)
+            stats.resizeNanos += System.nanoTime() - start;
     }
 
-}
\ No newline at end of file
+    /**
+     * Move one node from the old table into the current table, joining its
+     * bucket's tree or list and treeifying the list if it grows too long.
+     *
+     * @param n the node to move
+     */
+    private void relink(Node<K, V> n) {
+        int idx = n.hash & (root.length - 1);
+        Node<K, V> head = root[idx];
+        if (head instanceof TreeBin) {
+            ((TreeBin<K, V>) head).add(toTreeNode(n));
+        } else {
+            n.next = head;
+            root[idx] = n;
+            if (head != null && longerThan(n, TREEIFY_THRESHOLD))
+                treeify(idx);
+        }
+    }
+
+    // Tree buckets
+
+    /**
+     * Replace the list in bucket {@code idx} of the current table with a
+     * tree of the same entries.
+     *
+     * @param idx index of a list bucket
+     */
+    private void treeify(int idx) {
+        TreeBin<K, V> bin = new TreeBin<>();
+        Node<K, V> cur = root[idx];
+        while (cur != null) {
+            Node<K, V> next = cur.next;
+            bin.add(toTreeNode(cur));
+            cur = next;
+        }
+        root[idx] = bin;
+    }
+
+    /**
+     * Returns {@code n} if it is a tree node, otherwise a tree node copy.
+     */
+    private static <K, V> TreeNode<K, V> toTreeNode(Node<K, V> n) {
+        if (n instanceof TreeNode)
+            return (TreeNode<K, V>) n;
+        return new TreeNode<>(n.hash, n.getKey(), n.getValue());
+    }
+
+    /**
+     * Compare two keys if they are of the same {@code Comparable} class.
+     *
+     * @return the result of {@code compareTo}, or 0 if the keys cannot be
+     *         compared
+     */
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private static int compareKeys(Object a, Object b) {
+        if (a.getClass() == b.getClass() && a instanceof Comparable)
+            return ((Comparable) a).compareTo(b);
+        return 0;
+    }
+
+    /**
+     * The order of a bucket's tree: by hash, then by {@code compareTo}, then
+     * by identity hash code so that every insert has a definite side.
+     */
+    private static int order(Node<?, ?> a, Node<?, ?> b) {
+        int cmp = Integer.compare(a.hash, b.hash);
+        if (cmp == 0)
+            cmp = compareKeys(a.getKey(), b.getKey());
+        if (cmp == 0)
+            cmp = Integer.compare(System.identityHashCode(a.getKey()), System.identityHashCode(b.getKey()));
+        return cmp;
+    }
+
+    /**
+     * Find the node holding {@code key} in a bucket's tree. When the hash and
+     * {@code compareTo} cannot tell which side the key is on, both subtrees
+     * are searched.
+     *
+     * @param t   root of the subtree to search
+     * @param key the key to look for (non-null)
+     * @param h   the spread hash of {@code key}
+     * @param s   statistics to update, or {@code null}
+     * @return the node for {@code key}, or {@code null} if absent
+     */
+    private static <K, V> TreeNode<K, V> find(TreeNode<K, V> t, Object key, int h, MapStats s) {
+        while (t != null) {
+            if (s != null)
+                count(s, t, h);
+            if (t.hash != h) {
+                t = (h < t.hash) ? t.left : t.right;
+                continue;
+            }
+            if (t.getKey().equals(key))
+                return t;
+            int cmp = compareKeys(key, t.getKey());
+            if (cmp != 0) {
+                t = (cmp < 0) ? t.left : t.right;
+                continue;
+            }
+            TreeNode<K, V> found = find(t.right, key, h, s);
+            if (found != null)
+                return found;
+            t = t.left;
+        }
+        return null;
+    }
+
+    /**
+     * Returns whether {@code x} is in the subtree rooted at {@code t}.
+     */
+    private static boolean contains(TreeNode<?, ?> t, TreeNode<?, ?> x) {
+        while (t != null) {
+            if (t == x)
+                return true;
+            int cmp = order(x, t);
+            if (cmp == 0)
+                return contains(t.right, x) || contains(t.left, x);
+            t = (cmp < 0) ? t.left : t.right;
+        }
+        return false;
+    }
+
+    private static int height(TreeNode<?, ?> t) {
+        return (t == null) ? 0 : t.height;
+    }
+
+    private static void updateHeight(TreeNode<?, ?> t) {
+        t.height = 1 + Math.max(height(t.left), height(t.right));
+    }
+
+    private static <K, V> TreeNode<K, V> rotateRight(TreeNode<K, V> y) {
+        TreeNode<K, V> x = y.left;
+        y.left = x.right;
+        x.right = y;
+        updateHeight(y);
+        updateHeight(x);
+        return x;
+    }
+
+    private static <K, V> TreeNode<K, V> rotateLeft(TreeNode<K, V> x) {
+        TreeNode<K, V> y = x.right;
+        x.right = y.left;
+        y.left = x;
+        updateHeight(x);
+        updateHeight(y);
+        return y;
+    }
+
+    /**
+     * Restore the AVL balance of the subtree rooted at {@code t} and return
+     * its new root, as in {@link AVLMap}.
+     */
+    private static <K, V> TreeNode<K, V> rebalance(TreeNode<K, V> t) {
+        updateHeight(t);
+        int bf = height(t.left) - height(t.right);
+        if (bf > 1) {
+            if (height(t.left.left) < height(t.left.right))
+                t.left = rotateLeft(t.left);
+            return rotateRight(t);
+        }
+        if (bf < -1) {
+            if (height(t.right.right) < height(t.right.left))
+                t.right = rotateRight(t.right);
+            return rotateLeft(t);
+        }
+        return t;
+    }
+
+    /**
+     * Insert {@code x} into the subtree rooted at {@code t}.
+     *
+     * @return the new root of the subtree
+     */
+    private static <K, V> TreeNode<K, V> insert(TreeNode<K, V> t, TreeNode<K, V> x) {
+        if (t == null)
+            return x;
+        if (order(x, t) < 0)
+            t.left = insert(t.left, x);
+        else
+            t.right = insert(t.right, x);
+        return rebalance(t);
+    }
+
+    /**
+     * Remove the node {@code x} from the subtree rooted at {@code t}. Nodes
+     * are relinked rather than copied, so no other node changes identity.
+     *
+     * @return the new root of the subtree
+     */
+    private static <K, V> TreeNode<K, V> delete(TreeNode<K, V> t, TreeNode<K, V> x) {
+        if (t == null)
+            return null;
+        if (t == x) {
+            if (t.left == null)
+                return t.right;
+            if (t.right == null)
+                return t.left;
+            TreeNode<K, V> min = t.right;
+            while (min.left != null)
+                min = min.left;
+            min.right = deleteMin(t.right);
+            min.left = t.left;
+            return rebalance(min);
+        }
+        int cmp = order(x, t);
+        if (cmp == 0)
+            cmp = contains(t.right, x) ? 1 : -1;
+        if (cmp < 0)
+            t.left = delete(t.left, x);
+        else
+            t.right = delete(t.right, x);
+        return rebalance(t);
+    }
+
+    /**
+     * Remove the smallest node of the non-empty subtree rooted at {@code t}.
+     *
+     * @return the new root of the subtree
+     */
+    private static <K, V> TreeNode<K, V> deleteMin(TreeNode<K, V> t) {
+        if (t.left == null)
+            return t.right;
+        t.left = deleteMin(t.left);
+        return rebalance(t);
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * file name: HashMapTester.java
+ * author: Jack Dai
+ * last modified: 10/17/2026
+ * purpose of the class: tester for HashMap.java
+ */
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Random;
+
+public class HashMapTester {
+
+    /**
+     * A key whose hash code is the same for every instance and which is not
+     * Comparable, so a tree bucket can only order it by identity.
+     */
+    private static class CollidingKey {
+        private final int id;
+
+        CollidingKey(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public int hashCode() {
+            return 7;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return (o instanceof CollidingKey) && ((CollidingKey) o).id == id;
+        }
+    }
+
+    public static void testTreeBins() {
+        System.out.println("-".repeat(30) + "\nHashMap Tree Bin Test:");
+        // a huge load factor keeps all 100 keys in one bucket of a 16-bucket table
+        HashMap<CollidingKey, Integer> m = new HashMap<>(16, 100.0);
+        for (int i = 0; i < 100; i++)
+            m.put(new CollidingKey(i), i);
+        boolean ok = true;
+        for (int i = 0; i < 100; i++)
+            ok &= m.get(new CollidingKey(i)) == i;
+        // a list of 100 would have depth 100; an AVL tree of 100 has at most 9 levels
+        System.out.println("treeified, maxDepth <= 9: " + (m.maxDepth() <= 9) + " expected: true");
+        System.out.println("all 100 lookups correct: " + ok + " expected: true");
+
+        HashSet<Integer> seen = new HashSet<>();
+        for (MapSet.KeyValuePair<CollidingKey, Integer> kv : m.entries())
+            seen.add(kv.getValue());
+        System.out.println("iteration visits every entry once: " + (seen.size() == 100 && m.keySet().size() == 100)
+                + " expected: true");
+
+        for (int i = 0; i < 94; i++)
+            ok &= m.remove(new CollidingKey(i)) == i;
+        for (int i = 0; i < 100; i++)
+            ok &= Objects.equals(m.get(new CollidingKey(i)), (i < 94) ? null : i);
+        // at 6 entries the bucket is a list again, so its depth is its length
+        System.out.println("untreeified after removes, maxDepth: " + m.maxDepth() + " expected: 6");
+        System.out.println("lookups correct after removes: " + ok + " expected: true");
+        System.out.println("-".repeat(30));
+    }
+
+    public static void testTreeBinResize() {
+        System.out.println("-".repeat(30) + "\nHashMap Tree Bin Resize Test:");
+        for (boolean incremental : new boolean[] { false, true }) {
+            HashMap<Integer, Integer> m = new HashMap<>(16, 0.75, incremental, HashSpreader.IDENTITY);
+            // keys 0, 16, ..., 128 share bucket 0; the ninth turns it into a tree
+            for (int i = 0; i < 9; i++)
+                m.put(i * 16, i);
+            int treeDepth = m.maxDepth();
+            // the 13th key doubles the table: bucket 0 keeps 0, 32, .., 128 and
+            // bucket 16 gets 16, 48, .., 112, both short enough to be lists
+            for (int i = 1; i <= 4; i++)
+                m.put(i, -i);
+            boolean ok = true;
+            for (int i = 0; i < 9; i++)
+                ok &= m.get(i * 16) == i;
+            for (int i = 1; i <= 4; i++)
+                ok &= m.get(i) == -i;
+            String mode = incremental ? "incremental" : "eager";
+            System.out.println(mode + " tree before resize, maxDepth < 9: " + (treeDepth < 9) + " expected: true");
+            System.out.println(mode + " lookups correct across resize: " + ok + " expected: true");
+            System.out.println(mode + " capacity: " + m.capacity() + " expected: 32");
+            System.out.println(mode + " split into lists, maxDepth: " + m.maxDepth() + " expected: 5");
+        }
+        System.out.println("-".repeat(30));
+    }
+
+    public static void testSpreaders() {
+        System.out.println("-".repeat(30) + "\nHashSpreader Test:");
+        System.out.println("IDENTITY.spread(0x12345678): " + Integer.toHexString(HashSpreader.IDENTITY.spread(0x12345678))
+                + " expected: 12345678");
+        System.out.println("FOLD.spread(0x12345678): " + Integer.toHexString(HashSpreader.FOLD.spread(0x12345678))
+                + " expected: 1234444c");
+        System.out.println("MURMUR.spread(1) == mix(1): " + (HashSpreader.MURMUR.spread(1) == HashSpreader.mix(1))
+                + " expected: true");
+        HashSpreader a = HashSpreader.seeded(1);
+        HashSpreader b = HashSpreader.seeded(1);
+        HashSpreader c = HashSpreader.seeded(2);
+        int same = 0;
+        int differ = 0;
+        for (int h = 0; h < 1000; h++) {
+            same += (a.spread(h) == b.spread(h)) ? 1 : 0;
+            differ += ((a.spread(h) & 15) != (c.spread(h) & 15)) ? 1 : 0;
+        }
+        System.out.println("same seed, same spread: " + (same == 1000) + " expected: true");
+        // with unrelated buckets about 15 of 16 hashes land elsewhere
+        System.out.println("other seed, most buckets differ: " + (differ > 850) + " expected: true");
+
+        // keys that differ only in their high bits all share a bucket unless spread
+        String[] names = { "IDENTITY", "FOLD", "MURMUR", "seeded" };
+        HashSpreader[] spreaders = { HashSpreader.IDENTITY, HashSpreader.FOLD, HashSpreader.MURMUR,
+                HashSpreader.seeded(231) };
+        for (int s = 0; s < spreaders.length; s++) {
+            HashMap<Integer, Integer> m = new HashMap<>(1024, 0.75, false, spreaders[s]);
+            for (int i = 0; i < 500; i++)
+                m.put(i << 16, i);
+            int depth = m.maxDepth();
+            String expected = (s == 0) ? "tree" : "short chains";
+            String got = (s == 0) ? ((depth > 5 && depth < 500) ? "tree" : "depth " + depth)
+                    : ((depth <= 5) ? "short chains" : "depth " + depth);
+            System.out.println(names[s] + " on high-bit keys: " + got + " expected: " + expected);
+        }
+        System.out.println("-".repeat(30));
+    }
+
+    public static void testAgainstJavaHashMap() {
+        System.out.println("-".repeat(30) + "\nHashMap vs java.util.HashMap Test:");
+        HashSpreader[] spreaders = { HashSpreader.IDENTITY, HashSpreader.FOLD, HashSpreader.MURMUR,
+                HashSpreader.seeded(231) };
+        boolean ok = true;
+        for (HashSpreader spreader : spreaders) {
+            for (boolean incremental : new boolean[] { false, true }) {
+                Random rand = new Random(231);
+                HashMap<Integer, Integer> m = new HashMap<>(2, 0.75, incremental, spreader);
+                java.util.HashMap<Integer, Integer> ref = new java.util.HashMap<>();
+                for (int op = 0; op < 100000; op++) {
+                    // multiples of 4096 collide in every table up to 4096
+                    // buckets under IDENTITY, so buckets treeify and split
+                    int key = (rand.nextInt(4) == 0) ? rand.nextInt(64) * 4096 : rand.nextInt(3000);
+                    switch (rand.nextInt(4)) {
+                    case 0:
+                        ok &= Objects.equals(m.remove(key), ref.remove(key));
+                        break;
+                    case 1:
+                        ok &= Objects.equals(m.get(key), ref.get(key));
+                        break;
+                    default:
+                        ok &= Objects.equals(m.put(key, op), ref.put(key, op));
+                    }
+                }
+                ok &= m.size() == ref.size();
+                int visited = 0;
+                for (MapSet.KeyValuePair<Integer, Integer> kv : m.entries()) {
+                    ok &= kv.getValue().equals(ref.get(kv.getKey()));
+                    visited++;
+                }
+                ok &= visited == ref.size();
+            }
+        }
+        System.out.println("every spreader and resize mode agrees: " + ok + " expected: true");
+        System.out.println("-".repeat(30));
+    }
+
+    public static void testStatsDuringResize() {
+        System.out.println("-".repeat(30) + "\nHashMap Stats During Resize Test:");
+        HashMap<Integer, Integer> m = new HashMap<>(16, 0.75, true);
+        m.enableStats();
+        // 13 inserts pass 0.75 * 16 and start moving 16 buckets, 4 per operation
+        for (int i = 0; i < 13; i++)
+            m.put(i * 7, i);
+        boolean resizing = m.isResizing();
+        int[] during = m.stats().chainLengthHistogram();
+        boolean stillResizing = m.isResizing();
+        m.maxDepth(); // finishes the resize
+        int[] after = m.chainLengthHistogram();
+        System.out.println("resizing before stats(): " + resizing + " expected: true");
+        System.out.println("resizing after stats(): " + stillResizing + " expected: true");
+        System.out.println("histogram during == after resize: " + Arrays.equals(during, after) + " expected: true");
+        System.out.println("-".repeat(30));
+    }
+
+    public static void main(String[] args) {
+        testTreeBins();
+        testTreeBinResize();
+        testSpreaders();
+        testAgainstJavaHashMap();
+        testStatsDuringResize();
+    }
+}
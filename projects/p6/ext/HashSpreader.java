@@ -0,0 +1,79 @@
+/*
+ * file name: HashSpreader.java
+ * author: Jack Dai
+ * last modified: 10/17/2026
+ * purpose of the class: Pluggable functions that scramble a key's hashCode
+ *                     before a hash table reduces it to a bucket index.
+ */
+
+import java.security.SecureRandom;
+
+/**
+ * A HashSpreader turns a key's {@code hashCode} into the hash a table uses.
+ * {@link HashMap} takes the low bits of the result as the bucket index, so a
+ * spreader decides how well keys whose hash codes differ only in their high
+ * bits, or follow some regular pattern, are spread over the buckets.
+ *
+ * No spreader can separate keys whose hash codes are equal, since it only
+ * sees the hash code; {@link HashMap} bounds the cost of those by turning
+ * long buckets into trees. A {@link #seeded(int) seeded} spreader stops an
+ * adversary from choosing keys with different hash codes that still share a
+ * bucket, because the mapping depends on a seed the adversary does not know.
+ */
+@FunctionalInterface
+public interface HashSpreader {
+
+    /**
+     * Spread a hash code.
+     *
+     * @param h the key's {@code hashCode}
+     * @return the hash used to choose a bucket
+     */
+    int spread(int h);
+
+    /** Use the hash code unchanged. Only the low bits pick the bucket. */
+    HashSpreader IDENTITY = h -> h;
+
+    /**
+     * Fold the high half of the hash code into the low half, like
+     * {@code java.util.HashMap}. One shift and one xor; the default.
+     */
+    HashSpreader FOLD = h -> h ^ (h >>> 16);
+
+    /** The MurmurHash3 finalizer: every input bit affects every output bit. */
+    HashSpreader MURMUR = HashSpreader::mix;
+
+    /**
+     * Returns a spreader that mixes the hash code with {@code seed}. Tables
+     * with different seeds put keys in unrelated buckets.
+     *
+     * @param seed the seed
+     * @return a seeded spreader
+     */
+    static HashSpreader seeded(int seed) {
+        return h -> mix(h ^ seed);
+    }
+
+    /**
+     * Returns a spreader with a seed drawn from a secure random source.
+     *
+     * @return a seeded spreader
+     */
+    static HashSpreader seeded() {
+        return seeded(new SecureRandom().nextInt());
+    }
+
+    /**
+     * The 32-bit finalizer of MurmurHash3.
+     *
+     * @param h value to mix
+     * @return the mixed value
+     */
+    static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        return h ^ (h >>> 16);
+    }
+}
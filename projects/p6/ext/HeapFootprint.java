@@ -0,0 +1,166 @@
+/*
+ * file name: HeapFootprint.java
+ * author: Jack Dai
+ * last modified: 10/17/2026
+ * purpose of the class: Estimates the heap a data structure retains by
+ *                     walking its object graph and adding up object sizes.
+ */
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/**
+ * HeapFootprint visits every object reachable from a root through instance
+ * fields and array elements and adds up their sizes, as laid out by a 64-bit
+ * HotSpot JVM with compressed references (the default for heaps below 32 GB):
+ * a 12-byte object header, a 16-byte array header, 4-byte references and
+ * every object padded to a multiple of 8 bytes.
+ *
+ * Unlike the difference of two {@code Runtime} readings around a build, the
+ * estimate does not depend on what the collector happened to free, so it is
+ * the same on every run and never negative. Objects of JDK classes whose
+ * fields are not accessible (such as {@code Integer} or a direct
+ * {@code ByteBuffer}) are counted but not descended into, except that a
+ * {@code String} also counts its character array; off-heap memory is never
+ * included.
+ */
+public final class HeapFootprint {
+
+    private static final int HEADER = 12;
+    private static final int ARRAY_HEADER = 16;
+    private static final int REFERENCE = 4;
+    private static final int ALIGNMENT = 8;
+
+    private HeapFootprint() {
+    }
+
+    /**
+     * Returns the bytes of every object reachable from {@code root}.
+     *
+     * @param root the object to measure
+     * @return estimated bytes
+     */
+    public static long retainedBytes(Object root) {
+        return retainedBytes(root, Collections.emptyList());
+    }
+
+    /**
+     * Returns the bytes of every object reachable from {@code root} except
+     * the objects of {@code shared} and anything reachable only through them,
+     * for example the word strings of a list a map was built from.
+     *
+     * @param root   the object to measure
+     * @param shared objects kept alive elsewhere, not counted
+     * @return estimated bytes
+     */
+    public static long retainedBytes(Object root, Iterable<?> shared) {
+        Set<Object> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Object o : shared)
+            seen.add(o);
+        // the size and reference fields of each class, looked up once
+        HashMap<Class<?>, Long> sizes = new HashMap<>();
+        HashMap<Class<?>, ArrayList<Field>> fields = new HashMap<>();
+        ArrayDeque<Object> stack = new ArrayDeque<>();
+        if (root != null && seen.add(root))
+            stack.push(root);
+        long bytes = 0;
+        while (!stack.isEmpty()) {
+            Object o = stack.pop();
+            Class<?> type = o.getClass();
+            if (type.isArray()) {
+                Class<?> component = type.getComponentType();
+                int length = Array.getLength(o);
+                bytes += align(ARRAY_HEADER + (long) length * width(component));
+                if (!component.isPrimitive()) {
+                    for (Object element : (Object[]) o)
+                        if (element != null && seen.add(element))
+                            stack.push(element);
+                }
+            } else {
+                bytes += sizes.computeIfAbsent(type, c -> align(HEADER + fieldBytes(c)));
+                if (o instanceof String)
+                    bytes += stringValueBytes((String) o);
+                for (Field f : fields.computeIfAbsent(type, HeapFootprint::references)) {
+                    Object value;
+                    try {
+                        value = f.get(o);
+                    } catch (IllegalAccessException e) {
+                        continue;
+                    }
+                    if (value != null && seen.add(value))
+                        stack.push(value);
+                }
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Returns the bytes of the array behind a {@code String}, which cannot be
+     * reached by reflection. With compact strings (the default) it holds one
+     * byte per character if every character fits in Latin-1, two otherwise.
+     */
+    private static long stringValueBytes(String s) {
+        int perChar = 1;
+        for (int i = 0; i < s.length() && perChar == 1; i++)
+            if (s.charAt(i) > 0xff)
+                perChar = 2;
+        return align(ARRAY_HEADER + (long) perChar * s.length());
+    }
+
+    /**
+     * Returns the bytes taken by the instance fields of {@code type} and its
+     * superclasses.
+     */
+    private static long fieldBytes(Class<?> type) {
+        long bytes = 0;
+        for (Class<?> c = type; c != null; c = c.getSuperclass())
+            for (Field f : c.getDeclaredFields())
+                if (!Modifier.isStatic(f.getModifiers()))
+                    bytes += width(f.getType());
+        return bytes;
+    }
+
+    /**
+     * Returns the accessible reference fields of {@code type} and its
+     * superclasses. Fields of classes in modules that do not open them are
+     * left out.
+     */
+    private static ArrayList<Field> references(Class<?> type) {
+        ArrayList<Field> fields = new ArrayList<>();
+        for (Class<?> c = type; c != null; c = c.getSuperclass())
+            for (Field f : c.getDeclaredFields())
+                if (!Modifier.isStatic(f.getModifiers()) && !f.getType().isPrimitive() && f.trySetAccessible())
+                    fields.add(f);
+        return fields;
+    }
+
+    /**
+     * Returns the bytes of one field or array element of {@code type}.
+     */
+    private static int width(Class<?> type) {
+        if (type == long.class || type == double.class)
+            return 8;
+        if (type == int.class || type == float.class)
+            return 4;
+        if (type == short.class || type == char.class)
+            return 2;
+        if (type == byte.class || type == boolean.class)
+            return 1;
+        return REFERENCE;
+    }
+
+    /**
+     * Round {@code bytes} up to a whole number of alignment units.
+     */
+    private static long align(long bytes) {
+        return (bytes + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT;
+    }
+}
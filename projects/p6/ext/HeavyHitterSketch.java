@@ -0,0 +1,563 @@
+/*
+ * file name: HeavyHitterSketch.java
+ * author: Jack Dai
+ * last modified: 10/17/2026
+ * purpose of the class: Approximate word counting in fixed memory using a
+ *                     Count-Min Sketch, a SpaceSaving heavy-hitter table and
+ *                     a HyperLogLog distinct counter
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * HeavyHitterSketch is an approximate counting MapSet whose memory is fixed
+ * when it is constructed, no matter how many distinct keys are counted.
+ *
+ * <ul>
+ * <li>A Count-Min Sketch of {@code depth} rows by {@code width} counters
+ * answers {@link #get(Object)} for any key. With {@code width = ceil(e / epsilon)}
+ * and {@code depth = ceil(ln(1 / delta))} an estimate never undercounts and,
+ * with probability at least {@code 1 - delta}, overcounts by at most
+ * {@code epsilon} times the total count. Conservative update is used, which
+ * only tightens this bound.</li>
+ * <li>A SpaceSaving table monitors the {@code capacity} most frequent keys.
+ * Any key occurring more than {@code total / capacity} times is guaranteed to
+ * be monitored. Only monitored keys appear in {@link #entries()},
+ * {@link #keySet()} and the other bulk views.</li>
+ * <li>A HyperLogLog with 2^14 registers estimates the number of distinct keys
+ * for {@link #size()}, with a typical relative error under 1%.</li>
+ * </ul>
+ *
+ * Counts can only grow: {@link #put}, {@link #remove} and a general
+ * {@link #merge} are not supported; use {@link #increment}.
+ *
+ * @param <K> key type
+ */
+public class HeavyHitterSketch<K> implements MapSet<K, Integer> {
+
+    public static final double DEFAULT_EPSILON = 1e-5;
+    public static final double DEFAULT_DELTA = 1e-3;
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    private static final int HLL_BITS = 14;
+
+    // Count-Min Sketch, one row of width counters per hash function
+    private final int width;
+    private final int depth;
+    private final int[] sketch;
+    private long total;
+
+    // SpaceSaving: slot arrays, a min-heap of slots by count and a key index
+    private final int capacity;
+    private final K[] ssKeys;
+    private final int[] ssCounts;
+    private final int[] ssErrors;
+    private final int[] heap;
+    private final int[] heapPos;
+    private int monitored;
+    private final OpenHashMap<K> slotOf; // key -> slot + 1
+
+    // HyperLogLog
+    private final byte[] registers = new byte[1 << HLL_BITS];
+
+    /**
+     * Construct a sketch with the default error bounds and heavy-hitter
+     * capacity.
+     */
+    public HeavyHitterSketch() {
+        this(DEFAULT_EPSILON, DEFAULT_DELTA, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Construct a sketch.
+     *
+     * @param epsilon  additive error of an estimate, as a fraction of the
+     *                 total count
+     * @param delta    probability that an estimate exceeds that error
+     * @param capacity number of heavy hitters monitored
+     */
+    @SuppressWarnings("unchecked")
+    public HeavyHitterSketch(double epsilon, double delta, int capacity) {
+        if (epsilon <= 0 || epsilon >= 1 || delta <= 0 || delta >= 1)
+            throw new IllegalArgumentException("epsilon and delta must be in (0, 1)");
+        if (capacity < 1)
+            throw new IllegalArgumentException("capacity must be at least 1: " + capacity);
+        this.width = (int) Math.ceil(Math.E / epsilon);
+        this.depth = (int) Math.ceil(Math.log(1 / delta));
+        this.sketch = new int[width * depth];
+
+        this.capacity = capacity;
+        this.ssKeys = (K[]) new Object[capacity];
+        this.ssCounts = new int[capacity];
+        this.ssErrors = new int[capacity];
+        this.heap = new int[capacity];
+        this.heapPos = new int[capacity];
+        this.slotOf = new OpenHashMap<>(capacity * 2);
+    }
+
+    /**
+     * Returns the number of bytes used by the sketch's arrays, which does not
+     * change as keys are counted.
+     *
+     * @return approximate footprint in bytes, excluding the monitored keys
+     */
+    public long footprintBytes() {
+        return 4L * sketch.length + 16L * capacity + 12L * slotOf.capacity() + registers.length;
+    }
+
+    /**
+     * Returns the sum of all counts added.
+     *
+     * @return the total count
+     */
+    public long total() {
+        return total;
+    }
+
+    /**
+     * Returns the Count-Min Sketch error bound on an estimate, i.e.
+     * {@code e / width} times the total count.
+     *
+     * @return the additive error bound, as a count
+     */
+    public double errorBound() {
+        return Math.E / width * total;
+    }
+
+    /**
+     * 64-bit finalizer from MurmurHash3, used to derive independent hashes.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
+
+    /**
+     * Returns the counter index of {@code key} in sketch row {@code row}.
+     */
+    private int cell(long h, int row) {
+        long x = mix(h + (row + 1) * 0x9E3779B97F4A7C15L);
+        return row * width + (int) ((x >>> 1) % width);
+    }
+
+    /**
+     * Returns the Count-Min estimate for a hashed key.
+     */
+    private int estimate(long h) {
+        int min = Integer.MAX_VALUE;
+        for (int r = 0; r < depth; r++)
+            min = Math.min(min, sketch[cell(h, r)]);
+        return min;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Updates the Count-Min Sketch (conservatively), the heavy-hitter table
+     * and the distinct counter.
+     *
+     * @throws IllegalArgumentException if {@code delta} is negative
+     * @throws NullPointerException     if {@code key} is {@code null}
+     */
+    @Override
+    public int increment(K key, int delta) {
+        if (key == null)
+            throw new NullPointerException("HeavyHitterSketch does not support null keys");
+        if (delta < 0)
+            throw new IllegalArgumentException("HeavyHitterSketch counts can only grow");
+        long h = key.hashCode();
+        total += delta;
+
+        // conservative update: raise each counter only as far as needed
+        int est = estimate(h) + delta;
+        for (int r = 0; r < depth; r++) {
+            int c = cell(h, r);
+            if (sketch[c] < est)
+                sketch[c] = est;
+        }
+
+        // HyperLogLog
+        long x = mix(h);
+        int reg = (int) (x >>> (64 - HLL_BITS));
+        int rank = Math.min(Long.numberOfLeadingZeros(x << HLL_BITS), 64 - HLL_BITS) + 1;
+        if (registers[reg] < rank)
+            registers[reg] = (byte) rank;
+
+        return Math.min(est, monitor(key, delta));
+    }
+
+    /**
+     * Add {@code delta} to the SpaceSaving count of {@code key}, taking over
+     * the slot of the least frequent monitored key if the table is full.
+     *
+     * @param key   the key counted
+     * @param delta the amount added
+     * @return the key's SpaceSaving count
+     */
+    private int monitor(K key, int delta) {
+        int slot = slotOf.getInt(key) - 1;
+        if (slot >= 0) {
+            ssCounts[slot] += delta;
+            siftDown(heapPos[slot]);
+        } else if (monitored < capacity) {
+            slot = monitored++;
+            ssKeys[slot] = key;
+            ssCounts[slot] = delta;
+            ssErrors[slot] = 0;
+            heap[slot] = slot;
+            heapPos[slot] = slot;
+            siftUp(slot);
+            slotOf.put(key, slot + 1);
+        } else {
+            // replace the least frequent monitored key
+            slot = heap[0];
+            slotOf.remove(ssKeys[slot]);
+            int min = ssCounts[slot];
+            ssKeys[slot] = key;
+            ssErrors[slot] = min;
+            ssCounts[slot] = min + delta;
+            siftDown(0);
+            slotOf.put(key, slot + 1);
+        }
+        return ssCounts[slot];
+    }
+
+    /**
+     * Returns the SpaceSaving count of {@code key}, or {@code otherwise} if
+     * it is not monitored.
+     */
+    private int ssCountOf(K key, int otherwise) {
+        int slot = slotOf.getInt(key) - 1;
+        return (slot < 0) ? otherwise : ssCounts[slot];
+    }
+
+    /**
+     * Move the heap entry at {@code i} toward the root while it is smaller
+     * than its parent.
+     */
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) / 2;
+            if (ssCounts[heap[parent]] <= ssCounts[heap[i]])
+                return;
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    /**
+     * Move the heap entry at {@code i} toward the leaves while it is larger
+     * than a child.
+     */
+    private void siftDown(int i) {
+        while (true) {
+            int left = 2 * i + 1;
+            if (left >= monitored)
+                return;
+            int smallest = left;
+            int right = left + 1;
+            if (right < monitored && ssCounts[heap[right]] < ssCounts[heap[left]])
+                smallest = right;
+            if (ssCounts[heap[i]] <= ssCounts[heap[smallest]])
+                return;
+            swap(i, smallest);
+            i = smallest;
+        }
+    }
+
+    /**
+     * Swap two heap entries and update their recorded positions.
+     */
+    private void swap(int i, int j) {
+        int a = heap[i];
+        int b = heap[j];
+        heap[i] = b;
+        heap[j] = a;
+        heapPos[b] = i;
+        heapPos[a] = j;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Returns an estimate that is never below the true count: the smaller of
+     * the Count-Min estimate and, for monitored keys, the SpaceSaving count.
+     * Returns {@code null} for keys that were certainly never counted.
+     *
+     * @throws NullPointerException if {@code key} is {@code null}
+     */
+    @Override
+    public Integer get(K key) {
+        if (key == null)
+            throw new NullPointerException("HeavyHitterSketch does not support null keys");
+        int est = estimate(key.hashCode());
+        if (est == 0)
+            return null;
+        return Math.min(est, ssCountOf(key, est));
+    }
+
+    /**
+     * Returns the maximal overcount of a monitored key, as recorded by
+     * SpaceSaving when the key replaced another one.
+     *
+     * @param key a key
+     * @return the error bound of the key's count, or -1 if not monitored
+     */
+    public int guaranteedError(K key) {
+        int slot = slotOf.getInt(key) - 1;
+        return (slot < 0) ? -1 : ssErrors[slot];
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * May return {@code true} for a key that was never counted (a false
+     * positive), never {@code false} for one that was.
+     */
+    @Override
+    public boolean containsKey(K key) {
+        return get(key) != null;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Returns an estimate of the number of distinct keys counted.
+     */
+    @Override
+    public int size() {
+        int m = registers.length;
+        double sum = 0;
+        int zeros = 0;
+        for (byte r : registers) {
+            sum += 1.0 / (1L << r);
+            if (r == 0)
+                zeros++;
+        }
+        double alpha = 0.7213 / (1 + 1.079 / m);
+        double e = alpha * m * m / sum;
+        if (e <= 2.5 * m && zeros > 0)
+            e = m * Math.log((double) m / zeros); // linear counting for small sets
+        return (int) Math.round(e);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear() {
+        Arrays.fill(sketch, 0);
+        Arrays.fill(registers, (byte) 0);
+        Arrays.fill(ssKeys, null);
+        slotOf.clear();
+        monitored = 0;
+        total = 0;
+    }
+
+    /**
+     * Add the counts of another sketch with the same configuration into this
+     * one. The Count-Min and HyperLogLog parts merge exactly. The SpaceSaving
+     * tables merge as mergeable summaries: a key monitored by only one table
+     * may have occurred up to the other table's minimum count there (if that
+     * table is full), so that minimum is added to its count and error, and
+     * the {@code capacity} largest counts are kept. Every monitored count
+     * thus stays at or above the key's true count.
+     *
+     * @param other a sketch built with the same epsilon, delta and capacity
+     * @throws IllegalArgumentException if the sketches differ in shape
+     */
+    @SuppressWarnings("unchecked")
+    public void mergeFrom(HeavyHitterSketch<K> other) {
+        if (other.width != width || other.depth != depth)
+            throw new IllegalArgumentException("sketches have different dimensions");
+        if (other.capacity != capacity)
+            throw new IllegalArgumentException(
+                    "sketches monitor different numbers of keys: " + capacity + " and " + other.capacity);
+
+        // combine the tables before changing anything, so a sketch can be
+        // merged with itself
+        int minHere = (monitored == capacity) ? ssCounts[heap[0]] : 0;
+        int minThere = (other.monitored == capacity) ? other.ssCounts[other.heap[0]] : 0;
+        K[] keys = (K[]) new Object[monitored + other.monitored];
+        int[] counts = new int[keys.length];
+        int[] errors = new int[keys.length];
+        int n = 0;
+        for (int s = 0; s < monitored; s++) {
+            int t = other.slotOf.getInt(ssKeys[s]) - 1;
+            keys[n] = ssKeys[s];
+            counts[n] = ssCounts[s] + ((t < 0) ? minThere : other.ssCounts[t]);
+            errors[n++] = ssErrors[s] + ((t < 0) ? minThere : other.ssErrors[t]);
+        }
+        for (int t = 0; t < other.monitored; t++) {
+            if (slotOf.getInt(other.ssKeys[t]) > 0)
+                continue;
+            keys[n] = other.ssKeys[t];
+            counts[n] = other.ssCounts[t] + minHere;
+            errors[n++] = other.ssErrors[t] + minHere;
+        }
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++)
+            order[i] = i;
+        Arrays.sort(order, (i, j) -> Integer.compare(counts[j], counts[i]));
+
+        for (int i = 0; i < sketch.length; i++)
+            sketch[i] += other.sketch[i];
+        for (int i = 0; i < registers.length; i++)
+            registers[i] = (byte) Math.max(registers[i], other.registers[i]);
+        total += other.total;
+
+        Arrays.fill(ssKeys, null);
+        slotOf.clearKeepingCapacity();
+        monitored = 0;
+        for (int i = 0; i < Math.min(n, capacity); i++) {
+            int slot = monitored++;
+            ssKeys[slot] = keys[order[i]];
+            ssCounts[slot] = counts[order[i]];
+            ssErrors[slot] = errors[order[i]];
+            heap[slot] = slot;
+            heapPos[slot] = slot;
+            siftUp(slot);
+            slotOf.put(ssKeys[slot], slot + 1);
+        }
+    }
+
+    /**
+     * Not supported: counts can only be raised with {@link #increment}.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public Integer put(K key, Integer value) {
+        throw new UnsupportedOperationException("HeavyHitterSketch only supports increment");
+    }
+
+    /**
+     * Not supported: a sketch cannot forget a key.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public Integer remove(K key) {
+        throw new UnsupportedOperationException("HeavyHitterSketch does not support remove");
+    }
+
+    /**
+     * Not supported: counts can only be raised with {@link #increment}.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public Integer merge(K key, Integer value,
+            BiFunction<? super Integer, ? super Integer, ? extends Integer> remappingFunction) {
+        throw new UnsupportedOperationException("HeavyHitterSketch only supports increment");
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Equivalent to {@code increment(key, value)} for absent keys, where the
+     * computed value must be non-negative.
+     */
+    @Override
+    public Integer computeIfAbsent(K key, Function<? super K, ? extends Integer> mappingFunction) {
+        Integer cur = get(key);
+        if (cur != null)
+            return cur;
+        Integer value = mappingFunction.apply(key);
+        if (value != null)
+            increment(key, value);
+        return value;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Only the monitored heavy hitters are listed, in no particular order.
+     */
+    @Override
+    public ArrayList<K> keySet() {
+        ArrayList<K> out = new ArrayList<>(monitored);
+        for (MapSet.KeyValuePair<K, Integer> kv : entries())
+            out.add(kv.getKey());
+        return out;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Only the monitored heavy hitters are listed.
+     */
+    @Override
+    public ArrayList<Integer> values() {
+        ArrayList<Integer> out = new ArrayList<>(monitored);
+        for (MapSet.KeyValuePair<K, Integer> kv : entries())
+            out.add(kv.getValue());
+        return out;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Only the monitored heavy hitters are listed.
+     */
+    @Override
+    public ArrayList<MapSet.KeyValuePair<K, Integer>> entrySet() {
+        ArrayList<MapSet.KeyValuePair<K, Integer>> out = new ArrayList<>(monitored);
+        for (MapSet.KeyValuePair<K, Integer> kv : entries())
+            out.add(kv);
+        return out;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Iterates the monitored heavy hitters, each with its estimated count as
+     * returned by {@link #get(Object)}.
+     */
+    @Override
+    public Iterable<MapSet.KeyValuePair<K, Integer>> entries() {
+        return () -> new Iterator<MapSet.KeyValuePair<K, Integer>>() {
+            private int slot = 0;
+
+            @Override
+            public boolean hasNext() {
+                return slot < monitored;
+            }
+
+            @Override
+            public MapSet.KeyValuePair<K, Integer> next() {
+                if (slot >= monitored)
+                    throw new NoSuchElementException();
+                K key = ssKeys[slot++];
+                return new KeyValuePair<>(key, get(key));
+            }
+        };
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Returns the number of hash rows probed by a lookup.
+     */
+    @Override
+    public int maxDepth() {
+        return depth;
+    }
+
+    /**
+     * Returns a summary of the sketch's configuration and state.
+     *
+     * @return a string representation of this sketch
+     */
+    @Override
+    public String toString() {
+        return "HeavyHitterSketch[" + depth + "x" + width + " counters, " + monitored + "/" + capacity
+                + " heavy hitters, total " + total + "]";
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * file name: HeavyHitterSketchTester.java
+ * author: Jack Dai
+ * last modified: 10/17/2026
+ * purpose of the class: tester for HeavyHitterSketch.java
+ */
+
+import java.util.Random;
+
+public class HeavyHitterSketchTester {
+
+    /**
+     * Count {@code key} {@code times} times in {@code sketch}, one at a time.
+     */
+    private static void count(HeavyHitterSketch<String> sketch, String key, int times) {
+        for (int i = 0; i < times; i++)
+            sketch.increment(key, 1);
+    }
+
+    public static void testCounting() {
+        System.out.println("-".repeat(30) + "\nHeavyHitterSketch Counting Test:");
+        HeavyHitterSketch<String> s = new HeavyHitterSketch<>(1e-3, 1e-3, 2);
+        count(s, "a", 5);
+        count(s, "b", 3);
+        // "c" takes over the slot of "b", the less frequent monitored key
+        count(s, "c", 1);
+        System.out.println("get(a): " + s.get("a") + " expected: 5");
+        System.out.println("get(c): " + s.get("c") + " expected: 1");
+        System.out.println("guaranteedError(c): " + s.guaranteedError("c") + " expected: 3");
+        System.out.println("guaranteedError(b): " + s.guaranteedError("b") + " expected: -1");
+        System.out.println("get(never): " + s.get("never") + " expected: null");
+        System.out.println("total: " + s.total() + " expected: 9");
+        System.out.println("keySet size: " + s.keySet().size() + " expected: 2");
+        System.out.println("size: " + s.size() + " expected: 3");
+        System.out.println("-".repeat(30));
+    }
+
+    public static void testMergeKeepsUpperBound() {
+        System.out.println("-".repeat(30) + "\nHeavyHitterSketch Merge Test:");
+        HeavyHitterSketch<String> s1 = new HeavyHitterSketch<>(1e-3, 1e-3, 3);
+        count(s1, "x", 10);
+        count(s1, "a", 1000);
+        HeavyHitterSketch<String> s2 = new HeavyHitterSketch<>(1e-3, 1e-3, 3);
+        count(s2, "x", 3);
+        count(s2, "p", 4);
+        count(s2, "q", 5);
+        // "r" evicts "x", so s2 no longer monitors it although it saw it 3 times
+        count(s2, "r", 1);
+        System.out.println("s2 monitors x: " + (s2.guaranteedError("x") >= 0) + " expected: false");
+        s1.mergeFrom(s2);
+        System.out.println("get(x) after merge: " + s1.get("x") + " expected: 13");
+        System.out.println("guaranteedError(x): " + s1.guaranteedError("x") + " expected: 4");
+        System.out.println("get(a) after merge: " + s1.get("a") + " expected: 1000");
+        System.out.println("total: " + s1.total() + " expected: 1023");
+        System.out.println("monitored keys: " + s1.keySet().size() + " expected: 3");
+
+        // random streams over a vocabulary larger than the tables, with a
+        // narrow Count-Min Sketch so that get() relies on SpaceSaving too
+        Random rand = new Random(231);
+        boolean ok = true;
+        for (int round = 0; round < 20; round++) {
+            HeavyHitterSketch<String> a = new HeavyHitterSketch<>(0.2, 0.2, 8);
+            HeavyHitterSketch<String> b = new HeavyHitterSketch<>(0.2, 0.2, 8);
+            java.util.HashMap<String, Integer> exact = new java.util.HashMap<>();
+            for (int i = 0; i < 2000; i++) {
+                // skewed keys: small numbers are far more frequent, and more
+                // likely to go to a, so the two tables monitor different keys
+                int k = (int) Math.floor(Math.pow(rand.nextDouble(), 2) * 30);
+                String key = "w" + k;
+                ((rand.nextInt(30) > k) ? a : b).increment(key, 1);
+                exact.merge(key, 1, Integer::sum);
+            }
+            a.mergeFrom(b);
+            for (java.util.Map.Entry<String, Integer> e : exact.entrySet())
+                ok &= a.get(e.getKey()) >= e.getValue();
+            ok &= a.total() == 2000;
+        }
+        System.out.println("no key below its true count after 20 random merges: " + ok + " expected: true");
+
+        HeavyHitterSketch<String> self = new HeavyHitterSketch<>(1e-3, 1e-3, 4);
+        count(self, "k", 7);
+        self.mergeFrom(self);
+        System.out.println("get(k) after merging with itself: " + self.get("k") + " expected: 14");
+        System.out.println("-".repeat(30));
+    }
+
+    public static void testMergeRejectsOtherShapes() {
+        System.out.println("-".repeat(30) + "\nHeavyHitterSketch Merge Shape Test:");
+        HeavyHitterSketch<String> s = new HeavyHitterSketch<>(1e-3, 1e-3, 4);
+        System.out.println("other capacity throws: "
+                + throwsIAE(() -> s.mergeFrom(new HeavyHitterSketch<>(1e-3, 1e-3, 2))) + " expected: true");
+        System.out.println("other epsilon throws: "
+                + throwsIAE(() -> s.mergeFrom(new HeavyHitterSketch<>(1e-2, 1e-3, 4))) + " expected: true");
+        System.out.println("same shape throws: "
+                + throwsIAE(() -> s.mergeFrom(new HeavyHitterSketch<>(1e-3, 1e-3, 4))) + " expected: false");
+        System.out.println("-".repeat(30));
+    }
+
+    /**
+     * Returns whether running {@code body} throws an IllegalArgumentException.
+     */
+    private static boolean throwsIAE(Runnable body) {
+        try {
+            body.run();
+            return false;
+        } catch (IllegalArgumentException e) {
+            return true;
+        }
+    }
+
+    public static void main(String[] args) {
+        testCounting();
+        testMergeKeepsUpperBound();
+        testMergeRejectsOtherShapes();
+    }
+}
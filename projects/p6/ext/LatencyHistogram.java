@@ -0,0 +1,135 @@
+/*
+ * file name: LatencyHistogram.java
+ * author: Jack Dai
+ * last modified: 10/17/2026
+ * purpose of the class: Records per-operation latencies in power-of-two
+ *                     nanosecond buckets so that rare slow operations
+ *                     (e.g. a full-table resize) are visible.
+ */
+
+import java.util.Arrays;
+
+/**
+ * A fixed-size latency histogram. Bucket {@code b} counts samples whose
+ * latency in nanoseconds lies in {@code [2^(b-1), 2^b)}; bucket 0 counts
+ * samples of 0 ns. Recording a sample never allocates.
+ */
+public class LatencyHistogram {
+
+    private static final int BUCKETS = 64;
+
+    private final long[] counts = new long[BUCKETS];
+    private long samples;
+    private long totalNanos;
+    private long maxNanos;
+
+    /**
+     * Record one sample.
+     *
+     * @param nanos the latency of one operation in nanoseconds
+     */
+    public void record(long nanos) {
+        if (nanos < 0)
+            nanos = 0;
+        counts[BUCKETS - Long.numberOfLeadingZeros(nanos)]++;
+        samples++;
+        totalNanos += nanos;
+        if (nanos > maxNanos)
+            maxNanos = nanos;
+    }
+
+    /**
+     * Returns the number of recorded samples.
+     *
+     * @return the number of samples
+     */
+    public long samples() {
+        return samples;
+    }
+
+    /**
+     * Returns the largest recorded latency.
+     *
+     * @return the maximal latency in nanoseconds, or 0 if empty
+     */
+    public long maxNanos() {
+        return maxNanos;
+    }
+
+    /**
+     * Returns the mean recorded latency.
+     *
+     * @return the mean latency in nanoseconds, or 0 if empty
+     */
+    public double meanNanos() {
+        return (samples == 0) ? 0 : (double) totalNanos / samples;
+    }
+
+    /**
+     * Returns an upper bound on the given percentile: the largest latency that
+     * falls into the bucket containing it ({@code 2^b - 1} for bucket b).
+     *
+     * @param p percentile in [0, 100]
+     * @return the inclusive upper bucket edge in nanoseconds, or 0 if empty
+     */
+    public long percentileNanos(double p) {
+        long rank = (long) Math.ceil(samples * p / 100.0);
+        long seen = 0;
+        for (int b = 0; b < BUCKETS; b++) {
+            seen += counts[b];
+            if (seen >= rank && seen > 0)
+                return (b == 0) ? 0 : (1L << b) - 1;
+        }
+        return maxNanos;
+    }
+
+    /**
+     * Remove all samples.
+     */
+    public void clear() {
+        Arrays.fill(counts, 0);
+        samples = 0;
+        totalNanos = 0;
+        maxNanos = 0;
+    }
+
+    /**
+     * Returns one line per non-empty bucket, each indented by {@code indent},
+     * of the form {@code "< 1024 ns: 12345"}.
+     *
+     * @param indent prefix for every line
+     * @return a multi-line description of the histogram
+     */
+    public String toString(String indent) {
+        StringBuilder sb = new StringBuilder();
+        for (int b = 0; b < BUCKETS; b++) {
+            if (counts[b] == 0)
+                continue;
+            String edge = (b == 0) ? "0 ns" : "< " + formatNanos(1L << b);
+            sb.append(indent).append(String.format("%-10s: %d\n", edge, counts[b]));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return toString("");
+    }
+
+    /**
+     * Format a latency with a readable unit.
+     *
+     * @param nanos latency in nanoseconds
+     * @return e.g. {@code "512 ns"}, {@code "64 us"} or {@code "2 ms"}
+     */
+    public static String formatNanos(long nanos) {
+        if (nanos < 10_000)
+            return nanos + " ns";
+        if (nanos < 10_000_000)
+            return (nanos / 1_000) + " us";
+        return (nanos / 1_000_000) + " ms";
+    }
+}
@@ -8,6 +8,9 @@
  * @author srtaylor, bmaxwell, mbender
  */
 import java.util.ArrayList;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 public interface MapSet<K, V> {
 
@@ -92,6 +95,65 @@ public interface MapSet<K, V> {
      */
     public V remove(K key);
 
+    /**
+     * If the specified key is not already associated with a value, associates
+     * it with the given value. Otherwise, replaces the associated value with
+     * the results of the given remapping function, or removes if the result is
+     * {@code null}. Implementations locate the key with a single traversal.
+     *
+     * @param key               key with which the resulting value is to be
+     *                          associated
+     * @param value             the value to be merged with the existing value
+     *                          associated with the key or, if no existing value
+     *                          is associated with the key, to be associated
+     *                          with the key
+     * @param remappingFunction the function to recompute a value if present
+     * @return the new value associated with the specified key, or {@code null}
+     *         if no value is associated with the key
+     * @throws NullPointerException if the value or remappingFunction is
+     *                              {@code null}
+     */
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction);
+
+    /**
+     * If the specified key is not already associated with a value, attempts to
+     * compute its value using the given mapping function and enters it into
+     * this map unless {@code null}. Implementations locate the key with a
+     * single traversal.
+     *
+     * @param key             key with which the specified value is to be
+     *                        associated
+     * @param mappingFunction the mapping function to compute a value
+     * @return the current (existing or computed) value associated with the
+     *         specified key, or {@code null} if the computed value is
+     *         {@code null}
+     * @throws NullPointerException if the mappingFunction is {@code null}
+     */
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction);
+
+    /**
+     * Adds {@code delta} to the {@code Integer} value associated with
+     * {@code key}, associating the key with {@code delta} if it is absent.
+     * This is the counting fast path: one {@link #merge} instead of a
+     * {@code containsKey}, {@code get} and {@code put}. Only meaningful for maps
+     * whose values are {@code Integer}s.
+     *
+     * @param key   key whose count is to be changed
+     * @param delta the amount to add
+     * @return the new count associated with {@code key}
+     * @throws ClassCastException if the values of this map are not
+     *                            {@code Integer}s
+     */
+    @SuppressWarnings("unchecked")
+    public default int increment(K key, int delta) {
+        return (Integer) merge(key, (V) Integer.valueOf(delta), (BiFunction<V, V, V>) (BiFunction<?, ?, ?>) SUM);
+    }
+
+    /**
+     * Remapping function used by {@link #increment}.
+     */
+    static final BiFunction<Integer, Integer, Integer> SUM = Integer::sum;
+
     /**
      * Returns an ArrayList of all the keys in the map.
      * 
@@ -117,6 +179,28 @@ public interface MapSet<K, V> {
      */
     public ArrayList<KeyValuePair<K, V>> entrySet();
 
+    /**
+     * Returns a view of the {@code KeyValuePair}s in the map, in the same
+     * order as {@link #entrySet()}. Unlike {@code entrySet()} nothing is
+     * copied: each iterator walks the underlying structure in place. The map
+     * must not be modified while an iterator is in use, and iterators do not
+     * support {@code remove}.
+     *
+     * @return an Iterable over each {@code KeyValuePair} in the map
+     */
+    public Iterable<KeyValuePair<K, V>> entries();
+
+    /**
+     * Performs the given action for each key and value in the map, in the
+     * same order as {@link #entrySet()}, without building any list.
+     *
+     * @param action the action to be performed for each entry
+     */
+    public default void forEachEntry(BiConsumer<? super K, ? super V> action) {
+        for (KeyValuePair<K, V> kv : entries())
+            action.accept(kv.getKey(), kv.getValue());
+    }
+
     /**
      * Returns the number of key-value mappings in this map.
      *
@@ -130,6 +214,15 @@ public interface MapSet<K, V> {
      */
     public void clear();
 
+    /**
+     * Removes all of the mappings from this map but keeps the storage it has
+     * grown, so that filling it again to a similar size does not grow it
+     * again. Maps without preallocated storage simply {@link #clear()}.
+     */
+    public default void clearKeepingCapacity() {
+        clear();
+    }
+
     /**
      * Returns the maximal number of iterations to find any particular element of
      * the Map.
@@ -137,4 +230,30 @@ public interface MapSet<K, V> {
      * @return
      */
     public int maxDepth();
-}
\ No newline at end of file
+
+    /**
+     * Start collecting {@link MapStats} for this map, discarding any counts
+     * collected so far. Maps that are not instrumented ignore this.
+     *
+     * @return the statistics being collected, or {@code null} if this map
+     *         is not instrumented
+     */
+    public default MapStats enableStats() {
+        return null;
+    }
+
+    /**
+     * Stop collecting statistics.
+     */
+    public default void disableStats() {
+    }
+
+    /**
+     * Returns the statistics collected since {@link #enableStats()}.
+     *
+     * @return the statistics, or {@code null} if collection is off
+     */
+    public default MapStats stats() {
+        return null;
+    }
+}
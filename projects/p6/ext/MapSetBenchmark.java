@@ -0,0 +1,312 @@
+/*
+ * file name: MapSetBenchmark.java
+ * author: Jack Dai
+ * last modified: 10/17/2026
+ * purpose of the class: Microbenchmark suite for the MapSet implementations:
+ *                     put, get, remove, the containsKey/get/put counting
+ *                     pattern and full iteration over uniform, Zipf and
+ *                     sorted key workloads, with allocation and GC profiling.
+ *
+ * How to run:     java MapSetBenchmark [keys] [warmup iterations] [iterations] [map names...]
+ *                 e.g. java MapSetBenchmark 10000 5 10 AVL HashMap
+ */
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Every benchmark is run the same way: a number of untimed warmup iterations
+ * let the JIT compile the code under test, then each measured iteration
+ * prepares its input outside the timed region, times a single pass over the
+ * workload with {@link System#nanoTime()} and reports nanoseconds per
+ * operation. Results are folded into a sink so the JIT cannot discard the
+ * work as dead code.
+ *
+ * Two profilers run alongside the timer. The allocation profiler reads the
+ * benchmark thread's allocated bytes before and after the timed pass; the GC
+ * profiler sums collection counts and times of all collectors over the
+ * measured iterations.
+ *
+ * The benchmarks run on their own thread with a large stack, since BSTMap
+ * recurses once per level and sorted keys make it a linked list.
+ */
+public class MapSetBenchmark {
+
+    /** Stack size of the benchmark thread. */
+    private static final long STACK_SIZE = 1L << 30;
+
+    /** Key workloads. */
+    enum Workload {
+        /** every key equally likely */
+        UNIFORM,
+        /** key of rank r drawn with probability proportional to 1/r */
+        ZIPF,
+        /** every key once, in ascending order: the BSTMap worst case */
+        SORTED
+    }
+
+    /** Measured operations. */
+    enum Op {
+        PUT, GET, REMOVE, COUNT, ITERATE
+    }
+
+    /** Result of one benchmark. */
+    static class Result {
+        final double nsPerOp;
+        final double nsStdDev;
+        final double bytesPerOp;
+        final long gcCount;
+        final long gcMillis;
+
+        Result(double nsPerOp, double nsStdDev, double bytesPerOp, long gcCount, long gcMillis) {
+            this.nsPerOp = nsPerOp;
+            this.nsStdDev = nsStdDev;
+            this.bytesPerOp = bytesPerOp;
+            this.gcCount = gcCount;
+            this.gcMillis = gcMillis;
+        }
+    }
+
+    private final int warmup;
+    private final int iterations;
+    private final com.sun.management.ThreadMXBean threads;
+    private final List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+
+    /** Keeps results observable so timed loops are not optimized away. */
+    private long sink;
+
+    /**
+     * Construct a benchmark runner.
+     *
+     * @param warmup     untimed iterations before measuring
+     * @param iterations measured iterations
+     */
+    public MapSetBenchmark(int warmup, int iterations) {
+        this.warmup = warmup;
+        this.iterations = iterations;
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean
+                && ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported()) {
+            this.threads = (com.sun.management.ThreadMXBean) bean;
+        } else {
+            this.threads = null;
+        }
+    }
+
+    /**
+     * Build the key sequence of a workload.
+     *
+     * @param workload distribution of the keys
+     * @param distinct number of distinct keys
+     * @param seed     random seed
+     * @return {@code distinct} keys drawn from the workload
+     */
+    public static String[] keys(Workload workload, int distinct, long seed) {
+        String[] names = new String[distinct];
+        for (int i = 0; i < distinct; i++)
+            names[i] = String.format("k%08d", i); // zero padded so string order is numeric order
+
+        String[] out = new String[distinct];
+        Random rand = new Random(seed);
+        switch (workload) {
+            case UNIFORM:
+                for (int i = 0; i < distinct; i++)
+                    out[i] = names[rand.nextInt(distinct)];
+                break;
+            case ZIPF:
+                // rank -> key is a random permutation, so hot keys are spread out
+                int[] perm = new int[distinct];
+                for (int i = 0; i < distinct; i++)
+                    perm[i] = i;
+                for (int i = distinct - 1; i > 0; i--) {
+                    int j = rand.nextInt(i + 1);
+                    int tmp = perm[i];
+                    perm[i] = perm[j];
+                    perm[j] = tmp;
+                }
+                double[] cdf = new double[distinct];
+                double total = 0;
+                for (int r = 0; r < distinct; r++) {
+                    total += 1.0 / (r + 1);
+                    cdf[r] = total;
+                }
+                for (int i = 0; i < distinct; i++) {
+                    int r = Arrays.binarySearch(cdf, rand.nextDouble() * total);
+                    if (r < 0)
+                        r = -r - 1;
+                    out[i] = names[perm[Math.min(r, distinct - 1)]];
+                }
+                break;
+            case SORTED:
+                System.arraycopy(names, 0, out, 0, distinct);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown workload: " + workload);
+        }
+        return out;
+    }
+
+    /**
+     * Run one benchmark.
+     *
+     * @param factory creates an empty map
+     * @param op      operation to measure
+     * @param keys    the workload
+     * @return timing, allocation and GC figures
+     */
+    public Result run(Supplier<MapSet<String, Integer>> factory, Op op, String[] keys) {
+        for (int i = 0; i < warmup; i++)
+            iteration(factory, op, keys);
+
+        long gcCount = 0;
+        long gcMillis = 0;
+        for (GarbageCollectorMXBean gc : collectors) {
+            gcCount -= Math.max(0, gc.getCollectionCount());
+            gcMillis -= Math.max(0, gc.getCollectionTime());
+        }
+
+        double[] ns = new double[iterations];
+        long bytes = 0;
+        for (int i = 0; i < iterations; i++) {
+            long[] measured = iteration(factory, op, keys);
+            ns[i] = (double) measured[0] / keys.length;
+            bytes += measured[1];
+        }
+
+        for (GarbageCollectorMXBean gc : collectors) {
+            gcCount += Math.max(0, gc.getCollectionCount());
+            gcMillis += Math.max(0, gc.getCollectionTime());
+        }
+
+        double mean = 0;
+        for (double x : ns)
+            mean += x;
+        mean /= iterations;
+        double var = 0;
+        for (double x : ns)
+            var += (x - mean) * (x - mean);
+        double stdDev = (iterations > 1) ? Math.sqrt(var / (iterations - 1)) : 0;
+        double bytesPerOp = (threads == null) ? Double.NaN : (double) bytes / iterations / keys.length;
+        return new Result(mean, stdDev, bytesPerOp, gcCount, gcMillis);
+    }
+
+    /**
+     * Prepare a map for {@code op} and time one pass over the keys.
+     *
+     * @return elapsed nanoseconds and bytes allocated during the pass
+     */
+    private long[] iteration(Supplier<MapSet<String, Integer>> factory, Op op, String[] keys) {
+        MapSet<String, Integer> map = factory.get();
+        if (op != Op.PUT && op != Op.COUNT) {
+            for (String key : keys)
+                map.put(key, key.length());
+        }
+
+        long tid = Thread.currentThread().getId();
+        long bytesBefore = (threads == null) ? 0 : threads.getThreadAllocatedBytes(tid);
+        long start = System.nanoTime();
+        long acc = 0;
+        switch (op) {
+            case PUT:
+                for (String key : keys)
+                    map.put(key, 1);
+                acc = map.size();
+                break;
+            case GET:
+                for (String key : keys) {
+                    Integer v = map.get(key);
+                    if (v != null)
+                        acc += v;
+                }
+                break;
+            case REMOVE:
+                for (String key : keys) {
+                    Integer v = map.remove(key);
+                    if (v != null)
+                        acc += v;
+                }
+                break;
+            case COUNT:
+                // the pattern WordCounter used before MapSet.increment
+                for (String key : keys) {
+                    if (map.containsKey(key))
+                        map.put(key, map.get(key) + 1);
+                    else
+                        map.put(key, 1);
+                }
+                acc = map.size();
+                break;
+            case ITERATE:
+                for (MapSet.KeyValuePair<String, Integer> kv : map.entries())
+                    acc += kv.getValue();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown operation: " + op);
+        }
+        long elapsed = System.nanoTime() - start;
+        long bytesAfter = (threads == null) ? 0 : threads.getThreadAllocatedBytes(tid);
+        sink += acc;
+        return new long[] { elapsed, bytesAfter - bytesBefore };
+    }
+
+    /**
+     * Run every selected map over every workload and operation and print one
+     * line per benchmark.
+     *
+     * @param maps     map name to factory
+     * @param distinct number of distinct keys per workload
+     */
+    public void runAll(Map<String, Supplier<MapSet<String, Integer>>> maps, int distinct) {
+        System.out.println(String.format("%d keys, %d warmup + %d measured iterations", distinct, warmup, iterations));
+        System.out.println(String.format("%-10s %-8s %-8s %12s %10s %10s %6s %8s",
+                "map", "workload", "op", "ns/op", "+-", "B/op", "gcs", "gc ms"));
+        for (Workload workload : Workload.values()) {
+            String[] keys = keys(workload, distinct, 42);
+            for (Map.Entry<String, Supplier<MapSet<String, Integer>>> e : maps.entrySet()) {
+                for (Op op : Op.values()) {
+                    Result r = run(e.getValue(), op, keys);
+                    System.out.println(String.format("%-10s %-8s %-8s %12.1f %10.1f %10.1f %6d %8d",
+                            e.getKey(), workload, op, r.nsPerOp, r.nsStdDev, r.bytesPerOp, r.gcCount, r.gcMillis));
+                }
+            }
+        }
+        if (sink == 42)
+            System.out.println();
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int distinct = (args.length > 0) ? Integer.parseInt(args[0]) : 10000;
+        int warmup = (args.length > 1) ? Integer.parseInt(args[1]) : 5;
+        int iterations = (args.length > 2) ? Integer.parseInt(args[2]) : 10;
+
+        Map<String, Supplier<MapSet<String, Integer>>> all = new LinkedHashMap<>();
+        all.put("BST", BSTMap::new);
+        all.put("AVL", AVLMap::new);
+        all.put("HashMap", HashMap::new);
+        all.put("OpenHash", OpenHashMap::new);
+
+        Map<String, Supplier<MapSet<String, Integer>>> maps = new LinkedHashMap<>();
+        for (int i = 3; i < args.length; i++) {
+            if (!all.containsKey(args[i])) {
+                System.out.println("Unknown map " + args[i] + ", expected one of " + new ArrayList<>(all.keySet()));
+                return;
+            }
+            maps.put(args[i], all.get(args[i]));
+        }
+        if (maps.isEmpty())
+            maps = all;
+
+        MapSetBenchmark bench = new MapSetBenchmark(warmup, iterations);
+        Map<String, Supplier<MapSet<String, Integer>>> selected = maps;
+        Thread runner = new Thread(null, () -> bench.runAll(selected, distinct), "benchmark", STACK_SIZE);
+        runner.start();
+        runner.join();
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * file name: MapStats.java
+ * author: Jack Dai
+ * last modified: 10/17/2026
+ * purpose of the class: Counters describing the work a MapSet does per
+ *                     operation: key comparisons, bucket probes, rotations
+ *                     and resizes.
+ */
+
+/**
+ * Structural statistics of one map, collected between
+ * {@link MapSet#enableStats()} and {@link MapSet#disableStats()}. While
+ * collection is off a map keeps no stats object and pays a single null check
+ * per counted event.
+ *
+ * An operation is one call of {@code get}, {@code containsKey}, {@code put},
+ * {@code merge}, {@code computeIfAbsent}, {@code increment} or
+ * {@code remove}; a {@code merge} that removes its key also counts the
+ * removal. Not every map maintains every counter: hash tables count probes
+ * and resizes, AVL trees count rotations, and every instrumented map counts
+ * key comparisons. Counters a map does not maintain are left out of
+ * {@link #toString()}.
+ */
+public class MapStats {
+
+    private final boolean hashed;
+    private final boolean rotating;
+
+    long operations;
+    long comparisons;
+    long probes;
+    long inserts;
+    long rotations;
+    long resizes;
+    long resizeNanos;
+    private int[] chainLengths;
+
+    /**
+     * Construct empty statistics.
+     *
+     * @param hashed   whether the map counts probes, resizes and chains
+     * @param rotating whether the map counts rotations
+     */
+    MapStats(boolean hashed, boolean rotating) {
+        this.hashed = hashed;
+        this.rotating = rotating;
+    }
+
+    /**
+     * Reset every counter to zero.
+     */
+    public void reset() {
+        operations = 0;
+        comparisons = 0;
+        probes = 0;
+        inserts = 0;
+        rotations = 0;
+        resizes = 0;
+        resizeNanos = 0;
+        chainLengths = null;
+    }
+
+    /**
+     * Returns the number of operations counted.
+     *
+     * @return the number of operations
+     */
+    public long operations() {
+        return operations;
+    }
+
+    /**
+     * Returns the number of key comparisons: calls of the comparator in a
+     * tree, calls of {@code equals} in a hash table.
+     *
+     * @return the number of key comparisons
+     */
+    public long comparisons() {
+        return comparisons;
+    }
+
+    /**
+     * Returns the number of entries a hash table looked at, including those
+     * rejected by their cached hash without calling {@code equals}.
+     *
+     * @return the number of probes
+     */
+    public long probes() {
+        return probes;
+    }
+
+    /**
+     * Returns the number of new keys inserted.
+     *
+     * @return the number of inserts
+     */
+    public long inserts() {
+        return inserts;
+    }
+
+    /**
+     * Returns the number of single rotations done to rebalance the tree. A
+     * double rotation counts as two.
+     *
+     * @return the number of rotations
+     */
+    public long rotations() {
+        return rotations;
+    }
+
+    /**
+     * Returns the number of times the table was resized.
+     *
+     * @return the number of resizes
+     */
+    public long resizes() {
+        return resizes;
+    }
+
+    /**
+     * Returns the time spent allocating tables and moving entries between
+     * them.
+     *
+     * @return total resize time in nanoseconds
+     */
+    public long resizeNanos() {
+        return resizeNanos;
+    }
+
+    /**
+     * Returns the mean number of key comparisons per operation.
+     *
+     * @return comparisons per operation, or 0 if there were none
+     */
+    public double comparisonsPerOperation() {
+        return (operations == 0) ? 0 : (double) comparisons / operations;
+    }
+
+    /**
+     * Returns the mean number of probes per operation.
+     *
+     * @return probes per operation, or 0 if there were none
+     */
+    public double probesPerOperation() {
+        return (operations == 0) ? 0 : (double) probes / operations;
+    }
+
+    /**
+     * Returns the mean number of rotations per inserted key, including
+     * rotations done after removals.
+     *
+     * @return rotations per insert, or 0 if nothing was inserted
+     */
+    public double rotationsPerInsert() {
+        return (inserts == 0) ? 0 : (double) rotations / inserts;
+    }
+
+    /**
+     * Returns how many buckets held each chain length when the stats were
+     * last read: entry {@code i} is the number of buckets with {@code i}
+     * entries.
+     *
+     * @return the chain length histogram, or {@code null} for a tree
+     */
+    public int[] chainLengthHistogram() {
+        return chainLengths;
+    }
+
+    /**
+     * Record the current chain length histogram.
+     */
+    void setChainLengthHistogram(int[] histogram) {
+        this.chainLengths = histogram;
+    }
+
+    /**
+     * Returns the statistics this map maintains, one per line, each indented
+     * by {@code indent}.
+     *
+     * @param indent prefix for every line
+     * @return a multi-line summary
+     */
+    public String toString(String indent) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(indent).append(String.format("operations: %d\n", operations));
+        sb.append(indent).append(String.format("comparisons per operation: %.2f\n", comparisonsPerOperation()));
+        if (hashed) {
+            sb.append(indent).append(String.format("probes per operation: %.2f\n", probesPerOperation()));
+            sb.append(indent).append(String.format("resizes: %d (%.2f ms)\n", resizes, resizeNanos / 1e6));
+            if (chainLengths != null) {
+                sb.append(indent).append("chain lengths:");
+                for (int i = 0; i < chainLengths.length; i++)
+                    sb.append(' ').append(i).append(": ").append(chainLengths[i]);
+                sb.append('\n');
+            }
+        }
+        if (rotating) {
+            sb.append(indent).append(String.format("rotations per insert: %.2f (%d inserts)\n",
+                    rotationsPerInsert(), inserts));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return toString("");
+    }
+}
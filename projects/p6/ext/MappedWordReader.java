@@ -0,0 +1,191 @@
+/*
+ * file name: MappedWordReader.java
+ * author: Jack Dai
+ * last modified: 10/17/2026
+ * purpose of the class: Streams the whitespace-separated words of a file
+ *                     through a memory-mapped FileChannel, without reading
+ *                     lines or splitting with a regex.
+ */
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Tokenizer that maps a file (or a byte range of it) into memory one window
+ * at a time and hands each word to a callback as soon as it ends. Words are
+ * separated by spaces, tabs, newlines and carriage returns, exactly like
+ * {@link Experiments#readWords(String)}; empty tokens are never produced.
+ *
+ * Only the current word's bytes are buffered, so memory use does not depend
+ * on the size of the file.
+ */
+public class MappedWordReader {
+
+    /** Number of bytes mapped at a time. */
+    private static final long WINDOW = 64L * 1024 * 1024;
+
+    /**
+     * Returns whether {@code b} separates words.
+     *
+     * @param b a byte of the input
+     * @return {@code true} for space, tab, newline or carriage return
+     */
+    public static boolean isSeparator(byte b) {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t';
+    }
+
+    /**
+     * Pass every word of the file to {@code action}, in file order.
+     *
+     * @param filename path to the input text file
+     * @param action   callback receiving each word
+     * @return the number of words read
+     * @throws IOException if the file cannot be opened or mapped
+     */
+    public static long forEachWord(String filename, Consumer<String> action) throws IOException {
+        try (FileChannel ch = FileChannel.open(Paths.get(filename), StandardOpenOption.READ)) {
+            return forEachWord(ch, 0, ch.size(), action);
+        }
+    }
+
+    /**
+     * Pass every word lying in bytes {@code [from, to)} of the channel to
+     * {@code action}. Words are cut at the range boundaries, so callers that
+     * split a file should align them with {@link #alignToSeparator}.
+     *
+     * @param ch     an open channel
+     * @param from   first byte of the range
+     * @param to     end (exclusive) of the range
+     * @param action callback receiving each word
+     * @return the number of words read
+     * @throws IOException if the range cannot be mapped
+     */
+    public static long forEachWord(FileChannel ch, long from, long to, Consumer<String> action)
+            throws IOException {
+        return forEachWordBytes(ch, from, to,
+                (word, len) -> action.accept(new String(word, 0, len, StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Receives a word as the first {@code len} bytes of {@code word}. The
+     * buffer is reused for the next word, so it must not be retained.
+     */
+    public interface WordBytesConsumer {
+        void accept(byte[] word, int len);
+    }
+
+    /**
+     * Like {@link #forEachWord(FileChannel, long, long, Consumer)} but hands
+     * over each word's raw bytes instead of decoding a {@code String}.
+     *
+     * @param ch     an open channel
+     * @param from   first byte of the range
+     * @param to     end (exclusive) of the range
+     * @param action callback receiving each word's bytes
+     * @return the number of words read
+     * @throws IOException if the range cannot be mapped
+     */
+    public static long forEachWordBytes(FileChannel ch, long from, long to, WordBytesConsumer action)
+            throws IOException {
+        byte[] tok = new byte[64];
+        int tokLen = 0;
+        long count = 0;
+
+        for (long pos = from; pos < to; pos += WINDOW) {
+            int len = (int) Math.min(WINDOW, to - pos);
+            MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, pos, len);
+            for (int i = 0; i < len; i++) {
+                byte b = buf.get(i);
+                if (isSeparator(b)) {
+                    if (tokLen > 0) {
+                        action.accept(tok, tokLen);
+                        count++;
+                        tokLen = 0;
+                    }
+                } else {
+                    // a word may continue into the next window, so it is
+                    // always copied rather than decoded from the mapping
+                    if (tokLen == tok.length)
+                        tok = Arrays.copyOf(tok, tokLen * 2);
+                    tok[tokLen++] = b;
+                }
+            }
+        }
+        if (tokLen > 0) {
+            action.accept(tok, tokLen);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Count every word in bytes {@code [from, to)} of the channel into
+     * {@code map}. An {@link ArenaHashMap} is fed the words' bytes directly,
+     * so no {@code String} is created per word.
+     *
+     * @param ch   an open channel
+     * @param from first byte of the range
+     * @param to   end (exclusive) of the range
+     * @param map  map receiving one increment per word
+     * @return the number of words read
+     * @throws IOException if the range cannot be mapped
+     */
+    public static long countRange(FileChannel ch, long from, long to, MapSet<String, Integer> map)
+            throws IOException {
+        if (map instanceof ArenaHashMap) {
+            ArenaHashMap arenaMap = (ArenaHashMap) map;
+            return forEachWordBytes(ch, from, to, (word, len) -> arenaMap.increment(word, 0, len));
+        }
+        return forEachWord(ch, from, to, word -> map.increment(word, 1));
+    }
+
+    /**
+     * Count every word of the file into {@code map}.
+     *
+     * @param filename path to the input text file
+     * @param map      map receiving one {@code increment} per word
+     * @return the number of words read
+     * @throws IOException if the file cannot be opened or mapped
+     */
+    public static long countInto(String filename, MapSet<String, Integer> map) throws IOException {
+        try (FileChannel ch = FileChannel.open(Paths.get(filename), StandardOpenOption.READ)) {
+            return countRange(ch, 0, ch.size(), map);
+        }
+    }
+
+    /**
+     * Returns the first position at or after {@code pos} that starts a word
+     * or is the end of the channel, i.e. just past the next separator unless
+     * {@code pos} already starts a word.
+     *
+     * @param ch  an open channel
+     * @param pos a byte position in the channel
+     * @return a position where a word range may safely begin
+     * @throws IOException if the channel cannot be read
+     */
+    public static long alignToSeparator(FileChannel ch, long pos) throws IOException {
+        long size = ch.size();
+        if (pos <= 0)
+            return 0;
+        if (pos >= size)
+            return size;
+        // scan forward from the byte before pos until a separator is found
+        long p = pos - 1;
+        while (p < size) {
+            int len = (int) Math.min(4096, size - p);
+            MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, p, len);
+            for (int i = 0; i < len; i++) {
+                if (isSeparator(buf.get(i)))
+                    return p + i + 1;
+            }
+            p += len;
+        }
+        return size;
+    }
+}
@@ -0,0 +1,547 @@
+/*
+ * file name: OpenHashMap.java
+ * author: Jack Dai
+ * last modified: 10/17/2026
+ * purpose of the class: Implements a counting Map using open addressing
+ *                     (linear probing with backward-shift deletion) and
+ *                     primitive int values stored in parallel arrays.
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * OpenHashMap is a MapSet implementation tuned for word counting. Instead of
+ * one {@code Node} per entry and a boxed {@code Integer} per value, it keeps
+ * three parallel arrays: the keys, each key's cached (spread) hash code and
+ * the {@code int} value. Collisions are resolved with linear probing, and
+ * {@link #remove(Object)} uses backward-shift deletion so no tombstones are
+ * ever left behind.
+ *
+ * Values are stored as primitive {@code int}s, so entries returned by
+ * {@link #entrySet()} are copies; calling {@code setValue} on them does not
+ * modify the map.
+ *
+ * @param <K> key type
+ */
+public class OpenHashMap<K> implements MapSet<K, Integer> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final double DEFAULT_LOAD_FACTOR = 0.5;
+
+    private K[] keys;
+    private int[] hashes;
+    private int[] vals;
+    private int size;
+
+    private double maxLoadFactor;
+    private int threshold;
+
+    /**
+     * Construct an OpenHashMap with the default initial capacity and load factor.
+     */
+    public OpenHashMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Construct an OpenHashMap with a specific initial capacity and default load
+     * factor.
+     *
+     * @param capacity initial number of slots (rounded up to a power of two)
+     */
+    public OpenHashMap(int capacity) {
+        this(capacity, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Construct an OpenHashMap with a specific initial capacity and load factor.
+     *
+     * @param capacity      initial number of slots (rounded up to a power of two)
+     * @param maxLoadFactor maximal load factor before resizing, in (0, 1)
+     */
+    public OpenHashMap(int capacity, double maxLoadFactor) {
+        if (maxLoadFactor <= 0 || maxLoadFactor >= 1)
+            throw new IllegalArgumentException("load factor must be in (0, 1): " + maxLoadFactor);
+        this.maxLoadFactor = maxLoadFactor;
+        allocate(tableSizeFor(capacity));
+    }
+
+    /**
+     * Returns the smallest power of two that is at least {@code capacity}.
+     *
+     * @param capacity requested capacity
+     * @return a power of two no smaller than {@code capacity} (minimum 2)
+     */
+    private static int tableSizeFor(int capacity) {
+        int n = 2;
+        while (n < capacity)
+            n <<= 1;
+        return n;
+    }
+
+    /**
+     * Replace the internal arrays with empty arrays of the given length.
+     *
+     * @param capacity new number of slots (must be a power of two)
+     */
+    @SuppressWarnings("unchecked")
+    private void allocate(int capacity) {
+        keys = (K[]) new Object[capacity];
+        hashes = new int[capacity];
+        vals = new int[capacity];
+        threshold = (int) (capacity * maxLoadFactor);
+        size = 0;
+    }
+
+    /**
+     * Returns the number of slots in the table.
+     *
+     * @return the length of the slot arrays
+     */
+    public int capacity() {
+        return keys.length;
+    }
+
+    /**
+     * Compute a spread hash code for the key. The high bits are folded into the
+     * low bits since the slot index only uses the low bits.
+     *
+     * @param key the key to hash (must be non-null)
+     * @return the spread hash code
+     */
+    private static int hash(Object key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Find the slot holding {@code key}.
+     *
+     * @param key the key to look for (non-null)
+     * @param h   the spread hash of {@code key}
+     * @return the slot index, or {@code -1} if the key is absent
+     */
+    private int findSlot(K key, int h) {
+        int mask = keys.length - 1;
+        int i = h & mask;
+        K k;
+        while ((k = keys[i]) != null) {
+            if (hashes[i] == h && k.equals(key))
+                return i;
+            i = (i + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * This implementation resets the table to the default capacity.
+     */
+    @Override
+    public void clear() {
+        allocate(tableSizeFor(DEFAULT_CAPACITY));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * This implementation empties the slots in place. Only the keys mark a
+     * slot as used, so the hash and value arrays are left as they are.
+     */
+    @Override
+    public void clearKeepingCapacity() {
+        Arrays.fill(keys, null);
+        size = 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws NullPointerException if {@code key} is {@code null}
+     */
+    @Override
+    public Integer put(K key, Integer value) {
+        if (value == null)
+            return null;
+        if (key == null)
+            throw new NullPointerException("OpenHashMap does not support null keys");
+
+        int h = hash(key);
+        int mask = keys.length - 1;
+        int i = h & mask;
+        K k;
+        while ((k = keys[i]) != null) {
+            if (hashes[i] == h && k.equals(key)) {
+                int old = vals[i];
+                vals[i] = value;
+                return old;
+            }
+            i = (i + 1) & mask;
+        }
+        insertAt(i, key, h, value);
+        return null;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * This implementation does a single probe sequence and never boxes.
+     *
+     * @throws NullPointerException if {@code key} is {@code null}
+     */
+    @Override
+    public int increment(K key, int delta) {
+        if (key == null)
+            throw new NullPointerException("OpenHashMap does not support null keys");
+
+        int h = hash(key);
+        int mask = keys.length - 1;
+        int i = h & mask;
+        K k;
+        while ((k = keys[i]) != null) {
+            if (hashes[i] == h && k.equals(key))
+                return vals[i] += delta;
+            i = (i + 1) & mask;
+        }
+        insertAt(i, key, h, delta);
+        return delta;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws NullPointerException if {@code key} is {@code null}
+     */
+    @Override
+    public Integer merge(K key, Integer value,
+            BiFunction<? super Integer, ? super Integer, ? extends Integer> remappingFunction) {
+        if (key == null)
+            throw new NullPointerException("OpenHashMap does not support null keys");
+        if (value == null || remappingFunction == null)
+            throw new NullPointerException();
+
+        int h = hash(key);
+        int mask = keys.length - 1;
+        int i = h & mask;
+        K k;
+        while ((k = keys[i]) != null) {
+            if (hashes[i] == h && k.equals(key)) {
+                Integer newValue = remappingFunction.apply(vals[i], value);
+                if (newValue != null)
+                    vals[i] = newValue;
+                else
+                    removeAt(i);
+                return newValue;
+            }
+            i = (i + 1) & mask;
+        }
+        insertAt(i, key, h, value);
+        return value;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws NullPointerException if {@code key} is {@code null}
+     */
+    @Override
+    public Integer computeIfAbsent(K key, Function<? super K, ? extends Integer> mappingFunction) {
+        if (key == null)
+            throw new NullPointerException("OpenHashMap does not support null keys");
+        if (mappingFunction == null)
+            throw new NullPointerException();
+
+        int h = hash(key);
+        int mask = keys.length - 1;
+        int i = h & mask;
+        K k;
+        while ((k = keys[i]) != null) {
+            if (hashes[i] == h && k.equals(key))
+                return vals[i];
+            i = (i + 1) & mask;
+        }
+        Integer value = mappingFunction.apply(key);
+        if (value != null)
+            insertAt(i, key, h, value);
+        return value;
+    }
+
+    /**
+     * Store a new entry in the empty slot {@code i} and grow the table if the
+     * load factor has been exceeded.
+     *
+     * @param i     an empty slot at the end of {@code key}'s probe sequence
+     * @param key   the key to insert
+     * @param h     the spread hash of {@code key}
+     * @param value the value to insert
+     */
+    private void insertAt(int i, K key, int h, int value) {
+        keys[i] = key;
+        hashes[i] = h;
+        vals[i] = value;
+        size++;
+        if (size > threshold)
+            resize(keys.length * 2);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws NullPointerException if {@code key} is {@code null}
+     */
+    @Override
+    public Integer get(K key) {
+        if (key == null)
+            throw new NullPointerException("OpenHashMap does not support null keys");
+        int i = findSlot(key, hash(key));
+        return (i < 0) ? null : vals[i];
+    }
+
+    /**
+     * Returns the count stored for {@code key} without boxing.
+     *
+     * @param key the key whose count is to be returned (non-null)
+     * @return the count for {@code key}, or 0 if it is absent
+     * @throws NullPointerException if {@code key} is {@code null}
+     */
+    public int getInt(K key) {
+        if (key == null)
+            throw new NullPointerException("OpenHashMap does not support null keys");
+        int i = findSlot(key, hash(key));
+        return (i < 0) ? 0 : vals[i];
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws NullPointerException if {@code key} is {@code null}
+     */
+    @Override
+    public boolean containsKey(K key) {
+        if (key == null)
+            throw new NullPointerException("OpenHashMap does not support null keys");
+        return findSlot(key, hash(key)) >= 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Entries after the removed slot are shifted backward to fill the gap, so
+     * every probe sequence stays unbroken without tombstones.
+     *
+     * @throws NullPointerException if {@code key} is {@code null}
+     */
+    @Override
+    public Integer remove(K key) {
+        if (key == null)
+            throw new NullPointerException("OpenHashMap does not support null keys");
+        int i = findSlot(key, hash(key));
+        if (i < 0)
+            return null;
+        int old = vals[i];
+        removeAt(i);
+        return old;
+    }
+
+    /**
+     * Empty slot {@code i} and shift later entries of the same run backward
+     * so that no probe sequence is broken.
+     *
+     * @param i an occupied slot
+     */
+    private void removeAt(int i) {
+        int mask = keys.length - 1;
+        int j = (i + 1) & mask;
+        while (keys[j] != null) {
+            int home = hashes[j] & mask;
+            // move j into the gap at i if i lies on j's probe path (home .. j)
+            if (((j - home) & mask) >= ((j - i) & mask)) {
+                keys[i] = keys[j];
+                hashes[i] = hashes[j];
+                vals[i] = vals[j];
+                i = j;
+            }
+            j = (j + 1) & mask;
+        }
+        keys[i] = null;
+        hashes[i] = 0;
+        vals[i] = 0;
+        size--;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return an ArrayList containing every key in the table (slot order)
+     */
+    @Override
+    public ArrayList<K> keySet() {
+        ArrayList<K> out = new ArrayList<>(size);
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null)
+                out.add(keys[i]);
+        }
+        return out;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The order corresponds to the order of {@link #keySet()}.
+     */
+    @Override
+    public ArrayList<Integer> values() {
+        ArrayList<Integer> out = new ArrayList<>(size);
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null)
+                out.add(vals[i]);
+        }
+        return out;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The order corresponds to the order of {@link #keySet()}. The returned
+     * pairs are copies of the stored entries.
+     */
+    @Override
+    public ArrayList<MapSet.KeyValuePair<K, Integer>> entrySet() {
+        ArrayList<MapSet.KeyValuePair<K, Integer>> out = new ArrayList<>(size);
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null)
+                out.add(new KeyValuePair<>(keys[i], vals[i]));
+        }
+        return out;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Since values are stored as {@code int}s, each pair returned by the
+     * iterator is a new copy of the stored entry.
+     */
+    @Override
+    public Iterable<MapSet.KeyValuePair<K, Integer>> entries() {
+        return () -> new Iterator<MapSet.KeyValuePair<K, Integer>>() {
+            private int slot = nextSlot(0);
+
+            /**
+             * Returns the first occupied slot at or after {@code i}.
+             */
+            private int nextSlot(int i) {
+                while (i < keys.length && keys[i] == null)
+                    i++;
+                return i;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return slot < keys.length;
+            }
+
+            @Override
+            public MapSet.KeyValuePair<K, Integer> next() {
+                if (slot >= keys.length)
+                    throw new NoSuchElementException();
+                KeyValuePair<K, Integer> kv = new KeyValuePair<>(keys[slot], vals[slot]);
+                slot = nextSlot(slot + 1);
+                return kv;
+            }
+        };
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * No pair is allocated.
+     */
+    @Override
+    public void forEachEntry(BiConsumer<? super K, ? super Integer> action) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null)
+                action.accept(keys[i], vals[i]);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * For an open-addressing table this returns the length of the longest
+     * probe sequence, i.e. the number of slots inspected to find the key that
+     * sits farthest from its home slot.
+     */
+    @Override
+    public int maxDepth() {
+        int mask = keys.length - 1;
+        int max = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null) {
+                int probes = ((i - (hashes[i] & mask)) & mask) + 1;
+                if (probes > max)
+                    max = probes;
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Returns a multi-line string representation of the table; each line
+     * shows the contents of one occupied slot. Useful for debugging.
+     *
+     * @return a string representation of this OpenHashMap
+     */
+    @Override
+    public String toString() {
+        StringBuilder output = new StringBuilder();
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null) {
+                output.append("slot ").append(i).append(": <")
+                        .append(keys[i]).append(" -> ").append(vals[i]).append(">\n");
+            }
+        }
+        return output.toString();
+    }
+
+    /**
+     * Grow the slot arrays and reinsert every entry. Cached hashes are reused,
+     * so no key's {@code hashCode} or {@code equals} is called.
+     *
+     * @param newCapacity the new number of slots (must be a power of two)
+     */
+    private void resize(int newCapacity) {
+        K[] oldKeys = keys;
+        int[] oldHashes = hashes;
+        int[] oldVals = vals;
+        int oldSize = size;
+        allocate(newCapacity);
+
+        int mask = newCapacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                int j = oldHashes[i] & mask;
+                while (keys[j] != null)
+                    j = (j + 1) & mask;
+                keys[j] = oldKeys[i];
+                hashes[j] = oldHashes[i];
+                vals[j] = oldVals[i];
+            }
+        }
+        size = oldSize;
+    }
+}
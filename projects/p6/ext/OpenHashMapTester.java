@@ -0,0 +1,50 @@
+/*
+ * file name: OpenHashMapTester.java
+ * author: Jack Dai
+ * last modified: 10/17/2026
+ * purpose of the class: tester for OpenHashMap.java
+ */
+
+public class OpenHashMapTester {
+
+    public static void testPutGetIncrement() {
+        System.out.println("-".repeat(30) + "\nOpenHashMap Put/Get/Increment Test:");
+        OpenHashMap<String> m = new OpenHashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            m.put("k" + i, i);
+        }
+        m.increment("k7", 5);
+        m.increment("new", 3);
+        System.out.println("size: " + m.size() + " expected: 1001");
+        System.out.println("get(k7): " + m.get("k7") + " expected: 12");
+        System.out.println("get(new): " + m.get("new") + " expected: 3");
+        System.out.println("get(missing): " + m.get("missing") + " expected: null");
+        System.out.println("capacity: " + m.capacity() + " expected: 2048");
+        System.out.println("-".repeat(30));
+    }
+
+    public static void testRemove() {
+        System.out.println("-".repeat(30) + "\nOpenHashMap Remove Test:");
+        // a tiny table forces long probe runs that must survive backward shifts
+        OpenHashMap<Integer> m = new OpenHashMap<>(2, 0.9);
+        for (int i = 0; i < 200; i++) {
+            m.put(i * 16, i);
+        }
+        boolean ok = true;
+        for (int i = 0; i < 200; i += 2) {
+            ok &= m.remove(i * 16) == i;
+        }
+        for (int i = 0; i < 200; i++) {
+            Integer v = m.get(i * 16);
+            ok &= (i % 2 == 0) ? v == null : v == i;
+        }
+        System.out.println("size: " + m.size() + " expected: 100");
+        System.out.println("all lookups correct after removes: " + ok + " expected: true");
+        System.out.println("-".repeat(30));
+    }
+
+    public static void main(String[] args) {
+        testPutGetIncrement();
+        testRemove();
+    }
+}
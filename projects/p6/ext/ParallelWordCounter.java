@@ -0,0 +1,186 @@
+/*
+ * file name: ParallelWordCounter.java
+ * author: Jack Dai
+ * last modified: 10/17/2026
+ * purpose of the class: Counts the words of a file on several fork/join
+ *                     workers, each filling its own MapSet, and merges the
+ *                     partial maps pairwise.
+ */
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Supplier;
+
+/**
+ * ParallelWordCounter splits a file into byte ranges whose boundaries fall on
+ * word separators and counts each range with {@link MappedWordReader} into a
+ * map private to the worker. Partial maps are combined by tree reduction:
+ * every fork/join task merges the results of its two halves, folding the
+ * smaller map into the larger one, so the merge itself also runs in parallel.
+ *
+ * None of the {@link MapSet} implementations need to be thread-safe since no
+ * map is ever touched by two workers at once.
+ */
+public class ParallelWordCounter {
+
+    /** Ranges per thread, so uneven ranges still balance across workers. */
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    /** Ranges are never split below this size. */
+    private static final long MIN_CHUNK = 1 << 20;
+
+    private final Supplier<MapSet<String, Integer>> factory;
+    private final int threads;
+    private long wordCount;
+
+    /**
+     * Construct a ParallelWordCounter.
+     *
+     * @param factory creates an empty map for each range
+     * @param threads number of fork/join workers (at least 1)
+     */
+    public ParallelWordCounter(Supplier<MapSet<String, Integer>> factory, int threads) {
+        if (threads < 1)
+            throw new IllegalArgumentException("threads must be at least 1: " + threads);
+        this.factory = factory;
+        this.threads = threads;
+    }
+
+    /**
+     * Count the words of a file.
+     *
+     * @param filename path to the input text file
+     * @return a map from every word to its number of occurrences
+     * @throws IOException if the file cannot be opened or mapped
+     */
+    public MapSet<String, Integer> count(String filename) throws IOException {
+        try (FileChannel ch = FileChannel.open(Paths.get(filename), StandardOpenOption.READ)) {
+            long size = ch.size();
+            int chunks = (int) Math.max(1, Math.min((long) threads * CHUNKS_PER_THREAD, size / MIN_CHUNK));
+            long[] bounds = new long[chunks + 1];
+            for (int i = 1; i < chunks; i++) {
+                bounds[i] = MappedWordReader.alignToSeparator(ch, size / chunks * i);
+            }
+            bounds[chunks] = size;
+
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                Partial result = pool.invoke(new CountTask(ch, bounds, 0, chunks));
+                this.wordCount = result.words;
+                return result.map;
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Returns the total number of words read by the last call to
+     * {@link #count(String)}.
+     *
+     * @return the total word count
+     */
+    public long totalWordCount() {
+        return wordCount;
+    }
+
+    /**
+     * Add every entry of {@code from} into {@code into}. Two sketches are
+     * merged counter by counter, since a sketch only lists its heavy hitters.
+     * A tree map takes a linear sorted merge when that beats one logarithmic
+     * insert per entry.
+     *
+     * @param into map receiving the counts
+     * @param from map whose counts are added
+     */
+    public static void mergeCounts(MapSet<String, Integer> into, MapSet<String, Integer> from) {
+        if (into instanceof HeavyHitterSketch && from instanceof HeavyHitterSketch) {
+            ((HeavyHitterSketch<String>) into).mergeFrom((HeavyHitterSketch<String>) from);
+            return;
+        }
+        if ((into instanceof BSTMap || into instanceof AVLMap) && preferBulkMerge(into.size(), from.size())) {
+            if (into instanceof BSTMap)
+                ((BSTMap<String, Integer>) into).putAll(from, MapSet.SUM);
+            else
+                ((AVLMap<String, Integer>) into).putAll(from, MapSet.SUM);
+            return;
+        }
+        for (MapSet.KeyValuePair<String, Integer> kv : from.entrySet()) {
+            into.increment(kv.getKey(), kv.getValue());
+        }
+    }
+
+    /**
+     * Whether relinking a tree of {@code n} entries with {@code m} more costs
+     * less than {@code m} inserts of {@code log n} steps each.
+     */
+    private static boolean preferBulkMerge(int n, int m) {
+        int log = 32 - Integer.numberOfLeadingZeros(Math.max(1, n));
+        return (long) m * log >= (long) n + m;
+    }
+
+    /**
+     * A partially counted range: its map and its number of words.
+     */
+    private static class Partial {
+        private final MapSet<String, Integer> map;
+        private final long words;
+
+        Partial(MapSet<String, Integer> map, long words) {
+            this.map = map;
+            this.words = words;
+        }
+    }
+
+    /**
+     * Counts ranges {@code [lo, hi)} of the boundary array, splitting in half
+     * until a single range is left and merging the two halves' maps.
+     */
+    private class CountTask extends RecursiveTask<Partial> {
+        private static final long serialVersionUID = 1L;
+
+        private final FileChannel ch;
+        private final long[] bounds;
+        private final int lo;
+        private final int hi;
+
+        CountTask(FileChannel ch, long[] bounds, int lo, int hi) {
+            this.ch = ch;
+            this.bounds = bounds;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected Partial compute() {
+            if (hi - lo == 1) {
+                MapSet<String, Integer> map = factory.get();
+                try {
+                    long words = MappedWordReader.countRange(ch, bounds[lo], bounds[hi], map);
+                    return new Partial(map, words);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+
+            int mid = (lo + hi) >>> 1;
+            CountTask left = new CountTask(ch, bounds, lo, mid);
+            left.fork();
+            Partial right = new CountTask(ch, bounds, mid, hi).compute();
+            Partial l = left.join();
+
+            // fold the smaller map into the larger one
+            Partial big = (l.map.size() >= right.map.size()) ? l : right;
+            Partial small = (big == l) ? right : l;
+            mergeCounts(big.map, small.map);
+            return new Partial(big.map, l.words + right.words);
+        }
+    }
+}
@@ -0,0 +1,606 @@
+/*
+ * file name: PersistentAVLMap.java
+ * author: Jack Dai
+ * last modified: 10/17/2026
+ * purpose of the class: Implements a Map using an immutable AVL tree whose
+ *                     updates copy the search path and publish a new root
+ *                     atomically, so readers never need a lock.
+ */
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * PersistentAVLMap is an AVL tree whose nodes are never modified once they
+ * are published. An update builds new copies of the nodes on the path from
+ * the root to the changed key, plus the few nodes a rotation touches, and
+ * shares every other subtree with the previous version. The new root and
+ * size are then swapped in with a single compare-and-set, so each update
+ * costs O(log n) new nodes.
+ *
+ * Readers simply load the current version and walk it. A version never
+ * changes, so a reader sees a consistent tree even while writers keep
+ * publishing new ones, and lookups take no lock and never wait. Iterators,
+ * the bulk views and {@link #snapshot()} all work on the version that was
+ * current when they started.
+ *
+ * Several writers may update the map at once. A writer whose
+ * compare-and-set fails because another update was published first
+ * recomputes its change against the new version, so a remapping or
+ * mapping function may be called more than once for one update and should
+ * have no side effects.
+ *
+ * Because nodes are shared between versions, the pairs returned by the
+ * bulk views and iterators are copies; calling {@code setValue} on one does
+ * not modify the map.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+public class PersistentAVLMap<K, V> implements MapSet<K, V> {
+
+    /**
+     * An immutable tree node.
+     */
+    private static final class Node<K, V> {
+        private final K key;
+        private final V value;
+        private final Node<K, V> left;
+        private final Node<K, V> right;
+        private final int height;
+
+        Node(K key, V value, Node<K, V> left, Node<K, V> right) {
+            this.key = key;
+            this.value = value;
+            this.left = left;
+            this.right = right;
+            this.height = 1 + Math.max(height(left), height(right));
+        }
+    }
+
+    /**
+     * One published state of the map: a root and the number of entries
+     * below it, swapped together so that readers never see them disagree.
+     */
+    private static final class Version<K, V> {
+        private final Node<K, V> root;
+        private final int size;
+
+        Version(Node<K, V> root, int size) {
+            this.root = root;
+            this.size = size;
+        }
+    }
+
+    private final AtomicReference<Version<K, V>> current;
+    private final Comparator<K> comparator;
+
+    /**
+     * Construct a PersistentAVLMap that uses the provided comparator to order
+     * keys. If {@code comparator} is {@code null} keys are assumed to
+     * implement {@code Comparable}.
+     *
+     * @param comparator comparator used to compare keys, or {@code null}
+     */
+    @SuppressWarnings("unchecked")
+    public PersistentAVLMap(Comparator<K> comparator) {
+        if (comparator != null) {
+            this.comparator = comparator;
+        } else {
+            this.comparator = (o1, o2) -> ((Comparable<K>) o1).compareTo(o2);
+        }
+        this.current = new AtomicReference<>(new Version<>(null, 0));
+    }
+
+    /**
+     * Construct a PersistentAVLMap that orders keys by their natural
+     * ordering. Keys must implement {@code Comparable<K>}.
+     */
+    public PersistentAVLMap() {
+        this(null);
+    }
+
+    private PersistentAVLMap(Comparator<K> comparator, Version<K, V> version) {
+        this.comparator = comparator;
+        this.current = new AtomicReference<>(version);
+    }
+
+    /**
+     * Returns an independent map holding the current contents, in O(1)
+     * time. The two maps share every node, and later updates to either one
+     * copy paths instead of changing shared nodes, so neither sees the
+     * other's changes.
+     *
+     * @return a snapshot of this map
+     */
+    public PersistentAVLMap<K, V> snapshot() {
+        return new PersistentAVLMap<>(comparator, current.get());
+    }
+
+    // Utility helpers for building balanced immutable nodes
+
+    private static int height(Node<?, ?> n) {
+        return (n == null) ? 0 : n.height;
+    }
+
+    /**
+     * Return a node for {@code key} and {@code value} over the given
+     * subtrees, whose heights differ by at most two, rotating if they differ
+     * by two. Only new nodes are created; {@code left} and {@code right} are
+     * shared.
+     */
+    private static <K, V> Node<K, V> balance(K key, V value, Node<K, V> left, Node<K, V> right) {
+        int bf = height(left) - height(right);
+        if (bf > 1) {
+            if (height(left.left) >= height(left.right)) {
+                // LL: single right rotation
+                return new Node<>(left.key, left.value, left.left, new Node<>(key, value, left.right, right));
+            }
+            // LR: left.right becomes the root
+            Node<K, V> lr = left.right;
+            return new Node<>(lr.key, lr.value,
+                    new Node<>(left.key, left.value, left.left, lr.left),
+                    new Node<>(key, value, lr.right, right));
+        }
+        if (bf < -1) {
+            if (height(right.right) >= height(right.left)) {
+                // RR: single left rotation
+                return new Node<>(right.key, right.value, new Node<>(key, value, left, right.left), right.right);
+            }
+            // RL: right.left becomes the root
+            Node<K, V> rl = right.left;
+            return new Node<>(rl.key, rl.value,
+                    new Node<>(key, value, left, rl.left),
+                    new Node<>(right.key, right.value, rl.right, right.right));
+        }
+        return new Node<>(key, value, left, right);
+    }
+
+    /**
+     * Small helper used to pass information out of the recursive update
+     * helpers. It is reset before every attempt of an update.
+     */
+    private static class Holder<V> {
+        V old;
+        boolean isNew;
+        boolean removed;
+
+        void reset() {
+            old = null;
+            isNew = false;
+            removed = false;
+        }
+    }
+
+    /**
+     * Try to publish {@code root} in place of {@code from}.
+     *
+     * @return {@code true} if no other update was published in between
+     */
+    private boolean publish(Version<K, V> from, Node<K, V> root, Holder<V> holder) {
+        if (root == from.root)
+            return true; // nothing changed
+        int size = from.size + (holder.isNew ? 1 : 0) - (holder.removed ? 1 : 0);
+        return current.compareAndSet(from, new Version<>(root, size));
+    }
+
+    /**
+     * Associate the specified value with the specified key in this map. If
+     * {@code value} is {@code null} this implementation does nothing and
+     * returns {@code null}.
+     *
+     * @param key   key with which the specified value is to be associated
+     * @param value value to associate with the key
+     * @return the previous value associated with {@code key}, or {@code null}
+     * @throws NullPointerException if {@code key} is {@code null}
+     */
+    @Override
+    public V put(K key, V value) {
+        if (key == null)
+            throw new NullPointerException("PersistentAVLMap does not support null keys");
+        if (value == null)
+            return null;
+        Holder<V> holder = new Holder<>();
+        while (true) {
+            Version<K, V> v = current.get();
+            holder.reset();
+            Node<K, V> root = put(v.root, key, value, holder);
+            if (publish(v, root, holder))
+                return holder.old;
+        }
+    }
+
+    /**
+     * Return a copy of the subtree rooted at {@code node} with {@code key}
+     * mapped to {@code value}.
+     */
+    private Node<K, V> put(Node<K, V> node, K key, V value, Holder<V> holder) {
+        if (node == null) {
+            holder.isNew = true;
+            return new Node<>(key, value, null, null);
+        }
+        int cmp = comparator.compare(key, node.key);
+        if (cmp < 0)
+            return balance(node.key, node.value, put(node.left, key, value, holder), node.right);
+        if (cmp > 0)
+            return balance(node.key, node.value, node.left, put(node.right, key, value, holder));
+        holder.old = node.value;
+        return new Node<>(key, value, node.left, node.right);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The remapping function may be called again if another update is
+     * published while this one is being computed.
+     *
+     * @throws NullPointerException if {@code key} is {@code null}
+     */
+    @Override
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        if (key == null)
+            throw new NullPointerException("PersistentAVLMap does not support null keys");
+        if (value == null || remappingFunction == null)
+            throw new NullPointerException();
+        Holder<V> holder = new Holder<>();
+        while (true) {
+            Version<K, V> v = current.get();
+            holder.reset();
+            Node<K, V> root = merge(v.root, key, value, remappingFunction, holder);
+            if (publish(v, root, holder))
+                return holder.isNew ? value : holder.old;
+        }
+    }
+
+    /**
+     * Return a copy of the subtree rooted at {@code node} with {@code value}
+     * merged into the entry for {@code key}. The new value is passed out in
+     * {@code holder.old}; if it is {@code null} the entry is removed.
+     */
+    private Node<K, V> merge(Node<K, V> node, K key, V value,
+            BiFunction<? super V, ? super V, ? extends V> remappingFunction, Holder<V> holder) {
+        if (node == null) {
+            holder.isNew = true;
+            return new Node<>(key, value, null, null);
+        }
+        int cmp = comparator.compare(key, node.key);
+        if (cmp < 0)
+            return balance(node.key, node.value, merge(node.left, key, value, remappingFunction, holder), node.right);
+        if (cmp > 0)
+            return balance(node.key, node.value, node.left, merge(node.right, key, value, remappingFunction, holder));
+        V newValue = remappingFunction.apply(node.value, value);
+        holder.old = newValue;
+        if (newValue == null) {
+            holder.removed = true;
+            return join(node.left, node.right);
+        }
+        return new Node<>(key, newValue, node.left, node.right);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The mapping function may be called again if another update is
+     * published while this one is being computed.
+     *
+     * @throws NullPointerException if {@code key} is {@code null}
+     */
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        if (key == null)
+            throw new NullPointerException("PersistentAVLMap does not support null keys");
+        if (mappingFunction == null)
+            throw new NullPointerException();
+        V existing = get(key);
+        if (existing != null)
+            return existing;
+        Holder<V> holder = new Holder<>();
+        while (true) {
+            Version<K, V> v = current.get();
+            holder.reset();
+            Node<K, V> root = computeIfAbsent(v.root, key, mappingFunction, holder);
+            if (publish(v, root, holder))
+                return holder.old;
+        }
+    }
+
+    /**
+     * Return the subtree rooted at {@code node}, copied with a new entry for
+     * {@code key} if it was absent and the mapping function produced a
+     * value. The current or new value is passed out in {@code holder.old}.
+     */
+    private Node<K, V> computeIfAbsent(Node<K, V> node, K key,
+            Function<? super K, ? extends V> mappingFunction, Holder<V> holder) {
+        if (node == null) {
+            V value = mappingFunction.apply(key);
+            holder.old = value;
+            if (value == null)
+                return null;
+            holder.isNew = true;
+            return new Node<>(key, value, null, null);
+        }
+        int cmp = comparator.compare(key, node.key);
+        if (cmp == 0) {
+            holder.old = node.value;
+            return node;
+        }
+        Node<K, V> child = (cmp < 0) ? node.left : node.right;
+        Node<K, V> updated = computeIfAbsent(child, key, mappingFunction, holder);
+        if (updated == child)
+            return node;
+        return (cmp < 0) ? balance(node.key, node.value, updated, node.right)
+                : balance(node.key, node.value, node.left, updated);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws NullPointerException if {@code key} is {@code null}
+     */
+    @Override
+    public boolean containsKey(K key) {
+        return get(key) != null;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * This reads the current version without locking.
+     *
+     * @throws NullPointerException if {@code key} is {@code null}
+     */
+    @Override
+    public V get(K key) {
+        if (key == null)
+            throw new NullPointerException("PersistentAVLMap does not support null keys");
+        Node<K, V> cur = current.get().root;
+        while (cur != null) {
+            int cmp = comparator.compare(key, cur.key);
+            if (cmp < 0)
+                cur = cur.left;
+            else if (cmp > 0)
+                cur = cur.right;
+            else
+                return cur.value;
+        }
+        return null;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws NullPointerException if {@code key} is {@code null}
+     */
+    @Override
+    public V remove(K key) {
+        if (key == null)
+            throw new NullPointerException("PersistentAVLMap does not support null keys");
+        Holder<V> holder = new Holder<>();
+        while (true) {
+            Version<K, V> v = current.get();
+            holder.reset();
+            Node<K, V> root = remove(v.root, key, holder);
+            if (publish(v, root, holder))
+                return holder.old;
+        }
+    }
+
+    /**
+     * Return the subtree rooted at {@code node} without {@code key}. The
+     * subtree itself is returned if the key is absent.
+     */
+    private Node<K, V> remove(Node<K, V> node, K key, Holder<V> holder) {
+        if (node == null)
+            return null;
+        int cmp = comparator.compare(key, node.key);
+        if (cmp == 0) {
+            holder.old = node.value;
+            holder.removed = true;
+            return join(node.left, node.right);
+        }
+        Node<K, V> child = (cmp < 0) ? node.left : node.right;
+        Node<K, V> updated = remove(child, key, holder);
+        if (updated == child)
+            return node;
+        return (cmp < 0) ? balance(node.key, node.value, updated, node.right)
+                : balance(node.key, node.value, node.left, updated);
+    }
+
+    /**
+     * Join the two subtrees of a removed node: the smallest entry of
+     * {@code right} becomes the new subtree root.
+     */
+    private Node<K, V> join(Node<K, V> left, Node<K, V> right) {
+        if (right == null)
+            return left;
+        if (left == null)
+            return right;
+        Node<K, V> min = right;
+        while (min.left != null)
+            min = min.left;
+        return balance(min.key, min.value, left, removeMin(right));
+    }
+
+    /**
+     * Return a copy of the subtree rooted at {@code node} without its
+     * smallest entry.
+     */
+    private Node<K, V> removeMin(Node<K, V> node) {
+        if (node.left == null)
+            return node.right;
+        return balance(node.key, node.value, removeMin(node.left), node.right);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return the keys of the current version in ascending order
+     */
+    @Override
+    public ArrayList<K> keySet() {
+        Version<K, V> v = current.get();
+        ArrayList<K> out = new ArrayList<>(v.size);
+        forEach(v.root, (k, val) -> out.add(k));
+        return out;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The order corresponds to the order of {@link #keySet()}.
+     */
+    @Override
+    public ArrayList<V> values() {
+        Version<K, V> v = current.get();
+        ArrayList<V> out = new ArrayList<>(v.size);
+        forEach(v.root, (k, val) -> out.add(val));
+        return out;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The order corresponds to the order of {@link #keySet()}; the pairs are
+     * copies.
+     */
+    @Override
+    public ArrayList<MapSet.KeyValuePair<K, V>> entrySet() {
+        Version<K, V> v = current.get();
+        ArrayList<MapSet.KeyValuePair<K, V>> out = new ArrayList<>(v.size);
+        forEach(v.root, (k, val) -> out.add(new KeyValuePair<>(k, val)));
+        return out;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Each iterator walks the version current when it was created, so unlike
+     * the other maps this one may be modified while an iterator is in use.
+     * Each pair returned is a new copy.
+     */
+    @Override
+    public Iterable<MapSet.KeyValuePair<K, V>> entries() {
+        return () -> new EntryIterator<>(current.get().root);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The entries of the current version are visited in ascending key order.
+     */
+    @Override
+    public void forEachEntry(BiConsumer<? super K, ? super V> action) {
+        forEach(current.get().root, action);
+    }
+
+    /**
+     * Visit the entries of the subtree rooted at {@code node} in order.
+     */
+    private static <K, V> void forEach(Node<K, V> node, BiConsumer<? super K, ? super V> action) {
+        while (node != null) {
+            forEach(node.left, action);
+            action.accept(node.key, node.value);
+            node = node.right;
+        }
+    }
+
+    /**
+     * In-order iterator over one version of the tree, with an explicit stack
+     * of pending ancestors.
+     */
+    private static class EntryIterator<K, V> implements Iterator<MapSet.KeyValuePair<K, V>> {
+        private final ArrayDeque<Node<K, V>> stack = new ArrayDeque<>();
+
+        EntryIterator(Node<K, V> root) {
+            pushLeft(root);
+        }
+
+        /**
+         * Push {@code cur} and its chain of left descendants.
+         */
+        private void pushLeft(Node<K, V> cur) {
+            while (cur != null) {
+                stack.push(cur);
+                cur = cur.left;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !stack.isEmpty();
+        }
+
+        @Override
+        public MapSet.KeyValuePair<K, V> next() {
+            if (stack.isEmpty())
+                throw new NoSuchElementException();
+            Node<K, V> cur = stack.pop();
+            pushLeft(cur.right);
+            return new KeyValuePair<>(cur.key, cur.value);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return current.get().size;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Readers still walking an older version are not affected.
+     */
+    @Override
+    public void clear() {
+        current.set(new Version<>(null, 0));
+    }
+
+    /**
+     * Return the height (maximum number of nodes on a root-to-leaf path)
+     * of the current tree. For an empty tree this returns 0.
+     *
+     * @return height of the tree
+     */
+    @Override
+    public int maxDepth() {
+        return height(current.get().root);
+    }
+
+    /**
+     * Helper for {@link #toString()}. Appends the subtree rooted at
+     * {@code cur} right-first, one node per line indented by depth.
+     */
+    private void toString(Node<K, V> cur, int depth, StringBuilder sb) {
+        if (cur == null)
+            return;
+        toString(cur.right, depth + 1, sb);
+        sb.append("\t".repeat(depth) + "<" + cur.key + " -> " + cur.value + ">\n");
+        toString(cur.left, depth + 1, sb);
+    }
+
+    /**
+     * Return a multi-line string representation of the current tree in the
+     * same format as {@link AVLMap#toString()}.
+     *
+     * @return textual representation of the tree
+     */
+    @Override
+    public String toString() {
+        Node<K, V> root = current.get().root;
+        if (root == null)
+            return "(empty AVL)";
+        StringBuilder sb = new StringBuilder();
+        toString(root, 0, sb);
+        return sb.toString();
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * file name: PersistentAVLMapTester.java
+ * author: Jack Dai
+ * last modified: 10/17/2026
+ * purpose of the class: tester for PersistentAVLMap.java
+ */
+
+import java.util.ArrayList;
+
+public class PersistentAVLMapTester {
+
+    public static void testPutRemove() {
+        System.out.println("-".repeat(30) + "\nPersistentAVLMap Put/Remove Test:");
+        PersistentAVLMap<Integer, Integer> m = new PersistentAVLMap<>();
+        for (int i = 0; i < 1023; i++) {
+            m.put(i, i);
+        }
+        m.increment(7, 1);
+        System.out.println("size: " + m.size() + " expected: 1023");
+        System.out.println("get(7): " + m.get(7) + " expected: 8");
+        // ascending inserts into an AVL tree give a perfect tree
+        System.out.println("maxDepth: " + m.maxDepth() + " expected: 10");
+        boolean ok = true;
+        for (int i = 0; i < 1023; i += 2) {
+            ok &= m.remove(i) != null;
+        }
+        ok &= m.remove(0) == null;
+        ArrayList<Integer> keys = m.keySet();
+        for (int i = 0; i < keys.size(); i++) {
+            ok &= keys.get(i) == 2 * i + 1;
+        }
+        System.out.println("size after removes: " + m.size() + " expected: 511");
+        System.out.println("remaining keys correct: " + ok + " expected: true");
+        System.out.println("-".repeat(30));
+    }
+
+    public static void testSnapshot() {
+        System.out.println("-".repeat(30) + "\nPersistentAVLMap Snapshot Test:");
+        PersistentAVLMap<String, Integer> m = new PersistentAVLMap<>();
+        m.put("a", 1);
+        m.put("b", 2);
+        PersistentAVLMap<String, Integer> snap = m.snapshot();
+        m.put("a", 10);
+        m.remove("b");
+        snap.put("c", 3);
+        System.out.println("map: " + m.entrySet() + " expected: [<a -> 10>]");
+        System.out.println("snapshot: " + snap.entrySet() + " expected: [<a -> 1>, <b -> 2>, <c -> 3>]");
+        // an iterator keeps walking the version it started on
+        int seen = 0;
+        for (MapSet.KeyValuePair<String, Integer> kv : snap.entries()) {
+            snap.remove(kv.getKey());
+            seen++;
+        }
+        System.out.println("entries seen while removing: " + seen + " expected: 3");
+        System.out.println("snapshot size: " + snap.size() + " expected: 0");
+        System.out.println("-".repeat(30));
+    }
+
+    public static void main(String[] args) {
+        testPutRemove();
+        testSnapshot();
+    }
+}
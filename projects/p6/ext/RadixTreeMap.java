@@ -0,0 +1,903 @@
+/*
+ * file name: RadixTreeMap.java
+ * author: Jack Dai
+ * last modified: 10/17/2026
+ * purpose of the class: Implements a Map from words to values using an
+ *                     adaptive radix tree with path compression and
+ *                     prefix queries.
+ */
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * RadixTreeMap is a MapSet implementation backed by an adaptive radix tree
+ * (ART) over the UTF-8 bytes of its keys. Every node consumes a compressed
+ * prefix of bytes shared by all keys below it and then branches on one byte.
+ * Nodes come in sizes for 4, 16, 48 and 256 children and are grown and shrunk
+ * as children are added and removed, so sparse nodes stay small while dense
+ * ones index their children directly. A node whose key ends there holds the
+ * value itself, and a key's unique tail is stored once as the prefix of its
+ * leaf.
+ *
+ * Words sharing a prefix share its bytes, and all keys starting with a given
+ * string sit in one subtree, which {@link #prefixEntries(String)} walks
+ * without looking at any other key. Keys are ordered by their unsigned UTF-8
+ * bytes, which is Unicode code point order; this agrees with
+ * {@link String#compareTo} except between supplementary characters and
+ * characters in U+E000 to U+FFFF.
+ *
+ * Keys are rebuilt from the tree as they are visited, so the pairs returned
+ * by {@link #entrySet()} and {@link #entries()} are copies; calling
+ * {@code setValue} on them does not modify the map.
+ *
+ * @param <V> value type
+ */
+public class RadixTreeMap<V> implements MapSet<String, V> {
+
+    private static final byte[] EMPTY = new byte[0];
+
+    /**
+     * A tree node: a compressed prefix, an optional value for the key ending
+     * here, and children indexed by the next byte.
+     */
+    private abstract static class Node {
+        byte[] prefix;
+        Object value;
+        boolean terminal; // a key ends at this node
+
+        Node(byte[] prefix) {
+            this.prefix = prefix;
+        }
+
+        /** Returns the child for byte {@code b}, or {@code null}. */
+        abstract Node child(byte b);
+
+        /** Add a child for {@code b}, which is absent; the node is not full. */
+        abstract void add(byte b, Node child);
+
+        /** Replace the existing child for {@code b}. */
+        abstract void replace(byte b, Node child);
+
+        /** Remove the existing child for {@code b}. */
+        abstract void delete(byte b);
+
+        abstract int count();
+
+        abstract boolean isFull();
+
+        /** Returns a node of the next size up holding the same children. */
+        abstract Node grow();
+
+        /** Returns a smaller node if this one is sparse enough, else this. */
+        abstract Node shrink();
+
+        /**
+         * Returns the first child position at or after {@code pos} in byte
+         * order, or -1. Positions are only meaningful to {@link #keyAt} and
+         * {@link #childAt}.
+         */
+        abstract int next(int pos);
+
+        abstract byte keyAt(int pos);
+
+        abstract Node childAt(int pos);
+
+        /** Copy the prefix and value of {@code from} into this node. */
+        Node takeHeader(Node from) {
+            prefix = from.prefix;
+            value = from.value;
+            terminal = from.terminal;
+            return this;
+        }
+    }
+
+    /** A node without children, holding the tail of a key. */
+    private static final class Leaf extends Node {
+        Leaf(byte[] prefix) {
+            super(prefix);
+        }
+
+        Node child(byte b) {
+            return null;
+        }
+
+        void add(byte b, Node child) {
+            throw new IllegalStateException("leaf is full");
+        }
+
+        void replace(byte b, Node child) {
+            throw new IllegalStateException("leaf has no children");
+        }
+
+        void delete(byte b) {
+            throw new IllegalStateException("leaf has no children");
+        }
+
+        int count() {
+            return 0;
+        }
+
+        boolean isFull() {
+            return true;
+        }
+
+        Node grow() {
+            return new SortedNode(prefix, 4).takeHeader(this);
+        }
+
+        Node shrink() {
+            return this;
+        }
+
+        int next(int pos) {
+            return -1;
+        }
+
+        byte keyAt(int pos) {
+            throw new IllegalStateException();
+        }
+
+        Node childAt(int pos) {
+            throw new IllegalStateException();
+        }
+    }
+
+    /**
+     * Up to {@code keys.length} children in parallel arrays sorted by
+     * unsigned key byte. Used for both the 4- and 16-child sizes.
+     */
+    private static class SortedNode extends Node {
+        final byte[] keys;
+        final Node[] children;
+        int n;
+
+        SortedNode(byte[] prefix, int capacity) {
+            super(prefix);
+            keys = new byte[capacity];
+            children = new Node[capacity];
+        }
+
+        int indexOf(byte b) {
+            for (int i = 0; i < n; i++) {
+                if (keys[i] == b)
+                    return i;
+            }
+            return -1;
+        }
+
+        Node child(byte b) {
+            int i = indexOf(b);
+            return (i < 0) ? null : children[i];
+        }
+
+        void add(byte b, Node child) {
+            int i = n;
+            while (i > 0 && Byte.compareUnsigned(keys[i - 1], b) > 0) {
+                keys[i] = keys[i - 1];
+                children[i] = children[i - 1];
+                i--;
+            }
+            keys[i] = b;
+            children[i] = child;
+            n++;
+        }
+
+        void replace(byte b, Node child) {
+            children[indexOf(b)] = child;
+        }
+
+        void delete(byte b) {
+            int i = indexOf(b);
+            System.arraycopy(keys, i + 1, keys, i, n - i - 1);
+            System.arraycopy(children, i + 1, children, i, n - i - 1);
+            n--;
+            children[n] = null;
+        }
+
+        int count() {
+            return n;
+        }
+
+        boolean isFull() {
+            return n == keys.length;
+        }
+
+        Node grow() {
+            Node bigger = (keys.length == 4) ? new SortedNode(prefix, 16) : new Node48(prefix);
+            for (int i = 0; i < n; i++)
+                bigger.add(keys[i], children[i]);
+            return bigger.takeHeader(this);
+        }
+
+        Node shrink() {
+            if (keys.length == 16 && n <= 3) {
+                SortedNode smaller = new SortedNode(prefix, 4);
+                for (int i = 0; i < n; i++)
+                    smaller.add(keys[i], children[i]);
+                return smaller.takeHeader(this);
+            }
+            return this;
+        }
+
+        int next(int pos) {
+            return (pos < n) ? pos : -1;
+        }
+
+        byte keyAt(int pos) {
+            return keys[pos];
+        }
+
+        Node childAt(int pos) {
+            return children[pos];
+        }
+    }
+
+    /** Up to 48 children, found through a 256-entry byte index. */
+    private static final class Node48 extends Node {
+        final byte[] index = new byte[256]; // slot + 1, or 0
+        final Node[] children = new Node[48];
+        int n;
+
+        Node48(byte[] prefix) {
+            super(prefix);
+        }
+
+        Node child(byte b) {
+            int slot = index[b & 0xff];
+            return (slot == 0) ? null : children[slot - 1];
+        }
+
+        void add(byte b, Node child) {
+            int slot = 0;
+            while (children[slot] != null)
+                slot++;
+            children[slot] = child;
+            index[b & 0xff] = (byte) (slot + 1);
+            n++;
+        }
+
+        void replace(byte b, Node child) {
+            children[index[b & 0xff] - 1] = child;
+        }
+
+        void delete(byte b) {
+            children[index[b & 0xff] - 1] = null;
+            index[b & 0xff] = 0;
+            n--;
+        }
+
+        int count() {
+            return n;
+        }
+
+        boolean isFull() {
+            return n == 48;
+        }
+
+        Node grow() {
+            Node256 bigger = new Node256(prefix);
+            for (int k = 0; k < 256; k++) {
+                if (index[k] != 0)
+                    bigger.add((byte) k, children[index[k] - 1]);
+            }
+            return bigger.takeHeader(this);
+        }
+
+        Node shrink() {
+            if (n > 12)
+                return this;
+            SortedNode smaller = new SortedNode(prefix, 16);
+            for (int k = 0; k < 256; k++) {
+                if (index[k] != 0)
+                    smaller.add((byte) k, children[index[k] - 1]);
+            }
+            return smaller.takeHeader(this);
+        }
+
+        int next(int pos) {
+            for (int k = pos; k < 256; k++) {
+                if (index[k] != 0)
+                    return k;
+            }
+            return -1;
+        }
+
+        byte keyAt(int pos) {
+            return (byte) pos;
+        }
+
+        Node childAt(int pos) {
+            return children[index[pos] - 1];
+        }
+    }
+
+    /** One child pointer for every byte value. */
+    private static final class Node256 extends Node {
+        final Node[] children = new Node[256];
+        int n;
+
+        Node256(byte[] prefix) {
+            super(prefix);
+        }
+
+        Node child(byte b) {
+            return children[b & 0xff];
+        }
+
+        void add(byte b, Node child) {
+            children[b & 0xff] = child;
+            n++;
+        }
+
+        void replace(byte b, Node child) {
+            children[b & 0xff] = child;
+        }
+
+        void delete(byte b) {
+            children[b & 0xff] = null;
+            n--;
+        }
+
+        int count() {
+            return n;
+        }
+
+        boolean isFull() {
+            return false;
+        }
+
+        Node grow() {
+            return this;
+        }
+
+        Node shrink() {
+            if (n > 37)
+                return this;
+            Node48 smaller = new Node48(prefix);
+            for (int k = 0; k < 256; k++) {
+                if (children[k] != null)
+                    smaller.add((byte) k, children[k]);
+            }
+            return smaller.takeHeader(this);
+        }
+
+        int next(int pos) {
+            for (int k = pos; k < 256; k++) {
+                if (children[k] != null)
+                    return k;
+            }
+            return -1;
+        }
+
+        byte keyAt(int pos) {
+            return (byte) pos;
+        }
+
+        Node childAt(int pos) {
+            return children[pos];
+        }
+    }
+
+    private Node root;
+    private int size;
+
+    // results of the last insert or remove
+    private Node target;
+    private boolean isNew;
+    private Object removed;
+    private boolean found;
+
+    /**
+     * Construct an empty RadixTreeMap.
+     */
+    public RadixTreeMap() {
+    }
+
+    private static byte[] bytes(String key) {
+        if (key == null)
+            throw new NullPointerException("RadixTreeMap does not support null keys");
+        return key.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns how many bytes of {@code prefix} match {@code key} from
+     * position {@code d}.
+     */
+    private static int matching(byte[] prefix, byte[] key, int d) {
+        int max = Math.min(prefix.length, key.length - d);
+        int i = 0;
+        while (i < max && prefix[i] == key[d + i])
+            i++;
+        return i;
+    }
+
+    /**
+     * Returns the node at which {@code key} ends, or {@code null} if the key
+     * is absent.
+     */
+    private Node find(byte[] key) {
+        Node x = root;
+        int d = 0;
+        while (x != null) {
+            int p = x.prefix.length;
+            if (matching(x.prefix, key, d) != p)
+                return null;
+            d += p;
+            if (d == key.length)
+                return x.terminal ? x : null;
+            x = x.child(key[d++]);
+        }
+        return null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(String key) {
+        Node x = find(bytes(key));
+        return (x == null) ? null : (V) x.value;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean containsKey(String key) {
+        return find(bytes(key)) != null;
+    }
+
+    // Insertion
+
+    /**
+     * Find or create the node at which {@code key} ends. Afterwards
+     * {@link #target} is that node and {@link #isNew} tells whether the key
+     * was added.
+     */
+    private void slot(byte[] key) {
+        isNew = false;
+        root = insert(root, key, 0);
+        if (isNew)
+            size++;
+    }
+
+    /**
+     * Insert {@code key[d..]} below {@code x} and return the node that takes
+     * {@code x}'s place, which differs when {@code x} was split or grown.
+     */
+    private Node insert(Node x, byte[] key, int d) {
+        if (x == null)
+            return newLeaf(key, d);
+
+        int p = matching(x.prefix, key, d);
+        if (p < x.prefix.length) {
+            // the key leaves x's prefix after p bytes: split the prefix
+            SortedNode parent = new SortedNode(Arrays.copyOf(x.prefix, p), 4);
+            byte split = x.prefix[p];
+            x.prefix = Arrays.copyOfRange(x.prefix, p + 1, x.prefix.length);
+            parent.add(split, x);
+            if (d + p == key.length) {
+                parent.terminal = true;
+                target = parent;
+                isNew = true;
+            } else {
+                parent.add(key[d + p], newLeaf(key, d + p + 1));
+            }
+            return parent;
+        }
+
+        d += p;
+        if (d == key.length) {
+            if (!x.terminal) {
+                x.terminal = true;
+                isNew = true;
+            }
+            target = x;
+            return x;
+        }
+
+        byte b = key[d];
+        Node child = x.child(b);
+        if (child != null) {
+            Node updated = insert(child, key, d + 1);
+            if (updated != child)
+                x.replace(b, updated);
+            return x;
+        }
+        if (x.isFull())
+            x = x.grow();
+        x.add(b, newLeaf(key, d + 1));
+        return x;
+    }
+
+    /** A new leaf for {@code key[d..]}; it becomes the target. */
+    private Node newLeaf(byte[] key, int d) {
+        Leaf leaf = new Leaf((d == key.length) ? EMPTY : Arrays.copyOfRange(key, d, key.length));
+        leaf.terminal = true;
+        target = leaf;
+        isNew = true;
+        return leaf;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public V put(String key, V value) {
+        if (value == null)
+            return null;
+        slot(bytes(key));
+        V old = (V) target.value;
+        target.value = value;
+        return old;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public V merge(String key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        byte[] b = bytes(key);
+        if (value == null || remappingFunction == null)
+            throw new NullPointerException();
+        slot(b);
+        if (isNew) {
+            target.value = value;
+            return value;
+        }
+        V updated = remappingFunction.apply((V) target.value, value);
+        if (updated == null)
+            remove(key);
+        else
+            target.value = updated;
+        return updated;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The key is inserted before the function runs, so the function must not
+     * modify this map. If it returns {@code null} or throws, the key is
+     * removed again.
+     *
+     * @throws NullPointerException if {@code key} is {@code null}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public V computeIfAbsent(String key, Function<? super String, ? extends V> mappingFunction) {
+        byte[] b = bytes(key);
+        if (mappingFunction == null)
+            throw new NullPointerException();
+        slot(b);
+        if (!isNew)
+            return (V) target.value;
+        V value = null;
+        try {
+            value = mappingFunction.apply(key);
+        } finally {
+            if (value == null)
+                remove(key);
+        }
+        target.value = value;
+        return value;
+    }
+
+    // Removal
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public V remove(String key) {
+        found = false;
+        removed = null;
+        root = remove(root, bytes(key), 0);
+        if (!found)
+            return null;
+        size--;
+        return (V) removed;
+    }
+
+    /**
+     * Remove {@code key[d..]} below {@code x} and return the node that takes
+     * {@code x}'s place: {@code null} if nothing is left, a merged node if
+     * only one path remains, or a smaller node.
+     */
+    private Node remove(Node x, byte[] key, int d) {
+        if (x == null)
+            return null;
+        int p = x.prefix.length;
+        if (matching(x.prefix, key, d) != p)
+            return x;
+        d += p;
+        if (d == key.length) {
+            if (!x.terminal)
+                return x;
+            found = true;
+            removed = x.value;
+            x.terminal = false;
+            x.value = null;
+            return compact(x);
+        }
+        byte b = key[d];
+        Node child = x.child(b);
+        if (child == null)
+            return x;
+        Node updated = remove(child, key, d + 1);
+        if (updated == child)
+            return x;
+        if (updated == null)
+            x.delete(b);
+        else
+            x.replace(b, updated);
+        return compact(x);
+    }
+
+    /**
+     * Restore the invariants after a removal below or at {@code x}: no node
+     * without a value has fewer than two children.
+     */
+    private Node compact(Node x) {
+        int count = x.count();
+        if (count == 0) {
+            if (!x.terminal)
+                return null;
+            return (x instanceof Leaf) ? x : new Leaf(x.prefix).takeHeader(x);
+        }
+        if (count == 1 && !x.terminal) {
+            // fold x into its only child
+            int pos = x.next(0);
+            Node child = x.childAt(pos);
+            byte[] merged = new byte[x.prefix.length + 1 + child.prefix.length];
+            System.arraycopy(x.prefix, 0, merged, 0, x.prefix.length);
+            merged[x.prefix.length] = x.keyAt(pos);
+            System.arraycopy(child.prefix, 0, merged, x.prefix.length + 1, child.prefix.length);
+            child.prefix = merged;
+            return child;
+        }
+        return x.shrink();
+    }
+
+    // Ordered traversal
+
+    /**
+     * Returns every entry whose key starts with {@code prefix}, in key order.
+     * Only the subtree below the prefix is visited.
+     *
+     * @param prefix the prefix of the keys to return
+     * @return the matching entries
+     */
+    public ArrayList<MapSet.KeyValuePair<String, V>> prefixEntries(String prefix) {
+        ArrayList<MapSet.KeyValuePair<String, V>> out = new ArrayList<>();
+        byte[] q = bytes(prefix);
+        Node x = root;
+        int d = 0;
+        while (x != null) {
+            int m = matching(x.prefix, q, d);
+            if (d + m == q.length) {
+                // the rest of the query lies within x's prefix: all of x matches
+                byte[] path = new byte[d + x.prefix.length];
+                System.arraycopy(q, 0, path, 0, d);
+                System.arraycopy(x.prefix, 0, path, d, x.prefix.length);
+                Iterator<MapSet.KeyValuePair<String, V>> it = new EntryIterator(x, path);
+                while (it.hasNext())
+                    out.add(it.next());
+                return out;
+            }
+            if (m != x.prefix.length)
+                return out;
+            d += m;
+            x = x.child(q[d++]);
+        }
+        return out;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Entries are visited in key order.
+     */
+    @Override
+    public Iterable<MapSet.KeyValuePair<String, V>> entries() {
+        return () -> (root == null) ? new EntryIterator(null, EMPTY) : new EntryIterator(root, root.prefix);
+    }
+
+    /**
+     * Pre-order iterator: a node's own key comes before its children's,
+     * which are visited in byte order. Each stack frame remembers the key
+     * bytes up to and including the node's prefix and the next child
+     * position to descend into.
+     */
+    private class EntryIterator implements Iterator<MapSet.KeyValuePair<String, V>> {
+        private final ArrayDeque<Frame> stack = new ArrayDeque<>();
+        private MapSet.KeyValuePair<String, V> next;
+
+        private class Frame {
+            final Node node;
+            final byte[] key;
+            int pos = 0;
+            boolean visited = false;
+
+            Frame(Node node, byte[] key) {
+                this.node = node;
+                this.key = key;
+            }
+        }
+
+        EntryIterator(Node start, byte[] key) {
+            if (start != null)
+                stack.push(new Frame(start, key));
+            advance();
+        }
+
+        @SuppressWarnings("unchecked")
+        private void advance() {
+            next = null;
+            while (!stack.isEmpty()) {
+                Frame f = stack.peek();
+                if (!f.visited) {
+                    f.visited = true;
+                    if (f.node.terminal) {
+                        next = new KeyValuePair<>(new String(f.key, StandardCharsets.UTF_8), (V) f.node.value);
+                        return;
+                    }
+                }
+                int pos = f.node.next(f.pos);
+                if (pos < 0) {
+                    stack.pop();
+                    continue;
+                }
+                f.pos = pos + 1;
+                Node child = f.node.childAt(pos);
+                byte[] key = new byte[f.key.length + 1 + child.prefix.length];
+                System.arraycopy(f.key, 0, key, 0, f.key.length);
+                key[f.key.length] = f.node.keyAt(pos);
+                System.arraycopy(child.prefix, 0, key, f.key.length + 1, child.prefix.length);
+                stack.push(new Frame(child, key));
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public MapSet.KeyValuePair<String, V> next() {
+            if (next == null)
+                throw new NoSuchElementException();
+            MapSet.KeyValuePair<String, V> kv = next;
+            advance();
+            return kv;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Keys are returned in order.
+     */
+    @Override
+    public ArrayList<String> keySet() {
+        ArrayList<String> out = new ArrayList<>(size);
+        for (MapSet.KeyValuePair<String, V> kv : entries())
+            out.add(kv.getKey());
+        return out;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Values are returned in the order of their keys.
+     */
+    @Override
+    public ArrayList<V> values() {
+        ArrayList<V> out = new ArrayList<>(size);
+        for (MapSet.KeyValuePair<String, V> kv : entries())
+            out.add(kv.getValue());
+        return out;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Entries are returned in key order; they are copies.
+     */
+    @Override
+    public ArrayList<MapSet.KeyValuePair<String, V>> entrySet() {
+        ArrayList<MapSet.KeyValuePair<String, V>> out = new ArrayList<>(size);
+        for (MapSet.KeyValuePair<String, V> kv : entries())
+            out.add(kv);
+        return out;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear() {
+        root = null;
+        size = 0;
+    }
+
+    /**
+     * Returns the number of nodes on the longest path from the root. Each
+     * node consumes its whole compressed prefix, so this is at most the
+     * length in bytes of the longest key plus one.
+     *
+     * @return the height of the tree, 0 when empty
+     */
+    @Override
+    public int maxDepth() {
+        return depth(root);
+    }
+
+    private int depth(Node x) {
+        if (x == null)
+            return 0;
+        int max = 0;
+        for (int pos = x.next(0); pos >= 0; pos = x.next(pos + 1))
+            max = Math.max(max, depth(x.childAt(pos)));
+        return max + 1;
+    }
+
+    /**
+     * Returns how many nodes of each size the tree holds: leaves, 4-, 16-,
+     * 48- and 256-child nodes.
+     *
+     * @return counts indexed in that order
+     */
+    public int[] nodeCounts() {
+        int[] counts = new int[5];
+        countNodes(root, counts);
+        return counts;
+    }
+
+    private void countNodes(Node x, int[] counts) {
+        if (x == null)
+            return;
+        if (x instanceof Leaf)
+            counts[0]++;
+        else if (x instanceof Node48)
+            counts[3]++;
+        else if (x instanceof Node256)
+            counts[4]++;
+        else
+            counts[(((SortedNode) x).keys.length == 4) ? 1 : 2]++;
+        for (int pos = x.next(0); pos >= 0; pos = x.next(pos + 1))
+            countNodes(x.childAt(pos), counts);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        for (MapSet.KeyValuePair<String, V> kv : entries()) {
+            if (sb.length() > 1)
+                sb.append(", ");
+            sb.append(kv.getKey()).append('=').append(kv.getValue());
+        }
+        return sb.append('}').toString();
+    }
+}
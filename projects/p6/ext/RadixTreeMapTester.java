@@ -0,0 +1,115 @@
+/*
+ * file name: RadixTreeMapTester.java
+ * author: Jack Dai
+ * last modified: 10/17/2026
+ * purpose of the class: tester for RadixTreeMap.java
+ */
+
+import java.util.ArrayList;
+
+public class RadixTreeMapTester {
+
+    public static void testPutGetOrder() {
+        System.out.println("-".repeat(30) + "\nRadixTreeMap Put/Get/Order Test:");
+        RadixTreeMap<Integer> m = new RadixTreeMap<>();
+        String[] words = { "the", "then", "there", "thee", "a", "an", "and", "", "zebra" };
+        for (int i = 0; i < words.length; i++) {
+            m.put(words[i], i);
+        }
+        m.increment("then", 10);
+        System.out.println("size: " + m.size() + " expected: 9");
+        System.out.println("get(then): " + m.get("then") + " expected: 11");
+        System.out.println("get(th): " + m.get("th") + " expected: null");
+        System.out.println("get(empty): " + m.get("") + " expected: 7");
+        System.out.println("keySet: " + m.keySet());
+        System.out.println("expected: [, a, an, and, the, thee, then, there, zebra]");
+        System.out.println("-".repeat(30));
+    }
+
+    public static void testPrefixAndRemove() {
+        System.out.println("-".repeat(30) + "\nRadixTreeMap Prefix/Remove Test:");
+        RadixTreeMap<Integer> m = new RadixTreeMap<>();
+        // 300 keys under one byte force the node through every size
+        for (int i = 0; i < 300; i++) {
+            m.put("k" + (char) i, i);
+        }
+        ArrayList<MapSet.KeyValuePair<String, Integer>> th = m.prefixEntries("k");
+        System.out.println("prefixEntries(k): " + th.size() + " expected: 300");
+        System.out.println("prefixEntries(x): " + m.prefixEntries("x").size() + " expected: 0");
+        boolean ok = true;
+        for (int i = 0; i < 300; i += 2) {
+            ok &= m.remove("k" + (char) i) == i;
+        }
+        for (int i = 0; i < 300; i++) {
+            Integer v = m.get("k" + (char) i);
+            ok &= (i % 2 == 0) ? v == null : v == i;
+        }
+        System.out.println("size: " + m.size() + " expected: 150");
+        System.out.println("all lookups correct after removes: " + ok + " expected: true");
+        for (int i = 1; i < 300; i += 2) {
+            m.remove("k" + (char) i);
+        }
+        System.out.println("maxDepth after removing all: " + m.maxDepth() + " expected: 0");
+        System.out.println("-".repeat(30));
+    }
+
+    public static void testComputeIfAbsent() {
+        System.out.println("-".repeat(30) + "\nRadixTreeMap computeIfAbsent Test:");
+        RadixTreeMap<Integer> m = new RadixTreeMap<>();
+        int[] calls = new int[1];
+        String[] words = { "the", "then", "there", "th", "thee", "a", "th", "then" };
+        for (String w : words) {
+            // "th" and "thee" compute null: the first ends inside the path of
+            // "the", the second below it, and neither may be left behind
+            m.computeIfAbsent(w, k -> {
+                calls[0]++;
+                return (k.equals("th") || k.equals("thee")) ? null : k.length();
+            });
+        }
+        System.out.println("function calls: " + calls[0] + " expected: 7");
+        System.out.println("computeIfAbsent(then) keeps: " + m.computeIfAbsent("then", k -> -1) + " expected: 4");
+        System.out.println("computeIfAbsent(th) with null: " + m.computeIfAbsent("th", k -> null) + " expected: null");
+        System.out.println("size: " + m.size() + " expected: 4");
+        System.out.println("keySet: " + m.keySet());
+        System.out.println("expected: [a, the, then, there]");
+        System.out.println("get(the): " + m.get("the") + " expected: 3");
+        System.out.println("computeIfAbsent(null, f) throws: " + throwsNPE(() -> m.computeIfAbsent(null, k -> 1))
+                + " expected: true");
+        System.out.println("-".repeat(30));
+    }
+
+    public static void testNulls() {
+        System.out.println("-".repeat(30) + "\nRadixTreeMap Null Test:");
+        RadixTreeMap<Integer> m = new RadixTreeMap<>();
+        System.out.println("put(x, null): " + m.put("x", null) + " expected: null");
+        System.out.println("size: " + m.size() + " expected: 0");
+        System.out.println("containsKey(x): " + m.containsKey("x") + " expected: false");
+        System.out.println("put(null, 1) throws: " + throwsNPE(() -> m.put(null, 1)) + " expected: true");
+        System.out.println("merge(null, 1, sum) throws: " + throwsNPE(() -> m.merge(null, 1, Integer::sum))
+                + " expected: true");
+        System.out.println("merge(x, null, sum) throws: " + throwsNPE(() -> m.merge("x", null, Integer::sum))
+                + " expected: true");
+        System.out.println("merge(x, 1, null) throws: " + throwsNPE(() -> m.merge("x", 1, null)) + " expected: true");
+        System.out.println("size: " + m.size() + " expected: 0");
+        System.out.println("-".repeat(30));
+    }
+
+    /**
+     * Returns whether running {@code body} throws a NullPointerException.
+     */
+    private static boolean throwsNPE(Runnable body) {
+        try {
+            body.run();
+            return false;
+        } catch (NullPointerException e) {
+            return true;
+        }
+    }
+
+    public static void main(String[] args) {
+        testPutGetOrder();
+        testPrefixAndRemove();
+        testComputeIfAbsent();
+        testNulls();
+    }
+}
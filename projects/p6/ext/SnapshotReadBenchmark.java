@@ -0,0 +1,128 @@
+/*
+ * file name: SnapshotReadBenchmark.java
+ * author: Jack Dai
+ * last modified: 10/17/2026
+ * purpose of the class: Compares lookup throughput of PersistentAVLMap with
+ *                     a lock-guarded AVLMap while one writer thread keeps
+ *                     counting new words into the same map.
+ *
+ * How to run:     java SnapshotReadBenchmark [words file] [milliseconds per run]
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+public class SnapshotReadBenchmark {
+
+    private static volatile int sink;
+
+    /**
+     * Throughput of one run, in operations per second.
+     */
+    private static class Result {
+        private final double readsPerSec;
+        private final double writesPerSec;
+
+        Result(double readsPerSec, double writesPerSec) {
+            this.readsPerSec = readsPerSec;
+            this.writesPerSec = writesPerSec;
+        }
+    }
+
+    /**
+     * Count the first half of {@code words} into {@code map}, then for
+     * {@code millis} milliseconds have {@code readers} threads look words up
+     * while one writer thread counts the second half of {@code words} over
+     * and over.
+     *
+     * @param map     the shared map
+     * @param words   the words to look up and count
+     * @param readers number of reader threads
+     * @param writer  whether to run the writer thread
+     * @param millis  length of the measured interval
+     * @return reader and writer throughput
+     */
+    public static Result run(MapSet<String, Integer> map, ArrayList<String> words, int readers, boolean writer,
+            long millis) throws InterruptedException {
+        int n = words.size();
+        int half = n / 2;
+        for (int i = 0; i < half; i++)
+            map.increment(words.get(i), 1);
+
+        AtomicBoolean stop = new AtomicBoolean();
+        long[] reads = new long[readers];
+        long[] writes = new long[1];
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < readers; t++) {
+            int id = t;
+            int offset = (int) ((long) n * t / readers);
+            threads.add(new Thread(() -> {
+                long count = 0;
+                int hits = 0;
+                for (int i = offset; !stop.get(); i = (i + 1 == n) ? 0 : i + 1) {
+                    if (map.get(words.get(i)) != null)
+                        hits++;
+                    count++;
+                }
+                reads[id] = count;
+                sink = hits; // keep the lookups live
+            }));
+        }
+        if (writer) {
+            threads.add(new Thread(() -> {
+                long count = 0;
+                for (int i = half; !stop.get(); i = (i + 1 == n) ? half : i + 1) {
+                    map.increment(words.get(i), 1);
+                    count++;
+                }
+                writes[0] = count;
+            }));
+        }
+
+        long start = System.nanoTime();
+        for (Thread th : threads)
+            th.start();
+        Thread.sleep(millis);
+        stop.set(true);
+        for (Thread th : threads)
+            th.join();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        long totalReads = 0;
+        for (long r : reads)
+            totalReads += r;
+        return new Result(totalReads / seconds, writes[0] / seconds);
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        String filename = (args.length > 0) ? args[0] : "CLEANED_shakespeare.txt";
+        long millis = (args.length > 1) ? Long.parseLong(args[1]) : 1000;
+        ArrayList<String> words = Experiments.readWords(filename);
+        if (words.size() < 2) {
+            System.out.println("No words read from " + filename);
+            return;
+        }
+
+        String[] names = { "PersistentAVLMap", "synchronized AVLMap" };
+        List<Supplier<MapSet<String, Integer>>> factories = List.of(
+                PersistentAVLMap::new,
+                () -> new SynchronizedMapSet<>(new AVLMap<String, Integer>()));
+
+        int maxReaders = Math.max(4, Runtime.getRuntime().availableProcessors());
+        System.out.println("Lookups of " + filename + " words for " + millis + " ms per run ("
+                + Runtime.getRuntime().availableProcessors() + " processors)");
+        for (int readers = 1; readers <= maxReaders; readers *= 2) {
+            for (boolean writer : new boolean[] { false, true }) {
+                for (int i = 0; i < names.length; i++) {
+                    // one short warmup run
+                    run(factories.get(i).get(), words, readers, writer, millis / 4);
+                    Result r = run(factories.get(i).get(), words, readers, writer, millis);
+                    System.out.println(String.format("  %2d readers %-9s %-20s %8.2f M lookups/s %8.2f M increments/s",
+                            readers, writer ? "+ writer" : "", names[i], r.readsPerSec / 1e6, r.writesPerSec / 1e6));
+                }
+            }
+        }
+    }
+}
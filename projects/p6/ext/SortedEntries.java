@@ -0,0 +1,98 @@
+/*
+ * file name: SortedEntries.java
+ * author: Jack Dai
+ * last modified: 10/17/2026
+ * purpose of the class: The sorted-sequence half of the linear-time bulk
+ *                     loading and merging shared by BSTMap and AVLMap
+ */
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.function.BiFunction;
+
+/**
+ * Helpers that turn entries into a list of tree nodes in key order. Each tree
+ * then links the list into a balanced tree itself, because only it knows its
+ * node type and any bookkeeping (such as heights) the nodes need.
+ */
+final class SortedEntries {
+
+    private SortedEntries() {
+    }
+
+    /**
+     * Create a node for every entry of {@code sorted}, checking that the keys
+     * are strictly ascending.
+     *
+     * @param sorted     entries in strictly ascending key order
+     * @param comparator the order of the keys
+     * @param newNode    creates a node from a key and a value
+     * @return the new nodes, in key order
+     * @throws IllegalArgumentException if the keys are not strictly ascending
+     */
+    static <K, V> ArrayList<MapSet.KeyValuePair<K, V>> collect(Iterator<? extends MapSet.KeyValuePair<K, V>> sorted,
+            Comparator<K> comparator, BiFunction<K, V, ? extends MapSet.KeyValuePair<K, V>> newNode) {
+        ArrayList<MapSet.KeyValuePair<K, V>> nodes = new ArrayList<>();
+        while (sorted.hasNext()) {
+            MapSet.KeyValuePair<K, V> kv = sorted.next();
+            if (!nodes.isEmpty() && comparator.compare(nodes.get(nodes.size() - 1).getKey(), kv.getKey()) >= 0)
+                throw new IllegalArgumentException("Keys are not in strictly ascending order at " + kv.getKey());
+            nodes.add(newNode.apply(kv.getKey(), kv.getValue()));
+        }
+        return nodes;
+    }
+
+    /**
+     * Merge a tree's own nodes with the entries of {@code other}. Nodes of
+     * keys present in both are reused with the remapped value, or dropped if
+     * it is {@code null}; keys only in {@code other} get new nodes. Both are
+     * walked in key order, so this costs O(n + m) when {@code other} iterates
+     * in key order, as the tree maps do; other maps are sorted first.
+     *
+     * @param mine              the tree's nodes in key order; the iterator
+     *                          must be done with a node once it has returned it
+     * @param size              the number of nodes in {@code mine}
+     * @param other             the entries to add
+     * @param comparator        the order of the keys
+     * @param remappingFunction combines a node's value with {@code other}'s
+     * @param newNode           creates a node from a key and a value
+     * @return the merged nodes, in key order
+     */
+    static <K, V> ArrayList<MapSet.KeyValuePair<K, V>> merge(Iterator<? extends MapSet.KeyValuePair<K, V>> mine,
+            int size, MapSet<K, V> other, Comparator<K> comparator,
+            BiFunction<? super V, ? super V, ? extends V> remappingFunction,
+            BiFunction<K, V, ? extends MapSet.KeyValuePair<K, V>> newNode) {
+        ArrayList<MapSet.KeyValuePair<K, V>> theirs = other.entrySet();
+        for (int i = 1; i < theirs.size(); i++) {
+            if (comparator.compare(theirs.get(i - 1).getKey(), theirs.get(i).getKey()) > 0) {
+                theirs.sort((a, b) -> comparator.compare(a.getKey(), b.getKey()));
+                break;
+            }
+        }
+
+        ArrayList<MapSet.KeyValuePair<K, V>> merged = new ArrayList<>(size + theirs.size());
+        MapSet.KeyValuePair<K, V> a = mine.hasNext() ? mine.next() : null;
+        int j = 0;
+        while (a != null || j < theirs.size()) {
+            MapSet.KeyValuePair<K, V> b = (j < theirs.size()) ? theirs.get(j) : null;
+            int cmp = (a == null) ? 1 : (b == null) ? -1 : comparator.compare(a.getKey(), b.getKey());
+            if (cmp < 0) {
+                merged.add(a);
+                a = mine.hasNext() ? mine.next() : null;
+            } else if (cmp > 0) {
+                merged.add(newNode.apply(b.getKey(), b.getValue()));
+                j++;
+            } else {
+                V value = remappingFunction.apply(a.getValue(), b.getValue());
+                if (value != null) {
+                    a.setValue(value);
+                    merged.add(a);
+                }
+                a = mine.hasNext() ? mine.next() : null;
+                j++;
+            }
+        }
+        return merged;
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * file name: SynchronizedMapSet.java
+ * author: Jack Dai
+ * last modified: 10/17/2026
+ * purpose of the class: Makes any MapSet thread-safe by guarding every
+ *                     method with a single lock
+ */
+
+import java.util.ArrayList;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * A thread-safe wrapper around another MapSet. Every method synchronizes on
+ * this wrapper and then delegates, so all operations are serialized. This is
+ * the simplest way to share one of the single-threaded maps and serves as
+ * the baseline for {@link ConcurrentHashMapSet}.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+public class SynchronizedMapSet<K, V> implements MapSet<K, V> {
+
+    private final MapSet<K, V> map;
+
+    /**
+     * Wrap a map. The wrapped map must not be used directly afterwards.
+     *
+     * @param map the map to guard
+     */
+    public SynchronizedMapSet(MapSet<K, V> map) {
+        this.map = map;
+    }
+
+    @Override
+    public synchronized V put(K key, V value) {
+        return map.put(key, value);
+    }
+
+    @Override
+    public synchronized boolean containsKey(K key) {
+        return map.containsKey(key);
+    }
+
+    @Override
+    public synchronized V get(K key) {
+        return map.get(key);
+    }
+
+    @Override
+    public synchronized V remove(K key) {
+        return map.remove(key);
+    }
+
+    @Override
+    public synchronized V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        return map.merge(key, value, remappingFunction);
+    }
+
+    @Override
+    public synchronized V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        return map.computeIfAbsent(key, mappingFunction);
+    }
+
+    @Override
+    public synchronized int increment(K key, int delta) {
+        return map.increment(key, delta);
+    }
+
+    @Override
+    public synchronized ArrayList<K> keySet() {
+        return map.keySet();
+    }
+
+    @Override
+    public synchronized ArrayList<V> values() {
+        return map.values();
+    }
+
+    @Override
+    public synchronized ArrayList<KeyValuePair<K, V>> entrySet() {
+        return map.entrySet();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * An iterator cannot hold the lock between calls, so each iterator walks
+     * a copy of the entries taken under the lock when it is created.
+     */
+    @Override
+    public Iterable<KeyValuePair<K, V>> entries() {
+        return () -> entrySet().iterator();
+    }
+
+    @Override
+    public synchronized void forEachEntry(BiConsumer<? super K, ? super V> action) {
+        map.forEachEntry(action);
+    }
+
+    @Override
+    public synchronized int size() {
+        return map.size();
+    }
+
+    @Override
+    public synchronized void clear() {
+        map.clear();
+    }
+
+    @Override
+    public synchronized int maxDepth() {
+        return map.maxDepth();
+    }
+
+    @Override
+    public synchronized MapStats enableStats() {
+        return map.enableStats();
+    }
+
+    @Override
+    public synchronized void disableStats() {
+        map.disableStats();
+    }
+
+    @Override
+    public synchronized MapStats stats() {
+        return map.stats();
+    }
+
+    @Override
+    public synchronized String toString() {
+        return map.toString();
+    }
+}
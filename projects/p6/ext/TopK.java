@@ -0,0 +1,165 @@
+/*
+ * file name: TopK.java
+ * author: Jack Dai
+ * last modified: 10/17/2026
+ * purpose of the class: Streaming top-K selection over MapSet entries using
+ *                     a bounded min-heap
+ */
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Utility for extracting the {@code k} largest entries of a MapSet by value
+ * in a single pass. A min-heap holds the best {@code k} entries seen so far;
+ * each further entry is compared only with the heap's minimum, so the pass
+ * costs O(u log k) time and O(k) extra memory for a map of u entries,
+ * compared with O(u log u) time and O(u) memory for copying and sorting.
+ *
+ * The parallel variant scans several disjoint maps (for example the shards of
+ * a partitioned table) on fork/join workers and merges their heaps.
+ */
+public class TopK {
+
+    private TopK() {
+    }
+
+    /**
+     * Returns the {@code k} entries of {@code map} with the largest values, in
+     * descending order of value.
+     *
+     * @param map   the map to scan
+     * @param k     number of entries to return
+     * @param order ordering of the values
+     * @return at most {@code k} entries, largest first
+     */
+    public static <K, V> ArrayList<MapSet.KeyValuePair<K, V>> topK(MapSet<K, V> map, int k,
+            Comparator<? super V> order) {
+        return drain(scan(map, k, order), order);
+    }
+
+    /**
+     * Returns the {@code k} entries of {@code map} with the largest values in
+     * their natural order, largest first.
+     *
+     * @param map the map to scan
+     * @param k   number of entries to return
+     * @return at most {@code k} entries, largest first
+     */
+    public static <K, V extends Comparable<? super V>> ArrayList<MapSet.KeyValuePair<K, V>> topK(
+            MapSet<K, V> map, int k) {
+        return topK(map, k, Comparator.naturalOrder());
+    }
+
+    /**
+     * Returns the {@code k} entries with the largest values across several
+     * maps whose key sets are disjoint. Each map is scanned into its own heap
+     * on a fork/join worker and the heaps are merged pairwise.
+     *
+     * @param shards  maps with disjoint key sets
+     * @param k       number of entries to return
+     * @param order   ordering of the values
+     * @param threads number of fork/join workers
+     * @return at most {@code k} entries, largest first
+     */
+    public static <K, V> ArrayList<MapSet.KeyValuePair<K, V>> parallelTopK(
+            List<? extends MapSet<K, V>> shards, int k, Comparator<? super V> order, int threads) {
+        if (shards.isEmpty())
+            return new ArrayList<>();
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            return drain(pool.invoke(new ScanTask<>(shards, 0, shards.size(), k, order)), order);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Fill a min-heap of at most {@code k} entries with the best entries of
+     * {@code map}.
+     */
+    private static <K, V> PriorityQueue<MapSet.KeyValuePair<K, V>> scan(MapSet<K, V> map, int k,
+            Comparator<? super V> order) {
+        PriorityQueue<MapSet.KeyValuePair<K, V>> heap = newHeap(k, order);
+        if (k <= 0)
+            return heap;
+        for (MapSet.KeyValuePair<K, V> kv : map.entries())
+            offer(heap, kv, k, order);
+        return heap;
+    }
+
+    /**
+     * Create an empty min-heap ordered by value.
+     */
+    private static <K, V> PriorityQueue<MapSet.KeyValuePair<K, V>> newHeap(int k, Comparator<? super V> order) {
+        return new PriorityQueue<>(Math.max(1, k + 1), (a, b) -> order.compare(a.getValue(), b.getValue()));
+    }
+
+    /**
+     * Add {@code kv} to the heap if it is among the best {@code k} so far.
+     */
+    private static <K, V> void offer(PriorityQueue<MapSet.KeyValuePair<K, V>> heap, MapSet.KeyValuePair<K, V> kv,
+            int k, Comparator<? super V> order) {
+        if (heap.size() < k) {
+            heap.add(kv);
+        } else if (order.compare(kv.getValue(), heap.peek().getValue()) > 0) {
+            heap.poll();
+            heap.add(kv);
+        }
+    }
+
+    /**
+     * Empty the heap into a list ordered largest first.
+     */
+    private static <K, V> ArrayList<MapSet.KeyValuePair<K, V>> drain(PriorityQueue<MapSet.KeyValuePair<K, V>> heap,
+            Comparator<? super V> order) {
+        ArrayList<MapSet.KeyValuePair<K, V>> out = new ArrayList<>(heap.size());
+        while (!heap.isEmpty())
+            out.add(heap.poll());
+        // polled smallest first
+        for (int i = 0, j = out.size() - 1; i < j; i++, j--) {
+            MapSet.KeyValuePair<K, V> tmp = out.get(i);
+            out.set(i, out.get(j));
+            out.set(j, tmp);
+        }
+        return out;
+    }
+
+    /**
+     * Scans shards {@code [lo, hi)} and merges the two halves' heaps.
+     */
+    private static class ScanTask<K, V> extends RecursiveTask<PriorityQueue<MapSet.KeyValuePair<K, V>>> {
+        private static final long serialVersionUID = 1L;
+
+        private final List<? extends MapSet<K, V>> shards;
+        private final int lo;
+        private final int hi;
+        private final int k;
+        private final Comparator<? super V> order;
+
+        ScanTask(List<? extends MapSet<K, V>> shards, int lo, int hi, int k, Comparator<? super V> order) {
+            this.shards = shards;
+            this.lo = lo;
+            this.hi = hi;
+            this.k = k;
+            this.order = order;
+        }
+
+        @Override
+        protected PriorityQueue<MapSet.KeyValuePair<K, V>> compute() {
+            if (hi - lo == 1)
+                return scan(shards.get(lo), k, order);
+            int mid = (lo + hi) >>> 1;
+            ScanTask<K, V> left = new ScanTask<>(shards, lo, mid, k, order);
+            left.fork();
+            PriorityQueue<MapSet.KeyValuePair<K, V>> heap = new ScanTask<>(shards, mid, hi, k, order).compute();
+            for (MapSet.KeyValuePair<K, V> kv : left.join())
+                offer(heap, kv, k, order);
+            return heap;
+        }
+    }
+}
@@ -0,0 +1,238 @@
+/*
+ * file name: WordCountSnapshot.java
+ * author: Jack Dai
+ * last modified: 10/17/2026
+ * purpose of the class: Writes word counts to a compact binary file and
+ *                     answers count queries from a memory-mapped view of it.
+ */
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+
+/**
+ * A read-only snapshot of word counts. The file holds, in big-endian order:
+ *
+ * <pre>
+ *   int   magic           "WCS1"
+ *   int   n               number of words
+ *   long  total           total word count of the text
+ *   int   counts[n]       count of each word
+ *   int   offsets[n + 1]  start of each word in the string table
+ *   byte  strings[]       the UTF-8 bytes of every word, back to back
+ * </pre>
+ *
+ * Words are sorted by their unsigned UTF-8 bytes, so a lookup encodes the
+ * query once and binary searches the string table comparing raw bytes.
+ * Opening a snapshot maps the file and reads only the header; pages are
+ * brought in by the operating system as lookups touch them, so nothing but
+ * this small object lives on the heap.
+ */
+public class WordCountSnapshot {
+
+    private static final int MAGIC = 0x57435331; // "WCS1"
+    private static final int HEADER_BYTES = 16;
+
+    private final ByteBuffer buf;
+    private final int n;
+    private final long total;
+    private final int offsetsAt;
+    private final int stringsAt;
+
+    private WordCountSnapshot(ByteBuffer buf) throws IOException {
+        this.buf = buf;
+        if (buf.capacity() < HEADER_BYTES || buf.getInt(0) != MAGIC)
+            throw new IOException("Not a word count snapshot");
+        this.n = buf.getInt(4);
+        this.total = buf.getLong(8);
+        if (n < 0 || HEADER_BYTES + 8L * n + 4 > buf.capacity())
+            throw new IOException("Truncated or corrupt word count snapshot");
+        this.offsetsAt = HEADER_BYTES + 4 * n;
+        this.stringsAt = offsetsAt + 4 * (n + 1);
+        if (stringsAt + offset(n) != buf.capacity())
+            throw new IOException("Truncated or corrupt word count snapshot");
+    }
+
+    /**
+     * Write the entries of {@code map} as a snapshot.
+     *
+     * @param map        word counts to write
+     * @param totalWords total word count of the text the map was built from
+     * @param filename   path of the snapshot file
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(MapSet<String, Integer> map, long totalWords, String filename) throws IOException {
+        ArrayList<byte[]> words = new ArrayList<>(map.size());
+        ArrayList<Integer> counts = new ArrayList<>(map.size());
+        map.forEachEntry((word, count) -> {
+            words.add(word.getBytes(StandardCharsets.UTF_8));
+            counts.add(count);
+        });
+
+        Integer[] order = new Integer[words.size()];
+        long stringBytes = 0;
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+            stringBytes += words.get(i).length;
+        }
+        if (HEADER_BYTES + 8L * order.length + 4 + stringBytes > Integer.MAX_VALUE)
+            throw new IOException("Snapshot would exceed 2 GB");
+        Arrays.sort(order, (a, b) -> Arrays.compareUnsigned(words.get(a), words.get(b)));
+
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(filename), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(order.length);
+            out.writeLong(totalWords);
+            for (int i : order)
+                out.writeInt(counts.get(i));
+            int offset = 0;
+            for (int i : order) {
+                out.writeInt(offset);
+                offset += words.get(i).length;
+            }
+            out.writeInt(offset);
+            for (int i : order)
+                out.write(words.get(i));
+        }
+    }
+
+    /**
+     * Open a snapshot by memory-mapping it.
+     *
+     * @param filename path of the snapshot file
+     * @return the snapshot
+     * @throws IOException if the file cannot be mapped or is not a snapshot
+     */
+    public static WordCountSnapshot open(String filename) throws IOException {
+        try (FileChannel ch = FileChannel.open(Paths.get(filename), StandardOpenOption.READ)) {
+            if (ch.size() > Integer.MAX_VALUE)
+                throw new IOException("Snapshot larger than 2 GB: " + filename);
+            // the mapping stays valid after the channel is closed
+            return new WordCountSnapshot(ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size()));
+        }
+    }
+
+    /**
+     * Returns the number of distinct words.
+     *
+     * @return the number of words in the snapshot
+     */
+    public int size() {
+        return n;
+    }
+
+    /**
+     * Returns the total word count of the text the snapshot was taken from.
+     *
+     * @return the total word count
+     */
+    public long totalWordCount() {
+        return total;
+    }
+
+    /**
+     * Returns the number of times {@code word} occurred, or 0.
+     *
+     * @param word the word to look up
+     * @return its count, or 0 if it is not in the snapshot
+     */
+    public int getCount(String word) {
+        int i = indexOf(word);
+        return (i >= 0) ? count(i) : 0;
+    }
+
+    /**
+     * Returns whether {@code word} is in the snapshot.
+     *
+     * @param word the word to look up
+     * @return {@code true} if the word occurred
+     */
+    public boolean containsKey(String word) {
+        return indexOf(word) >= 0;
+    }
+
+    /**
+     * Returns the word at position {@code i} of the sorted table.
+     *
+     * @param i an index in {@code [0, size())}
+     * @return the word
+     */
+    public String word(int i) {
+        int start = offset(i);
+        byte[] bytes = new byte[offset(i + 1) - start];
+        for (int b = 0; b < bytes.length; b++)
+            bytes[b] = buf.get(stringsAt + start + b);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the count of the word at position {@code i}.
+     *
+     * @param i an index in {@code [0, size())}
+     * @return the count
+     */
+    public int count(int i) {
+        return buf.getInt(HEADER_BYTES + 4 * i);
+    }
+
+    /**
+     * Call {@code action} for every word and its count in sorted order.
+     *
+     * @param action receives each word and count
+     */
+    public void forEachEntry(BiConsumer<String, Integer> action) {
+        for (int i = 0; i < n; i++)
+            action.accept(word(i), count(i));
+    }
+
+    /**
+     * Binary search the string table.
+     *
+     * @return the index of {@code word}, or -1
+     */
+    private int indexOf(String word) {
+        byte[] key = word.getBytes(StandardCharsets.UTF_8);
+        int lo = 0;
+        int hi = n - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int cmp = compareAt(mid, key);
+            if (cmp < 0)
+                lo = mid + 1;
+            else if (cmp > 0)
+                hi = mid - 1;
+            else
+                return mid;
+        }
+        return -1;
+    }
+
+    /**
+     * Compare the word at {@code i} with {@code key} as unsigned bytes.
+     */
+    private int compareAt(int i, byte[] key) {
+        int start = stringsAt + offset(i);
+        int len = stringsAt + offset(i + 1) - start;
+        int common = Math.min(len, key.length);
+        for (int b = 0; b < common; b++) {
+            int cmp = Byte.compareUnsigned(buf.get(start + b), key[b]);
+            if (cmp != 0)
+                return cmp;
+        }
+        return Integer.compare(len, key.length);
+    }
+
+    private int offset(int i) {
+        return buf.getInt(offsetsAt + 4 * i);
+    }
+}
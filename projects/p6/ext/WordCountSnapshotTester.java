@@ -0,0 +1,113 @@
+/*
+ * file name: WordCountSnapshotTester.java
+ * author: Jack Dai
+ * last modified: 10/17/2026
+ * purpose of the class: tester for WordCountSnapshot.java
+ */
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+public class WordCountSnapshotTester {
+
+    /**
+     * Returns whether opening {@code file} is rejected with an IOException.
+     */
+    private static boolean rejects(Path file) {
+        try {
+            WordCountSnapshot.open(file.toString());
+            return false;
+        } catch (IOException e) {
+            return true;
+        }
+    }
+
+    public static void testRoundTrip() throws IOException {
+        System.out.println("-".repeat(30) + "\nWordCountSnapshot Round Trip Test:");
+        HashMap<String, Integer> m = new HashMap<>();
+        String[] words = { "the", "then", "a", "zebra", "caf\u00e9", "\u65e5\u672c", "" };
+        for (int i = 0; i < words.length; i++)
+            m.put(words[i], i + 1);
+        Path file = Files.createTempFile("snapshot", ".wcs");
+        WordCountSnapshot.write(m, 1234, file.toString());
+        WordCountSnapshot s = WordCountSnapshot.open(file.toString());
+
+        System.out.println("size: " + s.size() + " expected: 7");
+        System.out.println("totalWordCount: " + s.totalWordCount() + " expected: 1234");
+        boolean ok = true;
+        for (int i = 0; i < words.length; i++)
+            ok &= s.getCount(words[i]) == i + 1 && s.containsKey(words[i]);
+        System.out.println("every word's count read back: " + ok + " expected: true");
+        System.out.println("getCount(then): " + s.getCount("then") + " expected: 2");
+        System.out.println("getCount(accented cafe): " + s.getCount("caf\u00e9") + " expected: 5");
+        System.out.println("getCount(cafe): " + s.getCount("cafe") + " expected: 0");
+        System.out.println("getCount(th): " + s.getCount("th") + " expected: 0");
+        System.out.println("getCount(zzz): " + s.getCount("zzz") + " expected: 0");
+        System.out.println("containsKey(thenx): " + s.containsKey("thenx") + " expected: false");
+
+        // words are ordered by their unsigned UTF-8 bytes, so the CJK word,
+        // whose bytes start at 0xe6, sorts after every ASCII letter
+        ArrayList<String> order = new ArrayList<>();
+        s.forEachEntry((w, c) -> order.add(w));
+        System.out.println("order: " + order.equals(Arrays.asList("", "a", "caf\u00e9", "the", "then", "zebra",
+                "\u65e5\u672c")) + " expected: true");
+        Files.delete(file);
+        System.out.println("-".repeat(30));
+    }
+
+    public static void testEmpty() throws IOException {
+        System.out.println("-".repeat(30) + "\nWordCountSnapshot Empty Test:");
+        Path file = Files.createTempFile("snapshot", ".wcs");
+        WordCountSnapshot.write(new HashMap<String, Integer>(), 0, file.toString());
+        WordCountSnapshot s = WordCountSnapshot.open(file.toString());
+        int[] visited = new int[1];
+        s.forEachEntry((w, c) -> visited[0]++);
+        System.out.println("file size: " + Files.size(file) + " expected: 20");
+        System.out.println("size: " + s.size() + " expected: 0");
+        System.out.println("getCount(a): " + s.getCount("a") + " expected: 0");
+        System.out.println("entries visited: " + visited[0] + " expected: 0");
+        Files.delete(file);
+        System.out.println("-".repeat(30));
+    }
+
+    public static void testRejectsBadFiles() throws IOException {
+        System.out.println("-".repeat(30) + "\nWordCountSnapshot Bad File Test:");
+        HashMap<String, Integer> m = new HashMap<>();
+        m.put("one", 1);
+        m.put("two", 2);
+        Path file = Files.createTempFile("snapshot", ".wcs");
+        WordCountSnapshot.write(m, 3, file.toString());
+        byte[] good = Files.readAllBytes(file);
+        System.out.println("intact file rejected: " + rejects(file) + " expected: false");
+
+        Files.write(file, Arrays.copyOf(good, good.length - 1));
+        System.out.println("missing last byte rejected: " + rejects(file) + " expected: true");
+        Files.write(file, Arrays.copyOf(good, good.length + 1));
+        System.out.println("extra byte rejected: " + rejects(file) + " expected: true");
+        Files.write(file, Arrays.copyOf(good, 10));
+        System.out.println("cut inside the header rejected: " + rejects(file) + " expected: true");
+        Files.write(file, new byte[0]);
+        System.out.println("empty file rejected: " + rejects(file) + " expected: true");
+
+        byte[] badMagic = good.clone();
+        badMagic[0] ^= 1;
+        Files.write(file, badMagic);
+        System.out.println("bad magic rejected: " + rejects(file) + " expected: true");
+
+        byte[] badCount = good.clone();
+        badCount[7] = 100; // claims 100 words
+        Files.write(file, badCount);
+        System.out.println("wrong word count rejected: " + rejects(file) + " expected: true");
+        Files.delete(file);
+        System.out.println("-".repeat(30));
+    }
+
+    public static void main(String[] args) throws IOException {
+        testRoundTrip();
+        testEmpty();
+        testRejectsBadFiles();
+    }
+}
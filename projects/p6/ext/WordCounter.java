@@ -1,7 +1,7 @@
 /*
 file name:      WordCounter.java
 Authors:        Ike Lage & Jack Dai
-last modified:  10/31/2025
+last modified:  10/17/2026
 
 How to run:     java WordCounter
 */
@@ -16,16 +16,62 @@ public class WordCounter {
 
     private MapSet<String, Integer> wordCounts;
     private int wordCount;
+    private String dataStructure;
 
-    // constructor, where data_structure is either "bst" or "hashmap"
+    // error bounds of the approximate "Sketch" data structure
+    private double sketchEpsilon = HeavyHitterSketch.DEFAULT_EPSILON;
+    private double sketchDelta = HeavyHitterSketch.DEFAULT_DELTA;
+    private int sketchCapacity = HeavyHitterSketch.DEFAULT_CAPACITY;
+
+    // constructor, where data_structure is "BST", "AVL", "BTree", "Radix",
+    // "OpenHash", "Arena", "HashMap" or "Sketch". "Sketch" counts approximately in fixed memory: getCount may
+    // overcount, uniqueWordCount is an estimate and only the most frequent
+    // words are written by writeWordCount.
     public WordCounter(String data_structure) {
-        if (data_structure.equals("BST")) {
-            wordCounts = new BSTMap<String, Integer>();
-        } else if (data_structure.equals("AVL")) {
-            wordCounts = new AVLMap<String, Integer>();
+        this.dataStructure = data_structure;
+        this.wordCounts = newMap();
+    }
+
+    // constructor for the "Sketch" data structure with explicit error bounds:
+    // with probability 1 - delta a count is overestimated by at most epsilon
+    // times the total word count, and the heavyHitters most frequent words are
+    // tracked individually.
+    public WordCounter(double epsilon, double delta, int heavyHitters) {
+        this.dataStructure = "Sketch";
+        this.sketchEpsilon = epsilon;
+        this.sketchDelta = delta;
+        this.sketchCapacity = heavyHitters;
+        this.wordCounts = newMap();
+    }
+
+    // create an empty map of the data structure chosen in the constructor
+    private MapSet<String, Integer> newMap() {
+        if (dataStructure.equals("Sketch")) {
+            return new HeavyHitterSketch<String>(sketchEpsilon, sketchDelta, sketchCapacity);
+        }
+        return newMap(dataStructure);
+    }
+
+    // create an empty map of the named data structure, any of those accepted
+    // by the constructor; "Sketch" uses the default error bounds.
+    public static MapSet<String, Integer> newMap(String dataStructure) {
+        if (dataStructure.equals("BST")) {
+            return new BSTMap<String, Integer>();
+        } else if (dataStructure.equals("AVL")) {
+            return new AVLMap<String, Integer>();
+        } else if (dataStructure.equals("BTree")) {
+            return new BTreeMap<String, Integer>();
+        } else if (dataStructure.equals("Radix")) {
+            return new RadixTreeMap<Integer>();
+        } else if (dataStructure.equals("OpenHash")) {
+            return new OpenHashMap<String>();
+        } else if (dataStructure.equals("Arena")) {
+            return new ArenaHashMap();
+        } else if (dataStructure.equals("Sketch")) {
+            return new HeavyHitterSketch<String>();
         } else {
-            assert data_structure.equals("HashMap") : "Invalid data structure";
-            wordCounts = new HashMap<String, Integer>();
+            assert dataStructure.equals("HashMap") : "Invalid data structure";
+            return new HashMap<String, Integer>();
         }
     }
 
@@ -78,19 +124,61 @@ public class WordCounter {
         long startTime = System.currentTimeMillis();
 
         for (String word : words) {
+            // one lookup per word instead of containsKey, get and put
+            this.wordCounts.increment(word, 1);
+        }
 
-            if (this.wordCounts.containsKey(word)) {
-                this.wordCounts.put(word, this.wordCounts.get(word) + 1);
+        long totalTime = System.currentTimeMillis() - startTime;
+        return totalTime;
+    }
+
+    // stream the words of a text file straight into the map data structure
+    // through a memory-mapped tokenizer, without building a list of words.
+    // Return the time taken in ms, or -1 if the file could not be read.
+    public double countFile(String filename) {
+
+        long startTime = System.currentTimeMillis();
+        this.wordCount = 0;
+
+        try {
+            this.wordCount = (int) MappedWordReader.countInto(filename, this.wordCounts);
+        } catch (IOException ex) {
+            System.out.println("WordCounter.countFile():: error reading file " + filename);
+            return -1;
+        }
+
+        long totalTime = System.currentTimeMillis() - startTime;
+        return totalTime;
+    }
+
+    // count the words of a text file on the given number of threads. Each
+    // thread counts a part of the file into its own map and the partial maps
+    // are merged into the map data structure. Return the time taken in ms, or
+    // -1 if the file could not be read.
+    public double countFileParallel(String filename, int threads) {
+
+        long startTime = System.currentTimeMillis();
+
+        try {
+            ParallelWordCounter pwc = new ParallelWordCounter(this::newMap, threads);
+            MapSet<String, Integer> counts = pwc.count(filename);
+            if (this.wordCounts.size() == 0) {
+                this.wordCounts = counts;
             } else {
-                this.wordCounts.put(word, 1);
+                ParallelWordCounter.mergeCounts(this.wordCounts, counts);
             }
+            this.wordCount = (int) pwc.totalWordCount();
+        } catch (IOException ex) {
+            System.out.println("WordCounter.countFileParallel():: error reading file " + filename);
+            return -1;
         }
 
         long totalTime = System.currentTimeMillis() - startTime;
         return totalTime;
     }
 
-    // return the total word count from the last time readWords was called.
+    // return the total word count from the last time readWords, countFile or
+    // countFileParallel was called.
     public int totalWordCount() {
         return this.wordCount;
     }
@@ -126,12 +214,11 @@ public class WordCounter {
         try {
             // assign to a variable of type FileReader a new FileReader object, passing
             // filename to the constructor
-            FileWriter fw = new FileWriter(filename);
+            BufferedWriter fw = new BufferedWriter(new FileWriter(filename));
             fw.write(Integer.toString(this.totalWordCount()) + "\n");
-            ArrayList<String> keys = this.wordCounts.keySet();
-            ArrayList<Integer> values = this.wordCounts.values();
-            for (int i = 0; i < keys.size(); i++) {
-                fw.write(keys.get(i) + " - " + Integer.toString(values.get(i)) + "\n");
+            // walk the map in place rather than copying its keys and values
+            for (MapSet.KeyValuePair<String, Integer> kv : this.wordCounts.entries()) {
+                fw.write(kv.getKey() + " - " + Integer.toString(kv.getValue()) + "\n");
             }
             fw.close();
             return true;
@@ -143,6 +230,69 @@ public class WordCounter {
         return false;
     }
 
+    // write the current word counts as a binary snapshot (see
+    // WordCountSnapshot), which can be queried by memory-mapping the file
+    // instead of reading it back into a map. Return true if it was written.
+    public boolean writeWordCountSnapshot(String filename) {
+        try {
+            WordCountSnapshot.write(this.wordCounts, this.totalWordCount(), filename);
+            return true;
+        } catch (IOException ex) {
+            System.out.println("WordCounter.writeWordCountSnapshot():: error writing file " + filename);
+        }
+        return false;
+    }
+
+    // read a word count file written by writeWordCount into the map data
+    // structure, replacing its contents. The tree maps are rebuilt balanced in
+    // linear time when the words are in sorted order, as writeWordCount writes
+    // them for the tree maps. Return true if the file was read.
+    public boolean readWordCount(String filename) {
+
+        try {
+            BufferedReader br = new BufferedReader(new FileReader(filename));
+            String line = br.readLine();
+            if (line == null) {
+                br.close();
+                return false;
+            }
+            int total = Integer.parseInt(line.trim());
+
+            ArrayList<MapSet.KeyValuePair<String, Integer>> entries = new ArrayList<>();
+            boolean sorted = true;
+            line = br.readLine();
+            while (line != null) {
+                int sep = line.lastIndexOf(" - ");
+                if (sep > 0) {
+                    String word = line.substring(0, sep);
+                    if (!entries.isEmpty() && entries.get(entries.size() - 1).getKey().compareTo(word) >= 0)
+                        sorted = false;
+                    entries.add(new MapSet.KeyValuePair<>(word, Integer.parseInt(line.substring(sep + 3).trim())));
+                }
+                line = br.readLine();
+            }
+            br.close();
+
+            if (sorted && dataStructure.equals("BST")) {
+                this.wordCounts = BSTMap.fromSorted(entries.iterator());
+            } else if (sorted && dataStructure.equals("AVL")) {
+                this.wordCounts = AVLMap.fromSorted(entries.iterator());
+            } else {
+                this.wordCounts = newMap();
+                for (MapSet.KeyValuePair<String, Integer> kv : entries) {
+                    this.wordCounts.increment(kv.getKey(), kv.getValue());
+                }
+            }
+            this.wordCount = total;
+            return true;
+        } catch (FileNotFoundException ex) {
+            System.out.println("WordCounter.readWordCount():: unable to open file " + filename);
+        } catch (IOException | NumberFormatException ex) {
+            System.out.println("WordCounter.readWordCount():: error reading file " + filename);
+        }
+        return false;
+    }
+
     public static void main(String[] args) {
         // Choose file for a specific year -- this is a sample for 2008
         String filename = "CLEANED_reddit_comments_2015.txt";
@@ -150,11 +300,8 @@ public class WordCounter {
         // Use the BST
         WordCounter wc = new WordCounter("BST");
 
-        // Get the words out of the file
-        ArrayList<String> words = wc.readWords(filename);
-
-        // Build the Map from the words
-        wc.buildMap(words);
+        // Stream the words of the file into the Map
+        wc.countFile(filename);
 
         // Write word counts to an output file
         wc.writeWordCount("output.txt");
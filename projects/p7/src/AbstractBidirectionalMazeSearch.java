@@ -0,0 +1,171 @@
+/*
+ * file name: AbstractBidirectionalMazeSearch.java
+ * author: Jack Dai
+ * last modified: 10/17/2026
+ * purpose of the class:
+ * Shared parts of the searches that grow one frontier from the start and one from the
+ * target until they meet. The forward tree uses the Maze's prev pointers and the
+ * distances of AbstractMazeSearch; the backward tree has its own arrays. When the
+ * search ends, the backward half of the best path is turned around, so that the prev
+ * pointers (and traceback) lead from the target back to the start as usual.
+ */
+
+import java.util.Arrays;
+
+public abstract class AbstractBidirectionalMazeSearch extends AbstractMazeSearch {
+
+    // backward tree: steps to the target and the next cell towards it (-1 if not reached)
+    protected int[] distanceB;
+    protected int[] prevB;
+    // cells reached by the backward search, so that they can be reset and marked
+    private int[] reachedB;
+    private int numReachedB;
+    // neighbor indices of the cell being explored
+    protected int[] neighbors;
+    // length of the shortest path found so far, and the edge where its halves meet
+    protected int best;
+    protected int meetF, meetB;
+
+    public AbstractBidirectionalMazeSearch(Maze maze) {
+        super(maze);
+        this.distanceB = new int[maze.numCells()];
+        this.prevB = new int[maze.numCells()];
+        Arrays.fill(this.prevB, -1);
+        this.reachedB = new int[maze.numCells()];
+        this.numReachedB = 0;
+        this.neighbors = new int[4];
+    }
+
+    /**
+     * Puts the start into the forward frontier and the target into the
+     * backward frontier.
+     *
+     * @param start  the index of the start
+     * @param target the index of the target
+     */
+    protected abstract void startFrontiers(int start, int target);
+
+    /**
+     * Expands the next part of one of the frontiers.
+     *
+     * @return false once the search is over, either because the best path
+     *         found can no longer be improved or because a frontier is empty
+     */
+    protected abstract boolean step();
+
+    /**
+     * Returns whether the forward search has reached the cell.
+     */
+    protected boolean reachedForward(int index) {
+        return getMaze().getPrev(index) >= 0;
+    }
+
+    /**
+     * Returns whether the backward search has reached the cell.
+     */
+    protected boolean reachedBackward(int index) {
+        return this.prevB[index] >= 0;
+    }
+
+    /**
+     * Records that the backward search reached index from the neighboring
+     * cell next (one step closer to the target), at the given distance.
+     */
+    protected void reachBackward(int index, int next, int distance) {
+        if (this.prevB[index] < 0) {
+            this.reachedB[this.numReachedB++] = index;
+        }
+        this.prevB[index] = next;
+        this.distanceB[index] = distance;
+    }
+
+    /**
+     * Records the path start .. forward, backward .. target, where forward
+     * was reached by the forward search and backward by the backward search
+     * and the two are neighbors, if it is shorter than the best so far.
+     */
+    protected void touch(int forward, int backward) {
+        int length = getDistance(forward) + 1 + this.distanceB[backward];
+        if (length < this.best) {
+            this.best = length;
+            this.meetF = forward;
+            this.meetB = backward;
+        }
+    }
+
+    /**
+     * Searches from start and from target at the same time. Cells reached
+     * by either search count as visited (their prev is set), so
+     * Maze.countVisitedCells reports the cells explored by both.
+     *
+     * {@inheritDoc}
+     */
+    @Override
+    public LinkedList<Cell> search(Cell start, Cell target, boolean display, int delay) {
+        begin(start, target);
+        for (int i = 0; i < this.numReachedB; i++) {
+            this.prevB[this.reachedB[i]] = -1;
+        }
+        this.numReachedB = 0;
+        this.best = Integer.MAX_VALUE;
+        this.meetF = -1;
+        this.meetB = -1;
+
+        int s = start.getIndex();
+        int t = target.getIndex();
+        if (s == t) {
+            return traceback(target);
+        }
+        reachBackward(t, t, 0);
+
+        // create display if requested
+        MazeSearchDisplay displayWin = null;
+        if (display) {
+            displayWin = new MazeSearchDisplay(this, 20);
+        }
+
+        startFrontiers(s, t);
+        while (step()) {
+            // visualization: sleep and repaint
+            if (displayWin != null) {
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException e) {
+                }
+                displayWin.repaint();
+            }
+        }
+
+        // mark the cells only the backward search reached as visited; the
+        // target keeps no prev unless a path is found, as in a one-way search
+        Maze maze = getMaze();
+        for (int i = 0; i < this.numReachedB; i++) {
+            int cell = this.reachedB[i];
+            if (cell != t && maze.getPrev(cell) < 0) {
+                maze.setPrev(cell, this.prevB[cell]);
+            }
+        }
+
+        LinkedList<Cell> path = null;
+        if (this.best != Integer.MAX_VALUE) {
+            // turn the backward half of the path around
+            int from = this.meetF;
+            int cell = this.meetB;
+            while (true) {
+                maze.setPrev(cell, from);
+                setDistance(cell, getDistance(from) + 1);
+                if (cell == t) {
+                    break;
+                }
+                from = cell;
+                cell = this.prevB[cell];
+            }
+            path = traceback(target);
+        }
+
+        if (displayWin != null) {
+            displayWin.repaint();
+        }
+        return path;
+    }
+}
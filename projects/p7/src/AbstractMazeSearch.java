@@ -1,9 +1,12 @@
 /*
  * file name: AbstractMazeSearch.java
  * author: Jack Dai
- * last modified: 11/16/2025
+ * last modified: 10/17/2026
  * purpose of the class:
  * To unite DFS, BFS, A* classes to search a maze (as they will all behave extremely similarly).
+ * The search itself works on the Maze's cell indices; subclasses may keep their frontier
+ * as Cells (findNextCell, addCell, updateCell) or as indices (findNextIndex, addIndex,
+ * updateIndex), which lets a search run without creating any objects.
  */
 
 import java.awt.Color;
@@ -14,13 +17,20 @@ public abstract class AbstractMazeSearch {
     private Maze maze;
     private Cell start;
     private Cell target;
-    private Cell cur;
+    // index of the current cell, or -1
+    private int cur;
+    // number of steps from start to every discovered cell, indexed by row * cols + col
+    private int[] distance;
+    // neighbor indices of the cell being explored
+    private int[] neighbors;
 
     public AbstractMazeSearch(Maze maze) {
         this.maze = maze;
         this.start = null;
         this.target = null;
-        this.cur = null;
+        this.cur = -1;
+        this.distance = new int[maze.numCells()];
+        this.neighbors = new int[4];
     }
 
     // Abstract methods for specific search strategies
@@ -61,6 +71,50 @@ public abstract class AbstractMazeSearch {
      */
     public abstract int numRemainingCells();
 
+    // Index-based frontier operations used by search. By default they go
+    // through the Cell-based methods above; a subclass that overrides them
+    // (and implements the Cell-based methods on top of them) never needs
+    // Cell objects during a search.
+
+    /**
+     * Return and remove the index of the next cell to explore.
+     *
+     * @return the index of the next cell, or -1 if the frontier is empty
+     */
+    protected int findNextIndex() {
+        Cell next = findNextCell();
+        return (next == null) ? -1 : next.getIndex();
+    }
+
+    /**
+     * Add the cell with the given index to the frontier.
+     *
+     * @param index the index of the cell to add
+     */
+    protected void addIndex(int index) {
+        addCell(this.maze.cell(index));
+    }
+
+    /**
+     * Update the cell with the given index inside the frontier after its
+     * distance from the start decreased.
+     *
+     * @param index the index of the cell to update
+     */
+    protected void updateIndex(int index) {
+        updateCell(this.maze.cell(index));
+    }
+
+    /**
+     * Remove every cell from the frontier. Called at the beginning of each
+     * search, so that cells left over from an earlier search are dropped.
+     */
+    protected void clearCells() {
+        while (numRemainingCells() > 0) {
+            findNextIndex();
+        }
+    }
+
     // Accessors / mutators
 
     /**
@@ -87,7 +141,7 @@ public abstract class AbstractMazeSearch {
      * @param cell
      */
     public void setCur(Cell cell) {
-        this.cur = cell;
+        this.cur = (cell == null) ? -1 : cell.getIndex();
     }
 
     /**
@@ -96,7 +150,7 @@ public abstract class AbstractMazeSearch {
      * @return the current Cell location of the search.
      */
     public Cell getCur() {
-        return this.cur;
+        return (this.cur < 0) ? null : this.maze.cell(this.cur);
     }
 
     /**
@@ -108,13 +162,47 @@ public abstract class AbstractMazeSearch {
         return this.start;
     }
 
+    /**
+     * Returns the index of the given Cell in per-cell arrays such as the
+     * distances, that is row * cols + col.
+     *
+     * @param cell a Cell of the underlying Maze
+     * @return the index of the Cell
+     */
+    protected int indexOf(Cell cell) {
+        return cell.getIndex();
+    }
+
+    /**
+     * Returns the number of steps on the best path found so far from the
+     * start to the given Cell. Only meaningful for Cells that have been
+     * discovered (whose prev is not null) during the current search.
+     *
+     * @param cell a discovered Cell
+     * @return the number of steps from the start to the Cell
+     */
+    public int getDistance(Cell cell) {
+        return this.distance[indexOf(cell)];
+    }
+
+    /**
+     * Returns the number of steps on the best path found so far from the
+     * start to the cell with the given index.
+     *
+     * @param index the index of a discovered cell
+     * @return the number of steps from the start to the cell
+     */
+    public int getDistance(int index) {
+        return this.distance[index];
+    }
+
     /**
      * This method resets the current, start, and target Cells to be null.
      */
     public void reset() {
         this.start = null;
         this.target = null;
-        this.cur = null;
+        this.cur = -1;
     }
 
     /**
@@ -166,24 +254,17 @@ public abstract class AbstractMazeSearch {
         }
 
         LinkedList<Cell> path = new LinkedList<Cell>();
-        Cell current = cell;
-        java.util.HashSet<Cell> seen = new java.util.HashSet<>();
-
-        // Follow prev pointers back to the start, but guard against cycles
-        while (current != null) {
-            // if we've already visited this cell while tracing back, there is a cycle
-            if (seen.contains(current)) {
+        int current = cell.getIndex();
+
+        // Follow prev pointers back to the start, but guard against cycles:
+        // a chain longer than the number of cells must repeat a cell
+        for (int steps = 0; steps < this.maze.numCells(); steps++) {
+            path.addFirst(this.maze.cell(current));
+            int prev = this.maze.getPrev(current);
+            if (prev == current || prev < 0) {
                 break;
             }
-            seen.add(current);
-            path.addFirst(current);
-            if (current == current.getPrev()) {
-                break;
-            }
-            if (current.getPrev() == null) {
-                break;
-            }
-            current = current.getPrev();
+            current = prev;
         }
 
         // Verify that path really starts at "start"
@@ -193,6 +274,43 @@ public abstract class AbstractMazeSearch {
         return path;
     }
 
+    /**
+     * Prepares a search from start to target: records both, makes start the
+     * current cell and its own prev (for drawing correctness) at distance 0,
+     * and empties the frontier.
+     *
+     * @param start  the Cell at which the search begins
+     * @param target the Cell to find
+     */
+    protected void begin(Cell start, Cell target) {
+        this.start = start;
+        this.target = target;
+        this.cur = start.getIndex();
+        this.maze.setPrev(start.getIndex(), start.getIndex());
+        this.distance[start.getIndex()] = 0;
+        clearCells();
+    }
+
+    /**
+     * Makes the cell with the given index the current location of the search.
+     *
+     * @param index a cell index, or -1 for none
+     */
+    protected void setCurIndex(int index) {
+        this.cur = index;
+    }
+
+    /**
+     * Records the number of steps from the start to the cell with the given
+     * index, for searches that override search.
+     *
+     * @param index    a cell index
+     * @param distance the number of steps from the start
+     */
+    protected void setDistance(int index, int distance) {
+        this.distance[index] = distance;
+    }
+
     /**
      * Main search routine that finds a path from start to
      * target using the concrete search strategy implemented by the
@@ -208,15 +326,19 @@ public abstract class AbstractMazeSearch {
      * @param delay   number of milliseconds to sleep between displayed steps
      * @return a LinkedList representing the found path from
      *         start to target (inclusive) ordered from start to
-     *         target, or null if no path exists
+     *         target, or null if no path exists; if start is the
+     *         target the path is just start
      */
     public LinkedList<Cell> search(Cell start, Cell target, boolean display, int delay) {
-        this.start = start;
-        this.target = target;
-        setCur(start);
+        begin(start, target);
+        if (start.getIndex() == target.getIndex()) {
+            return traceback(target);
+        }
 
-        // For drawing correctness
-        start.setPrev(start);
+        Maze maze = getMaze();
+        int[] distance = this.distance;
+        int[] neighbors = this.neighbors;
+        int targetIndex = target.getIndex();
 
         // create display if requested
         MazeSearchDisplay displayWin = null;
@@ -225,9 +347,7 @@ public abstract class AbstractMazeSearch {
         }
 
         // initialize frontier with starting cell
-        addCell(start);
-
-        Maze maze = getMaze();
+        addIndex(start.getIndex());
 
         while (numRemainingCells() > 0) {
             // visualization: sleep and repaint
@@ -239,38 +359,27 @@ public abstract class AbstractMazeSearch {
                 displayWin.repaint();
             }
 
-            Cell current = findNextCell();
-            setCur(current);
+            int current = findNextIndex();
+            this.cur = current;
 
             // explore neighbors
-            for (Cell neighbor : maze.getNeighbors(current)) {
-                if (neighbor.getPrev() == null) {
-                    neighbor.setPrev(current);
-                    addCell(neighbor);
-                } else {
-                    // Compare full paths via traceback: if routing through
-                    // `current` yields a valid shorter path, we prefer it.
-                    LinkedList<Cell> oldPath = traceback(neighbor);
-                    Cell oldPrev = neighbor.getPrev();
-                    neighbor.setPrev(current);
-                    LinkedList<Cell> newPath = traceback(neighbor);
-
-                    boolean better = false;
-                    if (oldPath == null && newPath != null) {
-                        better = true;
-                    } else if (oldPath != null && newPath != null && newPath.size() < oldPath.size()) {
-                        better = true;
-                    }
-
-                    if (better) {
-                        updateCell(neighbor);
-                    } else {
-                        // revert prev if not actually better
-                        neighbor.setPrev(oldPrev);
-                    }
+            int nextDistance = distance[current] + 1;
+            int count = maze.neighbors(current, neighbors);
+            for (int k = 0; k < count; k++) {
+                int neighbor = neighbors[k];
+                if (maze.getPrev(neighbor) < 0) {
+                    maze.setPrev(neighbor, current);
+                    distance[neighbor] = nextDistance;
+                    addIndex(neighbor);
+                } else if (nextDistance < distance[neighbor]) {
+                    // routing through `current` is shorter than the stored
+                    // path, so we prefer it
+                    maze.setPrev(neighbor, current);
+                    distance[neighbor] = nextDistance;
+                    updateIndex(neighbor);
                 }
 
-                if (neighbor == target) {
+                if (neighbor == targetIndex) {
                     if (display && displayWin != null) {
                         displayWin.repaint();
                     }
@@ -1,9 +1,10 @@
 /*
  * file name: Cell.java
  * author: Jack Dai
- * last modified: 11/16/2025
+ * last modified: 10/17/2026
  * purpose of the class:
  * Represents a single maze cell including drawing helpers and prev pointer.
+ * A Cell is a view: its type and prev are stored in the Maze's flat arrays.
  */
 
 import java.awt.Color;
@@ -11,32 +12,29 @@ import java.awt.Graphics;
 
 public class Cell {
     /**
-     * Specifies the row and column of this Cell
+     * The Maze that stores the type and prev of this Cell
      */
-    private int row, col;
+    private Maze maze;
 
     /**
-     * Specifies the Cell which, when explored, revealed this Cell for the first
-     * time
+     * Specifies the row, column and index (row * cols + col) of this Cell
      */
-    private Cell prev;
+    private int row, col, index;
 
     /**
-     * Specifies the CellType of this Cell (either FREE or OBSTACLE)
-     */
-    private CellType type;
-
-    /**
-     * Constructs a Cell from the given parameters.
+     * Constructs the view of the cell at the given row and column of the given
+     * Maze. Use Maze.get or Maze.cell instead, so that every cell has a single
+     * view.
      * 
+     * @param maze the Maze the Cell belongs to
      * @param r    the row of the Cell
      * @param c    the column of the Cell
-     * @param type the CellType of the Cell (either FREE or OBSTACLE)
      */
-    public Cell(int r, int c, CellType type) {
+    Cell(Maze maze, int r, int c) {
+        this.maze = maze;
         row = r;
         col = c;
-        this.type = type;
+        index = maze.index(r, c);
     }
 
     /**
@@ -45,10 +43,10 @@ public class Cell {
      * This means that when {@code prev} was explored, this Cell was found for the
      * first time.
      * 
-     * @param prev the previous Cell of this one.
+     * @param prev the previous Cell of this one (a Cell of the same Maze), or null.
      */
     public void setPrev(Cell prev) {
-        this.prev = prev;
+        maze.setPrev(index, (prev == null) ? -1 : prev.index);
     }
 
     /**
@@ -57,7 +55,8 @@ public class Cell {
      * @return the previous Cell of this one.
      */
     public Cell getPrev() {
-        return prev;
+        int p = maze.getPrev(index);
+        return (p < 0) ? null : maze.cell(p);
     }
 
     /**
@@ -73,11 +72,11 @@ public class Cell {
      * @return the CellType of this Cell (either FREE or OBSTACLE).
      */
     public CellType getType() {
-        return type;
+        return maze.getType(index);
     }
 
     public void setType(CellType type) {
-        this.type = type;
+        maze.setType(index, type);
     }
 
     /**
@@ -98,15 +97,33 @@ public class Cell {
         return col;
     }
 
+    /**
+     * Returns the index of this Cell in its Maze, row * cols + col.
+     * 
+     * @return the index of this Cell.
+     */
+    public int getIndex() {
+        return index;
+    }
+
     public boolean equals(Object o) {
         if (!(o instanceof Cell))
             return false;
         Cell c = (Cell) o;
-        return row == c.row && col == c.col && type == c.type;
+        return row == c.row && col == c.col && getType() == c.getType();
+    }
+
+    /**
+     * Returns a hash code consistent with equals; it depends only on the
+     * row and column, since the type of a Cell may change. Distinct for every
+     * Cell of a Maze with fewer than 65536 columns.
+     */
+    public int hashCode() {
+        return (row << 16) ^ col;
     }
 
     public String toString() {
-        return "(" + row + ", " + col + ", " + type + ")";
+        return "(" + row + ", " + col + ", " + getType() + ")";
     }
 
     /**
@@ -0,0 +1,334 @@
+/*
+ * file name: DaryHeap.java
+ * author: Jack Dai
+ * last modified: 10/17/2026
+ * purpose of the class:
+ * A d-ary min-heap of int items ordered by double priorities, stored in parallel
+ * primitive arrays so that no operation boxes. Every node has up to d children,
+ * which makes the heap shallower than a binary heap (log_d n levels), so offer and
+ * decrease-key are cheaper and a poll compares more children per level.
+ * Items are non-negative ints (for example the index of a maze cell); the heap keeps
+ * the position of every item so that updatePriority, remove and contains work
+ * without searching.
+ */
+
+import java.util.Arrays;
+
+public class DaryHeap {
+    private int arity;
+    private int[] items;
+    private double[] priorities;
+    private int size;
+    // heap index of every item, or -1 if the item is not in the heap
+    private int[] positions;
+
+    /**
+     * Constructs an empty 4-ary heap.
+     */
+    public DaryHeap() {
+        this(4);
+    }
+
+    /**
+     * Constructs an empty heap with the given arity.
+     *
+     * @param arity the number of children of each node (at least 2)
+     */
+    public DaryHeap(int arity) {
+        this(arity, 16);
+    }
+
+    /**
+     * Constructs an empty heap with the given arity, with room for items in
+     * [0, capacity) before any array has to grow.
+     *
+     * @param arity    the number of children of each node (at least 2)
+     * @param capacity the expected number of distinct items
+     */
+    public DaryHeap(int arity, int capacity) {
+        if (arity < 2) {
+            throw new IllegalArgumentException("Arity must be at least 2: " + arity);
+        }
+        capacity = Math.max(1, capacity);
+        this.arity = arity;
+        this.items = new int[capacity];
+        this.priorities = new double[capacity];
+        this.positions = new int[capacity];
+        Arrays.fill(this.positions, -1);
+        this.size = 0;
+    }
+
+    /**
+     * Returns the number of children of each node.
+     *
+     * @return the arity
+     */
+    public int arity() {
+        return this.arity;
+    }
+
+    /**
+     * Returns the number of items in the heap.
+     *
+     * @return the number of items in the heap
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns whether the given item is in the heap.
+     *
+     * @param item a non-negative item
+     * @return true if the item is in the heap
+     */
+    public boolean contains(int item) {
+        return item >= 0 && item < this.positions.length && this.positions[item] >= 0;
+    }
+
+    /**
+     * Returns the priority stored for the given item.
+     *
+     * @param item an item in the heap
+     * @return its priority
+     */
+    public double priority(int item) {
+        if (!contains(item)) {
+            throw new IllegalArgumentException("Item is not in the heap: " + item);
+        }
+        return this.priorities[this.positions[item]];
+    }
+
+    /**
+     * Adds the given item with the given priority.
+     *
+     * @param item     a non-negative item that is not already in the heap
+     * @param priority its priority (smaller comes out first)
+     */
+    public void offer(int item, double priority) {
+        if (item < 0) {
+            throw new IllegalArgumentException("Items must be non-negative: " + item);
+        }
+        if (contains(item)) {
+            throw new IllegalArgumentException("Item is already in the heap: " + item);
+        }
+        ensureItem(item);
+        if (this.size == this.items.length) {
+            this.items = Arrays.copyOf(this.items, 2 * this.size);
+            this.priorities = Arrays.copyOf(this.priorities, 2 * this.size);
+        }
+        bubbleUp(this.size++, item, priority);
+    }
+
+    /**
+     * Returns the item with the smallest priority without removing it.
+     *
+     * @return the item, or -1 if the heap is empty
+     */
+    public int peek() {
+        return (this.size == 0) ? -1 : this.items[0];
+    }
+
+    /**
+     * Returns the smallest priority in the heap.
+     *
+     * @return the priority of {@link #peek()}, or NaN if the heap is empty
+     */
+    public double peekPriority() {
+        return (this.size == 0) ? Double.NaN : this.priorities[0];
+    }
+
+    /**
+     * Removes and returns the item with the smallest priority.
+     *
+     * @return the item, or -1 if the heap is empty
+     */
+    public int poll() {
+        if (this.size == 0)
+            return -1;
+        int root = this.items[0];
+        removeAt(0);
+        return root;
+    }
+
+    /**
+     * Polls items in priority order into out until out is full or the heap is
+     * empty; a heap of n items gives the top k in O(k d log_d n).
+     *
+     * @param out array to fill
+     * @return the number of items polled
+     */
+    public int pollAll(int[] out) {
+        int n = Math.min(out.length, this.size);
+        for (int i = 0; i < n; i++) {
+            out[i] = poll();
+        }
+        return n;
+    }
+
+    /**
+     * Sets the priority of an item in the heap and moves it up or down to
+     * restore the heap, in O(d log_d n).
+     *
+     * @param item     an item in the heap
+     * @param priority its new priority
+     */
+    public void updatePriority(int item, double priority) {
+        if (!contains(item)) {
+            throw new IllegalArgumentException("Item is not in the heap: " + item);
+        }
+        int idx = this.positions[item];
+        if (priority < this.priorities[idx]) {
+            bubbleUp(idx, item, priority);
+        } else {
+            bubbleDown(idx, item, priority);
+        }
+    }
+
+    /**
+     * Removes the given item from the heap.
+     *
+     * @param item the item to remove
+     * @return true if the item was in the heap
+     */
+    public boolean remove(int item) {
+        if (!contains(item))
+            return false;
+        removeAt(this.positions[item]);
+        return true;
+    }
+
+    /**
+     * Replaces the contents of the heap with the first n items and priorities
+     * of the given arrays, building the heap bottom-up in O(n) instead of the
+     * O(n log n) of n offers.
+     *
+     * @param newItems      distinct non-negative items
+     * @param newPriorities their priorities
+     * @param n             the number of items to take
+     */
+    public void heapify(int[] newItems, double[] newPriorities, int n) {
+        clear();
+        if (this.items.length < n) {
+            this.items = new int[n];
+            this.priorities = new double[n];
+        }
+        for (int i = 0; i < n; i++) {
+            int item = newItems[i];
+            if (item < 0 || contains(item)) {
+                clear();
+                throw new IllegalArgumentException("Items must be distinct and non-negative: " + item);
+            }
+            ensureItem(item);
+            this.items[i] = item;
+            this.priorities[i] = newPriorities[i];
+            this.positions[item] = i;
+            this.size++;
+        }
+        // sift down every internal node, last first; with fewer than two
+        // items there are none, and slot 0 may hold a stale item
+        if (n > 1) {
+            for (int i = (n - 2) / this.arity; i >= 0; i--) {
+                bubbleDown(i, this.items[i], this.priorities[i]);
+            }
+        }
+    }
+
+    /**
+     * Removes every item, in time proportional to the number of items.
+     */
+    public void clear() {
+        for (int i = 0; i < this.size; i++) {
+            this.positions[this.items[i]] = -1;
+        }
+        this.size = 0;
+    }
+
+    /**
+     * Grows the position array so that it has an entry for item.
+     */
+    private void ensureItem(int item) {
+        if (item >= this.positions.length) {
+            int old = this.positions.length;
+            this.positions = Arrays.copyOf(this.positions, Math.max(item + 1, 2 * old));
+            Arrays.fill(this.positions, old, this.positions.length, -1);
+        }
+    }
+
+    /**
+     * Removes the entry at idx by moving the last entry into its place.
+     */
+    private void removeAt(int idx) {
+        this.positions[this.items[idx]] = -1;
+        this.size--;
+        if (idx == this.size)
+            return;
+        int last = this.items[this.size];
+        double lastPriority = this.priorities[this.size];
+        if (idx > 0 && lastPriority < this.priorities[(idx - 1) / this.arity]) {
+            bubbleUp(idx, last, lastPriority);
+        } else {
+            bubbleDown(idx, last, lastPriority);
+        }
+    }
+
+    /**
+     * Stores item at idx, or higher up while it has a smaller priority than the
+     * parent, moving the parents down into the hole.
+     */
+    private void bubbleUp(int idx, int item, double priority) {
+        while (idx > 0) {
+            int parent = (idx - 1) / this.arity;
+            if (priority >= this.priorities[parent])
+                break;
+            move(parent, idx);
+            idx = parent;
+        }
+        set(idx, item, priority);
+    }
+
+    /**
+     * Stores item at idx, or lower down while one of the children has a smaller
+     * priority, moving the smallest child up into the hole.
+     */
+    private void bubbleDown(int idx, int item, double priority) {
+        while (true) {
+            int first = this.arity * idx + 1;
+            if (first >= this.size)
+                break;
+            int end = Math.min(first + this.arity, this.size);
+            int smallest = first;
+            for (int c = first + 1; c < end; c++) {
+                if (this.priorities[c] < this.priorities[smallest])
+                    smallest = c;
+            }
+            if (this.priorities[smallest] >= priority)
+                break;
+            move(smallest, idx);
+            idx = smallest;
+        }
+        set(idx, item, priority);
+    }
+
+    private void move(int from, int to) {
+        this.items[to] = this.items[from];
+        this.priorities[to] = this.priorities[from];
+        this.positions[this.items[to]] = to;
+    }
+
+    private void set(int idx, int item, double priority) {
+        this.items[idx] = item;
+        this.priorities[idx] = priority;
+        this.positions[item] = idx;
+    }
+
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < this.size; i++) {
+            if (i > 0)
+                sb.append(", ");
+            sb.append(this.items[i]).append(':').append(this.priorities[i]);
+        }
+        return sb.append(']').toString();
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * file name: DaryHeapQueue.java
+ * author: Jack Dai
+ * last modified: 10/17/2026
+ * purpose of the class:
+ * Adapts DaryHeap to the PriorityQueue interface. Items are ordered by a double key
+ * read from each item when it is offered or updated, instead of by a Comparator.
+ * Items that already have a dense int index (such as maze cells) are stored in the
+ * primitive heap under that index; other items get a handle from a slot table.
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.function.IntFunction;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+
+public class DaryHeapQueue<T> implements PriorityQueue<T> {
+    private DaryHeap heap;
+    private ToDoubleFunction<T> key;
+    // -1 turns the min-heap into a max-heap
+    private double sign;
+
+    // indexed items: the item's own index is its handle
+    private ToIntFunction<T> index;
+    private IntFunction<T> lookup;
+
+    // other items: handle -> item, free handles, item -> handle of its last copy for
+    // updatePriority, and for each handle the handle of the previous equal copy (or -1)
+    private ArrayList<T> slots;
+    private int[] free;
+    private int numFree;
+    private HashMap<T, Integer> handles;
+    private int[] sameNext;
+
+    /**
+     * Constructs a 4-ary min-queue of arbitrary items ordered by the given key.
+     *
+     * @param key the priority of an item (smaller comes out first)
+     */
+    public DaryHeapQueue(ToDoubleFunction<T> key) {
+        this(key, false, 4);
+    }
+
+    /**
+     * Constructs a queue of arbitrary items ordered by the given key. Equal
+     * items may be offered more than once; updatePriority then reads the key
+     * again for every copy still in the queue.
+     *
+     * @param key     the priority of an item
+     * @param maxHeap if true, the item with the largest key comes out first
+     * @param arity   the arity of the underlying heap
+     */
+    public DaryHeapQueue(ToDoubleFunction<T> key, boolean maxHeap, int arity) {
+        this.heap = new DaryHeap(arity);
+        this.key = key;
+        this.sign = maxHeap ? -1 : 1;
+        this.slots = new ArrayList<>();
+        this.free = new int[16];
+        this.handles = new HashMap<>();
+        this.sameNext = new int[16];
+    }
+
+    /**
+     * Constructs a min-queue of items that each have a distinct index in
+     * [0, capacity), for example row * cols + col for maze cells. No map is
+     * kept: the heap stores the indices and lookup turns them back into items.
+     *
+     * @param key      the priority of an item (smaller comes out first)
+     * @param index    the index of an item
+     * @param lookup   the item with a given index
+     * @param capacity the number of possible indices
+     * @param arity    the arity of the underlying heap
+     */
+    public DaryHeapQueue(ToDoubleFunction<T> key, ToIntFunction<T> index, IntFunction<T> lookup, int capacity,
+            int arity) {
+        this.heap = new DaryHeap(arity, capacity);
+        this.key = key;
+        this.sign = 1;
+        this.index = index;
+        this.lookup = lookup;
+    }
+
+    /**
+     * Returns the item stored under the given handle.
+     */
+    private T item(int handle) {
+        return (this.index != null) ? this.lookup.apply(handle) : this.slots.get(handle);
+    }
+
+    @Override
+    public void offer(T item) {
+        double priority = this.sign * this.key.applyAsDouble(item);
+        if (this.index != null) {
+            this.heap.offer(this.index.applyAsInt(item), priority);
+            return;
+        }
+        int handle;
+        if (this.numFree > 0) {
+            handle = this.free[--this.numFree];
+            this.slots.set(handle, item);
+        } else {
+            handle = this.slots.size();
+            this.slots.add(item);
+            if (handle == this.sameNext.length) {
+                this.sameNext = Arrays.copyOf(this.sameNext, 2 * handle);
+            }
+        }
+        Integer last = this.handles.put(item, handle);
+        this.sameNext[handle] = (last == null) ? -1 : last;
+        this.heap.offer(handle, priority);
+    }
+
+    @Override
+    public int size() {
+        return this.heap.size();
+    }
+
+    @Override
+    public T peek() {
+        int handle = this.heap.peek();
+        return (handle < 0) ? null : item(handle);
+    }
+
+    @Override
+    public T poll() {
+        int handle = this.heap.poll();
+        if (handle < 0)
+            return null;
+        T item = item(handle);
+        if (this.index == null) {
+            this.slots.set(handle, null);
+            if (this.numFree == this.free.length) {
+                this.free = Arrays.copyOf(this.free, 2 * this.numFree);
+            }
+            this.free[this.numFree++] = handle;
+            // unlink the handle from the copies of the item
+            int h = this.handles.get(item);
+            if (h == handle) {
+                if (this.sameNext[handle] < 0) {
+                    this.handles.remove(item);
+                } else {
+                    this.handles.put(item, this.sameNext[handle]);
+                }
+            } else {
+                while (this.sameNext[h] != handle) {
+                    h = this.sameNext[h];
+                }
+                this.sameNext[h] = this.sameNext[handle];
+            }
+        }
+        return item;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Reads the item's key again and moves every copy of the item in the
+     * queue. Does nothing if the item is not in the queue.
+     */
+    @Override
+    public void updatePriority(T item) {
+        if (this.index != null) {
+            int handle = this.index.applyAsInt(item);
+            if (this.heap.contains(handle))
+                this.heap.updatePriority(handle, this.sign * this.key.applyAsDouble(item));
+            return;
+        }
+        Integer last = this.handles.get(item);
+        if (last == null)
+            return;
+        double priority = this.sign * this.key.applyAsDouble(item);
+        for (int h = last; h >= 0; h = this.sameNext[h]) {
+            this.heap.updatePriority(h, priority);
+        }
+    }
+
+    public String toString() {
+        return this.heap.toString();
+    }
+}
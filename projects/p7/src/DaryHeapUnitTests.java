@@ -0,0 +1,203 @@
+/*
+ * file name: DaryHeapUnitTests.java
+ * author: Jack Dai
+ * last modified: 10/17/2026
+ * purpose of the class:
+ * Tests for the DaryHeap class: heapify (including empty and single-item input),
+ * pollAll and remove, for several arities; and for DaryHeapQueue holding equal
+ * copies of an item.
+ */
+
+import java.util.Arrays;
+import java.util.Random;
+
+public class DaryHeapUnitTests {
+
+    /**
+     * An item whose priority can change; items with the same name are equal.
+     */
+    private static class Task {
+        String name;
+        double priority;
+
+        Task(String name, double priority) {
+            this.name = name;
+            this.priority = priority;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return (o instanceof Task) && ((Task) o).name.equals(this.name);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.name.hashCode();
+        }
+    }
+
+    /**
+     * Polls every item and returns whether the priorities come out in
+     * non-decreasing order and the heap ends up empty.
+     */
+    private static boolean drainsInOrder(DaryHeap h, int expectedSize) {
+        double last = Double.NEGATIVE_INFINITY;
+        int count = 0;
+        while (h.size() > 0) {
+            double p = h.peekPriority();
+            int item = h.poll();
+            if (p < last || h.contains(item)) {
+                return false;
+            }
+            last = p;
+            count++;
+        }
+        return count == expectedSize && h.poll() == -1;
+    }
+
+    public static void main(String[] args) {
+        int passed = 0;
+        int total = 0;
+        Random rand = new Random(231);
+
+        // Test 1: heapify with no items forgets a stale item left in slot 0
+        total++;
+        DaryHeap h1 = new DaryHeap();
+        h1.offer(5, 1.0);
+        h1.poll();
+        h1.heapify(new int[0], new double[0], 0);
+        boolean t1 = h1.size() == 0 && !h1.contains(5) && h1.peek() == -1;
+        h1.offer(5, 2.0);
+        t1 = t1 && h1.size() == 1 && h1.peek() == 5 && h1.peekPriority() == 2.0;
+        System.out.println("Test 1 (heapify empty): " + (t1 ? "PASSED" : "FAILED"));
+        if (t1) {
+            passed++;
+        }
+
+        // Test 2: heapify a single item, replacing earlier contents
+        total++;
+        DaryHeap h2 = new DaryHeap(4);
+        h2.offer(1, 5.0);
+        h2.offer(2, 3.0);
+        h2.heapify(new int[] { 7 }, new double[] { 4.0 }, 1);
+        boolean t2 = h2.size() == 1 && h2.contains(7) && !h2.contains(1) && !h2.contains(2)
+                && h2.priority(7) == 4.0 && h2.poll() == 7 && h2.size() == 0;
+        System.out.println("Test 2 (heapify single item): " + (t2 ? "PASSED" : "FAILED"));
+        if (t2) {
+            passed++;
+        }
+
+        // Test 3: heapify many items, for several arities, uses only the first n
+        total++;
+        boolean t3 = true;
+        for (int arity = 2; arity <= 8 && t3; arity++) {
+            int n = 1000;
+            int[] items = new int[n + 10];
+            double[] priorities = new double[n + 10];
+            for (int i = 0; i < items.length; i++) {
+                items[i] = (i * 7919) % 2003;
+                priorities[i] = rand.nextInt(100);
+            }
+            DaryHeap h = new DaryHeap(arity);
+            h.heapify(items, priorities, n);
+            t3 = h.size() == n && !h.contains(items[n]);
+            for (int i = 0; i < n && t3; i++) {
+                t3 = h.contains(items[i]) && h.priority(items[i]) == priorities[i];
+            }
+            t3 = t3 && drainsInOrder(h, n);
+        }
+        System.out.println("Test 3 (heapify many items): " + (t3 ? "PASSED" : "FAILED"));
+        if (t3) {
+            passed++;
+        }
+
+        // Test 4: heapify rejects duplicate and negative items and leaves the heap empty
+        total++;
+        DaryHeap h4 = new DaryHeap();
+        boolean t4 = true;
+        for (int[] bad : new int[][] { { 1, 2, 1 }, { 3, -1 } }) {
+            try {
+                h4.heapify(bad, new double[bad.length], bad.length);
+                t4 = false;
+            } catch (IllegalArgumentException e) {
+                t4 = t4 && h4.size() == 0 && !h4.contains(1) && !h4.contains(3);
+            }
+        }
+        System.out.println("Test 4 (heapify rejects bad items): " + (t4 ? "PASSED" : "FAILED"));
+        if (t4) {
+            passed++;
+        }
+
+        // Test 5: pollAll returns the smallest items in order, bounded by out and by the heap
+        total++;
+        DaryHeap h5 = new DaryHeap(3);
+        double[] keys = new double[50];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = rand.nextDouble();
+            h5.offer(i, keys[i]);
+        }
+        double[] sorted = keys.clone();
+        Arrays.sort(sorted);
+        int[] top = new int[10];
+        boolean t5 = h5.pollAll(top) == 10 && h5.size() == 40;
+        for (int i = 0; i < top.length && t5; i++) {
+            t5 = keys[top[i]] == sorted[i] && !h5.contains(top[i]);
+        }
+        int[] rest = new int[100];
+        t5 = t5 && h5.pollAll(rest) == 40 && h5.size() == 0 && keys[rest[0]] == sorted[10]
+                && keys[rest[39]] == sorted[49] && h5.pollAll(rest) == 0;
+        System.out.println("Test 5 (pollAll): " + (t5 ? "PASSED" : "FAILED"));
+        if (t5) {
+            passed++;
+        }
+
+        // Test 6: remove from anywhere in the heap keeps it ordered
+        total++;
+        boolean t6 = true;
+        for (int arity = 2; arity <= 5 && t6; arity++) {
+            DaryHeap h = new DaryHeap(arity);
+            for (int i = 0; i < 500; i++) {
+                h.offer(i, rand.nextInt(1000));
+            }
+            t6 = !h.remove(500) && !h.remove(999);
+            for (int i = 0; i < 500 && t6; i += 3) {
+                t6 = h.remove(i) && !h.contains(i) && !h.remove(i);
+            }
+            t6 = t6 && h.size() == 500 - 167 && drainsInOrder(h, 500 - 167);
+        }
+        System.out.println("Test 6 (remove): " + (t6 ? "PASSED" : "FAILED"));
+        if (t6) {
+            passed++;
+        }
+
+        // Test 7: polling the copy of an item offered last keeps earlier equal copies updatable
+        total++;
+        DaryHeapQueue<Task> q = new DaryHeapQueue<>((Task t) -> t.priority);
+        Task first = new Task("a", 7);
+        Task b = new Task("b", 6);
+        Task last = new Task("a", 5);
+        q.offer(first);
+        q.offer(b);
+        q.offer(last);
+        boolean t7 = q.poll() == last;
+        first.priority = 1;
+        q.updatePriority(first);
+        t7 = t7 && q.poll() == first && q.poll() == b && q.poll() == null;
+        // updating an item moves all of its copies, and polling them in any order unlinks each one
+        for (int i = 0; i < 6; i++) {
+            q.offer(new Task((i % 2 == 0) ? "x" : "y", 10 + i));
+        }
+        q.updatePriority(new Task("y", 0));
+        t7 = t7 && q.poll().name.equals("y") && q.poll().name.equals("y") && q.poll().name.equals("y");
+        q.updatePriority(new Task("y", 0));
+        q.updatePriority(new Task("x", 20));
+        t7 = t7 && q.size() == 3 && q.peek().name.equals("x");
+        System.out.println("Test 7 (DaryHeapQueue equal copies): " + (t7 ? "PASSED" : "FAILED"));
+        if (t7) {
+            passed++;
+        }
+
+        System.out.println();
+        System.out.println("DaryHeapUnitTests: passed " + passed + " / " + total);
+    }
+}
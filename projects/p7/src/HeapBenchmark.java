@@ -0,0 +1,84 @@
+/*
+ * file name: HeapBenchmark.java
+ * author: Jack Dai
+ * last modified: 10/17/2026
+ * purpose of the class:
+ * Compares Heap with IndexedHeap on a workload dominated by decrease-key, like the
+ * relaxations of A*: every round lowers the priority of several random items and
+ * then polls one.
+ *
+ * How to run:     java HeapBenchmark [updates per poll]
+ */
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Random;
+
+public class HeapBenchmark {
+
+    static class Item {
+        int key;
+        boolean polled;
+
+        Item(int key) {
+            this.key = key;
+        }
+    }
+
+    /**
+     * Offers n items with random keys, then until the queue is empty lowers the
+     * key of updatesPerPoll random items still in the queue, calls updatePriority
+     * on each, and polls once.
+     *
+     * @param pq             an empty queue ordered by Item.key
+     * @param n              number of items
+     * @param updatesPerPoll decrease-key operations between two polls
+     * @param seed           random seed, so both queues see the same operations
+     * @return elapsed time in milliseconds
+     */
+    public static double run(PriorityQueue<Item> pq, int n, int updatesPerPoll, long seed) {
+        Random rand = new Random(seed);
+        ArrayList<Item> items = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            items.add(new Item(rand.nextInt(1 << 20)));
+        }
+        long start = System.nanoTime();
+        for (Item item : items) {
+            pq.offer(item);
+        }
+        ArrayList<Item> live = new ArrayList<>(items);
+        while (pq.size() > 0) {
+            for (int u = 0; u < updatesPerPoll && !live.isEmpty(); u++) {
+                int idx = rand.nextInt(live.size());
+                Item item = live.get(idx);
+                if (item.polled) {
+                    // drop items that have left the queue
+                    live.set(idx, live.get(live.size() - 1));
+                    live.remove(live.size() - 1);
+                    continue;
+                }
+                item.key -= rand.nextInt(1 << 10);
+                pq.updatePriority(item);
+            }
+            pq.poll().polled = true;
+        }
+        return (System.nanoTime() - start) / 1e6;
+    }
+
+    public static void main(String[] args) {
+        int updatesPerPoll = (args.length > 0) ? Integer.parseInt(args[0]) : 4;
+        Comparator<Item> comp = (a, b) -> Integer.compare(a.key, b.key);
+
+        // one small untimed round of each so the JIT has compiled both
+        run(new Heap<Item>(comp), 2000, updatesPerPoll, 1);
+        run(new IndexedHeap<Item>(comp), 2000, updatesPerPoll, 1);
+
+        System.out.println("Decrease-key workload, " + updatesPerPoll + " updates per poll (ms)");
+        System.out.println(String.format("  %8s %12s %12s %10s", "items", "Heap", "IndexedHeap", "speedup"));
+        for (int n = 1000; n <= 64000; n *= 2) {
+            double heap = run(new Heap<Item>(comp), n, updatesPerPoll, n);
+            double indexed = run(new IndexedHeap<Item>(comp), n, updatesPerPoll, n);
+            System.out.println(String.format("  %8d %12.1f %12.1f %9.1fx", n, heap, indexed, heap / indexed));
+        }
+    }
+}
@@ -1,9 +1,10 @@
 /*
  * file name: HeapTests.java
  * author: Jack Dai
- * last modified: 11/16/2025
+ * last modified: 10/17/2026
  * purpose of the class:
  * This is a simple tester for the lab checkpoint and debugging the Heap class.
+ * Run with the argument "dary" to test DaryHeapQueue instead.
  */
 
 import java.util.ArrayList;
@@ -13,6 +14,16 @@ import java.util.Collections;
 
 public class HeapTests {
 
+    // the queue under test: Heap, or DaryHeapQueue when run with "dary"
+    private static boolean dary = false;
+
+    private static PriorityQueue<Integer> newQueue() {
+        if (dary) {
+            return new DaryHeapQueue<Integer>((Integer a) -> a);
+        }
+        return new Heap<>((Comparator<Integer>) (Integer a, Integer b) -> a - b);
+    }
+
     public static double heapTests() {
 
         double testScore = 1.;
@@ -21,7 +32,7 @@ public class HeapTests {
          * Make a small Priority Queue
          */
         {
-            PriorityQueue<Integer> pq = new Heap<>((Comparator<Integer>) (Integer a, Integer b) -> a - b);
+            PriorityQueue<Integer> pq = newQueue();
 
             for (int i = 0; i < 5; i++) {
                 pq.offer(i);
@@ -37,7 +48,7 @@ public class HeapTests {
          * Offer a few things in, poll a few things out
          */
         {
-            PriorityQueue<Integer> pq = new Heap<>((Comparator<Integer>) (Integer a, Integer b) -> a - b);
+            PriorityQueue<Integer> pq = newQueue();
 
             for (int i = 0; i < 5; i++) {
                 pq.offer(i);
@@ -60,7 +71,7 @@ public class HeapTests {
          * Adding and removing a bunch of items (simple)
          */
         {
-            PriorityQueue<Integer> pq = new Heap<>((Comparator<Integer>) (Integer a, Integer b) -> a - b);
+            PriorityQueue<Integer> pq = newQueue();
 
             for (int i = 0; i < 100; i++) {
                 pq.offer(i);
@@ -83,7 +94,7 @@ public class HeapTests {
          * Adding and removing a bunch of items (a bit more interesting)
          */
         {
-            PriorityQueue<Integer> pq = new Heap<>((Integer a, Integer b) -> a - b);
+            PriorityQueue<Integer> pq = newQueue();
             Random rand = new Random();
             ArrayList<Integer> nums = new ArrayList<>();
 
@@ -115,7 +126,7 @@ public class HeapTests {
          * Making sure the runtime is roughly nlog n
          */
         {
-            PriorityQueue<Integer> pq = new Heap<>((Integer a, Integer b) -> a - b);
+            PriorityQueue<Integer> pq = newQueue();
             Random rand = new Random();
 
             long startTime = System.currentTimeMillis();
@@ -135,6 +146,7 @@ public class HeapTests {
     }
 
     public static void main(String[] args) {
+        dary = args.length > 0 && args[0].equals("dary");
         System.out.println(heapTests() + "/6");
     }
 }
\ No newline at end of file
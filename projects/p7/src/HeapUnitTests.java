@@ -1,12 +1,14 @@
 /*
  * file name: HeapUnitTests.java
  * author: Jack Dai
- * last modified: 11/19/2025
+ * last modified: 10/17/2026
  * purpose of the class:
  * Additional Heap Tests that help debug the Heap class.
+ * Run with the argument "dary" to test DaryHeapQueue instead.
  */
 
 import java.util.Comparator;
+import java.util.function.ToDoubleFunction;
 
 public class HeapUnitTests {
 
@@ -36,13 +38,25 @@ public class HeapUnitTests {
         }
     }
 
+    // the queue under test: Heap, or DaryHeapQueue when run with "dary"
+    private static boolean dary = false;
+
+    private static <T> PriorityQueue<T> newHeap(Comparator<T> comparator, ToDoubleFunction<T> key,
+            boolean maxHeap) {
+        if (dary) {
+            return new DaryHeapQueue<T>(key, maxHeap, 4);
+        }
+        return new Heap<T>(comparator, maxHeap);
+    }
+
     public static void main(String[] args) {
+        dary = args.length > 0 && args[0].equals("dary");
         int passed = 0;
         int total = 0;
 
         // Test 1: peek/poll on empty
         total++;
-        Heap<Integer> h1 = new Heap<>((a, b) -> a - b);
+        PriorityQueue<Integer> h1 = newHeap((a, b) -> a - b, a -> a, false);
         boolean t1 = h1.peek() == null && h1.poll() == null && h1.size() == 0;
         System.out.println("Test 1 (empty peek/poll): " + (t1 ? "PASSED" : "FAILED"));
         if (t1) {
@@ -50,7 +64,7 @@ public class HeapUnitTests {
         }
         // Test 2: offer/poll ordering
         total++;
-        Heap<Integer> h2 = new Heap<>((a, b) -> a - b);
+        PriorityQueue<Integer> h2 = newHeap((a, b) -> a - b, a -> a, false);
         for (int i = 5; i >= 0; i--) {
             h2.offer(i);
         }
@@ -69,7 +83,7 @@ public class HeapUnitTests {
 
         // Test 3: duplicates
         total++;
-        Heap<Integer> h3 = new Heap<>((a, b) -> a - b);
+        PriorityQueue<Integer> h3 = newHeap((a, b) -> a - b, a -> a, false);
         h3.offer(3);
         h3.offer(1);
         h3.offer(3);
@@ -82,7 +96,7 @@ public class HeapUnitTests {
 
         // Test 4: max-heap flag
         total++;
-        Heap<Integer> h4 = new Heap<>((a, b) -> a - b, true); // max-heap
+        PriorityQueue<Integer> h4 = newHeap((a, b) -> a - b, a -> a, true); // max-heap
         h4.offer(1);
         h4.offer(5);
         h4.offer(3);
@@ -95,7 +109,7 @@ public class HeapUnitTests {
         // Test 5: updatePriority decreases key (should bubble up)
         total++;
         Comparator<Node> nodeComp = (a, b) -> Integer.compare(a.key, b.key);
-        Heap<Node> h5 = new Heap<>(nodeComp);
+        PriorityQueue<Node> h5 = newHeap(nodeComp, n -> n.key, false);
         Node na = new Node(10, "a");
         Node nb = new Node(20, "b");
         Node nc = new Node(30, "c");
@@ -113,7 +127,7 @@ public class HeapUnitTests {
 
         // Test 6: updatePriority increases key (should bubble down)
         total++;
-        Heap<Node> h6 = new Heap<>(nodeComp);
+        PriorityQueue<Node> h6 = newHeap(nodeComp, n -> n.key, false);
         na = new Node(10, "a");
         nb = new Node(20, "b");
         nc = new Node(30, "c");
@@ -131,7 +145,7 @@ public class HeapUnitTests {
 
         // Test 7: updatePriority on non-existent item does nothing
         total++;
-        Heap<Integer> h7 = new Heap<>((a, b) -> a - b);
+        PriorityQueue<Integer> h7 = newHeap((a, b) -> a - b, a -> a, false);
         h7.offer(1);
         h7.offer(2);
         h7.updatePriority(999); // not present
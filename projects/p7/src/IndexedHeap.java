@@ -0,0 +1,213 @@
+/*
+ * file name: IndexedHeap.java
+ * author: Jack Dai
+ * last modified: 10/17/2026
+ * purpose of the class:
+ * An array-based Binary Heap that also remembers the position of every item, so that
+ * updatePriority, remove and contains can find an item directly instead of scanning the
+ * whole heap.
+ * Items must be distinct (according to equals), since each one has a single position.
+ */
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+
+public class IndexedHeap<T> implements PriorityQueue<T> {
+    private Comparator<T> comparator;
+    private T[] heap;
+    private int size;
+    // position of every item in the heap array
+    private HashMap<T, Integer> positions;
+
+    @SuppressWarnings("unchecked")
+    public IndexedHeap(Comparator<T> comparator, boolean maxHeap) {
+        if (comparator == null) {
+            throw new IllegalArgumentException("Comparator cannot be null");
+        }
+        if (maxHeap) {
+            // reverse the comparator for max-heap behavior
+            this.comparator = (a, b) -> comparator.compare(b, a);
+        } else {
+            this.comparator = comparator;
+        }
+        this.heap = (T[]) new Object[16];
+        this.size = 0;
+        this.positions = new HashMap<>();
+    }
+
+    public IndexedHeap(Comparator<T> comparator) {
+        this(comparator, false);
+    }
+
+    /**
+     * Stores item at idx and records its new position.
+     */
+    private void place(int idx, T item) {
+        this.heap[idx] = item;
+        this.positions.put(item, idx);
+    }
+
+    /**
+     * Moves the item at idx up while it has higher priority than its parent.
+     * Makes the same comparisons as Heap, so both order equal items the same way.
+     */
+    private void bubbleUp(int idx) {
+        T item = heap[idx];
+        while (idx > 0) {
+            int parent = (idx - 1) / 2;
+            if (this.comparator.compare(item, heap[parent]) < 0) {
+                place(idx, heap[parent]);
+                idx = parent;
+            } else {
+                break;
+            }
+        }
+        place(idx, item);
+    }
+
+    /**
+     * Moves the item at idx down while one of its children has higher priority.
+     */
+    private void bubbleDown(int idx) {
+        T item = heap[idx];
+        while (true) {
+            int left = 2 * idx + 1;
+            int right = left + 1;
+            int smallest = idx;
+            T best = item;
+
+            if (left < size && this.comparator.compare(heap[left], best) < 0) {
+                smallest = left;
+                best = heap[left];
+            }
+            if (right < size && this.comparator.compare(heap[right], best) < 0) {
+                smallest = right;
+                best = heap[right];
+            }
+
+            if (smallest != idx) {
+                place(idx, best);
+                idx = smallest;
+            } else {
+                break;
+            }
+        }
+        place(idx, item);
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public T peek() {
+        if (this.size == 0)
+            return null;
+        return this.heap[0];
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalArgumentException if an equal item is already in the heap
+     */
+    @Override
+    public void offer(T item) {
+        if (this.positions.containsKey(item)) {
+            throw new IllegalArgumentException("Item is already in the heap: " + item);
+        }
+        if (this.size == this.heap.length) {
+            this.heap = Arrays.copyOf(this.heap, 2 * this.size);
+        }
+        this.heap[this.size] = item;
+        this.size++;
+        bubbleUp(this.size - 1);
+    }
+
+    @Override
+    public T poll() {
+        if (this.size == 0)
+            return null;
+
+        T root = this.heap[0];
+        this.positions.remove(root);
+        this.size--;
+        T last = this.heap[this.size];
+        this.heap[this.size] = null;
+        if (this.size > 0) {
+            this.heap[0] = last;
+            bubbleDown(0);
+        }
+        return root;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Looks the item up in the position map, so this runs in O(log n). Does
+     * nothing if the item is not in the heap.
+     */
+    @Override
+    public void updatePriority(T item) {
+        Integer idx = this.positions.get(item);
+        if (idx == null)
+            return; // item not found
+
+        // try both directions; one of them (or none) will do nothing
+        bubbleUp(idx);
+        bubbleDown(idx);
+    }
+
+    /**
+     * Returns whether an item equal to the given one is in the heap, in O(1)
+     * expected time.
+     *
+     * @param item the item to look for
+     * @return true if the item is in the heap
+     */
+    public boolean contains(T item) {
+        return this.positions.containsKey(item);
+    }
+
+    /**
+     * Removes the given item from the heap in O(log n), wherever it is.
+     *
+     * @param item the item to remove
+     * @return true if the item was in the heap
+     */
+    public boolean remove(T item) {
+        Integer idx = this.positions.remove(item);
+        if (idx == null)
+            return false;
+
+        this.size--;
+        T last = this.heap[this.size];
+        this.heap[this.size] = null;
+        if (idx < this.size) {
+            // move the last item into the hole and restore the heap around it
+            this.heap[idx] = last;
+            bubbleUp(idx);
+            bubbleDown(idx);
+        }
+        return true;
+    }
+
+    public String toString() {
+        int depth = 0;
+        return toString(0, depth);
+    }
+
+    private String toString(int idx, int depth) {
+        if (idx >= this.size) {
+            return "";
+        }
+        String left = toString(2 * idx + 1, depth + 1);
+        String right = toString(2 * idx + 2, depth + 1);
+
+        String myself = "\t".repeat(depth) + this.heap[idx] + "\n";
+        return right + myself + left;
+    }
+
+}
@@ -0,0 +1,163 @@
+/*
+ * file name: IndexedHeapUnitTests.java
+ * author: Jack Dai
+ * last modified: 10/17/2026
+ * purpose of the class:
+ * Tests for the IndexedHeap class, in particular updatePriority, remove and contains,
+ * which use the position map instead of scanning the heap.
+ */
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Random;
+
+public class IndexedHeapUnitTests {
+
+    static class Node {
+        int key;
+        String id;
+
+        Node(int key, String id) {
+            this.key = key;
+            this.id = id;
+        }
+
+        public String toString() {
+            return id + ":" + key;
+        }
+    }
+
+    public static void main(String[] args) {
+        int passed = 0;
+        int total = 0;
+        Comparator<Node> nodeComp = (a, b) -> Integer.compare(a.key, b.key);
+
+        // Test 1: peek/poll on empty
+        total++;
+        IndexedHeap<Integer> h1 = new IndexedHeap<>((a, b) -> a - b);
+        boolean t1 = h1.peek() == null && h1.poll() == null && h1.size() == 0 && !h1.contains(1);
+        System.out.println("Test 1 (empty peek/poll): " + (t1 ? "PASSED" : "FAILED"));
+        if (t1) {
+            passed++;
+        }
+
+        // Test 2: offer/poll ordering, max-heap flag
+        total++;
+        IndexedHeap<Integer> h2 = new IndexedHeap<>((a, b) -> a - b);
+        IndexedHeap<Integer> h2max = new IndexedHeap<>((a, b) -> a - b, true);
+        for (int i = 0; i < 100; i++) {
+            h2.offer((i * 37) % 100);
+            h2max.offer((i * 37) % 100);
+        }
+        boolean t2 = true;
+        for (int i = 0; i < 100; i++) {
+            Integer p = h2.poll();
+            Integer q = h2max.poll();
+            if (p == null || p != i || q == null || q != 99 - i) {
+                t2 = false;
+                break;
+            }
+        }
+        System.out.println("Test 2 (ordering): " + (t2 ? "PASSED" : "FAILED"));
+        if (t2) {
+            passed++;
+        }
+
+        // Test 3: updatePriority in both directions
+        total++;
+        IndexedHeap<Node> h3 = new IndexedHeap<>(nodeComp);
+        Node na = new Node(10, "a");
+        Node nb = new Node(20, "b");
+        Node nc = new Node(30, "c");
+        h3.offer(nc);
+        h3.offer(nb);
+        h3.offer(na);
+        nc.key = 5;
+        h3.updatePriority(nc);
+        na.key = 100;
+        h3.updatePriority(na);
+        h3.updatePriority(new Node(1, "missing"));
+        boolean t3 = h3.poll() == nc && h3.poll() == nb && h3.poll() == na;
+        System.out.println("Test 3 (updatePriority): " + (t3 ? "PASSED" : "FAILED"));
+        if (t3) {
+            passed++;
+        }
+
+        // Test 4: contains and remove
+        total++;
+        IndexedHeap<Integer> h4 = new IndexedHeap<>((a, b) -> a - b);
+        for (int i = 0; i < 10; i++) {
+            h4.offer(i);
+        }
+        boolean t4 = h4.contains(3) && h4.remove(3) && !h4.contains(3) && !h4.remove(3) && h4.remove(0)
+                && h4.remove(9) && h4.size() == 7;
+        int[] expected = { 1, 2, 4, 5, 6, 7, 8 };
+        for (int e : expected) {
+            Integer p = h4.poll();
+            if (p == null || p != e) {
+                t4 = false;
+            }
+        }
+        System.out.println("Test 4 (contains/remove): " + (t4 ? "PASSED" : "FAILED"));
+        if (t4) {
+            passed++;
+        }
+
+        // Test 5: offering an item twice is rejected
+        total++;
+        IndexedHeap<Integer> h5 = new IndexedHeap<>((a, b) -> a - b);
+        h5.offer(1);
+        boolean t5 = false;
+        try {
+            h5.offer(1);
+        } catch (IllegalArgumentException e) {
+            t5 = h5.size() == 1;
+        }
+        System.out.println("Test 5 (duplicate offer): " + (t5 ? "PASSED" : "FAILED"));
+        if (t5) {
+            passed++;
+        }
+
+        // Test 6: random decrease-key, remove and poll against a list of the items
+        total++;
+        Random rand = new Random(231);
+        IndexedHeap<Node> h6 = new IndexedHeap<>(nodeComp);
+        ArrayList<Node> live = new ArrayList<>();
+        boolean t6 = true;
+        for (int i = 0; i < 2000; i++) {
+            Node n = new Node(rand.nextInt(10000), "n" + i);
+            h6.offer(n);
+            live.add(n);
+        }
+        for (int step = 0; step < 5000 && t6; step++) {
+            int op = live.isEmpty() ? 2 : rand.nextInt(4);
+            if (op == 0) {
+                Node n = live.get(rand.nextInt(live.size()));
+                n.key -= rand.nextInt(500);
+                h6.updatePriority(n);
+            } else if (op == 1) {
+                Node n = live.remove(rand.nextInt(live.size()));
+                t6 = h6.remove(n) && !h6.contains(n);
+            } else if (op == 2) {
+                Node n = new Node(rand.nextInt(10000), "m" + step);
+                h6.offer(n);
+                live.add(n);
+            } else {
+                Node n = h6.poll();
+                int min = Integer.MAX_VALUE;
+                for (Node m : live) {
+                    min = Math.min(min, m.key);
+                }
+                t6 = n != null && n.key == min && live.remove(n);
+            }
+            t6 = t6 && h6.size() == live.size();
+        }
+        System.out.println("Test 6 (random operations): " + (t6 ? "PASSED" : "FAILED"));
+        if (t6) {
+            passed++;
+        }
+
+        System.out.println();
+        System.out.println("IndexedHeapUnitTests: passed " + passed + " / " + total);
+    }
+}
@@ -1,18 +1,24 @@
-
 /*
  * file name: Maze.java
  * author: Jack Dai
- * last modified: 11/16/2025
+ * last modified: 10/17/2026
  * purpose of the class:
  * The Maze class will manage a grid of Cells.
+ * The grid is stored flat: the type of every cell in a byte[] and its prev in an int[],
+ * both indexed by row * cols + col. Searches work on these indices directly; Cell
+ * objects are views of one index, created only when someone asks for them.
  */
 
 import java.awt.Graphics;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.Random;
 
 public class Maze implements Iterable<Cell> {
 
+    private static final CellType[] TYPES = CellType.values();
+    private static final byte OBSTACLE = (byte) CellType.OBSTACLE.ordinal();
+
     /**
      * An iterator which iterates through all the Cells in the Maze row by row and
      * column by column.
@@ -49,14 +55,26 @@ public class Maze implements Iterable<Cell> {
     private double density;
 
     /**
-     * The 2-D array of Cells making up this Maze.
+     * The CellType ordinal of every cell.
+     */
+    private byte[] types;
+
+    /**
+     * The index of the cell which, when explored, revealed each cell for the
+     * first time, or -1 if the cell has not been revealed.
+     */
+    private int[] prev;
+
+    /**
+     * The Cell views handed out so far, created on demand so that every index
+     * has at most one view.
      */
-    private Cell[][] landscape;
+    private Cell[] views;
 
     /**
      * Constructs a Maze with the given number of rows and columns. Each Cell
      * independently has probability {@code density} of being an OBSTACLE.
-     * 
+     *
      * @param rows    the number of rows.
      * @param columns the number of columns.
      * @param density the probability of any individual Cell being an OBSTACLE.
@@ -65,7 +83,8 @@ public class Maze implements Iterable<Cell> {
         this.rows = rows;
         this.cols = columns;
         this.density = density;
-        landscape = new Cell[rows][columns];
+        this.types = new byte[rows * columns];
+        this.prev = new int[rows * columns];
         reinitialize();
     }
 
@@ -74,24 +93,22 @@ public class Maze implements Iterable<Cell> {
      */
     public void reinitialize() {
         Random rand = new Random();
-        for (int r = 0; r < rows; r++) {
-            for (int c = 0; c < cols; c++) {
-                landscape[r][c] = new Cell(r, c, rand.nextDouble() < density ? CellType.OBSTACLE : CellType.FREE);
-            }
+        for (int i = 0; i < types.length; i++) {
+            types[i] = (byte) (rand.nextDouble() < density ? CellType.OBSTACLE : CellType.FREE).ordinal();
         }
+        reset();
     }
 
     /**
-     * Calls {@code reset} on every Cell in this Maze.
+     * Resets every Cell in this Maze (which just clears its prev).
      */
     public void reset() {
-        for (Cell cell : this)
-            cell.reset();
+        Arrays.fill(prev, -1);
     }
 
     /**
      * Returns the number of rows in the Maze.
-     * 
+     *
      * @return the number of rows in the Maze.
      */
     public int getRows() {
@@ -100,52 +117,172 @@ public class Maze implements Iterable<Cell> {
 
     /**
      * Returns the number of columns in the Maze.
-     * 
+     *
      * @return the number of columns in the Maze.
      */
     public int getCols() {
         return cols;
     }
 
+    /**
+     * Returns the number of cells in the Maze, which bounds every cell index.
+     *
+     * @return rows * cols
+     */
+    public int numCells() {
+        return types.length;
+    }
+
+    /**
+     * Returns the index of the cell at the specified row and column.
+     *
+     * @param row the row
+     * @param col the column
+     * @return row * cols + col
+     */
+    public int index(int row, int col) {
+        if (row < 0 || row >= rows || col < 0 || col >= cols) {
+            throw new IndexOutOfBoundsException("(" + row + ", " + col + ") is outside the maze");
+        }
+        return row * cols + col;
+    }
+
+    /**
+     * Returns the row of the cell with the given index.
+     *
+     * @param index a cell index
+     * @return its row
+     */
+    public int rowOf(int index) {
+        return index / cols;
+    }
+
+    /**
+     * Returns the column of the cell with the given index.
+     *
+     * @param index a cell index
+     * @return its column
+     */
+    public int colOf(int index) {
+        return index % cols;
+    }
+
+    /**
+     * Returns the CellType of the cell with the given index.
+     *
+     * @param index a cell index
+     * @return its CellType
+     */
+    public CellType getType(int index) {
+        return TYPES[types[index]];
+    }
+
+    /**
+     * Sets the CellType of the cell with the given index.
+     *
+     * @param index a cell index
+     * @param type  its new CellType
+     */
+    public void setType(int index, CellType type) {
+        types[index] = (byte) type.ordinal();
+    }
+
+    /**
+     * Returns the index of the prev of the cell with the given index.
+     *
+     * @param index a cell index
+     * @return the index of its prev, or -1 if it has none
+     */
+    public int getPrev(int index) {
+        return prev[index];
+    }
+
+    /**
+     * Sets the prev of the cell with the given index.
+     *
+     * @param index     a cell index
+     * @param prevIndex the index of its prev, or -1 for none
+     */
+    public void setPrev(int index, int prevIndex) {
+        prev[index] = prevIndex;
+    }
+
     /**
      * Returns the Cell at the specified row and column in the Maze.
-     * 
+     *
      * @param row the row
      * @param col the column
      * @return the Cell at the specified row and column in the Maze.
      */
     public Cell get(int row, int col) {
-        return landscape[row][col];
+        return cell(index(row, col));
+    }
+
+    /**
+     * Returns the Cell view of the cell with the given index. Repeated calls
+     * return the same object.
+     *
+     * @param index a cell index
+     * @return the Cell with that index
+     */
+    public Cell cell(int index) {
+        if (views == null) {
+            views = new Cell[types.length];
+        }
+        Cell view = views[index];
+        if (view == null) {
+            view = new Cell(this, index / cols, index % cols);
+            views[index] = view;
+        }
+        return view;
+    }
+
+    /**
+     * Writes the indices of the non-OBSTACLE cells neighboring the cell with
+     * the given index into {@code out}, in the order up, down, right, left,
+     * without allocating.
+     *
+     * @param index the cell to explore around
+     * @param out   an array of length at least 4
+     * @return the number of neighbors written
+     */
+    public int neighbors(int index, int[] out) {
+        int row = index / cols;
+        int col = index - row * cols;
+        int count = 0;
+        if (row > 0 && types[index - cols] != OBSTACLE)
+            out[count++] = index - cols;
+        if (row < rows - 1 && types[index + cols] != OBSTACLE)
+            out[count++] = index + cols;
+        if (col < cols - 1 && types[index + 1] != OBSTACLE)
+            out[count++] = index + 1;
+        if (col > 0 && types[index - 1] != OBSTACLE)
+            out[count++] = index - 1;
+        return count;
     }
 
     /**
      * Returns a LinkedList of the non-OBSTACLE Cells neighboring the specified
      * Cell.
-     * 
+     *
      * @param c the Cell to explore around.
      * @return a LinkedList of the non-OBSTACLE Cells neighboring the specified
      *         Cell.
      */
     public LinkedList<Cell> getNeighbors(Cell c) {
         LinkedList<Cell> cells = new LinkedList<Cell>();
-        int[][] steps = new int[][] { { -1, 0 }, { 1, 0 }, { 0, 1 }, { 0, -1 } };
-        for (int[] step : steps) {
-            int nextRow = c.getRow() + step[0];
-            int nextCol = c.getCol() + step[1];
-            if (nextRow >= 0 && nextRow < getRows() && nextCol >= 0 && nextCol < getCols()
-                    && get(nextRow, nextCol).getType() != CellType.OBSTACLE)
-                cells.offer(get(nextRow, nextCol));
-        }
+        int[] out = new int[4];
+        int count = neighbors(index(c.getRow(), c.getCol()), out);
+        for (int i = 0; i < count; i++)
+            cells.offer(cell(out[i]));
         return cells;
     }
 
     public int countVisitedCells() {
         int count = 0;
-        for (int i = 0; i < rows; i++) {
-            for (int j = 0; j < rows; j++) {
-                if (get(i, j).getPrev() != null) {
-                    count++;
-                }
+        for (int p : prev) {
+            if (p >= 0) {
+                count++;
             }
         }
         return count;
@@ -154,10 +291,10 @@ public class Maze implements Iterable<Cell> {
     public String toString() {
         StringBuilder output = new StringBuilder();
         output.append("-".repeat(cols + 3) + "\n");
-        for (Cell[] cells : landscape) {
+        for (int r = 0; r < rows; r++) {
             output.append("| ");
-            for (Cell cell : cells) {
-                output.append(cell.getType() == CellType.OBSTACLE ? 'X' : ' ');
+            for (int c = 0; c < cols; c++) {
+                output.append(types[r * cols + c] == OBSTACLE ? 'X' : ' ');
             }
             output.append("|\n");
         }
@@ -166,7 +303,7 @@ public class Maze implements Iterable<Cell> {
 
     /**
      * Calls {@code drawType} on every Cell in this Maze.
-     * 
+     *
      * @param g
      * @param scale
      */
@@ -179,4 +316,4 @@ public class Maze implements Iterable<Cell> {
         Maze ls = new Maze(7, 7, .2);
         System.out.println(ls);
     }
-}
\ No newline at end of file
+}
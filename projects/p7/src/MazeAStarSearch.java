@@ -1,65 +1,58 @@
 /*
  * file name: MazeAStarSearch.java
  * author: Jack Dai
- * last modified: 11/16/2025
+ * last modified: 10/17/2026
  * purpose of the class:
  * Extend the AbstractMazeSearch class and implement the A* algorithm.
+ * The frontier is a DaryHeap of cell indices keyed by their f-values, so a search
+ * allocates nothing.
  */
 
-import java.util.Comparator;
-
 public class MazeAStarSearch extends AbstractMazeSearch {
 
-    private PriorityQueue<Cell> priorityQueue;
+    // cell indices ordered by f-value, cached when a cell is added or updated
+    private DaryHeap priorityQueue;
 
     /**
-     * Constructs an A* searcher for the provided maze.
+     * Constructs an A* searcher for the provided maze. The frontier is a
+     * binary heap, which explores cells of equal f-value in the same order as
+     * Heap and IndexedHeap would.
      *
      * @param maze the Maze instance to search
      */
     public MazeAStarSearch(Maze maze) {
+        this(maze, 2);
+    }
+
+    /**
+     * Constructs an A* searcher whose frontier is a d-ary heap with the given
+     * arity. Cells with equal f-values may be explored in a different order
+     * than with the default binary heap.
+     *
+     * @param maze  the Maze instance to search
+     * @param arity the arity of the heap (4 is usually fastest)
+     */
+    public MazeAStarSearch(Maze maze, int arity) {
         super(maze);
-        // A* comparator: smaller f-value means higher priority
-        Comparator<Cell> comp = new Comparator<Cell>() {
-            @Override
-            public int compare(Cell c1, Cell c2) {
-                int f1 = costEstimate(c1);
-                int f2 = costEstimate(c2);
-                return f1 - f2;
-            }
-        };
-        this.priorityQueue = new Heap<Cell>(comp);
+        this.priorityQueue = new DaryHeap(arity, maze.numCells());
     }
 
     /**
      * Estimate the total cost f(n) = g(n) + h(n) for A* prioritization.
-     * g(n): number of steps from the start to cell,
-     * computed by traceback(Cell) (defensive default used if
-     * traceback is unavailable).
-     * h(n)}: Manhattan distance from cell to the target.
+     * g(n): number of steps from the start to cell, as stored by the search.
+     * h(n): Manhattan distance from cell to the target.
      *
-     * @param cell the cell to estimate cost for
+     * @param index the index of the cell to estimate cost for
      * @return the estimated total cost (smaller is higher priority)
      */
-    private int costEstimate(Cell cell) {
-        // f(n) = g(n) + h(n)
-        // g(n): length of the path from the start to this cell (using traceback)
-        // h(n): Manhattan distance from this cell to the target
-        LinkedList<Cell> path = traceback(cell);
-        int g;
-        if (path == null) {
-            // In theory, any cell in the queue should already be reachable;
-            // this is a defensive default in case something goes wrong
-            g = Integer.MAX_VALUE / 4;
-        } else {
-            g = path.size();
-        }
-
+    private int costEstimate(int index) {
+        int g = getDistance(index);
         Cell target = getTarget();
         int h = 0;
-        if (target != null && cell != null) {
-            h = Math.abs(cell.getRow() - target.getRow()) +
-                    Math.abs(cell.getCol() - target.getCol());
+        if (target != null) {
+            Maze maze = getMaze();
+            h = Math.abs(maze.rowOf(index) - target.getRow()) +
+                    Math.abs(maze.colOf(index) - target.getCol());
         }
         return g + h;
     }
@@ -72,7 +65,8 @@ public class MazeAStarSearch extends AbstractMazeSearch {
      */
     @Override
     public Cell findNextCell() {
-        return priorityQueue.poll();
+        int next = findNextIndex();
+        return (next < 0) ? null : getMaze().cell(next);
     }
 
     /**
@@ -82,7 +76,7 @@ public class MazeAStarSearch extends AbstractMazeSearch {
      */
     @Override
     public void addCell(Cell next) {
-        priorityQueue.offer(next);
+        addIndex(next.getIndex());
     }
 
     /**
@@ -90,15 +84,13 @@ public class MazeAStarSearch extends AbstractMazeSearch {
      *
      * When a shorter path to a previously-discovered cell is found, the
      * priority of that cell must be updated in the heap; this implementation
-     * delegates to PriorityQueue.updatePriority(Object)}.
+     * recomputes its f-value and moves it up the heap in O(log n).
      *
      * @param next the {@link Cell} whose priority should be updated
      */
     @Override
     public void updateCell(Cell next) {
-        // When we find a shorter path to a cell, we need to
-        // update its priority inside the heap.
-        priorityQueue.updatePriority(next);
+        updateIndex(next.getIndex());
     }
 
     /**
@@ -110,4 +102,28 @@ public class MazeAStarSearch extends AbstractMazeSearch {
     public int numRemainingCells() {
         return priorityQueue.size();
     }
-}
\ No newline at end of file
+
+    @Override
+    protected int findNextIndex() {
+        return priorityQueue.poll();
+    }
+
+    @Override
+    protected void addIndex(int index) {
+        priorityQueue.offer(index, costEstimate(index));
+    }
+
+    @Override
+    protected void updateIndex(int index) {
+        // When we find a shorter path to a cell, we need to
+        // update its priority inside the heap (if it is still there).
+        if (priorityQueue.contains(index)) {
+            priorityQueue.updatePriority(index, costEstimate(index));
+        }
+    }
+
+    @Override
+    protected void clearCells() {
+        priorityQueue.clear();
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * file name: MazeBidirectionalAStar.java
+ * author: Jack Dai
+ * last modified: 10/17/2026
+ * purpose of the class:
+ * A* from the start towards the target and from the target towards the start at the
+ * same time, each with its own DaryHeap. Meeting is not enough to stop: the search
+ * keeps the shortest path found through any edge between the two trees, and stops once
+ * the smallest f-value in either heap is at least its length. Both Manhattan estimates
+ * are consistent, so no cell left in that heap can lie on a shorter path.
+ */
+
+public class MazeBidirectionalAStar extends AbstractBidirectionalMazeSearch {
+
+    // cell indices ordered by f-value towards the target (forward) and the start (backward)
+    private DaryHeap heapF, heapB;
+
+    /**
+     * Constructs a bidirectional A* searcher for the provided maze, with
+     * 4-ary heaps as frontiers.
+     *
+     * @param maze the Maze instance to search
+     */
+    public MazeBidirectionalAStar(Maze maze) {
+        this(maze, 4);
+    }
+
+    /**
+     * Constructs a bidirectional A* searcher whose frontiers are d-ary heaps
+     * with the given arity.
+     *
+     * @param maze  the Maze instance to search
+     * @param arity the arity of the heaps
+     */
+    public MazeBidirectionalAStar(Maze maze, int arity) {
+        super(maze);
+        this.heapF = new DaryHeap(arity, maze.numCells());
+        this.heapB = new DaryHeap(arity, maze.numCells());
+    }
+
+    /**
+     * Returns the Manhattan distance between two cells.
+     */
+    private int manhattan(int a, int b) {
+        Maze maze = getMaze();
+        return Math.abs(maze.rowOf(a) - maze.rowOf(b)) + Math.abs(maze.colOf(a) - maze.colOf(b));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return the forward Cell with the smallest f-value or null if the
+     *         forward frontier is empty
+     */
+    @Override
+    public Cell findNextCell() {
+        int next = findNextIndex();
+        return (next < 0) ? null : getMaze().cell(next);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param next the Cell to add to the forward frontier
+     */
+    @Override
+    public void addCell(Cell next) {
+        addIndex(next.getIndex());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param next the Cell whose forward priority should be updated
+     */
+    @Override
+    public void updateCell(Cell next) {
+        updateIndex(next.getIndex());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return the number of cells in both frontiers
+     */
+    @Override
+    public int numRemainingCells() {
+        return heapF.size() + heapB.size();
+    }
+
+    @Override
+    protected int findNextIndex() {
+        return heapF.poll();
+    }
+
+    @Override
+    protected void addIndex(int index) {
+        heapF.offer(index, getDistance(index) + manhattan(index, getTarget().getIndex()));
+    }
+
+    @Override
+    protected void updateIndex(int index) {
+        if (heapF.contains(index)) {
+            heapF.updatePriority(index, getDistance(index) + manhattan(index, getTarget().getIndex()));
+        }
+    }
+
+    @Override
+    protected void clearCells() {
+        heapF.clear();
+        heapB.clear();
+    }
+
+    @Override
+    protected void startFrontiers(int start, int target) {
+        heapF.offer(start, manhattan(start, target));
+        heapB.offer(target, manhattan(target, start));
+    }
+
+    @Override
+    protected boolean step() {
+        if (heapF.size() == 0 || heapB.size() == 0) {
+            return false;
+        }
+        // every path through a cell left in a heap is at least as long as its f-value
+        if (heapF.peekPriority() >= best || heapB.peekPriority() >= best) {
+            return false;
+        }
+        int start = getStart().getIndex();
+        int target = getTarget().getIndex();
+        Maze maze = getMaze();
+        if (heapF.size() <= heapB.size()) {
+            int cell = heapF.poll();
+            setCurIndex(cell);
+            int distance = getDistance(cell) + 1;
+            int count = maze.neighbors(cell, neighbors);
+            for (int i = 0; i < count; i++) {
+                int next = neighbors[i];
+                if (!reachedForward(next) || distance < getDistance(next)) {
+                    maze.setPrev(next, cell);
+                    setDistance(next, distance);
+                    double f = distance + manhattan(next, target);
+                    if (heapF.contains(next)) {
+                        heapF.updatePriority(next, f);
+                    } else {
+                        heapF.offer(next, f);
+                    }
+                }
+                if (reachedBackward(next)) {
+                    touch(cell, next);
+                }
+            }
+        } else {
+            int cell = heapB.poll();
+            setCurIndex(cell);
+            int distance = distanceB[cell] + 1;
+            int count = maze.neighbors(cell, neighbors);
+            for (int i = 0; i < count; i++) {
+                int next = neighbors[i];
+                if (!reachedBackward(next) || distance < distanceB[next]) {
+                    reachBackward(next, cell, distance);
+                    double f = distance + manhattan(next, start);
+                    if (heapB.contains(next)) {
+                        heapB.updatePriority(next, f);
+                    } else {
+                        heapB.offer(next, f);
+                    }
+                }
+                if (reachedForward(next)) {
+                    touch(next, cell);
+                }
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * file name: MazeBidirectionalBFS.java
+ * author: Jack Dai
+ * last modified: 10/17/2026
+ * purpose of the class:
+ * Breadth-first search from the start and from the target at the same time. Each step
+ * explores one whole level of the smaller frontier; the search stops after the first
+ * level in which the two searches meet, keeping the shortest of the paths found there.
+ */
+
+public class MazeBidirectionalBFS extends AbstractBidirectionalMazeSearch {
+
+    // cell indices; each queue is queue[head] .. queue[tail - 1]
+    private int[] queueF, queueB;
+    private int headF, tailF, headB, tailB;
+
+    /**
+     * Constructs a bidirectional BFS searcher for the provided maze.
+     *
+     * @param maze the Maze instance to search
+     */
+    public MazeBidirectionalBFS(Maze maze) {
+        super(maze);
+        // every cell is offered at most once per search in each direction
+        this.queueF = new int[Math.max(1, maze.numCells())];
+        this.queueB = new int[Math.max(1, maze.numCells())];
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * This implementation removes and returns the head of the forward queue,
+     * or null if it is empty.
+     */
+    @Override
+    public Cell findNextCell() {
+        int next = findNextIndex();
+        return (next < 0) ? null : getMaze().cell(next);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * This implementation adds next to the tail of the forward queue.
+     */
+    @Override
+    public void addCell(Cell next) {
+        addIndex(next.getIndex());
+    }
+
+    /**
+     * For BFS this method is a no-op because the queues do not support
+     * reprioritization of already-enqueued elements.
+     */
+    @Override
+    public void updateCell(Cell next) {
+        // no-op for BFS; queue order is FIFO
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return the number of cells in both frontiers
+     */
+    @Override
+    public int numRemainingCells() {
+        return (tailF - headF) + (tailB - headB);
+    }
+
+    @Override
+    protected int findNextIndex() {
+        return (headF == tailF) ? -1 : queueF[headF++];
+    }
+
+    @Override
+    protected void addIndex(int index) {
+        queueF[tailF++] = index;
+    }
+
+    @Override
+    protected void updateIndex(int index) {
+        // no-op for BFS
+    }
+
+    @Override
+    protected void clearCells() {
+        headF = tailF = 0;
+        headB = tailB = 0;
+    }
+
+    @Override
+    protected void startFrontiers(int start, int target) {
+        queueF[tailF++] = start;
+        queueB[tailB++] = target;
+    }
+
+    @Override
+    protected boolean step() {
+        if (headF == tailF || headB == tailB) {
+            return false;
+        }
+        if (tailF - headF <= tailB - headB) {
+            expandForward();
+        } else {
+            expandBackward();
+        }
+        // every path found later would be longer than the ones found in this level
+        return best == Integer.MAX_VALUE;
+    }
+
+    /**
+     * Explores every cell of the current forward level.
+     */
+    private void expandForward() {
+        Maze maze = getMaze();
+        int end = tailF;
+        while (headF < end) {
+            int cell = queueF[headF++];
+            setCurIndex(cell);
+            int distance = getDistance(cell) + 1;
+            int count = maze.neighbors(cell, neighbors);
+            for (int i = 0; i < count; i++) {
+                int next = neighbors[i];
+                if (!reachedForward(next)) {
+                    maze.setPrev(next, cell);
+                    setDistance(next, distance);
+                    queueF[tailF++] = next;
+                }
+                if (reachedBackward(next)) {
+                    touch(cell, next);
+                }
+            }
+        }
+    }
+
+    /**
+     * Explores every cell of the current backward level.
+     */
+    private void expandBackward() {
+        Maze maze = getMaze();
+        int end = tailB;
+        while (headB < end) {
+            int cell = queueB[headB++];
+            setCurIndex(cell);
+            int distance = distanceB[cell] + 1;
+            int count = maze.neighbors(cell, neighbors);
+            for (int i = 0; i < count; i++) {
+                int next = neighbors[i];
+                if (!reachedBackward(next)) {
+                    reachBackward(next, cell, distance);
+                    queueB[tailB++] = next;
+                }
+                if (reachedForward(next)) {
+                    touch(next, cell);
+                }
+            }
+        }
+    }
+}
@@ -1,14 +1,17 @@
 /*
  * file name: MazeBreadthFirstSearch.java
  * author: Jack Dai
- * last modified: 11/16/2025
+ * last modified: 10/17/2026
  * purpose of the class:
  * Extend the AbstractMazeSearch class and implement the BFS algorithm for maze pathfinding.
+ * The queue holds cell indices in an int array, so a search allocates nothing.
  */
 
 public class MazeBreadthFirstSearch extends AbstractMazeSearch {
 
-    private Queue<Cell> queue;
+    // cell indices; the queue is queue[head] .. queue[tail - 1]
+    private int[] queue;
+    private int head, tail;
 
     /**
      * Constructs a BFS searcher for the provided maze.
@@ -17,7 +20,10 @@ public class MazeBreadthFirstSearch extends AbstractMazeSearch {
      */
     public MazeBreadthFirstSearch(Maze maze) {
         super(maze);
-        this.queue = new LinkedList<Cell>();
+        // every cell is offered at most once per search
+        this.queue = new int[Math.max(1, maze.numCells())];
+        this.head = 0;
+        this.tail = 0;
     }
 
     /**
@@ -30,7 +36,8 @@ public class MazeBreadthFirstSearch extends AbstractMazeSearch {
      */
     @Override
     public Cell findNextCell() {
-        return queue.poll();
+        int next = findNextIndex();
+        return (next < 0) ? null : getMaze().cell(next);
     }
 
     /**
@@ -43,7 +50,7 @@ public class MazeBreadthFirstSearch extends AbstractMazeSearch {
      */
     @Override
     public void addCell(Cell next) {
-        queue.offer(next);
+        addIndex(next.getIndex());
     }
 
     /**
@@ -64,6 +71,36 @@ public class MazeBreadthFirstSearch extends AbstractMazeSearch {
      */
     @Override
     public int numRemainingCells() {
-        return queue.size();
+        return tail - head;
+    }
+
+    @Override
+    protected int findNextIndex() {
+        return (head == tail) ? -1 : queue[head++];
+    }
+
+    @Override
+    protected void addIndex(int index) {
+        if (tail == queue.length) {
+            // move the live part to the front, growing only if it is full
+            int live = tail - head;
+            int[] bigger = (live == queue.length) ? new int[2 * live] : queue;
+            System.arraycopy(queue, head, bigger, 0, live);
+            queue = bigger;
+            head = 0;
+            tail = live;
+        }
+        queue[tail++] = index;
+    }
+
+    @Override
+    protected void updateIndex(int index) {
+        // no-op for BFS
+    }
+
+    @Override
+    protected void clearCells() {
+        head = 0;
+        tail = 0;
     }
 }
@@ -1,14 +1,19 @@
 /*
  * file name: MazeDepthFirstSearch.java
  * author: Jack Dai
- * last modified: 11/17/2025
+ * last modified: 10/17/2026
  * purpose of the class:
  * Extend the AbstractMazeSearch class and implement the DFS algorithm for maze pathfinding.
+ * The stack holds cell indices in an int array, so a search allocates nothing.
  */
 
+import java.util.Arrays;
+
 public class MazeDepthFirstSearch extends AbstractMazeSearch {
 
-    private Stack<Cell> stack;
+    // cell indices, top of the stack at size - 1
+    private int[] stack;
+    private int size;
 
     /**
      * Constructs a DFS searcher for the provided maze.
@@ -17,7 +22,9 @@ public class MazeDepthFirstSearch extends AbstractMazeSearch {
      */
     public MazeDepthFirstSearch(Maze maze) {
         super(maze);
-        this.stack = new LinkedList<Cell>();
+        // every cell is pushed at most once per search
+        this.stack = new int[Math.max(1, maze.numCells())];
+        this.size = 0;
     }
 
     /**
@@ -30,7 +37,8 @@ public class MazeDepthFirstSearch extends AbstractMazeSearch {
      */
     @Override
     public Cell findNextCell() {
-        return stack.pop();
+        int next = findNextIndex();
+        return (next < 0) ? null : getMaze().cell(next);
     }
 
     /**
@@ -43,7 +51,7 @@ public class MazeDepthFirstSearch extends AbstractMazeSearch {
      */
     @Override
     public void addCell(Cell next) {
-        stack.push(next);
+        addIndex(next.getIndex());
     }
 
     /**
@@ -64,6 +72,29 @@ public class MazeDepthFirstSearch extends AbstractMazeSearch {
      */
     @Override
     public int numRemainingCells() {
-        return stack.size();
+        return size;
+    }
+
+    @Override
+    protected int findNextIndex() {
+        return (size == 0) ? -1 : stack[--size];
+    }
+
+    @Override
+    protected void addIndex(int index) {
+        if (size == stack.length) {
+            stack = Arrays.copyOf(stack, 2 * size);
+        }
+        stack[size++] = index;
+    }
+
+    @Override
+    protected void updateIndex(int index) {
+        // no-op for DFS
+    }
+
+    @Override
+    protected void clearCells() {
+        size = 0;
     }
 }
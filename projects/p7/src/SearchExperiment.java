@@ -1,24 +1,28 @@
 /*
  * file name: SearchExperiment.java
  * author: Jack Dai
- * last modified: 11/19/2025
+ * last modified: 10/17/2026
  * purpose of the class:
  * Run experiments to collect data for the Exploration.
+ * Every algorithm searches the same mazes; the bidirectional searches are reported
+ * next to the one-way ones, with the cells they explored and the time they took.
 */
 
 import java.io.FileWriter;
 import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
 
 public class SearchExperiment {
 
     public static void main(String[] args) {
-        int rows = 20;
-        int cols = 20;
+        int size = 20;
         int trials = 100; // per density
         int densitySteps = 10; // will produce densities 0.0,0.1,...,1.0
         String outFile = "search_experiment_results.txt";
 
-        // Allow overriding via command-line args: trials and densitySteps
+        // Allow overriding via command-line args: trials, densitySteps and maze size
         if (args.length >= 1) {
             try {
                 trials = Integer.parseInt(args[0]);
@@ -31,16 +35,32 @@ public class SearchExperiment {
             } catch (NumberFormatException e) {
             }
         }
+        if (args.length >= 3) {
+            try {
+                size = Integer.parseInt(args[2]);
+            } catch (NumberFormatException e) {
+            }
+        }
+        int rows = size;
+        int cols = size;
+
+        Map<String, Function<Maze, AbstractMazeSearch>> algorithms = new LinkedHashMap<>();
+        algorithms.put("DFS", MazeDepthFirstSearch::new);
+        algorithms.put("BFS", MazeBreadthFirstSearch::new);
+        algorithms.put("AStar", MazeAStarSearch::new);
+        algorithms.put("BiBFS", MazeBidirectionalBFS::new);
+        algorithms.put("BiAStar", MazeBidirectionalAStar::new);
 
         System.out.println("Writing results to: " + outFile);
 
         try (FileWriter fw = new FileWriter(outFile)) {
-            fw.write("density,algo,reached_prob,avg_path_len,avg_explored_cells\n");
+            fw.write("density,algo,reached_prob,avg_path_len,avg_explored_cells,avg_time_us\n");
             for (int i = 0; i <= densitySteps; i++) {
                 double d = ((double) i) / densitySteps;
-                Stats dfs = new Stats();
-                Stats bfs = new Stats();
-                Stats astar = new Stats();
+                Map<String, Stats> stats = new LinkedHashMap<>();
+                for (String algo : algorithms.keySet()) {
+                    stats.put(algo, new Stats());
+                }
 
                 for (int t = 0; t < trials; t++) {
                     Maze maze = new Maze(rows, cols, d);
@@ -49,52 +69,33 @@ public class SearchExperiment {
                     start.setType(CellType.FREE);
                     target.setType(CellType.FREE);
 
-                    // DFS
-                    MazeDepthFirstSearch dfssearch = new MazeDepthFirstSearch(maze);
-                    LinkedList<Cell> dfsPath = dfssearch.search(start, target, false, 0);
-                    int dfsExplored = maze.countVisitedCells();
-                    if (dfsPath != null) {
-                        dfs.reached++;
-                        dfs.totalPathLen += dfsPath.size();
-                    }
-                    dfs.totalExplored += dfsExplored;
-
-                    maze.reset();
-
-                    // BFS
-                    MazeBreadthFirstSearch bfssearch = new MazeBreadthFirstSearch(maze);
-                    LinkedList<Cell> bfsPath = bfssearch.search(start, target, false, 0);
-                    int bfsExplored = maze.countVisitedCells();
-                    if (bfsPath != null) {
-                        bfs.reached++;
-                        bfs.totalPathLen += bfsPath.size();
+                    for (Map.Entry<String, Function<Maze, AbstractMazeSearch>> algo : algorithms.entrySet()) {
+                        Stats s = stats.get(algo.getKey());
+                        AbstractMazeSearch searcher = algo.getValue().apply(maze);
+                        long begin = System.nanoTime();
+                        LinkedList<Cell> path = searcher.search(start, target, false, 0);
+                        s.totalNanos += System.nanoTime() - begin;
+                        if (path != null) {
+                            s.reached++;
+                            s.totalPathLen += path.size();
+                        }
+                        s.totalExplored += maze.countVisitedCells();
+
+                        maze.reset();
                     }
-                    bfs.totalExplored += bfsExplored;
-
-                    maze.reset();
-
-                    // A*
-                    MazeAStarSearch asearch = new MazeAStarSearch(maze);
-                    LinkedList<Cell> aPath = asearch.search(start, target, false, 0);
-                    int aExplored = maze.countVisitedCells();
-                    if (aPath != null) {
-                        astar.reached++;
-                        astar.totalPathLen += aPath.size();
-                    }
-                    astar.totalExplored += aExplored;
-
-                    maze.reset();
                 }
 
-                fw.write(formatStats(d, "DFS", dfs, trials));
-                fw.write("\n");
-                fw.write(formatStats(d, "BFS", bfs, trials));
-                fw.write("\n");
-                fw.write(formatStats(d, "AStar", astar, trials));
-                fw.write("\n");
+                StringBuilder line = new StringBuilder(String.format("d=%.2f", d));
+                for (Map.Entry<String, Stats> entry : stats.entrySet()) {
+                    fw.write(formatStats(d, entry.getKey(), entry.getValue(), trials));
+                    fw.write("\n");
+                    Stats s = entry.getValue();
+                    line.append(String.format("  %s %.1f cells %.1f us", entry.getKey(),
+                            ((double) s.totalExplored) / trials, s.totalNanos / 1e3 / trials));
+                }
                 fw.flush();
 
-                System.out.println(String.format("d=%.2f done", d));
+                System.out.println(line);
             }
 
         } catch (IOException ioe) {
@@ -106,12 +107,15 @@ public class SearchExperiment {
         double reachedProb = ((double) s.reached) / trials;
         double avgPathLen = s.reached > 0 ? ((double) s.totalPathLen) / s.reached : 0.0;
         double avgExplored = ((double) s.totalExplored) / trials;
-        return String.format("%.2f,%s,%.4f,%.4f,%.4f", density, algo, reachedProb, avgPathLen, avgExplored);
+        double avgMicros = s.totalNanos / 1e3 / trials;
+        return String.format("%.2f,%s,%.4f,%.4f,%.4f,%.4f", density, algo, reachedProb, avgPathLen, avgExplored,
+                avgMicros);
     }
 
     static class Stats {
         int reached = 0;
         long totalPathLen = 0;
         long totalExplored = 0;
+        long totalNanos = 0;
     }
 }
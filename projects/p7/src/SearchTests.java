@@ -73,9 +73,93 @@ public abstract class SearchTests {
         return score;
     }
 
+    /**
+     * Returns the length of a path, or -1 for no path.
+     */
+    private static int length(LinkedList<Cell> path) {
+        return (path == null) ? -1 : path.size();
+    }
+
+    /**
+     * Returns the searchers compared by bidirectionalTests, all on one maze.
+     */
+    private static AbstractMazeSearch[] allSearchers(Maze maze) {
+        return new AbstractMazeSearch[] { new MazeDepthFirstSearch(maze), new MazeBreadthFirstSearch(maze),
+                new MazeAStarSearch(maze), new MazeBidirectionalBFS(maze), new MazeBidirectionalAStar(maze) };
+    }
+
+    public static double bidirectionalTests() {
+        int restarts = 300;
+        boolean biBFSMatches = true;
+        boolean biAStarMatches = true;
+
+        for (int r = 0; r < restarts; r++) {
+            // dense enough that some targets cannot be reached
+            Maze maze = new Maze(15, 15, .3);
+            Cell start = maze.get(1, 1);
+            Cell target = maze.get(13, 13);
+            start.setType(CellType.FREE);
+            target.setType(CellType.FREE);
+
+            int bfs = length(new MazeBreadthFirstSearch(maze).search(start, target, false, 0));
+            maze.reset();
+            int biBFS = length(new MazeBidirectionalBFS(maze).search(start, target, false, 0));
+            maze.reset();
+            int biAStar = length(new MazeBidirectionalAStar(maze).search(start, target, false, 0));
+            maze.reset();
+            biBFSMatches &= biBFS == bfs;
+            biAStarMatches &= biAStar == bfs;
+        }
+
+        // a start walled in on every side: the target cannot be reached,
+        // and searching for the start itself finds the one-cell path
+        Maze walled = new Maze(5, 5, 1);
+        Cell start = walled.get(2, 2);
+        Cell target = walled.get(0, 4);
+        start.setType(CellType.FREE);
+        target.setType(CellType.FREE);
+        boolean unreachable = true;
+        boolean sameCell = true;
+        for (AbstractMazeSearch searcher : allSearchers(walled)) {
+            unreachable &= searcher.search(start, target, false, 0) == null;
+            walled.reset();
+            LinkedList<Cell> path = searcher.search(start, start, false, 0);
+            sameCell &= path != null && path.size() == 1 && path.get(0) == start;
+            walled.reset();
+        }
+
+        // searching for the start in an open maze also stops at once
+        Maze open = new Maze(10, 10, 0);
+        for (AbstractMazeSearch searcher : allSearchers(open)) {
+            LinkedList<Cell> path = searcher.search(open.get(4, 4), open.get(4, 4), false, 0);
+            sameCell &= path != null && path.size() == 1 && open.countVisitedCells() == 1;
+            open.reset();
+        }
+
+        int score = 0;
+        if (biBFSMatches) {
+            System.out.println("Bidirectional Test 1");
+            score++;
+        }
+        if (biAStarMatches) {
+            System.out.println("Bidirectional Test 2");
+            score++;
+        }
+        if (unreachable) {
+            System.out.println("Bidirectional Test 3");
+            score++;
+        }
+        if (sameCell) {
+            System.out.println("Bidirectional Test 4");
+            score++;
+        }
+        return score;
+    }
+
     public static void main(String[] args) throws InterruptedException {
 
         System.out.println(searchTests() + "/6");
+        System.out.println(bidirectionalTests() + "/4");
 
     }
 